@@ -8,10 +8,13 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist; // Import PrePersist
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
+import com.vladmihalcea.hibernate.type.json.JsonType;
+import org.hibernate.annotations.Type;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.List;
 import java.util.UUID; // Import UUID
 
 @Entity // Marks this class as a JPA entity
@@ -54,6 +57,12 @@ public class DatabaseConnectionDetails {
     @Column(name = "db_password")
     private String dbPassword;
 
+    // Optional read replicas as "host" or "host:port"; same database name and credentials as the primary.
+    // Read-only transactions are routed to a healthy replica (see DynamicDataSourceManager).
+    @Type(JsonType.class)
+    @Column(name = "replica_endpoints", columnDefinition = "json")
+    private List<String> replicaEndpoints;
+
     // --- New Method to Generate UUID ---
     @PrePersist // This method runs before a new entity is persisted (saved for the first time)
     public void generateUuid() {
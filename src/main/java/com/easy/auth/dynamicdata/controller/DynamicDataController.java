@@ -1,11 +1,34 @@
 package com.easy.auth.dynamicdata.controller;
 
+import com.easy.auth.job.SearchIndexRebuildJob;
+import com.easy.auth.job.service.SchedulerService;
+import com.easy.tabledef.dto.AggregationRequestDto;
+import com.easy.tabledef.dto.AggregationResultDto;
+import com.easy.tabledef.dto.BatchGetRequestDto;
+import com.easy.tabledef.dto.BatchGetResultDto;
+import com.easy.tabledef.dto.BulkDeleteRequestDto;
+import com.easy.tabledef.dto.BulkInsertResultDto;
+import com.easy.tabledef.dto.BulkUpdateRequestDto;
+import com.easy.tabledef.dto.BulkUpsertResultDto;
+import com.easy.tabledef.dto.DataQueryRequestDto;
+import com.easy.tabledef.dto.DataReadOptions;
+import com.easy.tabledef.dto.SearchResultDto;
+import com.easy.tabledef.dto.TableDataPageDto;
+import com.easy.tabledef.dto.UpsertResultDto;
+import com.easy.tabledef.service.IngestionQueueService;
 import com.easy.tabledef.service.TableCreationService;
+import com.easy.tabledef.util.ETags;
+import org.quartz.JobDataMap;
+import org.quartz.SchedulerException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Date;
 import java.util.HashMap; // Added import for HashMap
 import java.util.List;
 import java.util.Map;
@@ -18,6 +41,12 @@ public class DynamicDataController {
     @Autowired
     private TableCreationService tableCreationService;
 
+    @Autowired
+    private SchedulerService schedulerService;
+
+    @Autowired
+    private IngestionQueueService ingestionQueueService;
+
     /**
      * Adds a new row of data to a dynamic table.
      *
@@ -53,19 +82,182 @@ public class DynamicDataController {
         }
     }
 
+    /**
+     * Inserts many rows in one request, e.g. [{"name": "a"}, {"name": "b"}].
+     * Rows are written in committed JDBC batches; rejected rows are reported individually and do not stop the others.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table to add data to.
+     * @param rows The rows to insert (columnName -> value).
+     * @return 201 Created when every row was inserted, 207 Multi-Status with the per-row errors otherwise, or an error.
+     */
+    @PostMapping("/{logicalTableName}/bulk")
+    public ResponseEntity<?> bulkAddDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestBody List<Map<String, Object>> rows) {
+        try {
+            BulkInsertResultDto result = tableCreationService.bulkInsertIntoDynamicTable(logicalTableName, projectConfigId, rows);
+            return ResponseEntity.status(result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to add data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    /**
+     * Queues rows for asynchronous insertion (write-behind), e.g. for high-rate events or readings.
+     * Rows are validated and written in groups shortly afterwards; write failures appear in the ingestion metrics.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table to add data to.
+     * @param rows The rows to insert (columnName -> value).
+     * @return 202 Accepted with the queue depth, 429 Too Many Requests when the table's queue is full, or an error.
+     */
+    @PostMapping("/{logicalTableName}/ingest")
+    public ResponseEntity<?> ingestDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestBody List<Map<String, Object>> rows) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ingestionQueueService.enqueue(logicalTableName, projectConfigId, rows));
+        } catch (IngestionQueueService.QueueFullException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(errorBody);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to queue data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    /**
+     * Inserts a row, or updates the row with the same value in a unique key column, with one native upsert statement.
+     * POST /api/projects/{projectConfigId}/dynamic-data/{logicalTableName}/upsert?keyColumn=code
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table.
+     * @param keyColumn The unique column to match existing rows on.
+     * @param data The row data (columnName -> value); must include the key column.
+     * @return 201 Created with the new row's system_row_id, 200 OK when an existing row was updated, or an error.
+     */
+    @PostMapping("/{logicalTableName}/upsert")
+    public ResponseEntity<?> upsertDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestParam String keyColumn,
+            @RequestBody Map<String, Object> data) {
+        try {
+            UpsertResultDto result = tableCreationService.upsertDynamicTableRow(logicalTableName, projectConfigId, keyColumn, data);
+            return ResponseEntity.status(result.isCreated() ? HttpStatus.CREATED : HttpStatus.OK).body(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to upsert data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    /**
+     * Upserts many rows on a unique key column; rows are sent to the database in batches.
+     * POST /api/projects/{projectConfigId}/dynamic-data/{logicalTableName}/upsert/bulk?keyColumn=code
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table.
+     * @param keyColumn The unique column to match existing rows on.
+     * @param rows The rows to upsert (columnName -> value).
+     * @return 200 OK when every row was written, 207 Multi-Status with the per-row errors otherwise, or an error.
+     */
+    @PostMapping("/{logicalTableName}/upsert/bulk")
+    public ResponseEntity<?> bulkUpsertDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestParam String keyColumn,
+            @RequestBody List<Map<String, Object>> rows) {
+        try {
+            BulkUpsertResultDto result = tableCreationService.bulkUpsertIntoDynamicTable(logicalTableName, projectConfigId, keyColumn, rows);
+            return ResponseEntity.status(result.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to upsert data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
     /**
      * Retrieves all data from a specific dynamic table.
+     * When pageSize, pageToken or orderBy is supplied, a single keyset page is returned instead
+     * (a TableDataPageDto with rowData and nextPageToken).
      *
      * @param projectConfigId The UUID of the project.
      * @param logicalTableName The logical name of the table to retrieve data from.
-     * @return ResponseEntity with a list of maps, each representing a row.
+     * @param pageSize Optional page size (capped by the service).
+     * @param pageToken Optional continuation token from the previous page.
+     * @param orderBy Optional indexed column to page by (defaults to system_row_id).
+     * @param referenceMode Optional "batch" or "join" to override how reference columns are resolved.
+     * @param fields Optional comma-separated columns to return (system_row_id is always included).
+     * @param expand Optional number of reference levels to expand (nested <column>_details).
+     * @param ifNoneMatch Optional ETag from a previous response; answered with 304 if the data has not changed.
+     * @return ResponseEntity with a list of maps, each representing a row, or a single page.
      */
     @GetMapping("/{logicalTableName}")
     public ResponseEntity<?> getAllDynamicData(
             @PathVariable String projectConfigId,
-            @PathVariable String logicalTableName) {
+            @PathVariable String logicalTableName,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) String orderBy,
+            @RequestParam(required = false) String referenceMode,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) Integer expand,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String eTag;
         try {
-            List<Map<String, Object>> data = tableCreationService.getAllDataFromDynamicTable(logicalTableName, projectConfigId);
+            // Checked from metadata only, before touching the tenant database
+            eTag = tableCreationService.getDataVersionTag(logicalTableName, projectConfigId);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.NOT_FOUND.value());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorBody);
+        }
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        try {
+            // The ETag names the primary's dataVersion, so the rows must come from the primary too
+            DataReadOptions options = DataReadOptions.builder().referenceMode(referenceMode).fields(fields).expand(expand).primaryRead(true).build();
+            if (pageSize != null || pageToken != null || orderBy != null) {
+                TableDataPageDto page = tableCreationService.getDataPageFromDynamicTable(logicalTableName, projectConfigId, orderBy, pageSize, pageToken, options);
+                return ResponseEntity.ok().eTag(eTag).body(page);
+            }
+            List<Map<String, Object>> data = tableCreationService.getAllDataFromDynamicTable(logicalTableName, projectConfigId, options);
             if (data.isEmpty()) {
                 // Consistent "not found" response
                 Map<String, Object> errorBody = new HashMap<>();
@@ -73,12 +265,137 @@ public class DynamicDataController {
                 errorBody.put("status", HttpStatus.NOT_FOUND.value());
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorBody);
             }
-            return ResponseEntity.ok(data);
+            return ResponseEntity.ok().eTag(eTag).body(data);
+        } catch (IllegalArgumentException e) {
+            // The table exists, so this is an invalid parameter (page token, fields, reference mode, expand depth or fan-out)
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to retrieve data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    /**
+     * Streams all rows of a dynamic table as NDJSON (one JSON object per line).
+     * Selected with ?format=ndjson. Rows are written as they are read from the database,
+     * so memory use does not grow with the table size.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table to stream.
+     * @return ResponseEntity with a streaming application/x-ndjson body, or an error.
+     */
+    @GetMapping(value = "/{logicalTableName}", params = "format=ndjson")
+    public ResponseEntity<?> streamDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName) {
+        TableCreationService.TableRowStream rows;
+        try {
+            // Resolved on the request thread; the async body then only uses tenant connections
+            rows = tableCreationService.prepareNdjsonStream(logicalTableName, projectConfigId);
         } catch (IllegalArgumentException e) {
             Map<String, Object> errorBody = new HashMap<>();
             errorBody.put("message", e.getMessage());
             errorBody.put("status", HttpStatus.NOT_FOUND.value());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorBody);
+        }
+        StreamingResponseBody body = rows::writeTo;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Runs a filtered, sorted query against a dynamic table; the filtering happens in the database.
+     * Example body:
+     * {"filter": {"and": [{"field": "status", "op": "in", "values": ["OPEN", "PENDING"]},
+     *                     {"field": "amount", "op": "range", "from": 100}]},
+     *  "sort": [{"field": "created_on", "direction": "desc"}], "limit": 50, "offset": 0}
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table to query.
+     * @param query The filter, sort and row window.
+     * @return ResponseEntity with a TableDataPageDto of matching rows, or an error.
+     */
+    @PostMapping("/{logicalTableName}/query")
+    public ResponseEntity<?> queryDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestBody(required = false) DataQueryRequestDto query) {
+        try {
+            TableDataPageDto page = tableCreationService.queryDynamicTable(logicalTableName, projectConfigId, query);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to query data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    /**
+     * Computes aggregates over a dynamic table in the database.
+     * Example body:
+     * {"aggregates": [{"function": "count"}, {"function": "sum", "field": "amount", "alias": "total"}],
+     *  "groupBy": ["status"], "filter": {"field": "region", "op": "eq", "value": "EU"}, "limit": 100}
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table to aggregate.
+     * @param request The aggregates, group-by columns, optional filter and group limit.
+     * @return ResponseEntity with an AggregationResultDto, or an error.
+     */
+    @PostMapping("/{logicalTableName}/aggregate")
+    public ResponseEntity<?> aggregateDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestBody AggregationRequestDto request) {
+        try {
+            AggregationResultDto result = tableCreationService.aggregateDynamicTable(logicalTableName, projectConfigId, request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to aggregate data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    /**
+     * Retrieves many rows by system_row_id in one request, e.g. {"ids": ["...", "..."], "fields": ["name"]}.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table.
+     * @param request The IDs to fetch and an optional projection.
+     * @return ResponseEntity with the found rows (in request order) and the missing IDs, or an error.
+     */
+    @PostMapping("/{logicalTableName}/batch-get")
+    public ResponseEntity<?> batchGetDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestBody BatchGetRequestDto request) {
+        try {
+            BatchGetResultDto result = tableCreationService.getRowsBySystemIdsFromDynamicTable(logicalTableName, projectConfigId,
+                    request.getIds(), request.getFields());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
         } catch (RuntimeException e) {
             Map<String, Object> errorBody = new HashMap<>();
             errorBody.put("message", "Failed to retrieve data: " + e.getMessage());
@@ -87,22 +404,102 @@ public class DynamicDataController {
         }
     }
 
+    /**
+     * Full-text search over the table's text columns, e.g. GET .../customers/search?q=acme+berlin&limit=10.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table.
+     * @param q The free-text query; rows containing any of its words match, best matches first.
+     * @param limit Optional maximum number of hits (capped by the service).
+     * @return ResponseEntity with the ranked system_row_ids and their rows, or an error.
+     */
+    @GetMapping("/{logicalTableName}/search")
+    public ResponseEntity<?> searchDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            SearchResultDto result = tableCreationService.searchDynamicTable(logicalTableName, projectConfigId, q, limit);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to search data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    /**
+     * Schedules an immediate rebuild of the table's full-text index from its existing rows
+     * (runs as a SearchIndexRebuildJob on the Quartz scheduler).
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table.
+     * @return 202 Accepted with the job name, or an error.
+     */
+    @PostMapping("/{logicalTableName}/search/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName) {
+        if (tableCreationService.getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId).isEmpty()) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'.");
+            errorBody.put("status", HttpStatus.NOT_FOUND.value());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorBody);
+        }
+        String jobName = "search-rebuild-" + projectConfigId + "-" + logicalTableName + "-" + System.currentTimeMillis();
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put("projectConfigId", projectConfigId);
+        jobDataMap.put("logicalTableName", logicalTableName);
+        try {
+            schedulerService.scheduleOneTimeJob(SearchIndexRebuildJob.class, jobName, "search-index", new Date(), jobDataMap);
+        } catch (SchedulerException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to schedule search index rebuild: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", "Search index rebuild scheduled for table '" + logicalTableName + "'.");
+        body.put("jobName", jobName);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(body);
+    }
+
     /**
      * Retrieves a single row from a dynamic table by its system_row_id.
      *
      * @param projectConfigId The UUID of the project.
      * @param logicalTableName The logical name of the table.
      * @param systemRowId The system-generated UUID of the row.
+     * @param referenceMode Optional "batch" or "join" to override how reference columns are resolved.
+     * @param fields Optional comma-separated columns to return (system_row_id is always included).
+     * @param expand Optional number of reference levels to expand (nested <column>_details).
+     * @param ifNoneMatch Optional ETag from a previous response; answered with 304 if the table has not changed.
      * @return ResponseEntity with the row data or not found.
      */
     @GetMapping("/{logicalTableName}/{systemRowId}")
     public ResponseEntity<?> getDynamicDataBySystemId(
             @PathVariable String projectConfigId,
             @PathVariable String logicalTableName,
-            @PathVariable String systemRowId) {
+            @PathVariable String systemRowId,
+            @RequestParam(required = false) String referenceMode,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) Integer expand,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            Optional<Map<String, Object>> data = tableCreationService.getSingleRowBySystemIdFromDynamicTable(logicalTableName, projectConfigId, systemRowId);
-            return data.map(ResponseEntity::ok)
+            String eTag = tableCreationService.getDataVersionTag(logicalTableName, projectConfigId);
+            if (ETags.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            Optional<Map<String, Object>> data = tableCreationService.getSingleRowBySystemIdFromDynamicTable(logicalTableName, projectConfigId, systemRowId,
+                    DataReadOptions.builder().referenceMode(referenceMode).fields(fields).expand(expand).primaryRead(true).build());
+            return data.<ResponseEntity<?>>map(row -> ResponseEntity.ok().eTag(eTag).body(row))
                     .orElseGet(() -> {
                         // FIX: Return Map<String, Object> for consistency
                         Map<String, Object> errorBody = new HashMap<>();
@@ -125,6 +522,63 @@ public class DynamicDataController {
         }
     }
 
+    /**
+     * Updates every row selected by a filter or by system_row_ids with one set-based statement, e.g.
+     * {"set": {"status": "archived"}, "filter": {"field": "created_at", "op": "range", "to": "2024-01-01"}}.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table.
+     * @param request The new values and either a filter or systemRowIds.
+     * @return ResponseEntity with the number of rows affected, or an error.
+     */
+    @PostMapping("/{logicalTableName}/bulk-update")
+    public ResponseEntity<?> bulkUpdateDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestBody BulkUpdateRequestDto request) {
+        try {
+            return ResponseEntity.ok(tableCreationService.bulkUpdateDynamicTable(logicalTableName, projectConfigId, request));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to update data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    /**
+     * Deletes every row selected by a filter or by system_row_ids; large deletes run in committed chunks.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table.
+     * @param request Either a filter or systemRowIds.
+     * @return ResponseEntity with the number of rows deleted, or an error.
+     */
+    @PostMapping("/{logicalTableName}/bulk-delete")
+    public ResponseEntity<?> bulkDeleteDynamicData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestBody BulkDeleteRequestDto request) {
+        try {
+            return ResponseEntity.ok(tableCreationService.bulkDeleteFromDynamicTable(logicalTableName, projectConfigId, request));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to delete data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
     /**
      * Updates data in a dynamic table based on a filter column and value.
      *
@@ -0,0 +1,59 @@
+package com.easy.auth.job;
+
+import com.easy.tabledef.dto.TableDefinitionDto;
+import com.easy.tabledef.search.FullTextIndexService;
+import com.easy.tabledef.service.TableCreationService;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rebuilds the full-text search indexes of dynamic tables from their current rows.
+ * Job data: "projectConfigId" (required) and "logicalTableName" (optional; when absent every table
+ * of the project that has text columns is rebuilt).
+ */
+@Component
+public class SearchIndexRebuildJob implements Job {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexRebuildJob.class);
+
+    @Autowired
+    private TableCreationService tableCreationService;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        JobDataMap data = context.getMergedJobDataMap();
+        String projectConfigId = data.getString("projectConfigId");
+        String logicalTableName = data.getString("logicalTableName");
+        if (projectConfigId == null) {
+            throw new JobExecutionException("Job data 'projectConfigId' is required.", false);
+        }
+
+        List<String> tableNames = logicalTableName != null
+                ? List.of(logicalTableName)
+                : tableCreationService.getAllTableDefinitionsForProject(projectConfigId).stream()
+                        .filter(t -> t.getColumns() != null && t.getColumns().stream()
+                                .anyMatch(c -> !c.isReference() && FullTextIndexService.isTextColumnType(c.getColumnType())))
+                        .map(TableDefinitionDto::getTableName)
+                        .toList();
+
+        for (String tableName : tableNames) {
+            long start = System.currentTimeMillis();
+            try {
+                int rows = tableCreationService.rebuildSearchIndex(tableName, projectConfigId);
+                logger.info("Rebuilt search index of table '{}' in project '{}': {} rows in {} ms",
+                        tableName, projectConfigId, rows, System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                logger.error("Search index rebuild failed for table '{}' in project '{}': {}", tableName, projectConfigId, e.getMessage(), e);
+                throw new JobExecutionException(e, false);
+            }
+        }
+    }
+}
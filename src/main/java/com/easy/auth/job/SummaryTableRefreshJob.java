@@ -0,0 +1,39 @@
+package com.easy.auth.job;
+
+import com.easy.tabledef.service.SummaryTableService;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes a summary table from the groups changed since its last refresh.
+ * Job data: "summaryTableId" and optionally "full" (true to rebuild from scratch).
+ * Runs of the same summary never overlap, also when a refresh is triggered by hand.
+ */
+@Component
+@DisallowConcurrentExecution
+public class SummaryTableRefreshJob implements Job {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryTableRefreshJob.class);
+
+    @Autowired
+    private SummaryTableService summaryTableService;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        JobDataMap data = context.getMergedJobDataMap();
+        String summaryTableId = data.getString("summaryTableId");
+        if (summaryTableId == null) {
+            throw new JobExecutionException("Job data 'summaryTableId' is required.", false);
+        }
+        boolean full = data.containsKey("full") && data.getBooleanValue("full");
+        logger.debug("Refreshing summary table {} (full: {})", summaryTableId, full);
+        summaryTableService.refresh(summaryTableId, full);
+    }
+}
@@ -0,0 +1,33 @@
+package com.easy.auth.job;
+
+import com.easy.tabledef.service.TableExportService;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs (or resumes) a dynamic table export. Job data: "exportId".
+ * Progress, checkpoints and failures are recorded on the TableExport itself.
+ */
+@Component
+public class TableExportJob implements Job {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableExportJob.class);
+
+    @Autowired
+    private TableExportService tableExportService;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        String exportId = context.getMergedJobDataMap().getString("exportId");
+        if (exportId == null) {
+            throw new JobExecutionException("Job data 'exportId' is required.", false);
+        }
+        logger.info("Running table export {}", exportId);
+        tableExportService.runExport(exportId);
+    }
+}
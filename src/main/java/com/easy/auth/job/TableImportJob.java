@@ -0,0 +1,33 @@
+package com.easy.auth.job;
+
+import com.easy.tabledef.service.TableImportService;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a dynamic table import. Job data: "importId".
+ * Progress, rejected rows and failures are recorded on the TableImport itself.
+ */
+@Component
+public class TableImportJob implements Job {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableImportJob.class);
+
+    @Autowired
+    private TableImportService tableImportService;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        String importId = context.getMergedJobDataMap().getString("importId");
+        if (importId == null) {
+            throw new JobExecutionException("Job data 'importId' is required.", false);
+        }
+        logger.info("Running table import {}", importId);
+        tableImportService.runImport(importId);
+    }
+}
@@ -2,6 +2,7 @@ package com.easy.auth.job.controller;
 
 
 import com.easy.auth.job.DynamicDataCleanupJob;
+import com.easy.auth.job.SearchIndexRebuildJob;
 import com.easy.auth.job.service.SchedulerService;
 import org.quartz.JobDataMap;
 import org.quartz.SchedulerException;
@@ -64,6 +65,24 @@ public class JobSchedulingController {
         }
     }
 
+    @PostMapping("/schedule/search-index/cron")
+    public ResponseEntity<String> scheduleSearchIndexRebuildCron(@RequestParam String jobName,
+                                                                 @RequestParam String projectConfigId,
+                                                                 @RequestParam(required = false) String logicalTableName, // all text tables of the project if absent
+                                                                 @RequestParam String cronExpression) {
+        try {
+            JobDataMap jobDataMap = new JobDataMap();
+            jobDataMap.put("projectConfigId", projectConfigId);
+            if (logicalTableName != null && !logicalTableName.isEmpty()) {
+                jobDataMap.put("logicalTableName", logicalTableName);
+            }
+            schedulerService.scheduleCronJob(SearchIndexRebuildJob.class, jobName, "search-index", cronExpression, jobDataMap);
+            return ResponseEntity.ok("Cron search index rebuild job '" + jobName + "' scheduled successfully.");
+        } catch (SchedulerException e) {
+            return ResponseEntity.status(500).body("Error scheduling cron job: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/unschedule/{jobName}/{jobGroup}")
     public ResponseEntity<String> unscheduleJob(@PathVariable String jobName, @PathVariable String jobGroup) {
         try {
@@ -66,6 +66,19 @@ public class SchedulerService {
         logger.info("Job '{}' in group '{}' scheduled with cron expression: {}", jobName, jobGroup, cronExpression);
     }
 
+    /**
+     * Fires an existing job once, now, in addition to its own schedule.
+     * Jobs marked @DisallowConcurrentExecution still never run twice at the same time.
+     * @param jobName The name of the job.
+     * @param jobGroup The group of the job.
+     * @param data Additional data for this run only.
+     * @throws SchedulerException if the job does not exist or cannot be triggered.
+     */
+    public void triggerJob(String jobName, String jobGroup, JobDataMap data) throws SchedulerException {
+        scheduler.triggerJob(new JobKey(jobName, jobGroup), data);
+        logger.info("Job '{}' in group '{}' triggered.", jobName, jobGroup);
+    }
+
     /**
      * Unschedules a job.
      * @param jobName The name of the job to unschedule.
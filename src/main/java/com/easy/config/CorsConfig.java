@@ -18,6 +18,7 @@ public class CorsConfig {
                         .allowedOrigins("http://localhost:3000", "http://your-frontend-domain.com") // <--- IMPORTANT: Replace with your actual frontend origins
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Allow common HTTP methods
                         .allowedHeaders("*") // Allow all headers
+                        .exposedHeaders("ETag") // Let browser clients read the ETag for If-None-Match polling
                         .allowCredentials(true) // Allow cookies, authorization headers, etc.
                         .maxAge(3600); // How long the preflight response can be cached (in seconds)
             }
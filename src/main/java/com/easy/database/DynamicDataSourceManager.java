@@ -3,17 +3,52 @@ package com.easy.database; // Create a new package for database-related utilitie
 import com.easy.application.dbtest.data.DatabaseConnectionDetails;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Creates and caches one HikariCP pool (and JdbcTemplate) per tenant DatabaseConnectionDetails.
+ * When a connection declares replicaEndpoints, a pool is also kept per replica; read-only
+ * transactions are served by a healthy replica and everything else by the primary.
+ */
 @Component
 public class DynamicDataSourceManager {
 
+    private static final int REPLICA_VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final Pattern VERSION = Pattern.compile("^(\\d+)\\.(\\d+)\\.(\\d+)");
+
     private final Map<String, DataSource> dataSourceCache = new ConcurrentHashMap<>();
     private final Map<String, JdbcTemplate> jdbcTemplateCache = new ConcurrentHashMap<>();
+    private final Map<String, ReplicaSet> replicaCache = new ConcurrentHashMap<>();
+    // Whether each tenant's primary accepts INSERT row aliases, see supportsInsertRowAlias
+    private final Map<String, Boolean> insertRowAliasSupport = new ConcurrentHashMap<>();
+
+    @Value("${easy.datasource.replica-selection:round-robin}")
+    private String replicaSelection; // "round-robin" or "least-pending"
+
+    @Value("${easy.import.dir:./data/imports}")
+    private String importDir;
 
     private static final Map<String, String> DRIVER_CLASS_NAMES = new ConcurrentHashMap<>();
     private static final Map<String, String> JDBC_URL_TEMPLATES = new ConcurrentHashMap<>();
@@ -26,9 +61,10 @@ public class DynamicDataSourceManager {
         DRIVER_CLASS_NAMES.put("h2", "org.h2.Driver"); // For in-memory H2 testing
         // Add more database types as needed
 
-        JDBC_URL_TEMPLATES.put("mysql", "jdbc:mysql://%s:%d/%s?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC");
+        // Batched INSERTs are rewritten by the MySQL and PostgreSQL drivers into multi-row statements
+        JDBC_URL_TEMPLATES.put("mysql", "jdbc:mysql://%s:%d/%s?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&rewriteBatchedStatements=true");
         JDBC_URL_TEMPLATES.put("oracle", "jdbc:oracle:thin:@%s:%d:%s"); // SID or Service Name
-        JDBC_URL_TEMPLATES.put("postgresql", "jdbc:postgresql://%s:%d/%s");
+        JDBC_URL_TEMPLATES.put("postgresql", "jdbc:postgresql://%s:%d/%s?reWriteBatchedInserts=true");
         JDBC_URL_TEMPLATES.put("sqlserver", "jdbc:sqlserver://%s:%d;databaseName=%s;encrypt=false;trustServerCertificate=true;");
         JDBC_URL_TEMPLATES.put("h2", "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"); // H2 example
         // Add more URL templates
@@ -38,52 +74,214 @@ public class DynamicDataSourceManager {
         String cacheKey = details.getUuid();
 
         return dataSourceCache.computeIfAbsent(cacheKey, k -> {
-            HikariConfig config = new HikariConfig();
+            HikariConfig config = createPoolConfig(details, details.getDataBaseIp(), details.getDataBasePort());
+            System.out.println("Creating new HikariDataSource for: " + details.getConnectionName());
+            return new HikariDataSource(config);
+        });
+    }
 
-            String dbType = details.getDbType().toLowerCase();
-            String driverClass = DRIVER_CLASS_NAMES.get(dbType);
-            String urlTemplate = JDBC_URL_TEMPLATES.get(dbType);
+    private HikariConfig createPoolConfig(DatabaseConnectionDetails details, String host, int requestedPort) {
+        HikariConfig config = new HikariConfig();
 
-            if (driverClass == null || urlTemplate == null) {
-                throw new IllegalArgumentException("Unsupported database type or missing driver/URL template: " + details.getDbType());
-            }
+        String dbType = details.getDbType().toLowerCase();
+        String driverClass = DRIVER_CLASS_NAMES.get(dbType);
+        String urlTemplate = JDBC_URL_TEMPLATES.get(dbType);
 
-            try {
-                Class.forName(driverClass); // Load driver
-            } catch (ClassNotFoundException e) {
-                throw new IllegalArgumentException("JDBC Driver not found for " + details.getDbType() + ": " + driverClass, e);
-            }
+        if (driverClass == null || urlTemplate == null) {
+            throw new IllegalArgumentException("Unsupported database type or missing driver/URL template: " + details.getDbType());
+        }
 
-            String jdbcUrl;
-            if ("h2".equals(dbType) && details.getDataBasePort() == 0) {
-                jdbcUrl = String.format(urlTemplate, details.getConnectionName());
-            } else {
-                int port = details.getDataBasePort() > 0 ? details.getDataBasePort() : getDefaultPort(dbType);
-                jdbcUrl = String.format(urlTemplate, details.getDataBaseIp(), port, details.getConnectionName());
-            }
+        try {
+            Class.forName(driverClass); // Load driver
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("JDBC Driver not found for " + details.getDbType() + ": " + driverClass, e);
+        }
 
-            config.setJdbcUrl(jdbcUrl);
-            config.setUsername(details.getDbUserName());
-            config.setPassword(details.getDbPassword());
-            config.setDriverClassName(driverClass);
+        String jdbcUrl;
+        if ("h2".equals(dbType) && requestedPort == 0) {
+            jdbcUrl = String.format(urlTemplate, details.getConnectionName());
+        } else {
+            int port = requestedPort > 0 ? requestedPort : getDefaultPort(dbType);
+            jdbcUrl = String.format(urlTemplate, host, port, details.getConnectionName());
+        }
 
-            // HikariCP connection pool properties (customize as needed)
-            config.setMinimumIdle(1);
-            config.setMaximumPoolSize(10);
-            config.setIdleTimeout(30000); // 30 seconds
-            config.setConnectionTimeout(30000); // 30 seconds
-            config.setMaxLifetime(600000); // 10 minutes
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(details.getDbUserName());
+        config.setPassword(details.getDbPassword());
+        config.setDriverClassName(driverClass);
+        if ("mysql".equals(dbType)) {
+            // LOAD DATA LOCAL INFILE (file imports) may only read files from this connection's import staging directory
+            config.addDataSourceProperty("allowLoadLocalInfileInPath", importStagingDirectory(importDir, details.getUuid()).toString());
+        }
 
-            System.out.println("Creating new HikariDataSource for: " + details.getConnectionName());
-            return new HikariDataSource(config);
-        });
+        // HikariCP connection pool properties (customize as needed)
+        config.setMinimumIdle(1);
+        config.setMaximumPoolSize(10);
+        config.setIdleTimeout(30000); // 30 seconds
+        config.setConnectionTimeout(30000); // 30 seconds
+        config.setMaxLifetime(600000); // 10 minutes
+        return config;
     }
 
+    /**
+     * The directory file imports stage LOAD DATA LOCAL files in for a connection: &lt;easy.import.dir&gt;/staging/&lt;connection uuid&gt;.
+     * The connection's MySQL pools may read local files from this directory only, so one tenant's
+     * LOAD DATA LOCAL cannot read files staged for another.
+     *
+     * @throws IllegalArgumentException if the connection UUID is not usable as a directory name.
+     */
+    public static Path importStagingDirectory(String importDir, String connectionUuid) {
+        if (connectionUuid == null || !connectionUuid.matches("^[a-zA-Z0-9_-]+$")) {
+            throw new IllegalArgumentException("Invalid connection for import staging: " + connectionUuid);
+        }
+        return Paths.get(importDir, "staging", connectionUuid).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the JdbcTemplate for a tenant. Inside a read-only transaction
+     * (e.g., @Transactional(readOnly = true) service methods) this is a replica when one is healthy.
+     */
     public JdbcTemplate getJdbcTemplate(DatabaseConnectionDetails details) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return getReadJdbcTemplate(details);
+        }
+        return getPrimaryJdbcTemplate(details);
+    }
+
+    /**
+     * Returns the JdbcTemplate for the tenant's primary database, regardless of the transaction.
+     */
+    public JdbcTemplate getPrimaryJdbcTemplate(DatabaseConnectionDetails details) {
         String cacheKey = details.getUuid();
         return jdbcTemplateCache.computeIfAbsent(cacheKey, k -> new JdbcTemplate(getDataSource(details)));
     }
 
+    /**
+     * Whether the tenant's database accepts INSERT ... AS alias row aliases (MySQL 8.0.19 and later; not MariaDB).
+     * Checked once per connection from the primary's metadata and forgotten when the connection's pools are closed,
+     * so a connection pointed at another server is probed again.
+     */
+    public boolean supportsInsertRowAlias(DatabaseConnectionDetails details) {
+        if (!"mysql".equalsIgnoreCase(details.getDbType())) {
+            return false;
+        }
+        return insertRowAliasSupport.computeIfAbsent(details.getUuid(), k -> getPrimaryJdbcTemplate(details).execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return insertRowAliasSupported(metaData.getDatabaseProductName(), metaData.getDatabaseProductVersion());
+        }));
+    }
+
+    static boolean insertRowAliasSupported(String productName, String productVersion) {
+        if (productVersion == null || productVersion.contains("MariaDB") || (productName != null && productName.contains("MariaDB"))) {
+            return false;
+        }
+        Matcher version = VERSION.matcher(productVersion);
+        if (!version.find()) {
+            return false;
+        }
+        int[] parts = {Integer.parseInt(version.group(1)), Integer.parseInt(version.group(2)), Integer.parseInt(version.group(3))};
+        return Arrays.compare(parts, new int[]{8, 0, 19}) >= 0;
+    }
+
+    /**
+     * Returns the primary JdbcTemplate of a tenant by connection UUID, for callers that only hold the UUID
+     * (e.g. caches that must be filled from the primary). Creates it when only the tenant's replicas have
+     * been used so far.
+     *
+     * @return The primary JdbcTemplate, or null when no pool has been created for the UUID.
+     */
+    public JdbcTemplate findPrimaryJdbcTemplate(String uuid) {
+        JdbcTemplate primary = jdbcTemplateCache.get(uuid);
+        if (primary != null) {
+            return primary;
+        }
+        ReplicaSet replicaSet = replicaCache.get(uuid);
+        return replicaSet != null ? getPrimaryJdbcTemplate(replicaSet.details) : null;
+    }
+
+    /**
+     * Returns a JdbcTemplate for reads: a healthy replica chosen by the configured strategy
+     * (round-robin or least-pending), or the primary when there are no healthy replicas.
+     */
+    public JdbcTemplate getReadJdbcTemplate(DatabaseConnectionDetails details) {
+        if (details.getReplicaEndpoints() == null || details.getReplicaEndpoints().isEmpty()) {
+            return getPrimaryJdbcTemplate(details);
+        }
+        ReplicaSet replicaSet = replicaCache.computeIfAbsent(details.getUuid(), k -> createReplicaSet(details));
+        Replica replica = replicaSet.select("least-pending".equalsIgnoreCase(replicaSelection));
+        return replica != null ? replica.jdbcTemplate : getPrimaryJdbcTemplate(details);
+    }
+
+    private ReplicaSet createReplicaSet(DatabaseConnectionDetails details) {
+        List<Replica> replicas = new ArrayList<>();
+        for (String endpoint : details.getReplicaEndpoints()) {
+            String host = endpoint.trim();
+            int port = 0;
+            int colon = host.lastIndexOf(':');
+            if (colon > 0) {
+                try {
+                    port = Integer.parseInt(host.substring(colon + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid replica endpoint '" + endpoint + "'. Expected host or host:port.", e);
+                }
+                host = host.substring(0, colon);
+            }
+            HikariConfig config = createPoolConfig(details, host, port);
+            config.setPoolName("replica-" + details.getConnectionName() + "-" + endpoint);
+            config.setConnectionTimeout(5000); // Fail over to the primary quickly when a replica stalls
+            config.setInitializationFailTimeout(-1); // An unreachable replica must not prevent startup; the health check handles it
+            System.out.println("Creating replica HikariDataSource for: " + details.getConnectionName() + " (" + endpoint + ")");
+            HikariDataSource dataSource = new HikariDataSource(config);
+            Replica replica = new Replica(endpoint, dataSource);
+            replica.healthy = probe(dataSource);
+            replicas.add(replica);
+        }
+        return new ReplicaSet(details, replicas);
+    }
+
+    /**
+     * Periodically re-checks every replica so that failed replicas are skipped and recovered ones are used again.
+     */
+    @Scheduled(fixedDelayString = "${easy.datasource.replica-health-check-ms:15000}")
+    public void checkReplicaHealth() {
+        replicaCache.forEach((uuid, replicaSet) -> {
+            for (Replica replica : replicaSet.replicas) {
+                boolean healthy = probe(replica.dataSource);
+                if (healthy != replica.healthy) {
+                    System.out.println("Replica " + replica.endpoint + " for UUID " + uuid + " is now " + (healthy ? "healthy" : "unhealthy"));
+                }
+                replica.healthy = healthy;
+            }
+        });
+    }
+
+    private boolean probe(HikariDataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(REPLICA_VALIDATION_TIMEOUT_SECONDS);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Health and load of each replica pool, keyed by connection UUID.
+     */
+    public Map<String, Object> getReplicaStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        replicaCache.forEach((uuid, replicaSet) -> {
+            List<Map<String, Object>> replicas = new ArrayList<>();
+            for (Replica replica : replicaSet.replicas) {
+                Map<String, Object> replicaStatus = new LinkedHashMap<>();
+                replicaStatus.put("endpoint", replica.endpoint);
+                replicaStatus.put("healthy", replica.healthy);
+                replicaStatus.put("pending", replica.pending());
+                replicas.add(replicaStatus);
+            }
+            status.put(uuid, replicas);
+        });
+        return status;
+    }
+
     private int getDefaultPort(String dbType) {
         return switch (dbType) {
             case "mysql" -> 3306;
@@ -102,6 +300,11 @@ public class DynamicDataSourceManager {
             System.out.println("Closed HikariDataSource for UUID: " + uuid);
         }
         jdbcTemplateCache.remove(uuid);
+        insertRowAliasSupport.remove(uuid);
+        ReplicaSet replicaSet = replicaCache.remove(uuid);
+        if (replicaSet != null) {
+            replicaSet.close();
+        }
     }
 
     public void closeAllDataSources() {
@@ -113,6 +316,66 @@ public class DynamicDataSourceManager {
         });
         dataSourceCache.clear();
         jdbcTemplateCache.clear();
+        insertRowAliasSupport.clear();
+        replicaCache.values().forEach(ReplicaSet::close);
+        replicaCache.clear();
         System.out.println("All cached DataSources closed.");
     }
-}
\ No newline at end of file
+
+    private static final class Replica {
+        private final String endpoint;
+        private final HikariDataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile boolean healthy;
+
+        private Replica(String endpoint, HikariDataSource dataSource) {
+            this.endpoint = endpoint;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+
+        /**
+         * Connections in use plus threads waiting for one.
+         */
+        private int pending() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() + pool.getThreadsAwaitingConnection() : 0;
+        }
+    }
+
+    private static final class ReplicaSet {
+        private final DatabaseConnectionDetails details;
+        private final List<Replica> replicas;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+
+        private ReplicaSet(DatabaseConnectionDetails details, List<Replica> replicas) {
+            this.details = details;
+            this.replicas = replicas;
+        }
+
+        /**
+         * @return A healthy replica, or null if none is healthy.
+         */
+        private Replica select(boolean leastPending) {
+            if (leastPending) {
+                return replicas.stream()
+                        .filter(r -> r.healthy)
+                        .min(Comparator.comparingInt(Replica::pending))
+                        .orElse(null);
+            }
+            int size = replicas.size();
+            int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica candidate = replicas.get((start + i) % size);
+                if (candidate.healthy) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private void close() {
+            replicas.forEach(r -> r.dataSource.close());
+        }
+    }
+}
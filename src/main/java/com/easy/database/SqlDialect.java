@@ -0,0 +1,191 @@
+package com.easy.database;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SQL syntax differences between the tenant databases we connect to.
+ * Resolved from DatabaseConnectionDetails.dbType (e.g., "mysql", "postgresql").
+ */
+public enum SqlDialect {
+
+    MYSQL("`", "`"),
+    POSTGRESQL("\"", "\""),
+    H2("\"", "\""),
+    ORACLE("\"", "\""),
+    SQLSERVER("[", "]");
+
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("^[a-zA-Z0-9_]+$");
+
+    private final String openQuote;
+    private final String closeQuote;
+
+    SqlDialect(String openQuote, String closeQuote) {
+        this.openQuote = openQuote;
+        this.closeQuote = closeQuote;
+    }
+
+    /**
+     * Resolves the dialect for a connection's dbType.
+     *
+     * @param dbType The database type as stored on DatabaseConnectionDetails.
+     * @return The matching SqlDialect.
+     * @throws IllegalArgumentException if the database type is not supported.
+     */
+    public static SqlDialect fromDbType(String dbType) {
+        if (dbType == null) {
+            throw new IllegalArgumentException("Database type cannot be null.");
+        }
+        return switch (dbType.toLowerCase()) {
+            case "mysql" -> MYSQL;
+            case "postgresql" -> POSTGRESQL;
+            case "h2" -> H2;
+            case "oracle" -> ORACLE;
+            case "sqlserver" -> SQLSERVER;
+            default -> throw new IllegalArgumentException("Unsupported database type: " + dbType);
+        };
+    }
+
+    /**
+     * Quotes a table or column name after checking it is a plain identifier (letters, digits, underscore).
+     */
+    public String quote(String identifier) {
+        if (identifier == null || !IDENTIFIER_PATTERN.matcher(identifier).matches()) {
+            throw new IllegalArgumentException("Invalid identifier: " + identifier);
+        }
+        return openQuote + identifier + closeQuote;
+    }
+
+    /**
+     * Truncates a date or datetime expression to its calendar day.
+     */
+    public String truncateToDay(String expression) {
+        return switch (this) {
+            case MYSQL -> "DATE(" + expression + ")";
+            case ORACLE -> "TRUNC(" + expression + ")";
+            case POSTGRESQL, H2, SQLSERVER -> "CAST(" + expression + " AS DATE)";
+        };
+    }
+
+    /**
+     * Appends the native row-limiting clause to a SELECT that already ends with its ORDER BY.
+     *
+     * @param orderedSelectSql A SELECT statement ending in an ORDER BY clause.
+     * @param limit The maximum number of rows to return.
+     * @return The SQL with the dialect's LIMIT / FETCH FIRST clause.
+     */
+    public String limit(String orderedSelectSql, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        return switch (this) {
+            case MYSQL, POSTGRESQL, H2 -> orderedSelectSql + " LIMIT " + limit;
+            case ORACLE -> orderedSelectSql + " FETCH FIRST " + limit + " ROWS ONLY";
+            // SQL Server only accepts FETCH as part of OFFSET ... FETCH
+            case SQLSERVER -> orderedSelectSql + " OFFSET 0 ROWS FETCH NEXT " + limit + " ROWS ONLY";
+        };
+    }
+
+    /**
+     * Appends the native row window (LIMIT / OFFSET) to a SELECT that already ends with its ORDER BY.
+     *
+     * @param orderedSelectSql A SELECT statement ending in an ORDER BY clause.
+     * @param limit The maximum number of rows to return.
+     * @param offset The number of rows to skip.
+     * @return The SQL with the dialect's row-window clause.
+     */
+    public String limit(String orderedSelectSql, int limit, int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative: " + offset);
+        }
+        if (offset == 0) {
+            return limit(orderedSelectSql, limit);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        return switch (this) {
+            case MYSQL, POSTGRESQL, H2 -> orderedSelectSql + " LIMIT " + limit + " OFFSET " + offset;
+            case ORACLE, SQLSERVER -> orderedSelectSql + " OFFSET " + offset + " ROWS FETCH NEXT " + limit + " ROWS ONLY";
+        };
+    }
+
+    /**
+     * Builds the native single-row upsert ("insert, or update on key conflict") for one set of columns:
+     * MySQL INSERT ... ON DUPLICATE KEY UPDATE, PostgreSQL INSERT ... ON CONFLICT, and MERGE for H2, Oracle and SQL Server.
+     * The statement binds one parameter per column, in the order given.
+     * SQL Server's MERGE takes HOLDLOCK, so that two concurrent upserts of a new key cannot both take the insert branch.
+     *
+     * @param table The table name.
+     * @param keyColumn The unique (or primary key) column rows are matched on; must be one of the columns.
+     * @param columns The columns written when the row is inserted.
+     * @param updateColumns The columns overwritten when the row exists (never the key); may be empty.
+     * @param insertRowAlias MySQL only: refer to the inserted values through a row alias (INSERT ... AS new,
+     *                       new.col; MySQL 8.0.19+) instead of the deprecated VALUES(col) function.
+     * @return The upsert statement.
+     */
+    public String upsert(String table, String keyColumn, List<String> columns, List<String> updateColumns, boolean insertRowAlias) {
+        String quotedTable = quote(table);
+        String quotedKey = quote(keyColumn);
+        String columnList = columns.stream().map(this::quote).collect(Collectors.joining(", "));
+        String placeholders = String.join(", ", Collections.nCopies(columns.size(), "?"));
+        return switch (this) {
+            case MYSQL -> "INSERT INTO " + quotedTable + " (" + columnList + ") VALUES (" + placeholders + ")"
+                    + (insertRowAlias ? " AS new" : "") + " ON DUPLICATE KEY UPDATE "
+                    + (updateColumns.isEmpty()
+                    ? quotedKey + " = " + quotedKey
+                    : updateColumns.stream()
+                    .map(c -> quote(c) + " = " + (insertRowAlias ? "new." + quote(c) : "VALUES(" + quote(c) + ")"))
+                    .collect(Collectors.joining(", ")));
+            case POSTGRESQL -> "INSERT INTO " + quotedTable + " (" + columnList + ") VALUES (" + placeholders + ") ON CONFLICT (" + quotedKey + ") DO "
+                    + (updateColumns.isEmpty()
+                    ? "NOTHING"
+                    : "UPDATE SET " + updateColumns.stream().map(c -> quote(c) + " = EXCLUDED." + quote(c)).collect(Collectors.joining(", ")));
+            case H2, ORACLE, SQLSERVER -> {
+                StringBuilder sql = new StringBuilder("MERGE INTO ").append(quotedTable)
+                        .append(this == SQLSERVER ? " WITH (HOLDLOCK) AS t" : " t").append(" USING (SELECT ")
+                        .append(columns.stream().map(c -> "? AS " + quote(c)).collect(Collectors.joining(", ")))
+                        .append(this == ORACLE ? " FROM DUAL" : "")
+                        .append(") s ON (t.").append(quotedKey).append(" = s.").append(quotedKey).append(")");
+                if (!updateColumns.isEmpty()) {
+                    sql.append(" WHEN MATCHED THEN UPDATE SET ")
+                            .append(updateColumns.stream().map(c -> "t." + quote(c) + " = s." + quote(c)).collect(Collectors.joining(", ")));
+                }
+                sql.append(" WHEN NOT MATCHED THEN INSERT (").append(columnList).append(") VALUES (")
+                        .append(columns.stream().map(c -> "s." + quote(c)).collect(Collectors.joining(", "))).append(")");
+                // SQL Server requires MERGE to be terminated
+                yield this == SQLSERVER ? sql.append(";").toString() : sql.toString();
+            }
+        };
+    }
+
+    /**
+     * Largest number of values to bind in one IN (...) list.
+     * Oracle rejects lists over 1000 expressions and SQL Server allows about 2100 parameters per statement;
+     * the others have far higher limits, so the size is kept moderate to bound statement size.
+     */
+    public int maxInListSize() {
+        return switch (this) {
+            case ORACLE, H2 -> 1000;
+            case SQLSERVER -> 2000;
+            case MYSQL, POSTGRESQL -> 5000;
+        };
+    }
+
+    /**
+     * Fetch size that makes the driver stream a large result set instead of buffering it.
+     * MySQL Connector/J only streams row-by-row when the fetch size is Integer.MIN_VALUE.
+     */
+    public int streamingFetchSize() {
+        return this == MYSQL ? Integer.MIN_VALUE : 1000;
+    }
+
+    /**
+     * PostgreSQL ignores the fetch size (and loads everything) unless the statement runs with auto-commit off.
+     */
+    public boolean requiresTransactionForCursor() {
+        return this == POSTGRESQL;
+    }
+}
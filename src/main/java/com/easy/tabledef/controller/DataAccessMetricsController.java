@@ -0,0 +1,54 @@
+package com.easy.tabledef.controller;
+
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.tabledef.search.FullTextIndexService;
+import com.easy.tabledef.service.IngestionQueueService;
+import com.easy.tabledef.util.ReferenceValueCache;
+import com.easy.tabledef.util.SqlTemplateCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes counters for the dynamic table data access layer.
+ */
+@RestController
+@RequestMapping("/api/dynamic-data/metrics")
+public class DataAccessMetricsController {
+
+    @Autowired
+    private ReferenceValueCache referenceValueCache;
+
+    @Autowired
+    private SqlTemplateCache sqlTemplateCache;
+
+    @Autowired
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Autowired
+    private FullTextIndexService fullTextIndexService;
+
+    @Autowired
+    private IngestionQueueService ingestionQueueService;
+
+    /**
+     * GET /api/dynamic-data/metrics
+     *
+     * @return ResponseEntity with the current counters, grouped by component.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("referenceCache", referenceValueCache.getStats());
+        metrics.put("sqlTemplates", sqlTemplateCache.getStats());
+        metrics.put("replicas", dynamicDataSourceManager.getReplicaStatus());
+        metrics.put("searchIndexes", fullTextIndexService.getStats());
+        metrics.put("ingestion", ingestionQueueService.getStats());
+        return ResponseEntity.ok(metrics);
+    }
+}
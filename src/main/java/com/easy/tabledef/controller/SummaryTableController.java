@@ -0,0 +1,117 @@
+package com.easy.tabledef.controller;
+
+import com.easy.tabledef.dto.SummaryTableDto;
+import com.easy.tabledef.dto.SummaryTableRequestDto;
+import com.easy.tabledef.service.SummaryTableService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary tables: precomputed, incrementally refreshed aggregations over dynamic tables.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectConfigId}/summary-tables")
+public class SummaryTableController {
+
+    @Autowired
+    private SummaryTableService summaryTableService;
+
+    /**
+     * Defines a summary table and starts its initial build.
+     * POST /api/projects/{projectConfigId}/summary-tables
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param request The name, source table, aggregates, group-by columns, optional filter and refresh cron.
+     * @return 201 Created with the summary table (status BUILDING), or an error.
+     */
+    @PostMapping
+    public ResponseEntity<?> createSummaryTable(@PathVariable String projectConfigId, @RequestBody SummaryTableRequestDto request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(summaryTableService.createSummaryTable(projectConfigId, request));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create summary table: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the summary tables of a project.
+     */
+    @GetMapping
+    public ResponseEntity<List<SummaryTableDto>> getSummaryTables(@PathVariable String projectConfigId) {
+        return ResponseEntity.ok(summaryTableService.getSummaryTablesForProject(projectConfigId));
+    }
+
+    /**
+     * Returns a summary table's definition and refresh state.
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<?> getSummaryTable(@PathVariable String projectConfigId, @PathVariable String name) {
+        try {
+            return ResponseEntity.ok(summaryTableService.getSummaryTable(projectConfigId, name));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the rows of a summary table.
+     * GET /api/projects/{projectConfigId}/summary-tables/{name}/data?limit=1000
+     */
+    @GetMapping("/{name}/data")
+    public ResponseEntity<?> getSummaryData(@PathVariable String projectConfigId, @PathVariable String name,
+                                            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(summaryTableService.getSummaryData(projectConfigId, name, limit));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read summary table: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queues an immediate refresh; full=true rebuilds the summary from scratch.
+     * POST /api/projects/{projectConfigId}/summary-tables/{name}/refresh?full=false
+     */
+    @PostMapping("/{name}/refresh")
+    public ResponseEntity<?> refreshSummaryTable(@PathVariable String projectConfigId, @PathVariable String name,
+                                                 @RequestParam(defaultValue = "false") boolean full) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(summaryTableService.refreshSummaryTable(projectConfigId, name, full));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to refresh summary table: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes a summary table and its physical tables.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<?> deleteSummaryTable(@PathVariable String projectConfigId, @PathVariable String name) {
+        try {
+            summaryTableService.deleteSummaryTable(projectConfigId, name);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> errorBody = new HashMap<>();
+        errorBody.put("message", message);
+        errorBody.put("status", status.value());
+        return ResponseEntity.status(status).body(errorBody);
+    }
+}
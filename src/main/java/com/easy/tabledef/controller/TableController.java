@@ -1,15 +1,24 @@
 package com.easy.tabledef.controller;
 
+import com.easy.tabledef.dto.ColumnarTableDataDto;
+import com.easy.tabledef.dto.DataQueryRequestDto;
+import com.easy.tabledef.dto.DataReadOptions;
+import com.easy.tabledef.dto.FilterCriteriaDto;
 import com.easy.tabledef.dto.TableDataResponseDto;
 import com.easy.tabledef.dto.TableDefinitionDto;
 import com.easy.tabledef.model.TableDefinition;
 import com.easy.tabledef.service.TableCreationService;
+import com.easy.tabledef.util.ETags;
+import com.easy.tabledef.util.FilterQueryCompiler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -203,49 +212,118 @@ public class TableController {
         }
     }
 
-    // --- NOTE TO USER: Regarding getFilteredDataFromDynamicTable ---
-    // The error "cannot find symbol method getFilteredDataFromDynamicTable"
-    // suggests a method that doesn't exist in TableCreationService.
-    // You'll need to either:
-    // 1. Remove the call to this method if it's no longer needed.
-    // 2. Implement the method in TableCreationService if you need generic filtering.
-    //    (e.g., `List<Map<String, Object>> getFilteredData(String logicalTableName, String projectConfigId, Map<String, Object> filters)`
-    //    which would build a dynamic WHERE clause based on the filters map).
-    // I'm commenting out a placeholder for this to prevent compilation errors.
-    /*
+    /**
+     * Retrieves rows matching simple equality filters, with the filtering done by the database.
+     * GET /{projectConfigId}/{logicalTableName}/filtered?status=ACTIVE&dept_ref=...&sort=name,-created_at&limit=50&offset=0
+     * Every parameter other than sort, limit, offset and fields is treated as column = value; for in/range/like/is_null
+     * and and/or nesting use POST /api/projects/{projectConfigId}/dynamic-data/{logicalTableName}/query.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table.
+     * @param filters All request parameters (column filters plus sort, limit, offset and fields).
+     * @return ResponseEntity with a TableDataPageDto of matching rows, or an error message.
+     */
     @GetMapping("/{logicalTableName}/filtered")
     public ResponseEntity<?> getFilteredData(
             @PathVariable String projectConfigId,
             @PathVariable String logicalTableName,
-            @RequestParam Map<String, Object> filters) {
+            @RequestParam Map<String, String> filters) {
         try {
-            // This method needs to be implemented in TableCreationService
-            // List<Map<String, Object>> data = tableCreationService.getFilteredDataFromDynamicTable(logicalTableName, projectConfigId, filters);
-            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body("Filtered data retrieval not yet implemented.");
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            Map<String, String> columnFilters = new HashMap<>(filters);
+            String sort = columnFilters.remove("sort");
+            String limit = columnFilters.remove("limit");
+            String offset = columnFilters.remove("offset");
+            String fields = columnFilters.remove("fields");
+
+            List<FilterCriteriaDto> conditions = new ArrayList<>();
+            columnFilters.forEach((column, value) -> conditions.add(
+                    FilterCriteriaDto.builder().field(column).op("eq").value(value).build()));
+
+            DataQueryRequestDto query = DataQueryRequestDto.builder()
+                    .filter(conditions.isEmpty() ? null : FilterCriteriaDto.builder().and(conditions).build())
+                    .sort(FilterQueryCompiler.parseSortParameter(sort))
+                    .limit(limit != null ? Integer.valueOf(limit) : null)
+                    .offset(offset != null ? Integer.valueOf(offset) : null)
+                    .fields(fields != null ? Arrays.asList(fields.split(",")) : null)
+                    .build();
+            return ResponseEntity.ok(tableCreationService.queryDynamicTable(logicalTableName, projectConfigId, query));
+        } catch (IllegalArgumentException e) { // Also covers NumberFormatException for limit/offset
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
         } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to retrieve filtered data: " + e.getMessage());
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", "Failed to retrieve filtered data: " + e.getMessage());
+            errorBody.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
         }
     }
-    */
 
 
 
     /**
      * Retrieves all rows from a specific dynamic database table along with its column definitions.
      * GET /api/projects/{projectConfigId}/table-definitions/{logicalTableName}/data
+     * Supplying pageSize, pageToken or orderBy switches to keyset pagination; the response then
+     * carries a nextPageToken to pass back for the following page.
+     * Clients can ask for the compact columnar form (ColumnarTableDataDto) with ?format=columnar or
+     * Accept: application/vnd.easy.columnar+json; rows are then positional arrays under a single column header.
      *
      * @param projectConfigId The UUID of the project.
      * @param logicalTableName The logical name of the table whose data is to be retrieved.
+     * @param pageSize Optional page size (capped by the service).
+     * @param pageToken Optional continuation token from the previous page.
+     * @param orderBy Optional indexed column to page by (defaults to system_row_id).
+     * @param referenceMode Optional "batch" or "join" to override how reference columns are resolved.
+     * @param fields Optional comma-separated columns to return (system_row_id is always included).
+     * @param format Optional "columnar" for the compact columnar response.
+     * @param ifNoneMatch Optional ETag from a previous response; answered with 304 if the data has not changed.
+     * @param accept Optional Accept header; the columnar media type selects the columnar response.
      * @return ResponseEntity with a TableDataResponseDto containing column definitions and all rows of data, or an error message.
      */
     @GetMapping("/{logicalTableName}/data")
     public ResponseEntity<?> getCombinedTableData(
             @PathVariable String projectConfigId,
-            @PathVariable String logicalTableName) {
+            @PathVariable String logicalTableName,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) String orderBy,
+            @RequestParam(required = false) String referenceMode,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            @RequestHeader(value = "Accept", required = false) String accept) {
         try {
-            TableDataResponseDto responseDto = tableCreationService.getCombinedTableData(logicalTableName, projectConfigId);
+            if (format != null && !"columnar".equalsIgnoreCase(format) && !"json".equalsIgnoreCase(format)) {
+                throw new IllegalArgumentException("Unsupported format '" + format + "'. Use json, columnar or ndjson.");
+            }
+            boolean columnarAccepted = accept != null && accept.contains(ColumnarTableDataDto.MEDIA_TYPE);
+            boolean columnar = "columnar".equalsIgnoreCase(format) || (format == null && columnarAccepted);
+
+            // Polling clients get a 304 without the tenant database being read; each representation has its own tag
+            String dataTag = tableCreationService.getDataVersionTag(logicalTableName, projectConfigId);
+            String eTag = columnar ? ETags.forRepresentation(dataTag, "columnar") : dataTag;
+            if (ETags.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy("Accept").build();
+            }
+            // The ETag names the primary's dataVersion, so the rows must come from the primary too
+            DataReadOptions options = DataReadOptions.builder().referenceMode(referenceMode).fields(fields).primaryRead(true).build();
+
+            if (columnar) {
+                // Built straight from the row arrays, without a map per row
+                ColumnarTableDataDto columnarDto = tableCreationService.getColumnarTableData(logicalTableName, projectConfigId, orderBy, pageSize, pageToken, options);
+                ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag).varyBy("Accept");
+                if (columnarAccepted) {
+                    builder.contentType(MediaType.parseMediaType(ColumnarTableDataDto.MEDIA_TYPE));
+                }
+                return builder.body(columnarDto);
+            }
+
+            boolean paged = pageSize != null || pageToken != null || orderBy != null;
+            TableDataResponseDto responseDto = paged
+                    ? tableCreationService.getCombinedTableData(logicalTableName, projectConfigId, orderBy, pageSize, pageToken, options)
+                    : tableCreationService.getCombinedTableData(logicalTableName, projectConfigId, options);
 
             // Check if rowData is empty, and provide a message if needed (though 200 OK with empty list is typical)
             if (responseDto.getRowData().isEmpty()) {
@@ -254,10 +332,10 @@ public class TableController {
                 // The current DTO structure allows an empty rowData list naturally.
                 // For a more explicit message on empty data, you might structure the response differently.
                 // Sticking to returning the DTO as is for simplicity, client can check rowData.isEmpty().
-                return ResponseEntity.ok(responseDto);
+                return ResponseEntity.ok().eTag(eTag).varyBy("Accept").body(responseDto);
             }
 
-            return ResponseEntity.ok(responseDto);
+            return ResponseEntity.ok().eTag(eTag).varyBy("Accept").body(responseDto);
         } catch (IllegalArgumentException e) {
             Map<String, Object> errorBody = new HashMap<>();
             errorBody.put("message", e.getMessage());
@@ -270,4 +348,32 @@ public class TableController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams all rows of a dynamic table as NDJSON instead of building a TableDataResponseDto.
+     * Selected with ?format=ndjson; column definitions are available from the table definition endpoints.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table whose data is to be streamed.
+     * @return ResponseEntity with a streaming application/x-ndjson body, or an error message.
+     */
+    @GetMapping(value = "/{logicalTableName}/data", params = "format=ndjson")
+    public ResponseEntity<?> streamTableData(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName) {
+        TableCreationService.TableRowStream rows;
+        try {
+            // Resolved on the request thread; the async body then only uses tenant connections
+            rows = tableCreationService.prepareNdjsonStream(logicalTableName, projectConfigId);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorBody = new HashMap<>();
+            errorBody.put("message", e.getMessage());
+            errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        }
+        StreamingResponseBody body = rows::writeTo;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
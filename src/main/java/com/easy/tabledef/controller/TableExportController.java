@@ -0,0 +1,187 @@
+package com.easy.tabledef.controller;
+
+import com.easy.tabledef.dto.TableExportDto;
+import com.easy.tabledef.dto.TableExportRequestDto;
+import com.easy.tabledef.service.TableExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background exports of dynamic tables to compressed CSV / NDJSON files.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectConfigId}/exports")
+public class TableExportController {
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private TableExportService tableExportService;
+
+    /**
+     * Starts an export of a dynamic table.
+     * POST /api/projects/{projectConfigId}/exports/{logicalTableName}
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the table to export.
+     * @param request Optional format ("csv" or "ndjson") and filter.
+     * @return 202 Accepted with the export status, or an error.
+     */
+    @PostMapping("/{logicalTableName}")
+    public ResponseEntity<?> createExport(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestBody(required = false) TableExportRequestDto request) {
+        try {
+            TableExportDto export = tableExportService.createExport(logicalTableName, projectConfigId, request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(export);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to start export: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the exports of a project, newest first.
+     */
+    @GetMapping
+    public ResponseEntity<List<TableExportDto>> getExports(@PathVariable String projectConfigId) {
+        return ResponseEntity.ok(tableExportService.getExportsForProject(projectConfigId));
+    }
+
+    /**
+     * Returns the status and progress of an export.
+     */
+    @GetMapping("/{exportId}")
+    public ResponseEntity<?> getExport(@PathVariable String projectConfigId, @PathVariable String exportId) {
+        try {
+            return ResponseEntity.ok(tableExportService.getExport(projectConfigId, exportId));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Resumes a failed or cancelled export from its last checkpoint.
+     */
+    @PostMapping("/{exportId}/resume")
+    public ResponseEntity<?> resumeExport(@PathVariable String projectConfigId, @PathVariable String exportId) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(tableExportService.resumeExport(projectConfigId, exportId));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to resume export: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cancels a pending or running export (it can be resumed later).
+     */
+    @PostMapping("/{exportId}/cancel")
+    public ResponseEntity<?> cancelExport(@PathVariable String projectConfigId, @PathVariable String exportId) {
+        try {
+            return ResponseEntity.ok(tableExportService.cancelExport(projectConfigId, exportId));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes an export and its file.
+     */
+    @DeleteMapping("/{exportId}")
+    public ResponseEntity<?> deleteExport(@PathVariable String projectConfigId, @PathVariable String exportId) {
+        try {
+            tableExportService.deleteExport(projectConfigId, exportId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Downloads the file of a completed export (application/gzip).
+     * On Tomcat with sendfile support the file is handed to the connector and sent by the kernel (zero-copy);
+     * otherwise it is copied with FileChannel.transferTo into the response.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param exportId The ID of the export.
+     * @param request The servlet request (used to detect sendfile support).
+     * @return The file, or an error if the export has not completed.
+     */
+    @GetMapping("/{exportId}/download")
+    public ResponseEntity<?> downloadExport(@PathVariable String projectConfigId, @PathVariable String exportId, HttpServletRequest request) {
+        Path file;
+        long size;
+        try {
+            file = tableExportService.getExportFile(projectConfigId, exportId);
+            size = Files.size(file);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IOException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read export file: " + e.getMessage());
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/gzip"));
+        headers.setContentLength(size);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(file.getFileName().toString()).build());
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            // Tomcat sends the file itself once the (empty) response is committed
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, size);
+            return new ResponseEntity<>(headers, HttpStatus.OK);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> errorBody = new HashMap<>();
+        errorBody.put("message", message);
+        errorBody.put("status", status.value());
+        return ResponseEntity.status(status).body(errorBody);
+    }
+}
@@ -0,0 +1,131 @@
+package com.easy.tabledef.controller;
+
+import com.easy.tabledef.dto.ImportRowErrorDto;
+import com.easy.tabledef.dto.TableImportDto;
+import com.easy.tabledef.service.TableImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background imports of CSV / NDJSON files into dynamic tables.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectConfigId}/imports")
+public class TableImportController {
+
+    private static final int MAX_ERRORS_PER_REQUEST = 10000;
+
+    @Autowired
+    private TableImportService tableImportService;
+
+    /**
+     * Uploads a file and starts importing it into a dynamic table. The request body is the raw file
+     * (e.g. curl --data-binary @rows.csv); it is streamed to disk, not buffered in memory.
+     * POST /api/projects/{projectConfigId}/imports/{logicalTableName}?format=csv
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param logicalTableName The logical name of the target table.
+     * @param format "csv" (default; with a header line) or "ndjson".
+     * @param request The servlet request whose body is the file.
+     * @return 202 Accepted with the import status, or an error.
+     */
+    @PostMapping("/{logicalTableName}")
+    public ResponseEntity<?> createImport(
+            @PathVariable String projectConfigId,
+            @PathVariable String logicalTableName,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        try {
+            TableImportDto tableImport = tableImportService.createImport(logicalTableName, projectConfigId, format, request.getInputStream());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(tableImport);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to start import: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the imports of a project, newest first.
+     */
+    @GetMapping
+    public ResponseEntity<List<TableImportDto>> getImports(@PathVariable String projectConfigId) {
+        return ResponseEntity.ok(tableImportService.getImportsForProject(projectConfigId));
+    }
+
+    /**
+     * Returns the status and progress of an import.
+     */
+    @GetMapping("/{importId}")
+    public ResponseEntity<?> getImport(@PathVariable String projectConfigId, @PathVariable String importId) {
+        try {
+            return ResponseEntity.ok(tableImportService.getImport(projectConfigId, importId));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the rows an import rejected, with their line numbers and errors.
+     * GET /api/projects/{projectConfigId}/imports/{importId}/errors?limit=100
+     */
+    @GetMapping("/{importId}/errors")
+    public ResponseEntity<?> getImportErrors(@PathVariable String projectConfigId, @PathVariable String importId,
+                                             @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_ERRORS_PER_REQUEST) {
+            return error(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_ERRORS_PER_REQUEST + ".");
+        }
+        try {
+            List<ImportRowErrorDto> errors = tableImportService.getImportErrors(projectConfigId, importId, limit);
+            return ResponseEntity.ok(errors);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Cancels a pending or running import (rows already loaded are kept).
+     */
+    @PostMapping("/{importId}/cancel")
+    public ResponseEntity<?> cancelImport(@PathVariable String projectConfigId, @PathVariable String importId) {
+        try {
+            return ResponseEntity.ok(tableImportService.cancelImport(projectConfigId, importId));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes an import and its files.
+     */
+    @DeleteMapping("/{importId}")
+    public ResponseEntity<?> deleteImport(@PathVariable String projectConfigId, @PathVariable String importId) {
+        try {
+            tableImportService.deleteImport(projectConfigId, importId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> errorBody = new HashMap<>();
+        errorBody.put("message", message);
+        errorBody.put("status", status.value());
+        return ResponseEntity.status(status).body(errorBody);
+    }
+}
@@ -0,0 +1,16 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AggregateSpecDto {
+    private String function; // count, sum, avg, min, max
+    private String field;    // Optional for count (counts rows); required otherwise
+    private String alias;    // Result column name; defaults to "<function>_<field>" (or "count")
+}
@@ -0,0 +1,22 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /{logicalTableName}/aggregate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AggregationRequestDto {
+    private List<AggregateSpecDto> aggregates;
+    private List<String> groupBy;
+    private FilterCriteriaDto filter;
+    private Integer limit; // Maximum number of groups returned
+}
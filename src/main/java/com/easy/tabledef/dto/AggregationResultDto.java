@@ -0,0 +1,21 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AggregationResultDto {
+    private List<String> groupBy;
+    private List<String> aggregates; // Result column names, in request order
+    private List<Map<String, Object>> rows; // One row per group: group columns plus aggregate values
+    private boolean truncated; // True when more groups matched than the limit allowed
+    private String summaryTable; // Summary table the result was read from, or null when aggregated from the table itself
+}
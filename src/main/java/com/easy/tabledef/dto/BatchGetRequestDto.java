@@ -0,0 +1,20 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /{logicalTableName}/batch-get.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetRequestDto {
+    private List<String> ids;    // system_row_id values to fetch
+    private List<String> fields; // Optional projection (system_row_id is always included)
+}
@@ -0,0 +1,18 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetResultDto {
+    private List<Map<String, Object>> rows; // Found rows, in the order their IDs were requested
+    private List<String> missingIds;        // Requested IDs with no matching row
+}
@@ -0,0 +1,21 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /{logicalTableName}/bulk-delete: the rows to delete, selected either by a filter
+ * or by a list of system_row_ids (exactly one of the two).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteRequestDto {
+    private FilterCriteriaDto filter;
+    private List<String> systemRowIds;
+}
@@ -0,0 +1,20 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkInsertResultDto {
+    private int requested;
+    private int inserted;
+    private int failed;
+    private List<String> systemRowIds;    // In request order; null for rows that were not inserted
+    private List<BulkRowErrorDto> errors; // One entry per rejected row
+}
@@ -0,0 +1,15 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkMutationResultDto {
+    private long rowsAffected;
+    private int statements; // Number of UPDATE / DELETE statements executed (deletes run in chunks)
+}
@@ -0,0 +1,18 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Why one row of a bulk write was rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRowErrorDto {
+    private int index;      // Position of the row in the request (0-based)
+    private String message;
+}
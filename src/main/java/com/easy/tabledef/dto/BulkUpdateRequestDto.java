@@ -0,0 +1,23 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of POST /{logicalTableName}/bulk-update: the new column values and the rows to change,
+ * selected either by a filter or by a list of system_row_ids (exactly one of the two).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateRequestDto {
+    private Map<String, Object> set;
+    private FilterCriteriaDto filter;
+    private List<String> systemRowIds;
+}
@@ -0,0 +1,21 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpsertResultDto {
+    private int requested;
+    private int inserted;
+    private int updated;
+    private int failed;
+    private List<String> systemRowIds;    // In request order; the new or existing row's ID, null for rejected rows
+    private List<BulkRowErrorDto> errors; // One entry per rejected row
+}
@@ -0,0 +1,93 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact form of TableDataResponseDto: column names appear once in "columns" and each row is a
+ * positional array aligned with them, instead of a map that repeats every column name.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ColumnarTableDataDto {
+    public static final String MEDIA_TYPE = "application/vnd.easy.columnar+json";
+
+    private List<ColumnDefinitionDto> columnDefinitions;
+    private List<String> columns;
+    private List<Object[]> rows;
+    private String nextPageToken;
+
+    /**
+     * Converts a TableDataResponseDto into the columnar form. Used for rows that are already maps (joined or
+     * expanded reads); plain reads are built from their row arrays by TableCreationService.getColumnarTableData.
+     * Columns follow columnDefinitions order, with system_row_id first and each reference column expanded
+     * into its <column>_id and <column>_display_name values. Columns that are not present in the rows
+     * (e.g., excluded by fields=) are left out; any other keys found in the rows are appended.
+     *
+     * @param response The row-map response.
+     * @return A new ColumnarTableDataDto.
+     */
+    public static ColumnarTableDataDto fromResponse(TableDataResponseDto response) {
+        List<Map<String, Object>> rowData = response.getRowData() != null ? response.getRowData() : List.of();
+
+        // Map lower-cased keys to the actual keys used by the rows (drivers may change identifier case)
+        Map<String, String> rowKeys = new LinkedHashMap<>();
+        for (Map<String, Object> row : rowData) {
+            for (String key : row.keySet()) {
+                rowKeys.putIfAbsent(key.toLowerCase(), key);
+            }
+        }
+
+        List<String> expected = new ArrayList<>();
+        expected.add("system_row_id");
+        if (response.getColumnDefinitions() != null) {
+            for (ColumnDefinitionDto columnDef : response.getColumnDefinitions()) {
+                if (columnDef.isReference()) {
+                    expected.add(columnDef.getColumnName() + "_id");
+                    expected.add(columnDef.getColumnName() + "_display_name");
+                } else {
+                    expected.add(columnDef.getColumnName());
+                }
+            }
+        }
+
+        List<String> columns = new ArrayList<>();
+        List<String> sourceKeys = new ArrayList<>();
+        for (String column : expected) {
+            String key = rowData.isEmpty() ? column : rowKeys.remove(column.toLowerCase());
+            if (key != null) {
+                columns.add(column);
+                sourceKeys.add(key);
+            }
+        }
+        rowKeys.values().forEach(key -> {
+            columns.add(key);
+            sourceKeys.add(key);
+        });
+
+        List<Object[]> rows = new ArrayList<>(rowData.size());
+        for (Map<String, Object> row : rowData) {
+            Object[] values = new Object[sourceKeys.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row.get(sourceKeys.get(i));
+            }
+            rows.add(values);
+        }
+
+        return ColumnarTableDataDto.builder()
+                .columnDefinitions(response.getColumnDefinitions())
+                .columns(columns)
+                .rows(rows)
+                .nextPageToken(response.getNextPageToken())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /{logicalTableName}/query: a filter, a sort order and a row window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataQueryRequestDto {
+    private FilterCriteriaDto filter;
+    private List<SortSpecDto> sort;
+    private Integer limit;  // Defaults to the service page size and is capped at its maximum
+    private Integer offset;
+    private List<String> fields; // Columns to return (system_row_id is always included); null returns all columns
+}
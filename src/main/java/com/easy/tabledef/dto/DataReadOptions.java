@@ -0,0 +1,26 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-request options for reading rows from a dynamic table.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataReadOptions {
+    private String referenceMode; // "batch" or "join"; null falls back to the table's referenceResolution setting
+    private List<String> fields; // Columns to return (system_row_id is always included); null returns all columns
+    private Integer expand; // Levels of reference columns to expand into nested <column>_details; null or 0 for none
+    private boolean primaryRead; // Read from the primary even in a read-only transaction; set for responses that carry an ETag
+
+    public static DataReadOptions defaults() {
+        return new DataReadOptions();
+    }
+}
@@ -0,0 +1,35 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A node of a filter expression on a dynamic table.
+ * Either a condition (field + op) or a group (and / or of nested criteria).
+ *
+ * Supported ops:
+ * - eq: field = value
+ * - in: field IN (values)
+ * - range: from <= field <= to (either bound may be omitted)
+ * - like: field LIKE value (text columns only; use % and _ as wildcards)
+ * - is_null: field IS NULL (or IS NOT NULL when value is false)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FilterCriteriaDto {
+    private String field;
+    private String op;
+    private Object value;
+    private List<Object> values;
+    private Object from;
+    private Object to;
+
+    private List<FilterCriteriaDto> and;
+    private List<FilterCriteriaDto> or;
+}
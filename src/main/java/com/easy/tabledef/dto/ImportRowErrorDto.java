@@ -0,0 +1,18 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Why one row of an imported file was rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowErrorDto {
+    private long line;      // Line of the file the row starts on (1-based; the CSV header is line 1)
+    private String message;
+}
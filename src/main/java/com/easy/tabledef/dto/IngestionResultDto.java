@@ -0,0 +1,15 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestionResultDto {
+    private int accepted;   // Rows queued by this request; they are written asynchronously
+    private int queueDepth; // Rows waiting in the table's queue after this request
+}
@@ -0,0 +1,21 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One ranked row of a full-text search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchHitDto {
+    private String systemRowId;
+    private double score; // BM25 relevance; higher is better
+    private Map<String, Object> row; // The row with reference columns resolved
+}
@@ -0,0 +1,22 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a full-text search over a dynamic table's text columns.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchResultDto {
+    private String query;
+    private List<SearchHitDto> hits; // Best matches first
+    private int totalHits; // Number of matching rows in the index (hits is capped by limit)
+    private boolean indexComplete; // False until the index has been rebuilt once, or after it was marked stale
+}
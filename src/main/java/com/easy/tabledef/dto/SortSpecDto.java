@@ -0,0 +1,15 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SortSpecDto {
+    private String field;
+    private String direction; // "asc" (default) or "desc"
+}
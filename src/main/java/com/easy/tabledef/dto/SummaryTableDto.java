@@ -0,0 +1,53 @@
+package com.easy.tabledef.dto;
+
+import com.easy.tabledef.model.SummaryTable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A summary table definition and its refresh state.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SummaryTableDto {
+    private String id;
+    private String name;
+    private String sourceTable;
+    private String finalTableName;
+    private List<AggregateSpecDto> aggregates;
+    private List<String> groupBy;
+    private FilterCriteriaDto filter;
+    private String refreshCron;
+    private String status;
+    private boolean fullRefreshRequired;
+    private LocalDateTime lastRefreshedAt;
+    private Integer lastRefreshGroups;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+
+    public static SummaryTableDto fromEntity(SummaryTable entity, String sourceTable, AggregationRequestDto spec) {
+        return SummaryTableDto.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .sourceTable(sourceTable)
+                .finalTableName(entity.getFinalTableName())
+                .aggregates(spec.getAggregates())
+                .groupBy(spec.getGroupBy())
+                .filter(spec.getFilter())
+                .refreshCron(entity.getRefreshCron())
+                .status(entity.getStatus())
+                .fullRefreshRequired(entity.isFullRefreshRequired())
+                .lastRefreshedAt(entity.getLastRefreshedAt())
+                .lastRefreshGroups(entity.getLastRefreshGroups())
+                .errorMessage(entity.getErrorMessage())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
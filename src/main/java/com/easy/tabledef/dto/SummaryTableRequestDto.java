@@ -0,0 +1,25 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for defining a summary table, e.g.
+ * {"name": "orders_per_day", "sourceTable": "orders", "groupBy": ["status", "created_at:day"], "aggregates": [{"function": "count"}]}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SummaryTableRequestDto {
+    private String name; // Logical name of the summary table
+    private String sourceTable; // Logical name of the dynamic table to summarize
+    private List<AggregateSpecDto> aggregates;
+    private List<String> groupBy; // Column names, or "<column>:day" for date/datetime columns
+    private FilterCriteriaDto filter; // Optional; only matching rows are summarized
+    private String refreshCron; // Optional Quartz cron expression; defaults to easy.summary.refresh-cron
+}
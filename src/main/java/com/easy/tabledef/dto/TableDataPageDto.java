@@ -0,0 +1,20 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TableDataPageDto {
+    private List<Map<String, Object>> rowData;
+    private int pageSize;
+    private String nextPageToken; // Pass back as pageToken to fetch the next page; null on the last page
+    private boolean hasMore;
+}
@@ -15,4 +15,5 @@ import java.util.Map;
 public class TableDataResponseDto {
     private List<ColumnDefinitionDto> columnDefinitions;
     private List<Map<String, Object>> rowData; // Changed to List<Map<String, Object>> for multiple rows
+    private String nextPageToken; // Only set for paginated reads; null when there are no more rows
 }
\ No newline at end of file
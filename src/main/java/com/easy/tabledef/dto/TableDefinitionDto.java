@@ -21,6 +21,10 @@ public class TableDefinitionDto {
     private String finalTableName;
     private String description;
     private String projectConfigIdRef; // To indicate which project this table belongs to
+    private String referenceResolution; // "BATCH" or "JOIN"; null means BATCH
+    private String rowIdFormat; // "UUID_V4" or "UUID_V7"; null means UUID_V4
+    private String rowIdStorage; // "VARCHAR" or "ASCII_BIN"; null means VARCHAR
+    private long dataVersion;
 
     // ADD THIS FIELD to include column definitions in the DTO
     private List<ColumnDefinitionDto> columns;
@@ -45,6 +49,10 @@ public class TableDefinitionDto {
                 .finalTableName(entity.getFinalTableName())
                 .description(entity.getDescription())
                 .projectConfigIdRef(entity.getProjectConfigIdRef())
+                .referenceResolution(entity.getReferenceResolution())
+                .rowIdFormat(entity.getRowIdFormat())
+                .rowIdStorage(entity.getRowIdStorage())
+                .dataVersion(entity.getDataVersion())
                 // IMPORTANT: Map the list of ColumnDefinition entities to ColumnDefinitionDto
                 .columns(entity.getColumns() != null ?
                         entity.getColumns().stream()
@@ -0,0 +1,54 @@
+package com.easy.tabledef.dto;
+
+import com.easy.tabledef.model.TableExport;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status and progress of a table export.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TableExportDto {
+    private String id;
+    private String logicalTableName;
+    private String format;
+    private String status;
+    private Long totalRows;
+    private long rowsExported;
+    private Double progress; // 0.0 - 1.0, or null while the total is unknown
+    private long bytesWritten;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public static TableExportDto fromEntity(TableExport entity) {
+        Double progress = null;
+        if ("COMPLETED".equals(entity.getStatus())) {
+            progress = 1.0;
+        } else if (entity.getTotalRows() != null) {
+            progress = entity.getTotalRows() == 0 ? 0.0 : Math.min(1.0, (double) entity.getRowsExported() / entity.getTotalRows());
+        }
+        return TableExportDto.builder()
+                .id(entity.getId())
+                .logicalTableName(entity.getLogicalTableName())
+                .format(entity.getFormat())
+                .status(entity.getStatus())
+                .totalRows(entity.getTotalRows())
+                .rowsExported(entity.getRowsExported())
+                .progress(progress)
+                .bytesWritten(entity.getBytesWritten())
+                .errorMessage(entity.getErrorMessage())
+                .createdAt(entity.getCreatedAt())
+                .startedAt(entity.getStartedAt())
+                .completedAt(entity.getCompletedAt())
+                .build();
+    }
+}
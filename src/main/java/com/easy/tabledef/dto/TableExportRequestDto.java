@@ -0,0 +1,18 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for starting a table export, e.g. {"format": "csv", "filter": {"field": "status", "op": "eq", "value": "OPEN"}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TableExportRequestDto {
+    private String format; // "csv" (default) or "ndjson"
+    private FilterCriteriaDto filter; // Optional; null exports every row
+}
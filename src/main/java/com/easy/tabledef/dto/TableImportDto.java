@@ -0,0 +1,60 @@
+package com.easy.tabledef.dto;
+
+import com.easy.tabledef.model.TableImport;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status and progress of a table import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TableImportDto {
+    private String id;
+    private String logicalTableName;
+    private String format;
+    private String status;
+    private String loadMethod;
+    private long fileSize;
+    private long bytesRead;
+    private Double progress; // 0.0 - 1.0, by bytes of the file read
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public static TableImportDto fromEntity(TableImport entity) {
+        double progress;
+        if ("COMPLETED".equals(entity.getStatus())) {
+            progress = 1.0;
+        } else {
+            progress = entity.getFileSize() == 0 ? 0.0 : Math.min(1.0, (double) entity.getBytesRead() / entity.getFileSize());
+        }
+        return TableImportDto.builder()
+                .id(entity.getId())
+                .logicalTableName(entity.getLogicalTableName())
+                .format(entity.getFormat())
+                .status(entity.getStatus())
+                .loadMethod(entity.getLoadMethod())
+                .fileSize(entity.getFileSize())
+                .bytesRead(entity.getBytesRead())
+                .progress(progress)
+                .rowsRead(entity.getRowsRead())
+                .rowsImported(entity.getRowsImported())
+                .rowsFailed(entity.getRowsFailed())
+                .errorMessage(entity.getErrorMessage())
+                .createdAt(entity.getCreatedAt())
+                .startedAt(entity.getStartedAt())
+                .completedAt(entity.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.easy.tabledef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpsertResultDto {
+    private String systemRowId;
+    private boolean created; // False when an existing row with the same key was updated
+}
@@ -0,0 +1,84 @@
+package com.easy.tabledef.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A precomputed aggregation (group-by columns plus count/sum/avg/min/max) over a dynamic table,
+ * materialized as a physical table in the tenant database.
+ * Writes to the source table record the groups they touched in a companion "<finalTableName>_dirty" table;
+ * each refresh recomputes only those groups.
+ */
+@Entity
+@Table(name = "summary_tables", uniqueConstraints = @UniqueConstraint(columnNames = {"project_config_id_ref", "name"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryTable {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, length = 36)
+    private String id;
+
+    @Column(name = "project_config_id_ref", nullable = false, length = 36)
+    private String projectConfigIdRef;
+
+    @Column(name = "source_table_definition_id_ref", nullable = false, length = 36)
+    private String sourceTableDefinitionIdRef;
+
+    @Column(name = "name", nullable = false)
+    private String name; // Logical name, unique within the project
+
+    @Column(name = "final_table_name", nullable = false, unique = true)
+    private String finalTableName; // Physical table in the tenant database
+
+    @Column(name = "spec_json", nullable = false, columnDefinition = "TEXT")
+    private String specJson; // AggregationRequestDto (aggregates, groupBy, filter), as JSON
+
+    @Column(name = "refresh_cron", nullable = false, length = 120)
+    private String refreshCron;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status; // "BUILDING", "READY", "FAILED"
+
+    @Column(name = "full_refresh_required", nullable = false)
+    private boolean fullRefreshRequired; // Set on creation and when the source table's definition changes
+
+    @Column(name = "last_refreshed_at")
+    private LocalDateTime lastRefreshedAt;
+
+    @Column(name = "last_refresh_groups")
+    private Integer lastRefreshGroups; // Groups recomputed by the last refresh (null after a full rebuild)
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void generateIdAndTimestamps() {
+        if (this.id == null) {
+            this.id = UUID.randomUUID().toString();
+        }
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.updatedAt == null) {
+            this.updatedAt = LocalDateTime.now();
+        }
+    }
+
+    @PreUpdate
+    public void setUpdatedAt() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -38,6 +38,18 @@ public class TableDefinition {
     @Column(name = "description")
     private String description;
 
+    @Column(name = "reference_resolution", length = 10)
+    private String referenceResolution; // "BATCH" (default) or "JOIN": how reference columns are resolved on reads
+
+    @Column(name = "row_id_format", length = 10)
+    private String rowIdFormat; // "UUID_V4" (default, random) or "UUID_V7" (time-ordered): how new system_row_ids are generated
+
+    @Column(name = "row_id_storage", length = 10)
+    private String rowIdStorage; // "VARCHAR" (default) or "ASCII_BIN" (CHAR(36), ascii charset, binary collation); fixed at creation
+
+    @Column(name = "data_version", nullable = false)
+    private long dataVersion; // Incremented on every row insert/update/delete; used for ETags
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
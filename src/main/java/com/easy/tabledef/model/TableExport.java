@@ -0,0 +1,93 @@
+package com.easy.tabledef.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A background export of a dynamic table to a gzip-compressed CSV or NDJSON file on local disk.
+ * Rows are exported in system_row_id order; after each chunk the file is synced and the checkpoint
+ * (last exported system_row_id and file length) saved, so a failed or interrupted export resumes from there.
+ */
+@Entity
+@Table(name = "table_exports")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableExport {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, length = 36)
+    private String id;
+
+    @Column(name = "project_config_id_ref", nullable = false, length = 36)
+    private String projectConfigIdRef;
+
+    @Column(name = "table_definition_id_ref", nullable = false, length = 36)
+    private String tableDefinitionIdRef;
+
+    @Column(name = "logical_table_name", nullable = false)
+    private String logicalTableName;
+
+    @Column(name = "format", nullable = false, length = 10)
+    private String format; // "CSV" or "NDJSON"
+
+    @Column(name = "filter_json", columnDefinition = "TEXT")
+    private String filterJson; // Optional FilterCriteriaDto, as JSON
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status; // "PENDING", "RUNNING", "COMPLETED", "FAILED", "CANCELLED"
+
+    @Column(name = "total_rows")
+    private Long totalRows; // Rows matching the filter when the export started (for progress)
+
+    @Column(name = "rows_exported", nullable = false)
+    private long rowsExported;
+
+    // --- Checkpoint ---
+    @Column(name = "last_row_id", length = 36)
+    private String lastRowId; // system_row_id of the last exported row
+
+    @Column(name = "bytes_written", nullable = false)
+    private long bytesWritten; // File length at the last checkpoint
+
+    @Column(name = "file_path", length = 1024)
+    private String filePath;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void generateIdAndTimestamps() {
+        if (this.id == null) {
+            this.id = UUID.randomUUID().toString();
+        }
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.updatedAt == null) {
+            this.updatedAt = LocalDateTime.now();
+        }
+    }
+
+    @PreUpdate
+    public void setUpdatedAt() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,99 @@
+package com.easy.tabledef.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A background import of an uploaded CSV or NDJSON file (kept on local disk) into a dynamic table.
+ * The file is read as a stream and loaded in chunks, each committed on its own; rows that fail to convert
+ * or load are skipped and written, with their line number and error, to the import's error file.
+ */
+@Entity
+@Table(name = "table_imports")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableImport {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, length = 36)
+    private String id;
+
+    @Column(name = "project_config_id_ref", nullable = false, length = 36)
+    private String projectConfigIdRef;
+
+    @Column(name = "table_definition_id_ref", nullable = false, length = 36)
+    private String tableDefinitionIdRef;
+
+    @Column(name = "logical_table_name", nullable = false)
+    private String logicalTableName;
+
+    @Column(name = "format", nullable = false, length = 10)
+    private String format; // "CSV" or "NDJSON"
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status; // "PENDING", "RUNNING", "COMPLETED", "FAILED", "CANCELLED"
+
+    @Column(name = "load_method", length = 20)
+    private String loadMethod; // "COPY" (PostgreSQL), "LOAD_DATA" (MySQL) or "BATCH"
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    // --- Progress ---
+    @Column(name = "bytes_read", nullable = false)
+    private long bytesRead;
+
+    @Column(name = "rows_read", nullable = false)
+    private long rowsRead;
+
+    @Column(name = "rows_imported", nullable = false)
+    private long rowsImported;
+
+    @Column(name = "rows_failed", nullable = false)
+    private long rowsFailed;
+
+    @Column(name = "file_path", length = 1024)
+    private String filePath;
+
+    @Column(name = "error_file_path", length = 1024)
+    private String errorFilePath; // NDJSON, one {"line", "message"} per rejected row
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void generateIdAndTimestamps() {
+        if (this.id == null) {
+            this.id = UUID.randomUUID().toString();
+        }
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.updatedAt == null) {
+            this.updatedAt = LocalDateTime.now();
+        }
+    }
+
+    @PreUpdate
+    public void setUpdatedAt() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,79 @@
+package com.easy.tabledef.repository;
+
+import com.easy.tabledef.model.SummaryTable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SummaryTableRepository extends JpaRepository<SummaryTable, String> {
+
+    /**
+     * Finds the summary tables of a project, by name.
+     *
+     * @param projectConfigIdRef The ID of the project configuration.
+     * @return A list of SummaryTable entities.
+     */
+    List<SummaryTable> findByProjectConfigIdRefOrderByNameAsc(String projectConfigIdRef);
+
+    /**
+     * Finds a summary table by its logical name within a project.
+     *
+     * @param name The logical name of the summary table.
+     * @param projectConfigIdRef The ID of the project configuration.
+     * @return An Optional containing the SummaryTable if found.
+     */
+    Optional<SummaryTable> findByNameAndProjectConfigIdRef(String name, String projectConfigIdRef);
+
+    /**
+     * Finds the summary tables computed from a dynamic table.
+     *
+     * @param sourceTableDefinitionIdRef The ID of the source TableDefinition.
+     * @return A list of SummaryTable entities.
+     */
+    List<SummaryTable> findBySourceTableDefinitionIdRef(String sourceTableDefinitionIdRef);
+
+    /**
+     * Requests a full rebuild of every summary of a source table on its next refresh.
+     *
+     * @return The number of summary tables updated.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SummaryTable s SET s.fullRefreshRequired = true, s.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE s.sourceTableDefinitionIdRef = :sourceTableDefinitionIdRef")
+    int requireFullRefresh(@Param("sourceTableDefinitionIdRef") String sourceTableDefinitionIdRef);
+
+    /**
+     * Clears the full-rebuild flag before a rebuild starts; a definition change during the rebuild sets it again.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SummaryTable s SET s.fullRefreshRequired = false WHERE s.id = :id")
+    int clearFullRefreshRequired(@Param("id") String id);
+
+    /**
+     * Records a successful refresh.
+     *
+     * @param groups The number of groups recomputed, or null after a full rebuild.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SummaryTable s SET s.status = 'READY', s.lastRefreshedAt = CURRENT_TIMESTAMP, s.lastRefreshGroups = :groups, "
+            + "s.errorMessage = NULL, s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :id")
+    int markRefreshed(@Param("id") String id, @Param("groups") Integer groups);
+
+    /**
+     * Records a failed refresh; reads fall back to the source table until a refresh succeeds.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SummaryTable s SET s.status = 'FAILED', s.errorMessage = :errorMessage, s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :id")
+    int markFailed(@Param("id") String id, @Param("errorMessage") String errorMessage);
+}
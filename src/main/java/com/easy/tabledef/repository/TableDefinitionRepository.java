@@ -2,7 +2,11 @@ package com.easy.tabledef.repository;
 
 import com.easy.tabledef.model.TableDefinition;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +24,18 @@ public interface TableDefinitionRepository extends JpaRepository<TableDefinition
      */
     Optional<TableDefinition> findByTableNameAndProjectConfigIdRef(String tableName, String projectConfigIdRef);
 
+    /**
+     * Like {@link #findByTableNameAndProjectConfigIdRef}, with the columns fetched in the same query, for callers
+     * that use the definition outside a transaction.
+     *
+     * @param tableName The logical name of the table.
+     * @param projectConfigIdRef The ID of the project configuration.
+     * @return An Optional containing the TableDefinition and its columns if found, otherwise empty.
+     */
+    @Query("SELECT DISTINCT t FROM TableDefinition t LEFT JOIN FETCH t.columns WHERE t.tableName = :tableName AND t.projectConfigIdRef = :projectConfigIdRef")
+    Optional<TableDefinition> findWithColumnsByTableNameAndProjectConfigIdRef(@Param("tableName") String tableName,
+                                                                              @Param("projectConfigIdRef") String projectConfigIdRef);
+
     /**
      * Finds all TableDefinitions associated with a specific project configuration ID.
      *
@@ -27,4 +43,28 @@ public interface TableDefinitionRepository extends JpaRepository<TableDefinition
      * @return A list of TableDefinition entities.
      */
     List<TableDefinition> findByProjectConfigIdRef(String projectConfigIdRef);
+
+    /**
+     * Atomically increments the data version of a table. Done in the database (not via a loaded entity)
+     * so concurrent writers on different app nodes never lose an increment.
+     * Joins the caller's transaction rather than suspending it for a new one, which would hold a second metadata
+     * connection per write. Writes whose tenant rows may commit before a later failure (chunked bulk deletes)
+     * call it without a surrounding transaction, so the increment commits on its own.
+     *
+     * @param id The UUID of the TableDefinition.
+     * @return The number of rows updated (1 if the table exists).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TableDefinition t SET t.dataVersion = t.dataVersion + 1 WHERE t.id = :id")
+    int incrementDataVersion(@Param("id") String id);
+
+    /**
+     * Reads a table's current data version from the database, bypassing any TableDefinition already loaded.
+     *
+     * @param id The UUID of the TableDefinition.
+     * @return The data version, or null if the table does not exist.
+     */
+    @Query("SELECT t.dataVersion FROM TableDefinition t WHERE t.id = :id")
+    Long findDataVersionById(@Param("id") String id);
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.easy.tabledef.repository;
+
+import com.easy.tabledef.model.TableExport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TableExportRepository extends JpaRepository<TableExport, String> {
+
+    /**
+     * Finds the exports of a project, newest first.
+     *
+     * @param projectConfigIdRef The ID of the project configuration.
+     * @return A list of TableExport entities.
+     */
+    List<TableExport> findByProjectConfigIdRefOrderByCreatedAtDesc(String projectConfigIdRef);
+
+    /**
+     * Finds exports in a given status that have not been updated since the given time
+     * (e.g., RUNNING exports whose node stopped checkpointing).
+     *
+     * @param status The export status.
+     * @param updatedBefore The cut-off time.
+     * @return A list of TableExport entities.
+     */
+    List<TableExport> findByStatusAndUpdatedAtBefore(String status, LocalDateTime updatedBefore);
+
+    /**
+     * Moves an export from one status to another if it is still in the expected status (compare-and-set),
+     * so a cancel and a running export's own transitions never overwrite each other.
+     *
+     * @return 1 if the transition happened, 0 otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TableExport e SET e.status = :newStatus, e.errorMessage = :errorMessage, e.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE e.id = :id AND e.status = :expectedStatus")
+    int transitionStatus(@Param("id") String id, @Param("expectedStatus") String expectedStatus,
+                         @Param("newStatus") String newStatus, @Param("errorMessage") String errorMessage);
+
+    /**
+     * Marks a running export as completed.
+     *
+     * @return 1 if the export was still RUNNING (not cancelled meanwhile), 0 otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TableExport e SET e.status = 'COMPLETED', e.completedAt = CURRENT_TIMESTAMP, e.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE e.id = :id AND e.status = 'RUNNING'")
+    int markCompleted(@Param("id") String id);
+
+    /**
+     * Records a checkpoint without touching the status.
+     *
+     * @return The number of rows updated (1 if the export exists).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TableExport e SET e.lastRowId = :lastRowId, e.rowsExported = :rowsExported, e.bytesWritten = :bytesWritten, "
+            + "e.updatedAt = CURRENT_TIMESTAMP WHERE e.id = :id")
+    int saveCheckpoint(@Param("id") String id, @Param("lastRowId") String lastRowId,
+                       @Param("rowsExported") long rowsExported, @Param("bytesWritten") long bytesWritten);
+}
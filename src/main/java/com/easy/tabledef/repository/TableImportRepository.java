@@ -0,0 +1,71 @@
+package com.easy.tabledef.repository;
+
+import com.easy.tabledef.model.TableImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TableImportRepository extends JpaRepository<TableImport, String> {
+
+    /**
+     * Finds the imports of a project, newest first.
+     *
+     * @param projectConfigIdRef The ID of the project configuration.
+     * @return A list of TableImport entities.
+     */
+    List<TableImport> findByProjectConfigIdRefOrderByCreatedAtDesc(String projectConfigIdRef);
+
+    /**
+     * Finds imports in a given status that have not been updated since the given time
+     * (e.g., RUNNING imports whose node stopped reporting progress).
+     *
+     * @param status The import status.
+     * @param updatedBefore The cut-off time.
+     * @return A list of TableImport entities.
+     */
+    List<TableImport> findByStatusAndUpdatedAtBefore(String status, LocalDateTime updatedBefore);
+
+    /**
+     * Moves an import from one status to another if it is still in the expected status (compare-and-set),
+     * so a cancel and a running import's own transitions never overwrite each other.
+     *
+     * @return 1 if the transition happened, 0 otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TableImport i SET i.status = :newStatus, i.errorMessage = :errorMessage, i.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE i.id = :id AND i.status = :expectedStatus")
+    int transitionStatus(@Param("id") String id, @Param("expectedStatus") String expectedStatus,
+                         @Param("newStatus") String newStatus, @Param("errorMessage") String errorMessage);
+
+    /**
+     * Marks a running import as completed.
+     *
+     * @return 1 if the import was still RUNNING (not cancelled meanwhile), 0 otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TableImport i SET i.status = 'COMPLETED', i.completedAt = CURRENT_TIMESTAMP, i.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE i.id = :id AND i.status = 'RUNNING'")
+    int markCompleted(@Param("id") String id);
+
+    /**
+     * Records the progress of a running import without touching the status.
+     *
+     * @return The number of rows updated (1 if the import exists).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TableImport i SET i.bytesRead = :bytesRead, i.rowsRead = :rowsRead, i.rowsImported = :rowsImported, "
+            + "i.rowsFailed = :rowsFailed, i.loadMethod = :loadMethod, i.updatedAt = CURRENT_TIMESTAMP WHERE i.id = :id")
+    int saveProgress(@Param("id") String id, @Param("bytesRead") long bytesRead, @Param("rowsRead") long rowsRead,
+                     @Param("rowsImported") long rowsImported, @Param("rowsFailed") long rowsFailed,
+                     @Param("loadMethod") String loadMethod);
+}
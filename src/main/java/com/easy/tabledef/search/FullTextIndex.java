@@ -0,0 +1,509 @@
+package com.easy.tabledef.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process inverted index over the text of one dynamic table, ranked with BM25.
+ * Each document is a row (keyed by system_row_id) and holds the term frequencies of its text columns.
+ *
+ * Persistence: the index lives in its own directory as a gzip snapshot ("index.snapshot") plus an
+ * append-only journal ("index.journal") of the changes made since. Every change is journaled before it
+ * returns; on open the snapshot is loaded and the journal replayed. {@link #snapshot()} writes a new
+ * snapshot atomically and truncates the journal.
+ *
+ * Freshness: the index records the TableDefinition.dataVersion it reflects. A write advances it only when the
+ * write's version directly follows it, so a version skipped by a write made through another app node (which
+ * only updates that node's index) leaves the index behind until the next rebuild; searches compare it with the
+ * table's current version.
+ *
+ * Thread safety: searches share a read lock, changes take the write lock.
+ */
+public class FullTextIndex implements Closeable {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final int FORMAT_VERSION_WITHOUT_DATA_VERSION = 1;
+    private static final byte OP_PUT = 'P';
+    private static final byte OP_REMOVE = 'D';
+    private static final byte OP_DATA_VERSION = 'V';
+    private static final long UNKNOWN_DATA_VERSION = -1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object snapshotMonitor = new Object();
+
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>(); // term -> (rowId -> tf)
+    private final Map<String, Document> documents = new HashMap<>();
+    private long totalLength;
+    private boolean built;
+    private long appliedDataVersion = UNKNOWN_DATA_VERSION;
+    private DataOutputStream journal;
+    private long journalEntries;
+    private List<Runnable> pendingDuringRebuild;
+    private boolean journalTailTruncated;
+
+    private FullTextIndex(Path directory) {
+        this.snapshotFile = directory.resolve("index.snapshot");
+        this.journalFile = directory.resolve("index.journal");
+    }
+
+    /**
+     * Opens (or creates) the index stored in a directory.
+     *
+     * @throws IOException if the directory cannot be created or the files cannot be read.
+     */
+    public static FullTextIndex open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FullTextIndex index = new FullTextIndex(directory);
+        index.load();
+        return index;
+    }
+
+    /**
+     * Indexes (or re-indexes) a row.
+     *
+     * @param rowId The row's system_row_id.
+     * @param termFrequencies The terms of the row's text columns (see {@link TextTokenizer#termFrequencies}).
+     */
+    public void put(String rowId, Map<String, Integer> termFrequencies) throws IOException {
+        lock.writeLock().lock();
+        try {
+            applyPut(rowId, termFrequencies);
+            appendPut(rowId, termFrequencies);
+            if (pendingDuringRebuild != null) {
+                Map<String, Integer> copy = new HashMap<>(termFrequencies);
+                pendingDuringRebuild.add(() -> applyPut(rowId, copy));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a row from the index (no-op if it is not indexed).
+     */
+    public void remove(String rowId) throws IOException {
+        lock.writeLock().lock();
+        try {
+            applyRemove(rowId);
+            journal.writeByte(OP_REMOVE);
+            journal.writeUTF(rowId);
+            journal.flush();
+            journalEntries++;
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(() -> applyRemove(rowId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that the index has applied the write that moved the table to the given data version.
+     * The version is only taken if it directly follows the one already applied; otherwise a write is missing
+     * from this index (it went through another node) and the index stays behind until it is rebuilt.
+     *
+     * @param dataVersion The table's TableDefinition.dataVersion right after the write.
+     */
+    public void recordDataVersion(long dataVersion) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (applyDataVersion(dataVersion)) {
+                journal.writeByte(OP_DATA_VERSION);
+                journal.writeLong(dataVersion);
+                journal.flush();
+                journalEntries++;
+            }
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(() -> applyDataVersion(dataVersion));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a rebuild: changes made from now until {@link #completeRebuild} are re-applied on top of
+     * the rebuilt contents, so rows written while the table is being scanned are not lost.
+     */
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with a full scan of the table, marks the index as built and writes a snapshot.
+     *
+     * @param rebuiltDocuments rowId -> term frequencies for every row of the table.
+     * @param dataVersion The table's data version read before the scan started; writes recorded during the
+     *                    rebuild advance it further.
+     */
+    public void completeRebuild(Map<String, Map<String, Integer>> rebuiltDocuments, long dataVersion) throws IOException {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            appliedDataVersion = dataVersion;
+            rebuiltDocuments.forEach(this::applyPut);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.forEach(Runnable::run);
+            }
+            pendingDuringRebuild = null;
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        snapshot();
+    }
+
+    /**
+     * Abandons a rebuild started with {@link #beginRebuild} (e.g., because the table scan failed).
+     */
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the index as incomplete, e.g. after its text columns changed or an incremental update failed.
+     * It keeps serving searches until the next rebuild.
+     */
+    public void markStale() throws IOException {
+        lock.writeLock().lock();
+        try {
+            built = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        snapshot();
+    }
+
+    /**
+     * Ranks the indexed rows against a query with BM25. A row matches if it contains any query term.
+     *
+     * @param queryTerms The tokenized query.
+     * @param limit The maximum number of hits to return.
+     * @param dataVersion The table's current TableDefinition.dataVersion; the result is incomplete if the index is behind it.
+     * @return The best hits in descending score order and the total number of matching rows.
+     */
+    public SearchResult search(List<String> queryTerms, int limit, long dataVersion) {
+        lock.readLock().lock();
+        try {
+            boolean complete = built && appliedDataVersion >= dataVersion;
+            int documentCount = documents.size();
+            if (documentCount == 0 || queryTerms.isEmpty()) {
+                return new SearchResult(List.of(), 0, complete);
+            }
+            double averageLength = (double) totalLength / documentCount;
+            Map<String, Double> scores = new HashMap<>();
+            for (String term : new LinkedHashSet<>(queryTerms)) {
+                Map<String, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int documentFrequency = termPostings.size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                for (Map.Entry<String, Integer> posting : termPostings.entrySet()) {
+                    int tf = posting.getValue();
+                    int length = documents.get(posting.getKey()).length;
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                    scores.merge(posting.getKey(), score, Double::sum);
+                }
+            }
+
+            // Keep the top hits in a min-heap of size limit
+            Comparator<Hit> byScore = Comparator.comparingDouble(Hit::getScore).thenComparing(Hit::getRowId, Comparator.reverseOrder());
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, Math.min(limit, scores.size())), byScore);
+            for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                Hit hit = new Hit(entry.getKey(), entry.getValue());
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (limit > 0 && byScore.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(byScore.reversed());
+            return new SearchResult(hits, scores.size(), complete);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the current contents to a new snapshot (replacing the old one atomically) and truncates the journal.
+     * Searches continue while the snapshot is written; changes wait for it.
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotMonitor) {
+            lock.readLock().lock();
+            try {
+                Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempFile))))) {
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeBoolean(built);
+                    out.writeLong(appliedDataVersion);
+                    out.writeInt(documents.size());
+                    for (Map.Entry<String, Document> entry : documents.entrySet()) {
+                        out.writeUTF(entry.getKey());
+                        writeTerms(out, entry.getValue().termFrequencies);
+                    }
+                }
+                Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                // Safe under the read lock: writers, the only other users of the journal, are excluded
+                journal.close();
+                journal = openJournal(StandardOpenOption.TRUNCATE_EXISTING);
+                journalEntries = 0;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    public long getJournalEntries() {
+        lock.readLock().lock();
+        try {
+            return journalEntries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("documents", documents.size());
+            stats.put("terms", postings.size());
+            stats.put("journalEntries", journalEntries);
+            stats.put("built", built);
+            stats.put("appliedDataVersion", appliedDataVersion);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            journal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        if (Files.exists(snapshotFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshotFile))))) {
+                int version = in.readInt();
+                if (version != FORMAT_VERSION && version != FORMAT_VERSION_WITHOUT_DATA_VERSION) {
+                    throw new IOException("Unsupported search index format " + version + " in " + snapshotFile);
+                }
+                built = in.readBoolean();
+                // Older snapshots do not know their data version, so they count as behind until rebuilt
+                appliedDataVersion = version == FORMAT_VERSION ? in.readLong() : UNKNOWN_DATA_VERSION;
+                int documentCount = in.readInt();
+                for (int i = 0; i < documentCount; i++) {
+                    String rowId = in.readUTF();
+                    applyPut(rowId, readTerms(in));
+                }
+            }
+        }
+        if (Files.exists(journalFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+                journalEntries = replayJournal(in);
+            }
+        }
+        journal = openJournal(StandardOpenOption.APPEND);
+        if (journalTailTruncated) {
+            snapshot(); // Drop the partial record so new changes are not appended after it
+        }
+    }
+
+    private long replayJournal(DataInputStream in) throws IOException {
+        long replayed = 0;
+        while (true) {
+            try {
+                int op = in.read();
+                if (op < 0) {
+                    break;
+                }
+                if (op == OP_PUT) {
+                    String rowId = in.readUTF();
+                    applyPut(rowId, readTerms(in));
+                } else if (op == OP_REMOVE) {
+                    applyRemove(in.readUTF());
+                } else if (op == OP_DATA_VERSION) {
+                    appliedDataVersion = in.readLong();
+                } else {
+                    throw new IOException("Corrupt search index journal " + journalFile);
+                }
+                replayed++;
+            } catch (EOFException e) {
+                // A change was cut short by a crash; it never returned to its caller, so it is dropped
+                journalTailTruncated = true;
+                break;
+            }
+        }
+        return replayed;
+    }
+
+    private DataOutputStream openJournal(StandardOpenOption mode) throws IOException {
+        OutputStream out = Files.newOutputStream(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+        return new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    private void appendPut(String rowId, Map<String, Integer> termFrequencies) throws IOException {
+        journal.writeByte(OP_PUT);
+        journal.writeUTF(rowId);
+        writeTerms(journal, termFrequencies);
+        journal.flush();
+        journalEntries++;
+    }
+
+    private void applyPut(String rowId, Map<String, Integer> termFrequencies) {
+        applyRemove(rowId);
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(rowId, entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(rowId, new Document(termFrequencies, length));
+        totalLength += length;
+    }
+
+    private boolean applyDataVersion(long dataVersion) {
+        if (dataVersion != appliedDataVersion + 1) {
+            return false;
+        }
+        appliedDataVersion = dataVersion;
+        return true;
+    }
+
+    private void applyRemove(String rowId) {
+        Document previous = documents.remove(rowId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length;
+        for (String term : previous.termFrequencies.keySet()) {
+            Map<String, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(rowId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void writeTerms(DataOutputStream out, Map<String, Integer> termFrequencies) throws IOException {
+        out.writeInt(termFrequencies.size());
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    private static Map<String, Integer> readTerms(DataInputStream in) throws IOException {
+        int termCount = in.readInt();
+        Map<String, Integer> termFrequencies = new HashMap<>(termCount * 2);
+        for (int i = 0; i < termCount; i++) {
+            termFrequencies.put(in.readUTF(), in.readInt());
+        }
+        return termFrequencies;
+    }
+
+    private static final class Document {
+        private final Map<String, Integer> termFrequencies;
+        private final int length;
+
+        private Document(Map<String, Integer> termFrequencies, int length) {
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+    }
+
+    /**
+     * A ranked row.
+     */
+    public static final class Hit {
+        private final String rowId;
+        private final double score;
+
+        private Hit(String rowId, double score) {
+            this.rowId = rowId;
+            this.score = score;
+        }
+
+        public String getRowId() {
+            return rowId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * The top hits of a search, the total number of matching rows, and whether the index covers the whole table.
+     */
+    public static final class SearchResult {
+        private final List<Hit> hits;
+        private final int totalHits;
+        private final boolean complete;
+
+        private SearchResult(List<Hit> hits, int totalHits, boolean complete) {
+            this.hits = hits;
+            this.totalHits = totalHits;
+            this.complete = complete;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.easy.tabledef.search;
+
+import com.easy.database.SqlDialect;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains one {@link FullTextIndex} per dynamic table over its free-text columns (varchar/string/text),
+ * stored under easy.search.index-dir/<tenant>/<finalTableName>.
+ *
+ * Indexes are kept up to date incrementally by TableCreationService after every insert, update and delete;
+ * {@link #rebuild} re-scans a table (for existing data, or after its text columns changed).
+ * Failures while updating an index never fail the write: the index is marked stale instead and reported
+ * as incomplete by searches until it is rebuilt.
+ *
+ * Indexes are local to each app node, while writes may go through any node. Every index therefore records the
+ * TableDefinition.dataVersion it has applied ({@link #recordDataVersion}); once the table's version has moved past
+ * it (a write through another node), searches report the index as incomplete until it is rebuilt.
+ */
+@Service
+public class FullTextIndexService {
+
+    private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+    private static final Set<String> TEXT_COLUMN_TYPES = Set.of("varchar", "string", "text");
+
+    private final Map<String, FullTextIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value("${easy.search.index-dir:./data/search-index}")
+    private String indexDir;
+
+    @Value("${easy.search.journal-compact-threshold:10000}")
+    private long journalCompactThreshold;
+
+    /**
+     * @return True if columns of this ColumnDefinition.columnType are indexed (reference columns never are).
+     */
+    public static boolean isTextColumnType(String columnType) {
+        return columnType != null && TEXT_COLUMN_TYPES.contains(columnType.toLowerCase());
+    }
+
+    /**
+     * @return The columns of the table that are indexed for full-text search.
+     */
+    public static List<ColumnDefinition> searchableColumns(TableDefinition tableDef) {
+        return tableDef.getColumns().stream()
+                .filter(c -> !c.isReference() && isTextColumnType(c.getColumnType()))
+                .collect(Collectors.toList());
+    }
+
+    public boolean isSearchable(TableDefinition tableDef) {
+        return !searchableColumns(tableDef).isEmpty();
+    }
+
+    /**
+     * @return True if any of the given column names is an indexed text column of the table.
+     */
+    public boolean touchesSearchableColumns(TableDefinition tableDef, Collection<String> columnNames) {
+        return searchableColumns(tableDef).stream().anyMatch(c -> columnNames.contains(c.getColumnName()));
+    }
+
+    /**
+     * Creates the index of a newly created (and therefore empty) table, already marked as built, so searches
+     * report it as complete without a rebuild. Tables without text columns get no index.
+     */
+    public void initializeEmpty(String tenantKey, TableDefinition tableDef) {
+        if (!isSearchable(tableDef)) {
+            return;
+        }
+        FullTextIndex index = getIndex(tenantKey, tableDef);
+        index.beginRebuild();
+        try {
+            index.completeRebuild(Map.of(), tableDef.getDataVersion());
+        } catch (IOException | RuntimeException e) {
+            index.abortRebuild();
+            System.err.println("Could not initialize search index of table '" + tableDef.getFinalTableName() + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Indexes rows that were just written. Each row must contain system_row_id and the values of the text columns.
+     */
+    public void indexRows(String tenantKey, TableDefinition tableDef, List<Map<String, Object>> rows) {
+        List<ColumnDefinition> columns = searchableColumns(tableDef);
+        if (columns.isEmpty() || rows.isEmpty()) {
+            return;
+        }
+        FullTextIndex index = getIndex(tenantKey, tableDef);
+        try {
+            for (Map<String, Object> row : rows) {
+                Object rowId = row.get(SYSTEM_UUID_COLUMN_NAME);
+                if (rowId != null) {
+                    index.put(rowId.toString(), TextTokenizer.termFrequencies(documentText(row, columns)));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            markStale(index, tableDef, e);
+        }
+    }
+
+    /**
+     * Re-reads the given rows from the tenant database and re-indexes them; rows that no longer exist are removed.
+     */
+    public void reindexRows(String tenantKey, JdbcTemplate jdbcTemplate, SqlDialect dialect, TableDefinition tableDef, List<String> rowIds) {
+        List<ColumnDefinition> columns = searchableColumns(tableDef);
+        if (columns.isEmpty() || rowIds.isEmpty()) {
+            return;
+        }
+        FullTextIndex index = getIndex(tenantKey, tableDef);
+        try {
+            String selectSql = "SELECT " + selectList(dialect, columns) + " FROM " + dialect.quote(tableDef.getFinalTableName())
+                    + " WHERE " + dialect.quote(SYSTEM_UUID_COLUMN_NAME) + " IN (";
+            int chunkSize = dialect.maxInListSize();
+            Set<String> found = new HashSet<>();
+            for (int from = 0; from < rowIds.size(); from += chunkSize) {
+                List<String> chunk = rowIds.subList(from, Math.min(from + chunkSize, rowIds.size()));
+                String sql = selectSql + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                for (Map<String, Object> row : jdbcTemplate.queryForList(sql, chunk.toArray())) {
+                    String rowId = String.valueOf(row.get(SYSTEM_UUID_COLUMN_NAME));
+                    found.add(rowId);
+                    index.put(rowId, TextTokenizer.termFrequencies(documentText(row, columns)));
+                }
+            }
+            for (String rowId : rowIds) {
+                if (!found.contains(rowId)) {
+                    index.remove(rowId);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            markStale(index, tableDef, e);
+        }
+    }
+
+    /**
+     * Removes deleted rows from the table's index.
+     */
+    public void removeRows(String tenantKey, TableDefinition tableDef, Collection<String> rowIds) {
+        if (!isSearchable(tableDef) || rowIds.isEmpty()) {
+            return;
+        }
+        FullTextIndex index = getIndex(tenantKey, tableDef);
+        try {
+            for (String rowId : rowIds) {
+                index.remove(rowId);
+            }
+        } catch (IOException | RuntimeException e) {
+            markStale(index, tableDef, e);
+        }
+    }
+
+    /**
+     * Records that this node's index has applied a write, after the write's index changes were made.
+     *
+     * @param dataVersion The table's TableDefinition.dataVersion right after the write.
+     */
+    public void recordDataVersion(String tenantKey, TableDefinition tableDef, long dataVersion) {
+        if (!isSearchable(tableDef)) {
+            return;
+        }
+        FullTextIndex index = getIndex(tenantKey, tableDef);
+        try {
+            index.recordDataVersion(dataVersion);
+        } catch (IOException | RuntimeException e) {
+            markStale(index, tableDef, e);
+        }
+    }
+
+    /**
+     * Marks a table's index as incomplete (e.g., its text columns changed) until the next rebuild.
+     */
+    public void invalidate(String tenantKey, TableDefinition tableDef) {
+        Path directory = indexDirectory(tenantKey, tableDef);
+        if (!indexes.containsKey(directory.toString()) && !Files.exists(directory)) {
+            return; // Never indexed; nothing to invalidate
+        }
+        FullTextIndex index = getIndex(tenantKey, tableDef);
+        try {
+            index.markStale();
+        } catch (IOException e) {
+            System.err.println("Could not mark search index of table '" + tableDef.getFinalTableName() + "' stale: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ranks the rows of a table against a free-text query. The result is incomplete when the index is stale
+     * or has not applied every write up to the table's current dataVersion.
+     *
+     * @param query The query; its terms are OR-ed and ranked with BM25.
+     * @param limit The maximum number of hits.
+     * @throws IllegalArgumentException if the table has no text columns or the query has no terms.
+     */
+    public FullTextIndex.SearchResult search(String tenantKey, TableDefinition tableDef, String query, int limit) {
+        if (!isSearchable(tableDef)) {
+            throw new IllegalArgumentException("Table '" + tableDef.getTableName() + "' has no text columns to search.");
+        }
+        List<String> terms = TextTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word.");
+        }
+        return getIndex(tenantKey, tableDef).search(terms, limit, tableDef.getDataVersion());
+    }
+
+    /**
+     * Rebuilds a table's index from a full scan of its text columns. Writes made during the scan are kept.
+     * The tableDef must be loaded before the scan, since its dataVersion becomes the version the index reflects.
+     *
+     * @return The number of rows indexed.
+     */
+    public int rebuild(String tenantKey, JdbcTemplate jdbcTemplate, SqlDialect dialect, TableDefinition tableDef) {
+        List<ColumnDefinition> columns = searchableColumns(tableDef);
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Table '" + tableDef.getTableName() + "' has no text columns to index.");
+        }
+        FullTextIndex index = getIndex(tenantKey, tableDef);
+        index.beginRebuild();
+        try {
+            Map<String, Map<String, Integer>> documents = new HashMap<>();
+            String sql = "SELECT " + selectList(dialect, columns) + " FROM " + dialect.quote(tableDef.getFinalTableName());
+            jdbcTemplate.query(sql, rs -> {
+                Map<String, Object> row = new HashMap<>();
+                row.put(SYSTEM_UUID_COLUMN_NAME, rs.getString(1));
+                for (int i = 0; i < columns.size(); i++) {
+                    row.put(columns.get(i).getColumnName(), rs.getString(i + 2));
+                }
+                documents.put(rs.getString(1), TextTokenizer.termFrequencies(documentText(row, columns)));
+            });
+            index.completeRebuild(documents, tableDef.getDataVersion());
+            return documents.size();
+        } catch (IOException e) {
+            index.abortRebuild();
+            throw new RuntimeException("Error writing search index for table '" + tableDef.getFinalTableName() + "': " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            index.abortRebuild();
+            throw e;
+        }
+    }
+
+    /**
+     * Per-index counters, keyed by tenant/table.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Path root = Paths.get(indexDir);
+        indexes.forEach((directory, index) -> stats.put(root.relativize(Paths.get(directory)).toString(), index.getStats()));
+        return stats;
+    }
+
+    /**
+     * Folds long journals into snapshots so that startup replay stays short.
+     */
+    @Scheduled(fixedDelayString = "${easy.search.snapshot-interval-ms:60000}")
+    public void compactJournals() {
+        indexes.forEach((directory, index) -> {
+            if (index.getJournalEntries() >= journalCompactThreshold) {
+                try {
+                    index.snapshot();
+                } catch (IOException e) {
+                    System.err.println("Failed to snapshot search index " + directory + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        indexes.forEach((directory, index) -> {
+            try {
+                if (index.getJournalEntries() > 0) {
+                    index.snapshot();
+                }
+                index.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close search index " + directory + ": " + e.getMessage());
+            }
+        });
+        indexes.clear();
+    }
+
+    private FullTextIndex getIndex(String tenantKey, TableDefinition tableDef) {
+        Path directory = indexDirectory(tenantKey, tableDef);
+        return indexes.computeIfAbsent(directory.toString(), k -> openIndex(directory));
+    }
+
+    private FullTextIndex openIndex(Path directory) {
+        try {
+            return FullTextIndex.open(directory);
+        } catch (IOException e) {
+            // Unreadable files: start over with an empty (not built) index; a rebuild restores it
+            System.err.println("Discarding unreadable search index " + directory + ": " + e.getMessage());
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.deleteIfExists(file);
+                }
+                return FullTextIndex.open(directory);
+            } catch (IOException retryFailure) {
+                throw new RuntimeException("Cannot open search index " + directory + ": " + retryFailure.getMessage(), retryFailure);
+            }
+        }
+    }
+
+    private Path indexDirectory(String tenantKey, TableDefinition tableDef) {
+        if (!tableDef.getFinalTableName().matches("^[a-zA-Z0-9_]+$") || !tenantKey.matches("^[a-zA-Z0-9_-]+$")) {
+            throw new IllegalArgumentException("Invalid table or tenant for search index.");
+        }
+        return Paths.get(indexDir, tenantKey, tableDef.getFinalTableName());
+    }
+
+    private void markStale(FullTextIndex index, TableDefinition tableDef, Exception cause) {
+        System.err.println("Search index update failed for table '" + tableDef.getFinalTableName() + "', marking it stale: " + cause.getMessage());
+        try {
+            index.markStale();
+        } catch (IOException e) {
+            System.err.println("Could not mark search index stale: " + e.getMessage());
+        }
+    }
+
+    private static String selectList(SqlDialect dialect, List<ColumnDefinition> columns) {
+        List<String> selected = new ArrayList<>();
+        selected.add(dialect.quote(SYSTEM_UUID_COLUMN_NAME));
+        columns.forEach(c -> selected.add(dialect.quote(c.getColumnName())));
+        return String.join(", ", selected);
+    }
+
+    private static String documentText(Map<String, Object> row, List<ColumnDefinition> columns) {
+        StringBuilder text = new StringBuilder();
+        for (ColumnDefinition column : columns) {
+            Object value = row.get(column.getColumnName());
+            if (value != null) {
+                text.append(value).append(' ');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.easy.tabledef.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits free text into lower-cased terms on anything that is not a letter or digit.
+ * The same tokenizer is used for indexed values and for search queries.
+ */
+public final class TextTokenizer {
+
+    static final int MAX_TERM_LENGTH = 64;
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * @return The terms of the text in order (duplicates kept); terms longer than 64 characters are dropped.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        StringBuilder current = new StringBuilder();
+        text.codePoints().forEach(codePoint -> {
+            if (Character.isLetterOrDigit(codePoint)) {
+                current.appendCodePoint(codePoint);
+            } else {
+                addTerm(terms, current);
+            }
+        });
+        addTerm(terms, current);
+        return terms;
+    }
+
+    /**
+     * @return The frequency of each term in the text.
+     */
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private static void addTerm(List<String> terms, StringBuilder current) {
+        if (current.length() > 0 && current.length() <= MAX_TERM_LENGTH) {
+            terms.add(current.toString().toLowerCase(Locale.ROOT));
+        }
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,555 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.BulkInsertResultDto;
+import com.easy.tabledef.dto.IngestionResultDto;
+import com.easy.tabledef.model.TableDefinition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind ingestion for high-rate inserts (events, readings, audit trails).
+ *
+ * Rows are accepted into a bounded in-memory queue per table and written later by one writer thread per tenant
+ * database, which drains each queue in groups of easy.ingest.flush-size rows through
+ * {@link TableCreationService#bulkInsertIntoDynamicTable} (validation, JDBC batches and derived-state hooks included).
+ * A queue is flushed every easy.ingest.flush-interval-ms, or as soon as it holds a full group.
+ * A full queue rejects new rows (the endpoint answers 429) instead of growing.
+ *
+ * With easy.ingest.spill-dir set, accepted rows are first appended to a per-table journal on local disk and synced,
+ * and a checkpoint records the last flushed row. The journal is split into numbered segments: each checkpoint starts
+ * a new segment and deletes the segments it has fully passed, so the journal stays bounded while the queue never drains.
+ * Journals are replayed on startup, so rows survive a restart or crash
+ * (at least once: a crash between a flush and its checkpoint writes those rows again).
+ * Without a spill directory, queued rows are lost if the process dies.
+ */
+@Service
+public class IngestionQueueService {
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final String TABLE_NAME_SUFFIX = ".table";
+
+    private final Map<String, TableQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledExecutorService> writers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TableCreationService tableCreationService;
+
+    @Autowired
+    private ProjectConfigService projectConfigService;
+
+    @Autowired
+    private DatabaseConnectivityService databaseConnectivityService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${easy.ingest.queue-capacity:100000}")
+    private int queueCapacity;
+
+    @Value("${easy.ingest.flush-size:1000}")
+    private int flushSize;
+
+    @Value("${easy.ingest.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${easy.ingest.spill-dir:}")
+    private String spillDir;
+
+    /**
+     * Thrown when a table's queue cannot take the rows of a request.
+     */
+    public static class QueueFullException extends RuntimeException {
+        public QueueFullException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Queues rows for a table. Either all rows of the request are accepted or none.
+     *
+     * @param logicalTableName The logical name of the target table.
+     * @param projectConfigId The UUID of the project.
+     * @param rows The rows to insert (column name to value); they are validated when written.
+     * @return The number of rows accepted and the queue depth after accepting them.
+     * @throws IllegalArgumentException if the table is unknown or the rows are empty or contain null entries.
+     * @throws QueueFullException if the queue does not have room for the rows.
+     */
+    public IngestionResultDto enqueue(String logicalTableName, String projectConfigId, List<Map<String, Object>> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("At least one row is required.");
+        }
+        if (rows.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Rows cannot be null.");
+        }
+        TableQueue queue = queues.get(queueKey(projectConfigId, logicalTableName));
+        if (queue == null) {
+            TableDefinition tableDef = tableCreationService.getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                    .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+            queue = openQueue(projectConfigId, logicalTableName, tableDef.getFinalTableName());
+        }
+
+        int depth;
+        synchronized (queue) {
+            if (queue.entries.size() + rows.size() > queueCapacity) {
+                queue.rejected.addAndGet(rows.size());
+                throw new QueueFullException("Ingestion queue for table '" + logicalTableName + "' is full (" + queue.entries.size()
+                        + " of " + queueCapacity + " rows); retry later.");
+            }
+            List<QueuedRow> accepted = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                accepted.add(new QueuedRow(queue.nextSequence++, row));
+            }
+            if (queue.journal != null) {
+                appendToJournal(queue, accepted);
+            }
+            queue.entries.addAll(accepted);
+            queue.accepted.addAndGet(rows.size());
+            depth = queue.entries.size();
+        }
+        if (depth >= flushSize) {
+            TableQueue full = queue;
+            writerFor(queue.tenantKey).execute(() -> flush(full));
+        }
+        return new IngestionResultDto(rows.size(), depth);
+    }
+
+    /**
+     * Per-queue counters: depth, accepted/rejected/written/failed rows and flush latency.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        queues.forEach((key, queue) -> {
+            Map<String, Object> queueStats = new LinkedHashMap<>();
+            synchronized (queue) {
+                queueStats.put("depth", queue.entries.size());
+            }
+            long flushes = queue.flushes.get();
+            queueStats.put("capacity", queueCapacity);
+            queueStats.put("accepted", queue.accepted.get());
+            queueStats.put("rejected", queue.rejected.get());
+            queueStats.put("written", queue.written.get());
+            queueStats.put("failed", queue.failed.get());
+            queueStats.put("flushes", flushes);
+            queueStats.put("lastFlushMs", queue.lastFlushNanos.get() / 1_000_000.0);
+            queueStats.put("avgFlushMs", flushes == 0 ? 0.0 : queue.totalFlushNanos.get() / 1_000_000.0 / flushes);
+            queueStats.put("maxFlushMs", queue.maxFlushNanos.get() / 1_000_000.0);
+            queueStats.put("durable", queue.journal != null);
+            queueStats.put("lastError", queue.lastError);
+            stats.put(key, queueStats);
+        });
+        return stats;
+    }
+
+    /**
+     * Replays the journals left in the spill directory by a previous run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJournals() {
+        if (spillDir == null || spillDir.isBlank() || !Files.isDirectory(Paths.get(spillDir))) {
+            return;
+        }
+        try (Stream<Path> projectDirs = Files.list(Paths.get(spillDir))) {
+            for (Path projectDir : projectDirs.filter(Files::isDirectory).collect(Collectors.toList())) {
+                try (Stream<Path> files = Files.list(projectDir)) {
+                    for (Path tableNameFile : files.filter(f -> f.getFileName().toString().endsWith(TABLE_NAME_SUFFIX)).collect(Collectors.toList())) {
+                        String projectConfigId = projectDir.getFileName().toString();
+                        String logicalTableName = Files.readString(tableNameFile, StandardCharsets.UTF_8).trim();
+                        try {
+                            enqueueRecovered(projectConfigId, logicalTableName);
+                        } catch (RuntimeException | IOException e) {
+                            System.err.println("Could not recover ingestion journal " + tableNameFile + ": " + e.getMessage());
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not scan ingestion spill directory " + spillDir + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the writers and writes what is still queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writers.values().forEach(ScheduledExecutorService::shutdown);
+        for (ScheduledExecutorService writer : writers.values()) {
+            try {
+                writer.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        queues.values().forEach(queue -> {
+            flush(queue);
+            if (queue.journal != null) {
+                try {
+                    queue.journal.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close ingestion journal of table '" + queue.logicalTableName + "': " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes the queued rows of a table in groups of flush-size. Runs on the tenant's writer thread.
+     * When the tenant database cannot be written (unreachable, connection lost part-way), the rows not yet
+     * written are put back and retried on the next trigger; rows the database rejects individually are counted
+     * as failed and dropped.
+     */
+    private void flush(TableQueue queue) {
+        while (true) {
+            List<QueuedRow> group = new ArrayList<>(flushSize);
+            synchronized (queue) {
+                while (group.size() < flushSize && !queue.entries.isEmpty()) {
+                    group.add(queue.entries.pollFirst());
+                }
+            }
+            if (group.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                // Copies: the bulk insert adds system_row_id to the maps it is given, and queued rows may be written again
+                List<Map<String, Object>> rows = group.stream().map(r -> (Map<String, Object>) new HashMap<>(r.row())).collect(Collectors.toList());
+                BulkInsertResultDto result = tableCreationService.bulkInsertIntoDynamicTable(queue.logicalTableName, queue.projectConfigId, rows);
+                recordResult(queue, result);
+            } catch (TableCreationService.BulkInsertInterruptedException e) {
+                recordResult(queue, e.getPartialResult());
+                requeue(queue, e.getUnwrittenIndexes().stream().map(group::get).collect(Collectors.toList()));
+                queue.lastError = e.getMessage();
+                System.err.println("Ingestion into table '" + queue.logicalTableName + "' interrupted, retrying " + e.getUnwrittenIndexes().size()
+                        + " rows later: " + e.getMessage());
+                return;
+            } catch (IllegalArgumentException e) {
+                // The group can never be written (e.g., the table was deleted); drop it
+                queue.failed.addAndGet(group.size());
+                queue.lastError = e.getMessage();
+                System.err.println("Ingestion into table '" + queue.logicalTableName + "' dropped " + group.size() + " rows: " + e.getMessage());
+            } catch (RuntimeException e) {
+                requeue(queue, group);
+                queue.lastError = e.getMessage();
+                System.err.println("Ingestion into table '" + queue.logicalTableName + "' failed, retrying later: " + e.getMessage());
+                return;
+            }
+
+            long elapsed = System.nanoTime() - start;
+            queue.flushes.incrementAndGet();
+            queue.lastFlushNanos.set(elapsed);
+            queue.totalFlushNanos.addAndGet(elapsed);
+            queue.maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+            if (queue.journal != null) {
+                checkpoint(queue, group.get(group.size() - 1).sequence());
+            }
+        }
+    }
+
+    private static void recordResult(TableQueue queue, BulkInsertResultDto result) {
+        queue.written.addAndGet(result.getInserted());
+        queue.failed.addAndGet(result.getFailed());
+        if (result.getFailed() > 0) {
+            queue.lastError = result.getErrors().get(0).getMessage();
+            System.err.println("Ingestion into table '" + queue.logicalTableName + "' rejected " + result.getFailed() + " rows, first error: " + queue.lastError);
+        }
+    }
+
+    /**
+     * Puts rows back at the head of the queue, in their original order.
+     */
+    private static void requeue(TableQueue queue, List<QueuedRow> rows) {
+        synchronized (queue) {
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                queue.entries.addFirst(rows.get(i));
+            }
+        }
+    }
+
+    private TableQueue openQueue(String projectConfigId, String logicalTableName, String finalTableName) {
+        return queues.computeIfAbsent(queueKey(projectConfigId, logicalTableName), key -> {
+            TableQueue queue = new TableQueue(projectConfigId, logicalTableName, getConnectionDetailsForProject(projectConfigId).getUuid());
+            if (spillDir != null && !spillDir.isBlank()) {
+                openJournal(queue, finalTableName);
+            }
+            writerFor(queue.tenantKey).scheduleWithFixedDelay(() -> flush(queue), flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+            return queue;
+        });
+    }
+
+    private ScheduledExecutorService writerFor(String tenantKey) {
+        return writers.computeIfAbsent(tenantKey, key -> Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-writer-" + key);
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    // --- Journal (local-disk spill) ---
+
+    private void openJournal(TableQueue queue, String finalTableName) {
+        if (!queue.projectConfigId.matches("^[a-zA-Z0-9_-]+$") || !finalTableName.matches("^[a-zA-Z0-9_]+$")) {
+            throw new IllegalArgumentException("Invalid project or table for ingestion journal.");
+        }
+        Path directory = Paths.get(spillDir, queue.projectConfigId);
+        queue.journalDirectory = directory;
+        queue.journalName = finalTableName + JOURNAL_SUFFIX;
+        queue.checkpointPath = directory.resolve(finalTableName + CHECKPOINT_SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(finalTableName + TABLE_NAME_SUFFIX), queue.logicalTableName, StandardCharsets.UTF_8);
+            long checkpoint = readCheckpoint(queue.checkpointPath);
+            queue.nextSequence = checkpoint + 1;
+            // Rows a previous run did not flush are queued again ahead of new ones, oldest segment first
+            long lastSegment = 0;
+            for (Path segment : listSegments(directory, queue.journalName)) {
+                long lastSequence = replaySegment(queue, segment, checkpoint);
+                if (lastSequence <= checkpoint) {
+                    Files.delete(segment);
+                } else {
+                    queue.closedSegments.add(new JournalSegment(segment, lastSequence));
+                }
+                lastSegment = Math.max(lastSegment, segmentNumber(segment, queue.journalName));
+            }
+            openSegment(queue, lastSegment + 1);
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Cannot open ingestion journal " + directory.resolve(queue.journalName) + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queues the rows of a segment that are past the checkpoint and returns the segment's last sequence (0 if it has none).
+     */
+    private long replaySegment(TableQueue queue, Path segment, long checkpoint) throws IOException {
+        long lastSequence = 0;
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    continue; // Torn line of a crash
+                }
+                try {
+                    long sequence = Long.parseLong(line.substring(0, tab));
+                    if (sequence > checkpoint) {
+                        queue.entries.add(new QueuedRow(sequence, objectMapper.readValue(line.substring(tab + 1), new TypeReference<Map<String, Object>>() {})));
+                    }
+                    queue.nextSequence = Math.max(queue.nextSequence, sequence + 1);
+                    lastSequence = Math.max(lastSequence, sequence);
+                } catch (NumberFormatException | JsonProcessingException e) {
+                    System.err.println("Skipping unreadable line in ingestion journal " + segment + ": " + e.getMessage());
+                }
+            }
+        }
+        return lastSequence;
+    }
+
+    /**
+     * The journal segments of a table, oldest first: &lt;table&gt;.journal.&lt;n&gt;, and a single &lt;table&gt;.journal
+     * written before journals were segmented, which counts as segment 0.
+     */
+    private static List<Path> listSegments(Path directory, String journalName) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> segmentNumber(f, journalName) >= 0)
+                    .sorted(Comparator.comparingLong(f -> segmentNumber(f, journalName)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long segmentNumber(Path file, String journalName) {
+        String fileName = file.getFileName().toString();
+        if (fileName.equals(journalName)) {
+            return 0;
+        }
+        if (!fileName.startsWith(journalName + ".")) {
+            return -1;
+        }
+        String number = fileName.substring(journalName.length() + 1);
+        return number.matches("^[0-9]{1,18}$") ? Long.parseLong(number) : -1;
+    }
+
+    /**
+     * Makes a new, empty segment the one rows are appended to; the previous one is kept until a checkpoint passes it.
+     * Called with the queue locked (or before the queue is published).
+     */
+    private static void openSegment(TableQueue queue, long number) throws IOException {
+        Path path = queue.journalDirectory.resolve(queue.journalName + "." + number);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        FileChannel previous = queue.journal;
+        if (previous != null) {
+            queue.closedSegments.add(new JournalSegment(queue.journalPath, queue.journalLastSequence));
+        }
+        queue.journal = channel;
+        queue.journalPath = path;
+        queue.journalSegment = number;
+        queue.journalLastSequence = 0;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    private void enqueueRecovered(String projectConfigId, String logicalTableName) throws IOException {
+        TableDefinition tableDef = tableCreationService.getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table '" + logicalTableName + "' no longer exists in project " + projectConfigId));
+        TableQueue queue = openQueue(projectConfigId, logicalTableName, tableDef.getFinalTableName());
+        int depth;
+        synchronized (queue) {
+            depth = queue.entries.size();
+        }
+        if (depth > 0) {
+            System.out.println("Recovered " + depth + " queued rows for table '" + logicalTableName + "' from the ingestion journal.");
+            writerFor(queue.tenantKey).execute(() -> flush(queue));
+        }
+    }
+
+    /**
+     * Appends rows to the journal and syncs it before they are accepted. Called with the queue locked.
+     */
+    private void appendToJournal(TableQueue queue, List<QueuedRow> rows) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (QueuedRow row : rows) {
+                lines.append(row.sequence()).append('\t').append(objectMapper.writeValueAsString(row.row())).append('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            // Before writing: a partly written group keeps the segment until a checkpoint passes it
+            queue.journalLastSequence = rows.get(rows.size() - 1).sequence();
+            while (buffer.hasRemaining()) {
+                queue.journal.write(buffer);
+            }
+            queue.journal.force(false);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Rows cannot be serialized: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write ingestion journal of table '" + queue.logicalTableName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Records the last written row, starts a new segment and deletes the segments whose rows are all written.
+     * Rows queued behind the checkpoint stay in their segment, which goes once a later checkpoint passes its last row.
+     */
+    private void checkpoint(TableQueue queue, long sequence) {
+        List<JournalSegment> behind = new ArrayList<>();
+        try {
+            Path temp = queue.checkpointPath.resolveSibling(queue.checkpointPath.getFileName() + ".tmp");
+            Files.writeString(temp, Long.toString(sequence), StandardCharsets.UTF_8);
+            Files.move(temp, queue.checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (queue) {
+                if (queue.journalLastSequence > 0) {
+                    openSegment(queue, queue.journalSegment + 1);
+                }
+                while (!queue.closedSegments.isEmpty() && queue.closedSegments.peekFirst().lastSequence() <= sequence) {
+                    behind.add(queue.closedSegments.pollFirst());
+                }
+            }
+            for (JournalSegment segment : behind) {
+                Files.deleteIfExists(segment.path());
+            }
+        } catch (IOException e) {
+            // Rows stay in the journal and are written again after a restart
+            System.err.println("Failed to checkpoint ingestion journal of table '" + queue.logicalTableName + "': " + e.getMessage());
+        }
+    }
+
+    private static long readCheckpoint(Path checkpointPath) throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            return 0L;
+        }
+        String content = Files.readString(checkpointPath, StandardCharsets.UTF_8).trim();
+        return content.isEmpty() ? 0L : Long.parseLong(content);
+    }
+
+    private static String queueKey(String projectConfigId, String logicalTableName) {
+        return projectConfigId + "/" + logicalTableName;
+    }
+
+    private DatabaseConnectionDetails getConnectionDetailsForProject(String projectConfigId) {
+        ProjectConfig projectConfig = projectConfigService.getProjectConfigById(projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Project configuration not found for ID: " + projectConfigId));
+        return databaseConnectivityService.getSavedConnectionByUuid(projectConfig.getDatabaseConnectionIdRef())
+                .orElseThrow(() -> new IllegalStateException("Database connection details not found for project ID: " + projectConfigId));
+    }
+
+    private record QueuedRow(long sequence, Map<String, Object> row) {
+    }
+
+    private record JournalSegment(Path path, long lastSequence) {
+    }
+
+    /**
+     * The queue of one table. entries, nextSequence and the journal segments are guarded by the queue's monitor.
+     */
+    private static final class TableQueue {
+        private final String projectConfigId;
+        private final String logicalTableName;
+        private final String tenantKey;
+        private final ArrayDeque<QueuedRow> entries = new ArrayDeque<>();
+        private long nextSequence = 1;
+
+        private Path journalDirectory;
+        private String journalName;
+        private Path checkpointPath;
+        // The segment rows are appended to, and the last sequence written to it (0 while it is empty)
+        private Path journalPath;
+        private FileChannel journal;
+        private long journalSegment;
+        private long journalLastSequence;
+        // Earlier segments still holding rows past the checkpoint, oldest first
+        private final ArrayDeque<JournalSegment> closedSegments = new ArrayDeque<>();
+
+        private final AtomicLong accepted = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong flushes = new AtomicLong();
+        private final AtomicLong lastFlushNanos = new AtomicLong();
+        private final AtomicLong totalFlushNanos = new AtomicLong();
+        private final AtomicLong maxFlushNanos = new AtomicLong();
+        private volatile String lastError;
+
+        private TableQueue(String projectConfigId, String logicalTableName, String tenantKey) {
+            this.projectConfigId = projectConfigId;
+            this.logicalTableName = logicalTableName;
+            this.tenantKey = tenantKey;
+        }
+    }
+}
@@ -0,0 +1,856 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.auth.job.SummaryTableRefreshJob;
+import com.easy.auth.job.service.SchedulerService;
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.database.SqlDialect;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.AggregationRequestDto;
+import com.easy.tabledef.dto.AggregationResultDto;
+import com.easy.tabledef.dto.FilterCriteriaDto;
+import com.easy.tabledef.dto.SummaryTableDto;
+import com.easy.tabledef.dto.SummaryTableRequestDto;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.SummaryTable;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.repository.SummaryTableRepository;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import com.easy.tabledef.util.AggregationQueryCompiler;
+import com.easy.tabledef.util.AggregationQueryCompiler.AggregateTerm;
+import com.easy.tabledef.util.AggregationQueryCompiler.GroupTerm;
+import com.easy.tabledef.util.ColumnTypes;
+import com.easy.tabledef.util.FilterQueryCompiler;
+import com.easy.tabledef.util.SqlFragment;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.quartz.CronExpression;
+import org.quartz.JobDataMap;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Summary tables: aggregation specs over a dynamic table, materialized in the tenant database and refreshed
+ * incrementally by {@link SummaryTableRefreshJob}.
+ *
+ * Every insert, update and delete on the source table records the group keys it touched (before and after the
+ * write) in the summary's "_dirty" table. A refresh recomputes only those groups from the source table, in one
+ * tenant transaction that also removes the processed dirty rows, so updates and deletes are handled exactly
+ * and no aggregate needs to be invertible. Keys are recorded after the write, so a refresh never consumes a
+ * key before the write it describes is visible.
+ *
+ * Aggregations whose filter equals a summary's filter and whose groups and aggregates are covered by it are
+ * answered from the summary table (rolling groups up when fewer columns are requested), provided the summary
+ * is built and has no pending changes; otherwise they run against the source table as before.
+ */
+@Service
+public class SummaryTableService {
+
+    private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+    private static final String JOB_GROUP = "summary-refresh";
+    private static final String STATUS_BUILDING = "BUILDING";
+    private static final String STATUS_READY = "READY";
+    private static final String CAPTURE_ID_COLUMN = "capture_id";
+    private static final String DIRTY_TABLE_SUFFIX = "_dirty";
+    private static final String AVG_SUM_SUFFIX = "__sum";
+    private static final String AVG_COUNT_SUFFIX = "__count";
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z][a-zA-Z0-9_]{0,39}$");
+    private static final Set<String> INTEGER_TYPES = Set.of("int", "integer", "long");
+    private static final int DEFAULT_DATA_LIMIT = 1000;
+    private static final int MAX_DATA_LIMIT = 10000;
+    private static final int KEYS_PER_STATEMENT = 100; // Up to 500 parameters with the maximum of 5 group columns
+
+    @Autowired
+    private SummaryTableRepository summaryTableRepository;
+
+    @Autowired
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Autowired
+    private ProjectConfigService projectConfigService;
+
+    @Autowired
+    private DatabaseConnectivityService databaseConnectivityService;
+
+    @Autowired
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Autowired
+    private AggregationQueryCompiler aggregationQueryCompiler;
+
+    @Autowired
+    private FilterQueryCompiler filterQueryCompiler;
+
+    @Autowired
+    private SchedulerService schedulerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${easy.summary.refresh-cron:0 * * * * ?}")
+    private String defaultRefreshCron;
+
+    /**
+     * A summary table's spec resolved against its source table.
+     */
+    private static final class Plan {
+        private final SqlDialect dialect;
+        private final TableDefinition source;
+        private final List<GroupTerm> groups;
+        private final List<AggregateTerm> aggregates;
+        private final SqlFragment where;
+        private final String table;
+        private final String dirtyTable;
+
+        private Plan(SqlDialect dialect, TableDefinition source, List<GroupTerm> groups,
+                     List<AggregateTerm> aggregates, SqlFragment where, String finalTableName) {
+            this.dialect = dialect;
+            this.source = source;
+            this.groups = groups;
+            this.aggregates = aggregates;
+            this.where = where;
+            this.table = dialect.quote(finalTableName);
+            this.dirtyTable = dialect.quote(finalTableName + DIRTY_TABLE_SUFFIX);
+        }
+
+        private List<String> groupColumns() {
+            return groups.stream().map(g -> dialect.quote(g.getName())).collect(Collectors.toList());
+        }
+
+        private List<String> groupExpressions() {
+            return groups.stream().map(g -> g.expression(dialect)).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Group keys of source rows captured before a write; pass to {@link #recordChanges} once the write is done.
+     */
+    public static final class ChangedGroups {
+        private final DatabaseConnectionDetails dbDetails;
+        private final JdbcTemplate jdbcTemplate;
+        private final TableDefinition tableDef;
+        private final List<SummaryTable> summaries;
+        private final Map<String, List<Object[]>> previousKeys;
+
+        private ChangedGroups(DatabaseConnectionDetails dbDetails, JdbcTemplate jdbcTemplate, TableDefinition tableDef,
+                              List<SummaryTable> summaries, Map<String, List<Object[]>> previousKeys) {
+            this.dbDetails = dbDetails;
+            this.jdbcTemplate = jdbcTemplate;
+            this.tableDef = tableDef;
+            this.summaries = summaries;
+            this.previousKeys = previousKeys;
+        }
+
+        /**
+         * @return True if no summary table depends on the written columns (nothing to record).
+         */
+        public boolean isEmpty() {
+            return summaries.isEmpty();
+        }
+    }
+
+    /**
+     * Defines a summary table: creates its physical and dirty-key tables in the tenant database,
+     * schedules its refresh job and starts the initial build.
+     *
+     * @param projectConfigId The UUID of the project.
+     * @param request The name, source table, aggregates, group-by columns, optional filter and refresh cron.
+     * @return The new summary table (status BUILDING).
+     * @throws IllegalArgumentException if the name is invalid or taken, the source table is unknown, or the spec is invalid.
+     * @throws RuntimeException if the tables cannot be created or the refresh cannot be scheduled.
+     */
+    public SummaryTableDto createSummaryTable(String projectConfigId, SummaryTableRequestDto request) {
+        if (request == null || request.getName() == null || !NAME_PATTERN.matcher(request.getName()).matches()) {
+            throw new IllegalArgumentException("Summary table name must start with a letter and contain at most 40 letters, digits or underscores.");
+        }
+        if (summaryTableRepository.findByNameAndProjectConfigIdRef(request.getName(), projectConfigId).isPresent()) {
+            throw new IllegalArgumentException("Summary table '" + request.getName() + "' already exists for project '" + projectConfigId + "'.");
+        }
+        TableDefinition source = tableDefinitionRepository.findByTableNameAndProjectConfigIdRef(request.getSourceTable(), projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + request.getSourceTable() + "' not found for project '" + projectConfigId + "'."));
+        String refreshCron = request.getRefreshCron() == null || request.getRefreshCron().isBlank() ? defaultRefreshCron : request.getRefreshCron().trim();
+        if (!CronExpression.isValidExpression(refreshCron)) {
+            throw new IllegalArgumentException("Invalid refresh cron expression '" + refreshCron + "'.");
+        }
+
+        AggregationRequestDto spec = AggregationRequestDto.builder()
+                .aggregates(request.getAggregates())
+                .groupBy(request.getGroupBy())
+                .filter(request.getFilter())
+                .build();
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        String finalTableName = "sum_" + request.getName().toLowerCase() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        Plan plan = plan(dialect, source, spec, finalTableName);
+
+        List<String> columnDefinitions = new ArrayList<>();
+        Set<String> physicalColumns = new HashSet<>();
+        for (GroupTerm group : plan.groups) {
+            physicalColumns.add(group.getName().toLowerCase());
+            columnDefinitions.add(dialect.quote(group.getName()) + " " + groupColumnType(group));
+        }
+        for (AggregateTerm aggregate : plan.aggregates) {
+            List<String> names = aggregateColumns(aggregate);
+            List<String> types = aggregateColumnTypes(aggregate);
+            for (int i = 0; i < names.size(); i++) {
+                if (!physicalColumns.add(names.get(i).toLowerCase())) {
+                    throw new IllegalArgumentException("Summary column '" + names.get(i) + "' is defined twice; give the aggregate a distinct alias.");
+                }
+                columnDefinitions.add(dialect.quote(names.get(i)) + " " + types.get(i));
+            }
+        }
+        List<String> dirtyColumnDefinitions = new ArrayList<>();
+        dirtyColumnDefinitions.add(dialect.quote(CAPTURE_ID_COLUMN) + " VARCHAR(36) NOT NULL");
+        columnDefinitions.subList(0, plan.groups.size()).forEach(dirtyColumnDefinitions::add);
+
+        JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+        List<String> created = new ArrayList<>();
+        try {
+            jdbcTemplate.execute("CREATE TABLE " + plan.table + " (" + String.join(", ", columnDefinitions) + ")");
+            created.add(plan.table);
+            jdbcTemplate.execute("CREATE TABLE " + plan.dirtyTable + " (" + String.join(", ", dirtyColumnDefinitions) + ")");
+            created.add(plan.dirtyTable);
+            boolean indexable = plan.groups.stream().noneMatch(g -> g.getColumnDefinition() != null
+                    && "text".equalsIgnoreCase(g.getColumnDefinition().getColumnType()));
+            if (!plan.groups.isEmpty() && indexable) {
+                jdbcTemplate.execute("CREATE INDEX " + dialect.quote("idx_" + finalTableName) + " ON " + plan.table
+                        + " (" + String.join(", ", plan.groupColumns()) + ")");
+            }
+        } catch (Exception e) {
+            for (String table : created) {
+                try {
+                    jdbcTemplate.execute("DROP TABLE " + table);
+                } catch (Exception dropFailure) {
+                    System.err.println("Could not drop " + table + " after failed summary creation: " + dropFailure.getMessage());
+                }
+            }
+            throw new RuntimeException("Failed to create summary table '" + request.getName() + "': " + e.getMessage(), e);
+        }
+
+        SummaryTable summary = new SummaryTable();
+        summary.setProjectConfigIdRef(projectConfigId);
+        summary.setSourceTableDefinitionIdRef(source.getId());
+        summary.setName(request.getName());
+        summary.setFinalTableName(finalTableName);
+        summary.setRefreshCron(refreshCron);
+        summary.setStatus(STATUS_BUILDING);
+        summary.setFullRefreshRequired(true);
+        try {
+            summary.setSpecJson(objectMapper.writeValueAsString(spec));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid summary spec: " + e.getMessage(), e);
+        }
+        summary = summaryTableRepository.save(summary);
+
+        try {
+            JobDataMap jobDataMap = new JobDataMap();
+            jobDataMap.put("summaryTableId", summary.getId());
+            schedulerService.scheduleCronJob(SummaryTableRefreshJob.class, jobName(summary), JOB_GROUP, refreshCron, jobDataMap);
+            schedulerService.triggerJob(jobName(summary), JOB_GROUP, new JobDataMap());
+        } catch (SchedulerException e) {
+            summaryTableRepository.markFailed(summary.getId(), "Could not schedule refresh: " + e.getMessage());
+            throw new RuntimeException("Failed to schedule refresh of summary table '" + request.getName() + "': " + e.getMessage(), e);
+        }
+        return SummaryTableDto.fromEntity(summary, source.getTableName(), spec);
+    }
+
+    /**
+     * Lists the summary tables of a project.
+     */
+    public List<SummaryTableDto> getSummaryTablesForProject(String projectConfigId) {
+        return summaryTableRepository.findByProjectConfigIdRefOrderByNameAsc(projectConfigId).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the summary table is not found.
+     */
+    public SummaryTableDto getSummaryTable(String projectConfigId, String name) {
+        return toDto(findSummary(projectConfigId, name));
+    }
+
+    /**
+     * Queues an immediate refresh of a summary table (incremental unless full is set).
+     *
+     * @throws IllegalArgumentException if the summary table is not found.
+     * @throws RuntimeException if the refresh cannot be triggered.
+     */
+    public SummaryTableDto refreshSummaryTable(String projectConfigId, String name, boolean full) {
+        SummaryTable summary = findSummary(projectConfigId, name);
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put("full", full);
+        try {
+            schedulerService.triggerJob(jobName(summary), JOB_GROUP, jobDataMap);
+        } catch (SchedulerException e) {
+            throw new RuntimeException("Failed to trigger refresh of summary table '" + name + "': " + e.getMessage(), e);
+        }
+        return toDto(summary);
+    }
+
+    /**
+     * Deletes a summary table: its refresh job, its tables in the tenant database and its definition.
+     *
+     * @throws IllegalArgumentException if the summary table is not found.
+     */
+    public void deleteSummaryTable(String projectConfigId, String name) {
+        SummaryTable summary = findSummary(projectConfigId, name);
+        try {
+            schedulerService.unscheduleJob(jobName(summary), JOB_GROUP);
+        } catch (SchedulerException e) {
+            System.err.println("Could not unschedule refresh of summary table '" + name + "': " + e.getMessage());
+        }
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+        // The definition goes first so that writes stop recording keys into the dirty table
+        summaryTableRepository.delete(summary);
+        for (String table : List.of(summary.getFinalTableName(), summary.getFinalTableName() + DIRTY_TABLE_SUFFIX)) {
+            try {
+                jdbcTemplate.execute("DROP TABLE " + dialect.quote(table));
+            } catch (Exception e) {
+                System.err.println("Could not drop summary table " + table + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads a summary table's rows (groups ordered by their columns); avg values are computed from the stored sums and counts.
+     *
+     * @param limit The maximum number of groups; defaults to 1000, at most 10000.
+     * @throws IllegalArgumentException if the summary table is not found or the limit is invalid.
+     * @throws IllegalStateException if the summary table has not been built yet.
+     */
+    public AggregationResultDto getSummaryData(String projectConfigId, String name, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1.");
+        }
+        int groupLimit = limit == null ? DEFAULT_DATA_LIMIT : Math.min(limit, MAX_DATA_LIMIT);
+        SummaryTable summary = findSummary(projectConfigId, name);
+        if (summary.getLastRefreshedAt() == null) {
+            throw new IllegalStateException("Summary table '" + name + "' has not been built yet.");
+        }
+        TableDefinition source = findSource(summary);
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        Plan plan = plan(SqlDialect.fromDbType(dbDetails.getDbType()), source, readSpec(summary), summary.getFinalTableName());
+        try {
+            return readSummary(dynamicDataSourceManager.getJdbcTemplate(dbDetails), plan, summary, plan.groups, plan.aggregates, plan.aggregates, groupLimit);
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading summary table '" + name + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Answers an aggregation from a summary table of the source table when one covers it exactly:
+     * same filter, requested groups a subset of the summary's groups, and every requested aggregate stored.
+     * Only READY summaries without pending changes are used, so the result equals the live aggregation.
+     *
+     * @param groupLimit The maximum number of groups to return (one more is fetched to detect truncation).
+     * @return The result, or empty when no summary table can serve the request.
+     */
+    public Optional<AggregationResultDto> aggregateFromSummary(DatabaseConnectionDetails dbDetails, TableDefinition tableDef,
+                                                               AggregationRequestDto request, int groupLimit) {
+        List<SummaryTable> candidates = summaryTableRepository.findBySourceTableDefinitionIdRef(tableDef.getId()).stream()
+                .filter(s -> STATUS_READY.equals(s.getStatus()) && !s.isFullRefreshRequired())
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        List<GroupTerm> requestedGroups = aggregationQueryCompiler.resolveGroupBy(tableDef, request.getGroupBy());
+        List<AggregateTerm> requestedAggregates = aggregationQueryCompiler.resolveAggregates(tableDef, request.getAggregates(), requestedGroups);
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+
+        for (SummaryTable summary : candidates) {
+            AggregationRequestDto spec = readSpec(summary);
+            if (!Objects.equals(objectMapper.valueToTree(spec.getFilter()), objectMapper.valueToTree(request.getFilter()))) {
+                continue;
+            }
+            Plan plan;
+            try {
+                plan = plan(dialect, tableDef, spec, summary.getFinalTableName());
+            } catch (IllegalArgumentException e) {
+                continue; // Spec no longer valid for the current columns; the next full refresh reports it
+            }
+            Set<String> summaryGroups = plan.groups.stream().map(GroupTerm::getName).collect(Collectors.toSet());
+            if (!requestedGroups.stream().allMatch(g -> summaryGroups.contains(g.getName()))) {
+                continue;
+            }
+            List<AggregateTerm> stored = new ArrayList<>();
+            for (AggregateTerm requested : requestedAggregates) {
+                plan.aggregates.stream()
+                        .filter(a -> a.getFunction().equals(requested.getFunction()) && Objects.equals(a.getField(), requested.getField()))
+                        .findFirst()
+                        .ifPresent(stored::add);
+            }
+            if (stored.size() != requestedAggregates.size()) {
+                continue;
+            }
+            try {
+                if (hasPendingChanges(jdbcTemplate, plan)) {
+                    continue;
+                }
+                return Optional.of(readSummary(jdbcTemplate, plan, summary, requestedGroups, requestedAggregates, stored, groupLimit));
+            } catch (Exception e) {
+                System.err.println("Could not read summary table '" + summary.getName() + "', aggregating the source table instead: " + e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Flags every summary of a source table for a full rebuild (e.g., after its columns changed).
+     */
+    public void sourceDefinitionChanged(TableDefinition tableDef) {
+        summaryTableRepository.requireFullRefresh(tableDef.getId());
+    }
+
+    /**
+     * @param changedColumns The columns being written, or null when whole rows are inserted or deleted.
+     * @return The summary tables of the table whose groups, aggregates or filter read any of the columns.
+     */
+    public List<SummaryTable> getSummariesAffectedBy(TableDefinition tableDef, Collection<String> changedColumns) {
+        return summaryTableRepository.findBySourceTableDefinitionIdRef(tableDef.getId()).stream()
+                .filter(s -> changedColumns == null || dependsOnAny(s, changedColumns))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the current group keys of rows that are about to be written. Call before the write with the
+     * IDs of the existing rows it affects (none for inserts).
+     *
+     * @param summaries The summary tables affected by the write (see {@link #getSummariesAffectedBy}).
+     * @param rowIds The system_row_ids of the existing rows the write affects.
+     */
+    public ChangedGroups collectChangedGroups(DatabaseConnectionDetails dbDetails, JdbcTemplate jdbcTemplate, TableDefinition tableDef,
+                                              List<SummaryTable> summaries, List<String> rowIds) {
+        Map<String, List<Object[]>> previousKeys = new HashMap<>();
+        if (summaries.isEmpty() || rowIds.isEmpty()) {
+            return new ChangedGroups(dbDetails, jdbcTemplate, tableDef, summaries, previousKeys);
+        }
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        for (SummaryTable summary : summaries) {
+            try {
+                Plan plan = plan(dialect, tableDef, readSpec(summary), summary.getFinalTableName());
+                if (plan.groups.isEmpty()) {
+                    previousKeys.put(summary.getId(), Collections.singletonList(new Object[0]));
+                    continue;
+                }
+                String selectSql = "SELECT DISTINCT " + String.join(", ", plan.groupExpressions()) + " FROM " + dialect.quote(tableDef.getFinalTableName())
+                        + " WHERE " + dialect.quote(SYSTEM_UUID_COLUMN_NAME) + " IN (";
+                Set<List<Object>> keys = new LinkedHashSet<>();
+                forEachChunk(rowIds, dialect.maxInListSize(), chunk -> jdbcTemplate.query(inList(selectSql, chunk.size()), rs -> {
+                    Object[] key = new Object[plan.groups.size()];
+                    for (int i = 0; i < key.length; i++) {
+                        key[i] = rs.getObject(i + 1);
+                    }
+                    keys.add(Arrays.asList(key));
+                }, chunk.toArray()));
+                previousKeys.put(summary.getId(), keys.stream().map(List::toArray).collect(Collectors.toList()));
+            } catch (RuntimeException e) {
+                requireFullRefresh(tableDef, e);
+            }
+        }
+        return new ChangedGroups(dbDetails, jdbcTemplate, tableDef, summaries, previousKeys);
+    }
+
+    /**
+     * Records the groups touched by a completed write in each summary's dirty table: the keys collected before
+     * the write plus the current keys of the given rows. Failures never fail the write; the summaries are
+     * flagged for a full rebuild instead.
+     *
+     * @param rowIds The system_row_ids of rows that exist after the write (inserted or updated rows).
+     */
+    public void recordChanges(ChangedGroups changedGroups, List<String> rowIds) {
+        if (changedGroups.isEmpty()) {
+            return;
+        }
+        SqlDialect dialect = SqlDialect.fromDbType(changedGroups.dbDetails.getDbType());
+        JdbcTemplate jdbcTemplate = changedGroups.jdbcTemplate;
+        TableDefinition tableDef = changedGroups.tableDef;
+        for (SummaryTable summary : changedGroups.summaries) {
+            try {
+                Plan plan = plan(dialect, tableDef, readSpec(summary), summary.getFinalTableName());
+                String captureId = UUID.randomUUID().toString();
+                List<String> dirtyColumns = new ArrayList<>();
+                dirtyColumns.add(dialect.quote(CAPTURE_ID_COLUMN));
+                dirtyColumns.addAll(plan.groupColumns());
+                String columnList = String.join(", ", dirtyColumns);
+
+                List<Object[]> previous = changedGroups.previousKeys.getOrDefault(summary.getId(), List.of());
+                if (plan.groups.isEmpty()) {
+                    if (!previous.isEmpty() || !rowIds.isEmpty()) {
+                        jdbcTemplate.update("INSERT INTO " + plan.dirtyTable + " (" + columnList + ") VALUES (?)", captureId);
+                    }
+                    continue;
+                }
+                if (!previous.isEmpty()) {
+                    String insertSql = "INSERT INTO " + plan.dirtyTable + " (" + columnList + ") VALUES ("
+                            + String.join(", ", Collections.nCopies(dirtyColumns.size(), "?")) + ")";
+                    List<Object[]> batch = new ArrayList<>(previous.size());
+                    for (Object[] key : previous) {
+                        Object[] values = new Object[key.length + 1];
+                        values[0] = captureId;
+                        System.arraycopy(key, 0, values, 1, key.length);
+                        batch.add(values);
+                    }
+                    jdbcTemplate.batchUpdate(insertSql, batch);
+                }
+                if (!rowIds.isEmpty()) {
+                    String insertSelectSql = "INSERT INTO " + plan.dirtyTable + " (" + columnList + ") SELECT DISTINCT CAST(? AS CHAR(36)), "
+                            + String.join(", ", plan.groupExpressions()) + " FROM " + dialect.quote(tableDef.getFinalTableName())
+                            + " WHERE " + dialect.quote(SYSTEM_UUID_COLUMN_NAME) + " IN (";
+                    forEachChunk(rowIds, dialect.maxInListSize() - 1, chunk -> {
+                        List<Object> params = new ArrayList<>(chunk.size() + 1);
+                        params.add(captureId);
+                        params.addAll(chunk);
+                        jdbcTemplate.update(inList(insertSelectSql, chunk.size()), params.toArray());
+                    });
+                }
+            } catch (RuntimeException e) {
+                requireFullRefresh(tableDef, e);
+            }
+        }
+    }
+
+    /**
+     * Brings a summary table up to date. Recomputes only the groups recorded in its dirty table, or rebuilds
+     * it from scratch when requested, on its first build, after a failure or after the source table changed.
+     * Called by {@link SummaryTableRefreshJob}; outcomes are recorded on the SummaryTable.
+     *
+     * @param summaryTableId The ID of the summary table.
+     * @param forceFull True to rebuild even if an incremental refresh would do.
+     */
+    public void refresh(String summaryTableId, boolean forceFull) {
+        SummaryTable summary = summaryTableRepository.findById(summaryTableId).orElse(null);
+        if (summary == null) {
+            System.err.println("Summary table " + summaryTableId + " no longer exists; skipping refresh.");
+            return;
+        }
+        try {
+            TableDefinition source = findSource(summary);
+            DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(summary.getProjectConfigIdRef());
+            Plan plan = plan(SqlDialect.fromDbType(dbDetails.getDbType()), source, readSpec(summary), summary.getFinalTableName());
+            JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dynamicDataSourceManager.getDataSource(dbDetails)));
+
+            long start = System.currentTimeMillis();
+            if (forceFull || summary.isFullRefreshRequired() || !STATUS_READY.equals(summary.getStatus())) {
+                summaryTableRepository.clearFullRefreshRequired(summaryTableId);
+                rebuild(jdbcTemplate, transaction, plan);
+                summaryTableRepository.markRefreshed(summaryTableId, null);
+                System.out.println("Rebuilt summary table '" + summary.getName() + "' in " + (System.currentTimeMillis() - start) + " ms.");
+            } else {
+                int groups = applyChanges(jdbcTemplate, transaction, plan);
+                summaryTableRepository.markRefreshed(summaryTableId, groups);
+                if (groups > 0) {
+                    System.out.println("Refreshed " + groups + " group(s) of summary table '" + summary.getName() + "' in "
+                            + (System.currentTimeMillis() - start) + " ms.");
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Refresh of summary table '" + summary.getName() + "' failed: " + e.getMessage());
+            summaryTableRepository.markFailed(summaryTableId, e.getMessage());
+        }
+    }
+
+    private void rebuild(JdbcTemplate jdbcTemplate, TransactionTemplate transaction, Plan plan) {
+        SqlFragment insert = recomputeStatement(plan, SqlFragment.empty());
+        transaction.executeWithoutResult(status -> {
+            // Keys recorded after this point describe writes the rebuild may miss, so they stay for the next refresh
+            jdbcTemplate.update("DELETE FROM " + plan.dirtyTable);
+            jdbcTemplate.update("DELETE FROM " + plan.table);
+            jdbcTemplate.update(insert.getSql(), insert.getParameters().toArray());
+        });
+    }
+
+    /**
+     * @return The number of groups recomputed.
+     */
+    private int applyChanges(JdbcTemplate jdbcTemplate, TransactionTemplate transaction, Plan plan) {
+        List<String> selected = new ArrayList<>();
+        selected.add(plan.dialect.quote(CAPTURE_ID_COLUMN));
+        selected.addAll(plan.groupColumns());
+        Set<String> captureIds = new HashSet<>();
+        Set<List<Object>> keys = new LinkedHashSet<>();
+        jdbcTemplate.query("SELECT " + String.join(", ", selected) + " FROM " + plan.dirtyTable, rs -> {
+            captureIds.add(rs.getString(1));
+            Object[] key = new Object[plan.groups.size()];
+            for (int i = 0; i < key.length; i++) {
+                key[i] = rs.getObject(i + 2);
+            }
+            keys.add(Arrays.asList(key));
+        });
+        if (captureIds.isEmpty()) {
+            return 0;
+        }
+
+        List<List<Object>> keyList = new ArrayList<>(keys);
+        transaction.executeWithoutResult(status -> {
+            forEachChunk(keyList, KEYS_PER_STATEMENT, chunk -> {
+                SqlFragment summaryMatch = keyPredicate(plan.groupColumns(), chunk);
+                SqlFragment sourceMatch = keyPredicate(plan.groupExpressions(), chunk);
+                String deleteSql = "DELETE FROM " + plan.table + (summaryMatch.isEmpty() ? "" : " WHERE " + summaryMatch.getSql());
+                jdbcTemplate.update(deleteSql, summaryMatch.getParameters().toArray());
+                SqlFragment insert = recomputeStatement(plan, sourceMatch);
+                jdbcTemplate.update(insert.getSql(), insert.getParameters().toArray());
+            });
+            String deleteDirtySql = "DELETE FROM " + plan.dirtyTable + " WHERE " + plan.dialect.quote(CAPTURE_ID_COLUMN) + " IN (";
+            forEachChunk(new ArrayList<>(captureIds), plan.dialect.maxInListSize(),
+                    chunk -> jdbcTemplate.update(inList(deleteDirtySql, chunk.size()), chunk.toArray()));
+        });
+        return keyList.size();
+    }
+
+    /**
+     * INSERT ... SELECT recomputing the summary rows of the source rows matching the spec filter and the given predicate.
+     */
+    private static SqlFragment recomputeStatement(Plan plan, SqlFragment keyMatch) {
+        List<String> columns = new ArrayList<>(plan.groupColumns());
+        List<String> expressions = new ArrayList<>(plan.groupExpressions());
+        for (AggregateTerm aggregate : plan.aggregates) {
+            aggregateColumns(aggregate).forEach(c -> columns.add(plan.dialect.quote(c)));
+            expressions.addAll(aggregateSourceExpressions(plan.dialect, aggregate));
+        }
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (!plan.where.isEmpty()) {
+            conditions.add("(" + plan.where.getSql() + ")");
+            parameters.addAll(plan.where.getParameters());
+        }
+        if (!keyMatch.isEmpty()) {
+            conditions.add("(" + keyMatch.getSql() + ")");
+            parameters.addAll(keyMatch.getParameters());
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(plan.table).append(" (").append(String.join(", ", columns)).append(") SELECT ")
+                .append(String.join(", ", expressions)).append(" FROM ").append(plan.dialect.quote(plan.source.getFinalTableName()));
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        if (!plan.groups.isEmpty()) {
+            sql.append(" GROUP BY ").append(String.join(", ", plan.groupExpressions()));
+        }
+        return new SqlFragment(sql.toString(), parameters);
+    }
+
+    /**
+     * (e1 = ? AND e2 IS NULL) OR (...) for a chunk of group keys; empty for summaries without groups.
+     */
+    private static SqlFragment keyPredicate(List<String> expressions, List<List<Object>> keys) {
+        if (expressions.isEmpty()) {
+            return SqlFragment.empty();
+        }
+        List<String> alternatives = new ArrayList<>(keys.size());
+        List<Object> parameters = new ArrayList<>();
+        for (List<Object> key : keys) {
+            List<String> terms = new ArrayList<>(expressions.size());
+            for (int i = 0; i < expressions.size(); i++) {
+                if (key.get(i) == null) {
+                    terms.add(expressions.get(i) + " IS NULL");
+                } else {
+                    terms.add(expressions.get(i) + " = ?");
+                    parameters.add(key.get(i));
+                }
+            }
+            alternatives.add("(" + String.join(" AND ", terms) + ")");
+        }
+        return new SqlFragment(String.join(" OR ", alternatives), parameters);
+    }
+
+    private AggregationResultDto readSummary(JdbcTemplate jdbcTemplate, Plan plan, SummaryTable summary, List<GroupTerm> groups,
+                                             List<AggregateTerm> requested, List<AggregateTerm> stored, int groupLimit) {
+        SqlDialect dialect = plan.dialect;
+        List<String> groupColumns = groups.stream().map(g -> dialect.quote(g.getName())).collect(Collectors.toList());
+        List<String> selectTerms = new ArrayList<>(groupColumns);
+        for (int i = 0; i < requested.size(); i++) {
+            selectTerms.add(rollupExpression(dialect, stored.get(i)) + " AS " + dialect.quote(requested.get(i).getAlias()));
+        }
+        String sql = "SELECT " + String.join(", ", selectTerms) + " FROM " + plan.table;
+        if (!groupColumns.isEmpty()) {
+            String groupList = String.join(", ", groupColumns);
+            sql = dialect.limit(sql + " GROUP BY " + groupList + " ORDER BY " + groupList, groupLimit + 1);
+        }
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
+        boolean truncated = rows.size() > groupLimit;
+        return AggregationResultDto.builder()
+                .groupBy(groups.stream().map(GroupTerm::getName).collect(Collectors.toList()))
+                .aggregates(requested.stream().map(AggregateTerm::getAlias).collect(Collectors.toList()))
+                .rows(truncated ? rows.subList(0, groupLimit) : rows)
+                .truncated(truncated)
+                .summaryTable(summary.getName())
+                .build();
+    }
+
+    /**
+     * Combines stored per-group values into coarser groups (a single stored row per group when the grouping is the same).
+     */
+    private static String rollupExpression(SqlDialect dialect, AggregateTerm stored) {
+        String column = dialect.quote(stored.getAlias());
+        return switch (stored.getFunction()) {
+            case "count" -> "COALESCE(SUM(" + column + "), 0)";
+            case "sum" -> "SUM(" + column + ")";
+            case "min" -> "MIN(" + column + ")";
+            case "max" -> "MAX(" + column + ")";
+            case "avg" -> "CAST(SUM(" + dialect.quote(stored.getAlias() + AVG_SUM_SUFFIX) + ") AS DECIMAL(38, 6)) / NULLIF(SUM("
+                    + dialect.quote(stored.getAlias() + AVG_COUNT_SUFFIX) + "), 0)";
+            default -> throw new IllegalArgumentException("Unsupported aggregate function '" + stored.getFunction() + "'.");
+        };
+    }
+
+    /**
+     * Physical columns of an aggregate: avg is stored as a sum and a non-null count so that it can be rolled up.
+     */
+    private static List<String> aggregateColumns(AggregateTerm aggregate) {
+        return "avg".equals(aggregate.getFunction())
+                ? List.of(aggregate.getAlias() + AVG_SUM_SUFFIX, aggregate.getAlias() + AVG_COUNT_SUFFIX)
+                : List.of(aggregate.getAlias());
+    }
+
+    private static List<String> aggregateSourceExpressions(SqlDialect dialect, AggregateTerm aggregate) {
+        return "avg".equals(aggregate.getFunction())
+                ? List.of("SUM(" + dialect.quote(aggregate.getField()) + ")", "COUNT(" + dialect.quote(aggregate.getField()) + ")")
+                : List.of(aggregate.expression(dialect));
+    }
+
+    private static List<String> aggregateColumnTypes(AggregateTerm aggregate) {
+        return switch (aggregate.getFunction()) {
+            case "count" -> List.of("BIGINT");
+            case "sum" -> List.of(sumType(aggregate.getColumnDefinition()));
+            case "avg" -> List.of(sumType(aggregate.getColumnDefinition()), "BIGINT");
+            default -> List.of(valueType(aggregate.getColumnDefinition()));
+        };
+    }
+
+    private static String groupColumnType(GroupTerm group) {
+        return group.isDayBucket() ? "DATE" : valueType(group.getColumnDefinition());
+    }
+
+    private static String sumType(ColumnDefinition column) {
+        return INTEGER_TYPES.contains(column.getColumnType().toLowerCase()) ? "BIGINT" : "DECIMAL(38, 2)";
+    }
+
+    private static String valueType(ColumnDefinition column) {
+        return column == null || column.isReference() ? "VARCHAR(36)" : ColumnTypes.sqlType(column.getColumnType());
+    }
+
+    private Plan plan(SqlDialect dialect, TableDefinition source, AggregationRequestDto spec, String finalTableName) {
+        List<GroupTerm> groups = aggregationQueryCompiler.resolveGroupBy(source, spec.getGroupBy());
+        List<AggregateTerm> aggregates = aggregationQueryCompiler.resolveAggregates(source, spec.getAggregates(), groups);
+        SqlFragment where = filterQueryCompiler.compileWhere(dialect, source, null, spec.getFilter());
+        return new Plan(dialect, source, groups, aggregates, where, finalTableName);
+    }
+
+    private boolean hasPendingChanges(JdbcTemplate jdbcTemplate, Plan plan) {
+        String column = plan.dialect.quote(CAPTURE_ID_COLUMN);
+        String sql = plan.dialect.limit("SELECT " + column + " FROM " + plan.dirtyTable + " ORDER BY " + column, 1);
+        return !jdbcTemplate.queryForList(sql).isEmpty();
+    }
+
+    /**
+     * @return True if the spec reads any of the columns (group-by, aggregate field or filter field).
+     */
+    private boolean dependsOnAny(SummaryTable summary, Collection<String> columns) {
+        AggregationRequestDto spec;
+        try {
+            spec = readSpec(summary);
+        } catch (IllegalStateException e) {
+            return true; // Reported (and rebuilt) when the changed groups are collected
+        }
+        Set<String> used = new HashSet<>();
+        if (spec.getGroupBy() != null) {
+            spec.getGroupBy().forEach(g -> used.add(g.contains(":") ? g.substring(0, g.indexOf(':')) : g));
+        }
+        spec.getAggregates().forEach(a -> used.add(a.getField()));
+        collectFilterFields(spec.getFilter(), used);
+        return columns.stream().anyMatch(used::contains);
+    }
+
+    private static void collectFilterFields(FilterCriteriaDto filter, Set<String> fields) {
+        if (filter == null) {
+            return;
+        }
+        fields.add(filter.getField());
+        if (filter.getAnd() != null) {
+            filter.getAnd().forEach(f -> collectFilterFields(f, fields));
+        }
+        if (filter.getOr() != null) {
+            filter.getOr().forEach(f -> collectFilterFields(f, fields));
+        }
+    }
+
+    private void requireFullRefresh(TableDefinition tableDef, Exception cause) {
+        System.err.println("Could not record changed groups of table '" + tableDef.getFinalTableName()
+                + "'; its summary tables will be rebuilt: " + cause.getMessage());
+        summaryTableRepository.requireFullRefresh(tableDef.getId());
+    }
+
+    private AggregationRequestDto readSpec(SummaryTable summary) {
+        try {
+            return objectMapper.readValue(summary.getSpecJson(), AggregationRequestDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Summary table '" + summary.getName() + "' has an unreadable spec: " + e.getMessage(), e);
+        }
+    }
+
+    private SummaryTableDto toDto(SummaryTable summary) {
+        String sourceTable = tableDefinitionRepository.findById(summary.getSourceTableDefinitionIdRef())
+                .map(TableDefinition::getTableName)
+                .orElse(null);
+        return SummaryTableDto.fromEntity(summary, sourceTable, readSpec(summary));
+    }
+
+    private SummaryTable findSummary(String projectConfigId, String name) {
+        return summaryTableRepository.findByNameAndProjectConfigIdRef(name, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Summary table '" + name + "' not found for project '" + projectConfigId + "'."));
+    }
+
+    private TableDefinition findSource(SummaryTable summary) {
+        return tableDefinitionRepository.findById(summary.getSourceTableDefinitionIdRef())
+                .orElseThrow(() -> new IllegalStateException("Source table of summary table '" + summary.getName() + "' no longer exists."));
+    }
+
+    private static String jobName(SummaryTable summary) {
+        return "summary-refresh-" + summary.getId();
+    }
+
+    private static String inList(String sqlPrefix, int size) {
+        return sqlPrefix + String.join(", ", Collections.nCopies(size, "?")) + ")";
+    }
+
+    private static <T> void forEachChunk(List<T> items, int chunkSize, Consumer<List<T>> action) {
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            action.accept(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+    }
+
+    private DatabaseConnectionDetails getConnectionDetailsForProject(String projectConfigId) {
+        ProjectConfig projectConfig = projectConfigService.getProjectConfigById(projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Project configuration not found for ID: " + projectConfigId));
+        return databaseConnectivityService.getSavedConnectionByUuid(projectConfig.getDatabaseConnectionIdRef())
+                .orElseThrow(() -> new IllegalStateException("Database connection details not found for project ID: " + projectConfigId));
+    }
+}
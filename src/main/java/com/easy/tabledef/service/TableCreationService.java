@@ -3,28 +3,86 @@ package com.easy.tabledef.service;
 import com.easy.application.dbtest.data.DatabaseConnectionDetails;
 import com.easy.application.dbtest.service.DatabaseConnectivityService;
 import com.easy.database.DynamicDataSourceManager;
+import com.easy.database.SqlDialect;
 import com.easy.projectconfig.model.ProjectConfig;
 import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.AggregationRequestDto;
+import com.easy.tabledef.dto.AggregationResultDto;
+import com.easy.tabledef.dto.BatchGetResultDto;
+import com.easy.tabledef.dto.BulkDeleteRequestDto;
+import com.easy.tabledef.dto.BulkInsertResultDto;
+import com.easy.tabledef.dto.BulkMutationResultDto;
+import com.easy.tabledef.dto.BulkRowErrorDto;
+import com.easy.tabledef.dto.BulkUpdateRequestDto;
+import com.easy.tabledef.dto.BulkUpsertResultDto;
 import com.easy.tabledef.dto.ColumnDefinitionDto;
+import com.easy.tabledef.dto.ColumnarTableDataDto;
+import com.easy.tabledef.dto.DataQueryRequestDto;
+import com.easy.tabledef.dto.DataReadOptions;
+import com.easy.tabledef.dto.FilterCriteriaDto;
+import com.easy.tabledef.dto.SearchHitDto;
+import com.easy.tabledef.dto.SearchResultDto;
+import com.easy.tabledef.dto.TableDataPageDto;
 import com.easy.tabledef.dto.TableDataResponseDto;
 import com.easy.tabledef.dto.TableDefinitionDto;
+import com.easy.tabledef.dto.UpsertResultDto;
 import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.SummaryTable;
 import com.easy.tabledef.model.TableDefinition;
 import com.easy.tabledef.repository.ColumnDefinitionRepository;
 import com.easy.tabledef.repository.TableDefinitionRepository;
+import com.easy.tabledef.search.FullTextIndex;
+import com.easy.tabledef.search.FullTextIndexService;
+import com.easy.tabledef.util.AggregationQueryCompiler;
+import com.easy.tabledef.util.ColumnTypes;
 import com.easy.tabledef.util.DynamicTableAccessor;
+import com.easy.tabledef.util.FilterQueryCompiler;
+import com.easy.tabledef.util.KeysetPageToken;
+import com.easy.tabledef.util.NdjsonRowCallbackHandler;
+import com.easy.tabledef.util.ReferenceExpander;
+import com.easy.tabledef.util.ReferenceJoinPlan;
+import com.easy.tabledef.util.ReferenceJoinQueryPlanner;
+import com.easy.tabledef.util.ReferenceValueCache;
+import com.easy.tabledef.util.RowIds;
+import com.easy.tabledef.util.RowLayout;
+import com.easy.tabledef.util.SqlFragment;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,6 +90,26 @@ import java.util.stream.Collectors;
 public class TableCreationService {
 
     private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_GROUP_LIMIT = 1000;
+    private static final int MAX_GROUP_LIMIT = 10000;
+    private static final int MAX_BATCH_GET_IDS = 5000;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 200;
+    private static final Object REFERENCE_CHECKS_RESOURCE_KEY = new Object();
+
+    @Value("${easy.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    @Value("${easy.bulk.max-rows:100000}")
+    private int maxBulkRows;
+
+    @Value("${easy.bulk.delete-chunk-size:5000}")
+    private int bulkDeleteChunkSize;
+
+    @Value("${easy.bulk.max-tracked-rows:10000}")
+    private int maxTrackedBulkRows;
 
     @Autowired
     private TableDefinitionRepository tableDefinitionRepository;
@@ -51,6 +129,30 @@ public class TableCreationService {
     @Autowired
     private DynamicTableAccessor dynamicTableAccessor;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReferenceJoinQueryPlanner referenceJoinQueryPlanner;
+
+    @Autowired
+    private ReferenceValueCache referenceValueCache;
+
+    @Autowired
+    private FilterQueryCompiler filterQueryCompiler;
+
+    @Autowired
+    private AggregationQueryCompiler aggregationQueryCompiler;
+
+    @Autowired
+    private ReferenceExpander referenceExpander;
+
+    @Autowired
+    private FullTextIndexService fullTextIndexService;
+
+    @Autowired
+    private SummaryTableService summaryTableService;
+
 
     /**
      * Creates a new dynamic table in the database associated with a project,
@@ -84,6 +186,10 @@ public class TableCreationService {
         tableDefinition.setProjectConfigIdRef(projectConfigId);
         tableDefinition.setCreatedAt(LocalDateTime.now());
         tableDefinition.setUpdatedAt(LocalDateTime.now());
+        tableDefinition.setReferenceResolution(normalizeReferenceMode(tableDefinition.getReferenceResolution()));
+        tableDefinition.setRowIdFormat(normalizeRowIdFormat(tableDefinition.getRowIdFormat()));
+        tableDefinition.setRowIdStorage(normalizeRowIdStorage(tableDefinition.getRowIdStorage()));
+        tableDefinition.setDataVersion(0);
 
         List<ColumnDefinition> columnDefinitions = tableDefinition.getColumns();
         if (columnDefinitions == null || columnDefinitions.isEmpty()) {
@@ -98,7 +204,8 @@ public class TableCreationService {
                 .append("` (");
 
         // Add the system_row_id column (primary key for data rows)
-        createTableSql.append("`").append(SYSTEM_UUID_COLUMN_NAME).append("` VARCHAR(36) PRIMARY KEY"); // Quote system_row_id
+        createTableSql.append("`").append(SYSTEM_UUID_COLUMN_NAME).append("` ") // Quote system_row_id
+                .append(RowIds.sqlType(tableDefinition.getRowIdStorage())).append(" PRIMARY KEY");
 
         // Process other columns
         for (ColumnDefinition column : columnDefinitions) {
@@ -107,9 +214,11 @@ public class TableCreationService {
             column.setUpdatedAt(LocalDateTime.now());
 
             // --- Handle reference columns ---
+            String sqlTypeUsed;
             if (column.isReference()) {
                 validateReferenceColumnMetadata(column, projectConfigId);
-                createTableSql.append(", `").append(column.getColumnName()).append("` VARCHAR(36)"); // Quote column name
+                sqlTypeUsed = referenceSqlType(column);
+                createTableSql.append(", `").append(column.getColumnName()).append("` ").append(sqlTypeUsed); // Quote column name
 
                 // Add index creation statement for reference columns for faster lookups/joins
                 indexSqlStatements.add(
@@ -120,8 +229,8 @@ public class TableCreationService {
                                 column.getColumnName())
                 );
             } else {
-                String sqlType = mapColumnTypeToSql(column.getColumnType());
-                createTableSql.append(", `").append(column.getColumnName()).append("` ").append(sqlType); // Quote column name
+                sqlTypeUsed = columnSqlType(tableDefinition, column);
+                createTableSql.append(", `").append(column.getColumnName()).append("` ").append(sqlTypeUsed); // Quote column name
             }
             // --- End reference column handling ---
 
@@ -141,8 +250,7 @@ public class TableCreationService {
                 );
             }
             if (column.getDefaultValue() != null && !column.getDefaultValue().isEmpty()) {
-                String sqlTypeUsed = column.isReference() ? "VARCHAR(36)" : mapColumnTypeToSql(column.getColumnType());
-                if (sqlTypeUsed.startsWith("VARCHAR") || sqlTypeUsed.startsWith("TEXT") || sqlTypeUsed.startsWith("DATE") || sqlTypeUsed.startsWith("DATETIME")) {
+                if (sqlTypeUsed.startsWith("VARCHAR") || sqlTypeUsed.startsWith("CHAR") || sqlTypeUsed.startsWith("TEXT") || sqlTypeUsed.startsWith("DATE") || sqlTypeUsed.startsWith("DATETIME")) {
                     createTableSql.append(" DEFAULT '").append(column.getDefaultValue()).append("'");
                 } else {
                     createTableSql.append(" DEFAULT ").append(column.getDefaultValue());
@@ -177,6 +285,9 @@ public class TableCreationService {
         TableDefinition savedTableDefinition = tableDefinitionRepository.save(tableDefinition);
         columnDefinitionRepository.saveAll(columnDefinitions);
 
+        // The new table is empty, so its search index starts out complete
+        fullTextIndexService.initializeEmpty(dbDetails.getUuid(), savedTableDefinition);
+
         return TableDefinitionDto.fromEntity(savedTableDefinition);
     }
 
@@ -201,9 +312,19 @@ public class TableCreationService {
             throw new IllegalArgumentException("Table with ID '" + id + "' does not belong to project '" + projectConfigId + "'.");
         }
 
+        Set<String> textColumnsBefore = FullTextIndexService.searchableColumns(existingTableDefinition).stream()
+                .map(ColumnDefinition::getColumnName).collect(Collectors.toSet());
+
         existingTableDefinition.setTableName(updatedDefinition.getTableName());
         existingTableDefinition.setAppSuffix(updatedDefinition.getAppSuffix());
         existingTableDefinition.setDescription(updatedDefinition.getDescription());
+        existingTableDefinition.setReferenceResolution(normalizeReferenceMode(updatedDefinition.getReferenceResolution()));
+        existingTableDefinition.setRowIdFormat(normalizeRowIdFormat(updatedDefinition.getRowIdFormat()));
+        String requestedStorage = normalizeRowIdStorage(updatedDefinition.getRowIdStorage());
+        if (requestedStorage != null && !requestedStorage.equals(Objects.requireNonNullElse(existingTableDefinition.getRowIdStorage(), RowIds.STORAGE_VARCHAR))) {
+            throw new IllegalArgumentException("The row ID storage of table '" + existingTableDefinition.getTableName() + "' cannot be changed after it was created.");
+        }
+        existingTableDefinition.setDataVersion(existingTableDefinition.getDataVersion() + 1); // Row shape may change with the columns
         existingTableDefinition.setUpdatedAt(LocalDateTime.now());
 
         // Handle columns: For now, we clear and re-add for simplicity in metadata.
@@ -226,10 +347,169 @@ public class TableCreationService {
         }
 
         TableDefinition savedTableDefinition = tableDefinitionRepository.save(existingTableDefinition);
+        Set<String> textColumnsAfter = FullTextIndexService.searchableColumns(savedTableDefinition).stream()
+                .map(ColumnDefinition::getColumnName).collect(Collectors.toSet());
+        if (!textColumnsAfter.equals(textColumnsBefore)) {
+            // Indexed text no longer matches the columns; searches report the index as incomplete until rebuilt
+            fullTextIndexService.invalidate(getConnectionDetailsForProject(projectConfigId).getUuid(), savedTableDefinition);
+        }
+        dynamicTableAccessor.evictSqlTemplates(savedTableDefinition.getFinalTableName());
+        summaryTableService.sourceDefinitionChanged(savedTableDefinition);
         return TableDefinitionDto.fromEntity(savedTableDefinition);
     }
 
 
+    /**
+     * Validates a fields= projection against the table's ColumnDefinitions.
+     *
+     * @param tableDef The table being read.
+     * @param fields The requested column names (duplicates and blanks are ignored).
+     * @return A mutable list of columns to select, starting with system_row_id, or null when no projection was requested.
+     * @throws IllegalArgumentException if a field is not a column of the table.
+     */
+    private List<String> resolveProjection(TableDefinition tableDef, List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        Set<String> knownColumns = tableDef.getColumns().stream()
+                .map(ColumnDefinition::getColumnName)
+                .collect(Collectors.toSet());
+        LinkedHashSet<String> projection = new LinkedHashSet<>();
+        projection.add(SYSTEM_UUID_COLUMN_NAME);
+        for (String field : fields) {
+            String column = field == null ? "" : field.trim();
+            if (column.isEmpty() || column.equals(SYSTEM_UUID_COLUMN_NAME)) {
+                continue;
+            }
+            if (!knownColumns.contains(column)) {
+                throw new IllegalArgumentException("Unknown field '" + column + "' for table '" + tableDef.getTableName() + "'.");
+            }
+            projection.add(column);
+        }
+        return new ArrayList<>(projection);
+    }
+
+    /**
+     * Returns a detached copy of the table definition restricted to the projected columns, so that
+     * reference resolution only runs for reference columns that were selected. Never saved.
+     */
+    private TableDefinition projectTableDefinition(TableDefinition tableDef, List<String> projection) {
+        if (projection == null) {
+            return tableDef;
+        }
+        TableDefinition projected = new TableDefinition();
+        projected.setId(tableDef.getId());
+        projected.setProjectConfigIdRef(tableDef.getProjectConfigIdRef());
+        projected.setTableName(tableDef.getTableName());
+        projected.setFinalTableName(tableDef.getFinalTableName());
+        projected.setReferenceResolution(tableDef.getReferenceResolution());
+        projected.setColumns(tableDef.getColumns().stream()
+                .filter(c -> projection.contains(c.getColumnName()))
+                .collect(Collectors.toList()));
+        return projected;
+    }
+
+    private String selectList(SqlDialect dialect, List<String> projection) {
+        if (projection == null) {
+            return "*";
+        }
+        return projection.stream().map(dialect::quote).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * The validated expand= depth from the read options (0 when not requested).
+     */
+    private int expandDepth(DataReadOptions options) {
+        int depth = options != null && options.getExpand() != null ? options.getExpand() : 0;
+        referenceExpander.validateDepth(depth);
+        return depth;
+    }
+
+    /**
+     * Normalizes a reference resolution mode ("batch" / "join", case-insensitive) to its stored form.
+     *
+     * @return "BATCH", "JOIN", or null when no mode was given.
+     * @throws IllegalArgumentException if the mode is not recognized.
+     */
+    private String normalizeReferenceMode(String referenceMode) {
+        if (referenceMode == null || referenceMode.isBlank()) {
+            return null;
+        }
+        String normalized = referenceMode.trim().toUpperCase();
+        if (!normalized.equals("BATCH") && !normalized.equals("JOIN")) {
+            throw new IllegalArgumentException("Invalid reference resolution mode '" + referenceMode + "'. Expected 'batch' or 'join'.");
+        }
+        return normalized;
+    }
+
+    /**
+     * Normalizes a row id format ("uuid_v4" / "uuid_v7", case-insensitive) to its stored form.
+     *
+     * @return "UUID_V4", "UUID_V7", or null when no format was given (random UUIDs).
+     * @throws IllegalArgumentException if the format is not recognized.
+     */
+    private String normalizeRowIdFormat(String rowIdFormat) {
+        if (rowIdFormat == null || rowIdFormat.isBlank()) {
+            return null;
+        }
+        String normalized = rowIdFormat.trim().toUpperCase();
+        if (!normalized.equals(RowIds.FORMAT_UUID_V4) && !normalized.equals(RowIds.FORMAT_UUID_V7)) {
+            throw new IllegalArgumentException("Invalid row ID format '" + rowIdFormat + "'. Expected 'uuid_v4' or 'uuid_v7'.");
+        }
+        return normalized;
+    }
+
+    /**
+     * Normalizes a row id storage ("varchar" / "ascii_bin", case-insensitive) to its stored form.
+     *
+     * @return "VARCHAR", "ASCII_BIN", or null when no storage was given (VARCHAR).
+     * @throws IllegalArgumentException if the storage is not recognized.
+     */
+    private String normalizeRowIdStorage(String rowIdStorage) {
+        if (rowIdStorage == null || rowIdStorage.isBlank()) {
+            return null;
+        }
+        String normalized = rowIdStorage.trim().toUpperCase();
+        if (!normalized.equals(RowIds.STORAGE_VARCHAR) && !normalized.equals(RowIds.STORAGE_ASCII_BIN)) {
+            throw new IllegalArgumentException("Invalid row ID storage '" + rowIdStorage + "'. Expected 'varchar' or 'ascii_bin'.");
+        }
+        return normalized;
+    }
+
+    /**
+     * The physical type of a non-reference column. uuid columns hold ids, so they use the table's row id storage.
+     */
+    private String columnSqlType(TableDefinition tableDef, ColumnDefinition column) {
+        if ("uuid".equalsIgnoreCase(column.getColumnType())) {
+            return RowIds.sqlType(tableDef.getRowIdStorage());
+        }
+        return mapColumnTypeToSql(column.getColumnType());
+    }
+
+    /**
+     * The physical type of a reference column: the storage of the referenced column when it holds ids (a uuid column),
+     * so both sides of a reference lookup or join compare with the same type and collation; VARCHAR(36) otherwise.
+     */
+    private String referenceSqlType(ColumnDefinition column) {
+        return tableDefinitionRepository.findById(column.getReferencedTableIdRef())
+                .flatMap(referencedTableDef -> referencedTableDef.getColumns().stream()
+                        .filter(c -> c.getId().equals(column.getReferencedColumnIdRef()))
+                        .filter(c -> "uuid".equalsIgnoreCase(c.getColumnType()))
+                        .findFirst()
+                        .map(target -> RowIds.sqlType(referencedTableDef.getRowIdStorage())))
+                .orElse(RowIds.sqlType(RowIds.STORAGE_VARCHAR));
+    }
+
+    /**
+     * Decides whether reference columns are resolved with a single JOIN query.
+     * The per-request mode wins; otherwise the table's referenceResolution setting applies (default BATCH).
+     */
+    private boolean useJoinResolution(TableDefinition tableDef, DataReadOptions options) {
+        String requestMode = normalizeReferenceMode(options != null ? options.getReferenceMode() : null);
+        String mode = requestMode != null ? requestMode : normalizeReferenceMode(tableDef.getReferenceResolution());
+        return "JOIN".equals(mode);
+    }
+
     /**
      * Validates the metadata for a reference column during table definition.
      * Ensures referenced table and column exist and are valid targets.
@@ -279,225 +559,1085 @@ public class TableCreationService {
         TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
                 .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
 
-        for (ColumnDefinition colDef : tableDef.getColumns()) {
-            if (colDef.isReference()) {
-                String referencingColumnName = colDef.getColumnName();
-                Object providedValue = data.get(referencingColumnName);
-
-                if (providedValue == null) {
-                    if (!colDef.isNullable()) {
-                        throw new IllegalArgumentException("Non-nullable reference column '" + referencingColumnName + "' cannot be null.");
-                    }
-                    continue;
-                }
-
-                if (!(providedValue instanceof String)) {
-                    throw new IllegalArgumentException("Value for reference column '" + referencingColumnName + "' must be a String (UUID). Provided: " + providedValue.getClass().getSimpleName());
-                }
-
-                boolean exists = checkReferencedValueExists(
-                        jdbcTemplate,
-                        colDef.getReferencedTableIdRef(),
-                        colDef.getReferencedColumnIdRef(),
-                        (String) providedValue,
-                        projectConfigId
-                );
-                if (!exists) {
-                    throw new IllegalArgumentException(
-                            "Invalid reference: Value '" + providedValue + "' for column '" + referencingColumnName +
-                                    "' does not exist in the referenced table '" + colDef.getReferencedTableLogicalName() +
-                                    "' (column: " + colDef.getReferencedColumnLogicalName() + ")."
-                    );
-                }
-            }
+        Map<Integer, String> referenceErrors = findReferenceErrors(jdbcTemplate, tableDef, List.of(data), false);
+        if (!referenceErrors.isEmpty()) {
+            throw new IllegalArgumentException(referenceErrors.get(0));
         }
 
-        String rowUuid = UUID.randomUUID().toString();
+        String rowUuid = RowIds.newRowId(tableDef);
         data.put(SYSTEM_UUID_COLUMN_NAME, rowUuid);
 
-        return dynamicTableAccessor.insert(jdbcTemplate, tableDef.getFinalTableName(), data);
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        SummaryTableService.ChangedGroups changedGroups = summaryTableService.collectChangedGroups(dbDetails, jdbcTemplate, tableDef,
+                summaryTableService.getSummariesAffectedBy(tableDef, null), List.of());
+        int rowsAffected = dynamicTableAccessor.insert(jdbcTemplate, tableDef.getFinalTableName(), data);
+        fullTextIndexService.indexRows(dbDetails.getUuid(), tableDef, List.of(data));
+        summaryTableService.recordChanges(changedGroups, List.of(rowUuid));
+        markTableDataChanged(projectConfigId, tableDef);
+        return rowsAffected;
     }
 
 
-
     /**
-     * Retrieves a single row by its system_row_id from a dynamic table and optionally resolves references.
+     * Inserts many rows in one request. Rows are validated individually (unknown columns, reference integrity),
+     * grouped by the set of columns they provide, and written with JDBC batches of easy.bulk.batch-size rows,
+     * each batch committed on its own. When a batch fails it is rolled back and its rows are retried one by one,
+     * so every failing row is reported and every other row is inserted.
      *
-     * @param logicalTableName The logical name of the table.
+     * @param logicalTableName The logical name of the target table.
      * @param projectConfigId The UUID of the project.
-     * @param systemRowId The system-generated UUID of the row.
-     * @return An Optional containing the row data as a Map (with resolved references), or empty if not found.
+     * @param rows The rows to insert (column name to value); null values are omitted like in single inserts.
+     * @return The generated system_row_ids (in request order) and the rejected rows with their errors.
+     * @throws IllegalArgumentException if the table is unknown, or there are no or too many rows.
+     * @throws BulkInsertInterruptedException if the database became unavailable part-way; it lists the unwritten rows.
      */
-    @Transactional(readOnly = true)
-    public Optional<Map<String, Object>> getSingleRowBySystemIdFromDynamicTable(String logicalTableName, String projectConfigId, String systemRowId) {
-        JdbcTemplate jdbcTemplate = getJdbcTemplateForProject(projectConfigId);
+    @Transactional
+    public BulkInsertResultDto bulkInsertIntoDynamicTable(String logicalTableName, String projectConfigId, List<Map<String, Object>> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("At least one row is required.");
+        }
+        if (rows.size() > maxBulkRows) {
+            throw new IllegalArgumentException("At most " + maxBulkRows + " rows can be inserted per request.");
+        }
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
         TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
                 .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+        Set<String> knownColumns = tableDef.getColumns().stream().map(ColumnDefinition::getColumnName).collect(Collectors.toSet());
+
+        String[] rowIds = new String[rows.size()];
+        List<BulkRowErrorDto> errors = new ArrayList<>();
+        List<Integer> candidates = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            if (row == null) {
+                errors.add(new BulkRowErrorDto(i, "Row cannot be null."));
+                continue;
+            }
+            Optional<String> unknownColumn = row.keySet().stream().filter(column -> !knownColumns.contains(column)).findFirst();
+            if (unknownColumn.isPresent()) {
+                errors.add(new BulkRowErrorDto(i, "Unknown column '" + unknownColumn.get() + "' for table '" + tableDef.getTableName() + "'."));
+                continue;
+            }
+            candidates.add(i);
+        }
+        // References of all rows are checked together, one existence query per referenced table
+        Map<Integer, String> referenceErrors = findReferenceErrors(jdbcTemplate, tableDef,
+                candidates.stream().map(rows::get).collect(Collectors.toList()), false);
+
+        Map<List<String>, List<Integer>> rowsByColumns = new LinkedHashMap<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            int i = candidates.get(c);
+            Map<String, Object> row = rows.get(i);
+            if (referenceErrors.containsKey(c)) {
+                errors.add(new BulkRowErrorDto(i, referenceErrors.get(c)));
+                continue;
+            }
+            rowIds[i] = RowIds.newRowId(tableDef);
+            row.put(SYSTEM_UUID_COLUMN_NAME, rowIds[i]);
+            List<String> columns = row.entrySet().stream()
+                    .filter(entry -> entry.getValue() != null)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .collect(Collectors.toList());
+            rowsByColumns.computeIfAbsent(columns, k -> new ArrayList<>()).add(i);
+        }
 
+        SummaryTableService.ChangedGroups changedGroups = summaryTableService.collectChangedGroups(dbDetails, jdbcTemplate, tableDef,
+                summaryTableService.getSummariesAffectedBy(tableDef, null), List.of());
+        TransactionTemplate batchTransaction = new TransactionTemplate(new DataSourceTransactionManager(dynamicDataSourceManager.getDataSource(dbDetails)));
         String finalTableName = tableDef.getFinalTableName();
-        String sql = "SELECT * FROM `" + finalTableName + "` WHERE `" + SYSTEM_UUID_COLUMN_NAME + "` = ?"; // Quote table and column names
+        List<Integer> inserted = new ArrayList<>(rows.size());
+        DataAccessException unavailable = null;
+        writeGroups:
+        for (Map.Entry<List<String>, List<Integer>> group : rowsByColumns.entrySet()) {
+            List<String> columns = group.getKey();
+            List<Integer> indexes = group.getValue();
+            for (int from = 0; from < indexes.size(); from += bulkBatchSize) {
+                List<Integer> chunk = indexes.subList(from, Math.min(from + bulkBatchSize, indexes.size()));
+                List<Object[]> batch = new ArrayList<>(chunk.size());
+                for (int index : chunk) {
+                    Map<String, Object> row = rows.get(index);
+                    batch.add(columns.stream().map(row::get).toArray());
+                }
+                try {
+                    batchTransaction.executeWithoutResult(status -> dynamicTableAccessor.insertBatch(jdbcTemplate, finalTableName, columns, batch));
+                    inserted.addAll(chunk);
+                } catch (DataAccessException | TransactionException e) {
+                    // The batch was rolled back; retry its rows one at a time to isolate the failing ones
+                    String sql = dynamicTableAccessor.insertSql(finalTableName, columns);
+                    for (int k = 0; k < chunk.size(); k++) {
+                        int index = chunk.get(k);
+                        try {
+                            jdbcTemplate.update(sql, batch.get(k));
+                            inserted.add(index);
+                        } catch (DataAccessException rowFailure) {
+                            if (isDatabaseUnavailable(rowFailure)) {
+                                // Not this row's fault: stop here instead of reporting every remaining row as rejected
+                                unavailable = rowFailure;
+                                break writeGroups;
+                            }
+                            errors.add(new BulkRowErrorDto(index, rowFailure.getMostSpecificCause().getMessage()));
+                            rowIds[index] = null;
+                        }
+                    }
+                }
+            }
+        }
 
-        try {
-            Map<String, Object> row = jdbcTemplate.queryForMap(sql, systemRowId);
-            return Optional.of(processReferencesInRow(row, tableDef, projectConfigId));
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
-        } catch (Exception e) {
-            throw new RuntimeException("Error fetching single row from dynamic table: " + e.getMessage(), e);
+        List<Integer> unwritten = new ArrayList<>();
+        if (unavailable != null) {
+            Set<Integer> written = new HashSet<>(inserted);
+            for (int i = 0; i < rowIds.length; i++) {
+                if (rowIds[i] != null && !written.contains(i)) {
+                    unwritten.add(i);
+                    rowIds[i] = null;
+                }
+            }
         }
+
+        if (!inserted.isEmpty()) {
+            List<Map<String, Object>> insertedRows = inserted.stream().map(rows::get).collect(Collectors.toList());
+            fullTextIndexService.indexRows(dbDetails.getUuid(), tableDef, insertedRows);
+            summaryTableService.recordChanges(changedGroups, inserted.stream().map(i -> rowIds[i]).collect(Collectors.toList()));
+            markTableDataChanged(projectConfigId, tableDef);
+        }
+        errors.sort(Comparator.comparingInt(BulkRowErrorDto::getIndex));
+        BulkInsertResultDto result = BulkInsertResultDto.builder()
+                .requested(rows.size())
+                .inserted(inserted.size())
+                .failed(errors.size())
+                .systemRowIds(Arrays.asList(rowIds))
+                .errors(errors)
+                .build();
+        if (unavailable != null) {
+            throw new BulkInsertInterruptedException("Database unavailable after inserting " + inserted.size() + " of " + rows.size()
+                    + " rows: " + unavailable.getMostSpecificCause().getMessage(), result, unwritten, unavailable);
+        }
+        return result;
     }
 
     /**
-     * Updates data in a dynamic table based on a filter column and value.
-     *
-     * @param logicalTableName The logical name of the table.
-     * @param projectConfigId The UUID of the project.
-     * @param updateData A map of column names to new values.
-     * @param filterColumn The column to use for filtering rows to update.
-     * @param filterValue The value to match in the filterColumn.
-     * @return The number of rows affected.
+     * Thrown by {@link #bulkInsertIntoDynamicTable} when the tenant database fails part-way (connection refused
+     * or lost, timeout, deadlock). Rows inserted before the failure stay inserted and are reported in the partial
+     * result; the rows that were not written are listed so that they can be retried.
      */
-    @Transactional
-    public int updateDataInDynamicTable(String logicalTableName, String projectConfigId, Map<String, Object> updateData, String filterColumn, Object filterValue) {
-        JdbcTemplate jdbcTemplate = getJdbcTemplateForProject(projectConfigId);
-        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
-                .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+    public static class BulkInsertInterruptedException extends RuntimeException {
+        private final BulkInsertResultDto partialResult;
+        private final List<Integer> unwrittenIndexes;
+
+        public BulkInsertInterruptedException(String message, BulkInsertResultDto partialResult, List<Integer> unwrittenIndexes, Throwable cause) {
+            super(message, cause);
+            this.partialResult = partialResult;
+            this.unwrittenIndexes = unwrittenIndexes;
+        }
 
-        for (ColumnDefinition colDef : tableDef.getColumns()) {
-            if (colDef.isReference()) {
-                String referencingColumnName = colDef.getColumnName();
-                if (updateData.containsKey(referencingColumnName)) {
-                    Object providedValue = updateData.get(referencingColumnName);
-                    if (providedValue == null) {
-                        if (!colDef.isNullable()) {
-                            throw new IllegalArgumentException("Non-nullable reference column '" + referencingColumnName + "' cannot be null.");
-                        }
-                        continue;
-                    }
-                    if (!(providedValue instanceof String)) {
-                        throw new IllegalArgumentException("Value for reference column '" + referencingColumnName + "' must be a String (UUID). Provided: " + providedValue.getClass().getSimpleName());
-                    }
-                    boolean exists = checkReferencedValueExists(
-                            jdbcTemplate,
-                            colDef.getReferencedTableIdRef(),
-                            colDef.getReferencedColumnIdRef(),
-                            (String) providedValue,
-                            projectConfigId
-                    );
-                    if (!exists) {
-                        throw new IllegalArgumentException(
-                                "Invalid reference: Value '" + providedValue + "' for column '" + referencingColumnName +
-                                        "' does not exist in the referenced table '" + colDef.getReferencedTableLogicalName() +
-                                        "' (column: " + colDef.getReferencedColumnLogicalName() + ")."
-                        );
-                    }
-                }
-            }
+        public BulkInsertResultDto getPartialResult() {
+            return partialResult;
         }
 
-        return dynamicTableAccessor.update(jdbcTemplate, tableDef.getFinalTableName(), updateData, filterColumn, filterValue);
+        /**
+         * @return The positions (in the request's rows) of the rows that were neither inserted nor rejected.
+         */
+        public List<Integer> getUnwrittenIndexes() {
+            return unwrittenIndexes;
+        }
     }
 
     /**
-     * Deletes data from a dynamic table based on a filter column and value.
+     * True for failures of the database rather than of a statement's data (connection refused or lost, timeouts,
+     * deadlocks, transactions that could not be started or committed): the same rows can succeed when retried.
+     */
+    static boolean isDatabaseUnavailable(Exception e) {
+        return e instanceof DataAccessResourceFailureException || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException || e instanceof TransactionException;
+    }
+
+    /**
+     * Validates the reference columns of rows that are loaded without going through this service
+     * (file imports using the database's bulk-load path), with the same batched checks and messages as bulk inserts.
      *
-     * @param logicalTableName The logical name of the table.
-     * @param projectConfigId The UUID of the project.
-     * @param filterColumn The column to use for filtering rows to delete.
-     * @param filterValue The value to match in the filterColumn.
-     * @return The number of rows affected.
+     * @return The first reference error of each invalid row, keyed by its position in rows.
      */
-    @Transactional
-    public int deleteDataFromDynamicTable(String logicalTableName, String projectConfigId, String filterColumn, Object filterValue) {
-        JdbcTemplate jdbcTemplate = getJdbcTemplateForProject(projectConfigId);
-        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
-                .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+    public Map<Integer, String> findReferenceErrors(String projectConfigId, TableDefinition tableDef, List<Map<String, Object>> rows) {
+        return findReferenceErrors(getJdbcTemplateForProject(projectConfigId), tableDef, rows, false);
+    }
 
-        return dynamicTableAccessor.delete(jdbcTemplate, tableDef.getFinalTableName(), filterColumn, filterValue);
+    /**
+     * Refreshes derived state after rows were inserted without going through this service (file imports using
+     * the database's bulk-load path): the data version and reference cache, the search index and summary tables.
+     *
+     * @param rows The inserted rows, including their system_row_id.
+     */
+    @Transactional
+    public void recordRowsLoaded(String projectConfigId, TableDefinition tableDef, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        // Inserted rows had no previous groups; this only captures the affected summaries
+        SummaryTableService.ChangedGroups changedGroups = summaryTableService.collectChangedGroups(dbDetails,
+                dynamicDataSourceManager.getJdbcTemplate(dbDetails), tableDef, summaryTableService.getSummariesAffectedBy(tableDef, null), List.of());
+        fullTextIndexService.indexRows(dbDetails.getUuid(), tableDef, rows);
+        summaryTableService.recordChanges(changedGroups, rows.stream()
+                .map(row -> (String) row.get(SYSTEM_UUID_COLUMN_NAME))
+                .collect(Collectors.toList()));
+        markTableDataChanged(projectConfigId, tableDef);
     }
 
     /**
-     * Retrieves all table definitions for a given project.
+     * Inserts a row, or updates the existing row with the same value in a unique key column, in one statement.
      *
-     * @param projectConfigId The ID of the project configuration.
-     * @return A list of TableDefinitionDto objects.
+     * @param logicalTableName The logical name of the target table.
+     * @param projectConfigId The UUID of the project.
+     * @param keyColumn A unique (or primary key) column of the table; the row must provide its value.
+     * @param data The row (column name to value); on update every given column except the key is overwritten.
+     * @return The system_row_id of the inserted or updated row, and whether it was created.
+     * @throws IllegalArgumentException if the row is invalid or the write is rejected by the database.
      */
-    @Transactional(readOnly = true)
-    public List<TableDefinitionDto> getAllTableDefinitionsForProject(String projectConfigId) {
-        List<TableDefinition> tableDefs = tableDefinitionRepository.findByProjectConfigIdRef(projectConfigId);
-        return tableDefs.stream()
-                .map(TableDefinitionDto::fromEntity)
-                .collect(Collectors.toList());
+    @Transactional
+    public UpsertResultDto upsertDynamicTableRow(String logicalTableName, String projectConfigId, String keyColumn, Map<String, Object> data) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(data);
+        BulkUpsertResultDto result = bulkUpsertIntoDynamicTable(logicalTableName, projectConfigId, keyColumn, rows);
+        if (result.getFailed() > 0) {
+            throw new IllegalArgumentException(result.getErrors().get(0).getMessage());
+        }
+        return new UpsertResultDto(result.getSystemRowIds().get(0), result.getInserted() == 1);
     }
 
     /**
-     * Retrieves a specific TableDefinition along with a single row of data from it
-     * identified by system_row_id.
+     * Upserts many rows on a unique key column using the tenant dialect's native statement
+     * (ON DUPLICATE KEY UPDATE, ON CONFLICT or MERGE), so each row costs no existence check of its own.
+     * Rows are validated like bulk inserts, grouped by the set of columns they provide and sent in JDBC batches of
+     * easy.bulk.batch-size rows, each committed on its own; a failing batch is retried row by row.
+     * The existing rows' IDs are looked up once per request (for the result and for summaries), and re-read after the
+     * write so that rows inserted concurrently by someone else are reported with their actual ID.
      *
-     * @param logicalTableName The logical name of the table.
+     * @param logicalTableName The logical name of the target table.
      * @param projectConfigId The UUID of the project.
-     * @param systemRowId The system-generated UUID of the row.
-     * @return An Optional containing a Map with "tableDefinition" (as DTO) and "rowData" (as Map), or empty.
+     * @param keyColumn A unique (or primary key) column of the table; every row must provide its value, at most once per request.
+     * @param rows The rows to upsert (column name to value); given null values are written as null.
+     * @return The system_row_ids (in request order), the insert/update counts and the rejected rows with their errors.
+     * @throws IllegalArgumentException if the table or key column is invalid, or there are no or too many rows.
+     * @throws BulkUpsertInterruptedException if the database becomes unavailable part-way (carries the partial result).
      */
-    @Transactional(readOnly = true)
-    public Optional<Map<String, Object>> getTableDefinitionAndSingleRow(String logicalTableName, String projectConfigId, String systemRowId) {
-        Optional<TableDefinition> tableDefOpt = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId);
-        if (tableDefOpt.isEmpty()) {
-            return Optional.empty();
+    @Transactional
+    public BulkUpsertResultDto bulkUpsertIntoDynamicTable(String logicalTableName, String projectConfigId, String keyColumn, List<Map<String, Object>> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("At least one row is required.");
+        }
+        if (rows.size() > maxBulkRows) {
+            throw new IllegalArgumentException("At most " + maxBulkRows + " rows can be upserted per request.");
+        }
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+        ColumnDefinition keyColumnDef = tableDef.getColumns().stream()
+                .filter(c -> c.getColumnName().equals(keyColumn))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Key column '" + keyColumn + "' not found in table '" + tableDef.getTableName() + "'."));
+        if (!keyColumnDef.isUnique() && !keyColumnDef.isPrimaryKey()) {
+            throw new IllegalArgumentException("Key column '" + keyColumn + "' must be unique or a primary key to upsert on it.");
+        }
+        Set<String> knownColumns = tableDef.getColumns().stream().map(ColumnDefinition::getColumnName).collect(Collectors.toSet());
+
+        String[] rowIds = new String[rows.size()];
+        List<BulkRowErrorDto> errors = new ArrayList<>();
+        List<Integer> candidates = new ArrayList<>(rows.size());
+        Set<String> seenKeys = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            if (row == null) {
+                errors.add(new BulkRowErrorDto(i, "Row cannot be null."));
+                continue;
+            }
+            Optional<String> unknownColumn = row.keySet().stream().filter(column -> !knownColumns.contains(column)).findFirst();
+            if (unknownColumn.isPresent()) {
+                errors.add(new BulkRowErrorDto(i, "Unknown column '" + unknownColumn.get() + "' for table '" + tableDef.getTableName() + "'."));
+                continue;
+            }
+            Object key = row.get(keyColumn);
+            if (key == null) {
+                errors.add(new BulkRowErrorDto(i, "Row must provide a value for key column '" + keyColumn + "'."));
+                continue;
+            }
+            if (!seenKeys.add(String.valueOf(key))) {
+                errors.add(new BulkRowErrorDto(i, "Duplicate value '" + key + "' for key column '" + keyColumn + "' in this request."));
+                continue;
+            }
+            candidates.add(i);
         }
+        Map<Integer, String> referenceErrors = findReferenceErrors(jdbcTemplate, tableDef,
+                candidates.stream().map(rows::get).collect(Collectors.toList()), false);
 
-        TableDefinition tableDef = tableDefOpt.get();
-        Optional<Map<String, Object>> rowDataOpt = getSingleRowBySystemIdFromDynamicTable(logicalTableName, projectConfigId, systemRowId);
+        List<Integer> valid = new ArrayList<>(candidates.size());
+        for (int c = 0; c < candidates.size(); c++) {
+            if (referenceErrors.containsKey(c)) {
+                errors.add(new BulkRowErrorDto(candidates.get(c), referenceErrors.get(c)));
+            } else {
+                valid.add(candidates.get(c));
+            }
+        }
 
-        if (rowDataOpt.isEmpty()) {
-            return Optional.empty();
+        String finalTableName = tableDef.getFinalTableName();
+        // Keys are matched by the database (the column's collation), so existing IDs are kept by row position
+        String[] existingIds = new String[rows.size()];
+        if (!valid.isEmpty()) {
+            String[] found = dynamicTableAccessor.selectSystemRowIdsByKey(jdbcTemplate, dialect, finalTableName, keyColumn,
+                    valid.stream().map(i -> rows.get(i).get(keyColumn)).collect(Collectors.toList()));
+            for (int v = 0; v < valid.size(); v++) {
+                existingIds[valid.get(v)] = found[v];
+            }
+        }
+        // New rows get a fresh ID; existing rows keep theirs (system_row_id is never overwritten by the upsert)
+        Map<List<String>, List<Integer>> rowsByColumns = new LinkedHashMap<>();
+        for (int i : valid) {
+            Map<String, Object> row = rows.get(i);
+            rowIds[i] = existingIds[i] != null ? existingIds[i] : RowIds.newRowId(tableDef);
+            row.put(SYSTEM_UUID_COLUMN_NAME, rowIds[i]);
+            List<String> columns = new ArrayList<>(row.keySet());
+            Collections.sort(columns);
+            rowsByColumns.computeIfAbsent(columns, k -> new ArrayList<>()).add(i);
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("tableDefinition", TableDefinitionDto.fromEntity(tableDef));
-        result.put("rowData", rowDataOpt.get());
-        return Optional.of(result);
-    }
+        SummaryTableService.ChangedGroups changedGroups = summaryTableService.collectChangedGroups(dbDetails, jdbcTemplate, tableDef,
+                summaryTableService.getSummariesAffectedBy(tableDef, null),
+                Arrays.stream(existingIds).filter(Objects::nonNull).distinct().collect(Collectors.toList()));
+        TransactionTemplate batchTransaction = new TransactionTemplate(new DataSourceTransactionManager(dynamicDataSourceManager.getDataSource(dbDetails)));
+        boolean insertRowAlias = dynamicDataSourceManager.supportsInsertRowAlias(dbDetails);
+        List<Integer> written = new ArrayList<>(valid.size());
+        DataAccessException unavailable = null;
+        writeGroups:
+        for (Map.Entry<List<String>, List<Integer>> group : rowsByColumns.entrySet()) {
+            List<String> columns = group.getKey();
+            List<Integer> indexes = group.getValue();
+            for (int from = 0; from < indexes.size(); from += bulkBatchSize) {
+                List<Integer> chunk = indexes.subList(from, Math.min(from + bulkBatchSize, indexes.size()));
+                List<Object[]> batch = new ArrayList<>(chunk.size());
+                for (int index : chunk) {
+                    Map<String, Object> row = rows.get(index);
+                    batch.add(columns.stream().map(row::get).toArray());
+                }
+                try {
+                    batchTransaction.executeWithoutResult(status -> dynamicTableAccessor.upsertBatch(jdbcTemplate, dialect, insertRowAlias,
+                            finalTableName, keyColumn, columns, batch));
+                    written.addAll(chunk);
+                } catch (DataAccessException | TransactionException e) {
+                    // The batch was rolled back; retry its rows one at a time to isolate the failing ones
+                    String sql = dynamicTableAccessor.upsertSql(dialect, insertRowAlias, finalTableName, keyColumn, columns);
+                    for (int k = 0; k < chunk.size(); k++) {
+                        int index = chunk.get(k);
+                        try {
+                            jdbcTemplate.update(sql, batch.get(k));
+                            written.add(index);
+                        } catch (DataAccessException rowFailure) {
+                            if (isDatabaseUnavailable(rowFailure)) {
+                                // Not this row's fault: stop here instead of reporting every remaining row as rejected
+                                unavailable = rowFailure;
+                                break writeGroups;
+                            }
+                            errors.add(new BulkRowErrorDto(index, rowFailure.getMostSpecificCause().getMessage()));
+                            rowIds[index] = null;
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Integer> unwritten = new ArrayList<>();
+        if (unavailable != null) {
+            Set<Integer> writtenIndexes = new HashSet<>(written);
+            for (int i = 0; i < rowIds.length; i++) {
+                if (rowIds[i] != null && !writtenIndexes.contains(i)) {
+                    unwritten.add(i);
+                    rowIds[i] = null;
+                }
+            }
+        }
 
+        int inserted = 0;
+        if (!written.isEmpty()) {
+            // A row inserted by someone else after the lookup was updated instead; report its actual ID
+            String[] actualIds = dynamicTableAccessor.selectSystemRowIdsByKey(jdbcTemplate, dialect, finalTableName, keyColumn,
+                    written.stream().map(i -> rows.get(i).get(keyColumn)).collect(Collectors.toList()));
+            for (int w = 0; w < written.size(); w++) {
+                int i = written.get(w);
+                String actualId = actualIds[w] != null ? actualIds[w] : rowIds[i];
+                if (existingIds[i] == null && actualId.equals(rowIds[i])) {
+                    inserted++;
+                }
+                rowIds[i] = actualId;
+                rows.get(i).put(SYSTEM_UUID_COLUMN_NAME, actualId);
+            }
+            List<String> writtenIds = written.stream().map(i -> rowIds[i]).collect(Collectors.toList());
+            if (fullTextIndexService.isSearchable(tableDef)) {
+                // Updated rows may keep text columns the request did not provide, so rows are re-read for the index
+                fullTextIndexService.reindexRows(dbDetails.getUuid(), jdbcTemplate, dialect, tableDef, writtenIds);
+            }
+            summaryTableService.recordChanges(changedGroups, writtenIds);
+            markTableDataChanged(projectConfigId, tableDef);
+        }
+        errors.sort(Comparator.comparingInt(BulkRowErrorDto::getIndex));
+        BulkUpsertResultDto result = BulkUpsertResultDto.builder()
+                .requested(rows.size())
+                .inserted(inserted)
+                .updated(written.size() - inserted)
+                .failed(errors.size())
+                .systemRowIds(Arrays.asList(rowIds))
+                .errors(errors)
+                .build();
+        if (unavailable != null) {
+            throw new BulkUpsertInterruptedException("Database unavailable after upserting " + written.size() + " of " + rows.size()
+                    + " rows: " + unavailable.getMostSpecificCause().getMessage(), result, unwritten, unavailable);
+        }
+        return result;
+    }
 
     /**
-     * Helper method to check if a value exists in a referenced table's column.
-     *
-     * @param jdbcTemplate The JdbcTemplate for the target database.
-     * @param referencedTableId The UUID of the referenced TableDefinition.
-     * @param referencedColumnId The UUID of the ColumnDefinition in the referenced table.
-     * @param value The value to check for existence.
-     * @param projectConfigId The UUID of the project.
-     * @return True if the value exists, false otherwise.
+     * Thrown by {@link #bulkUpsertIntoDynamicTable} when the tenant database fails part-way. Rows written before the
+     * failure stay written and are reported in the partial result; the rows that were not written are listed so that
+     * they can be retried.
      */
-    private boolean checkReferencedValueExists(JdbcTemplate jdbcTemplate, String referencedTableId, String referencedColumnId, String value, String projectConfigId) {
-        TableDefinition refTableDef = tableDefinitionRepository.findById(referencedTableId)
-                .orElseThrow(() -> new IllegalStateException("Referenced table definition not found for ID: " + referencedTableId));
+    public static class BulkUpsertInterruptedException extends RuntimeException {
+        private final BulkUpsertResultDto partialResult;
+        private final List<Integer> unwrittenIndexes;
+
+        public BulkUpsertInterruptedException(String message, BulkUpsertResultDto partialResult, List<Integer> unwrittenIndexes, Throwable cause) {
+            super(message, cause);
+            this.partialResult = partialResult;
+            this.unwrittenIndexes = unwrittenIndexes;
+        }
 
-        ColumnDefinition refColumnDef = refTableDef.getColumns().stream()
-                .filter(c -> c.getId().equals(referencedColumnId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Referenced column definition not found for ID: " + referencedColumnId + " in table " + refTableDef.getTableName()));
+        public BulkUpsertResultDto getPartialResult() {
+            return partialResult;
+        }
 
-        return dynamicTableAccessor.checkRowExists(
-                jdbcTemplate,
-                refTableDef.getFinalTableName(),
-                refColumnDef.getColumnName(),
-                value
-        );
+        /**
+         * @return The positions (in the request's rows) of the rows that were neither written nor rejected.
+         */
+        public List<Integer> getUnwrittenIndexes() {
+            return unwrittenIndexes;
+        }
     }
 
-
     /**
-     * Helper method to resolve reference values in a given row.
-     * It adds new entries to the map (e.g., column_name_display) with the lookup values.
+     * Validates the reference columns of the rows being written. The values of every row are collected first and
+     * each referenced table is checked with one existence query (chunked IN lists) for the values not already
+     * checked in the current transaction; errors are then reported per row with the same messages as before.
      *
-     * @param row The raw row data from the dynamic table.
+     * @param rows The rows being written.
+     * @param presentColumnsOnly True for updates: only the reference columns a row contains are checked.
+     * @return The first reference error of each invalid row, keyed by its position in rows.
+     * @throws IllegalStateException if a referenced table or column definition no longer exists.
+     * @throws DataAccessException if the existence query fails.
+     */
+    private Map<Integer, String> findReferenceErrors(JdbcTemplate jdbcTemplate, TableDefinition tableDef, List<Map<String, Object>> rows,
+                                                     boolean presentColumnsOnly) {
+        Map<Integer, String> errors = new HashMap<>();
+        List<ColumnDefinition> referenceColumns = tableDef.getColumns().stream()
+                .filter(ColumnDefinition::isReference)
+                .collect(Collectors.toList());
+        if (referenceColumns.isEmpty()) {
+            return errors;
+        }
+
+        Map<String, Set<String>> valuesByColumn = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            for (ColumnDefinition colDef : referenceColumns) {
+                if (row.get(colDef.getColumnName()) instanceof String value) {
+                    valuesByColumn.computeIfAbsent(colDef.getColumnName(), k -> new HashSet<>()).add(value);
+                }
+            }
+        }
+
+        Map<String, Boolean> checked = transactionReferenceChecks();
+        Map<String, TableDefinition> referencedTables = new HashMap<>();
+        Map<String, String> checkKeyPrefixes = new HashMap<>();
+        for (ColumnDefinition colDef : referenceColumns) {
+            Set<String> values = valuesByColumn.get(colDef.getColumnName());
+            if (values == null) {
+                continue;
+            }
+            String referencedTableId = colDef.getReferencedTableIdRef();
+            TableDefinition refTableDef = referencedTables.computeIfAbsent(referencedTableId, id -> tableDefinitionRepository.findById(id)
+                    .orElseThrow(() -> new IllegalStateException("Referenced table definition not found for ID: " + referencedTableId)));
+            ColumnDefinition refColumnDef = refTableDef.getColumns().stream()
+                    .filter(c -> c.getId().equals(colDef.getReferencedColumnIdRef()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Referenced column definition not found for ID: " + colDef.getReferencedColumnIdRef() + " in table " + refTableDef.getTableName()));
+
+            String prefix = refTableDef.getFinalTableName() + '.' + refColumnDef.getColumnName() + '=';
+            checkKeyPrefixes.put(colDef.getColumnName(), prefix);
+            List<String> unchecked = values.stream().filter(v -> !checked.containsKey(prefix + v)).collect(Collectors.toList());
+            if (!unchecked.isEmpty()) {
+                // A failing lookup is a tenant database error, not an invalid reference, so it propagates
+                Set<String> existing = dynamicTableAccessor.selectExistingValues(jdbcTemplate, refTableDef.getFinalTableName(), refColumnDef.getColumnName(), unchecked);
+                unchecked.forEach(v -> checked.put(prefix + v, existing.contains(v)));
+            }
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            for (ColumnDefinition colDef : referenceColumns) {
+                String referencingColumnName = colDef.getColumnName();
+                if (presentColumnsOnly && !row.containsKey(referencingColumnName)) {
+                    continue;
+                }
+                Object providedValue = row.get(referencingColumnName);
+                String error = null;
+                if (providedValue == null) {
+                    if (!colDef.isNullable()) {
+                        error = "Non-nullable reference column '" + referencingColumnName + "' cannot be null.";
+                    }
+                } else if (!(providedValue instanceof String)) {
+                    error = "Value for reference column '" + referencingColumnName + "' must be a String (UUID). Provided: " + providedValue.getClass().getSimpleName();
+                } else if (!checked.get(checkKeyPrefixes.get(referencingColumnName) + providedValue)) {
+                    error = "Invalid reference: Value '" + providedValue + "' for column '" + referencingColumnName +
+                            "' does not exist in the referenced table '" + colDef.getReferencedTableLogicalName() +
+                            "' (column: " + colDef.getReferencedColumnLogicalName() + ").";
+                }
+                if (error != null) {
+                    errors.put(i, error);
+                    break;
+                }
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Reference existence results for the current transaction (a fresh map outside transactions),
+     * so repeated writes in one transaction do not re-check the same referenced values.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Boolean> transactionReferenceChecks() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+        Map<String, Boolean> checks = (Map<String, Boolean>) TransactionSynchronizationManager.getResource(REFERENCE_CHECKS_RESOURCE_KEY);
+        if (checks == null) {
+            Map<String, Boolean> newChecks = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(REFERENCE_CHECKS_RESOURCE_KEY, newChecks);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(REFERENCE_CHECKS_RESOURCE_KEY);
+                }
+            });
+            checks = newChecks;
+        }
+        return checks;
+    }
+
+    /**
+     * Retrieves a single row by its system_row_id from a dynamic table and optionally resolves references.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @param systemRowId The system-generated UUID of the row.
+     * @return An Optional containing the row data as a Map (with resolved references), or empty if not found.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getSingleRowBySystemIdFromDynamicTable(String logicalTableName, String projectConfigId, String systemRowId) {
+        return getSingleRowBySystemIdFromDynamicTable(logicalTableName, projectConfigId, systemRowId, DataReadOptions.defaults());
+    }
+
+    /**
+     * Retrieves a single row by its system_row_id, resolving references either with follow-up lookups
+     * or with a single LEFT JOIN query, depending on the request options and the table's referenceResolution.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @param systemRowId The system-generated UUID of the row.
+     * @param options Per-request read options (e.g., referenceMode).
+     * @return An Optional containing the row data as a Map (with resolved references), or empty if not found.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getSingleRowBySystemIdFromDynamicTable(String logicalTableName, String projectConfigId, String systemRowId, DataReadOptions options) {
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        JdbcTemplate jdbcTemplate = readJdbcTemplate(dbDetails, options);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+        List<String> projection = resolveProjection(tableDef, options != null ? options.getFields() : null);
+        TableDefinition readDef = projectTableDefinition(tableDef, projection);
+        int expandDepth = expandDepth(options);
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+
+        if (useJoinResolution(tableDef, options)) {
+            ReferenceJoinPlan plan = referenceJoinQueryPlanner.plan(dialect, readDef, true, projection);
+            String sql = plan.getSql() + " WHERE " + ReferenceJoinQueryPlanner.BASE_ALIAS + "." + dialect.quote(SYSTEM_UUID_COLUMN_NAME) + " = ?";
+            try {
+                List<Map<String, Object>> joinedRows = jdbcTemplate.queryForList(sql, systemRowId);
+                if (joinedRows.isEmpty()) {
+                    return Optional.empty();
+                }
+                Map<String, Object> row = plan.mapRow(joinedRows.get(0));
+                if (expandDepth > 0) {
+                    referenceExpander.expand(dialect, jdbcTemplate, readDef, List.of(row), expandDepth);
+                }
+                return Optional.of(row);
+            } catch (IllegalArgumentException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("Error fetching single row from dynamic table: " + e.getMessage(), e);
+            }
+        }
+
+        String finalTableName = tableDef.getFinalTableName();
+        String sql = "SELECT * FROM `" + finalTableName + "` WHERE `" + SYSTEM_UUID_COLUMN_NAME + "` = ?"; // Quote table and column names
+
+        try {
+            Map<String, Object> row;
+            if (projection != null) {
+                Optional<Map<String, Object>> projectedRow = dynamicTableAccessor.selectById(jdbcTemplate, finalTableName, SYSTEM_UUID_COLUMN_NAME, systemRowId, projection);
+                if (projectedRow.isEmpty()) {
+                    return Optional.empty();
+                }
+                row = projectedRow.get();
+            } else {
+                row = jdbcTemplate.queryForMap(sql, systemRowId);
+            }
+            if (expandDepth > 0) {
+                // Adds nested <column>_details, which processReferencesInRow then reuses instead of querying again
+                referenceExpander.expand(dialect, jdbcTemplate, readDef, List.of(row), expandDepth);
+            }
+            return Optional.of(processReferencesInRow(row, readDef, projectConfigId, dbDetails.getUuid()));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error fetching single row from dynamic table: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves many rows by system_row_id in one call. The project, connection and table definition are
+     * looked up once; the IDs are fetched with IN (...) queries sized to the dialect's limit, and references
+     * are resolved for the whole batch together.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @param systemRowIds The IDs to fetch (duplicates are ignored).
+     * @param fields Optional projection; null returns all columns.
+     * @return The found rows in request order plus the IDs that were not found.
+     * @throws IllegalArgumentException if the table is unknown or too many IDs are requested.
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResultDto getRowsBySystemIdsFromDynamicTable(String logicalTableName, String projectConfigId, List<String> systemRowIds, List<String> fields) {
+        if (systemRowIds == null || systemRowIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required.");
+        }
+        List<String> distinctIds = systemRowIds.stream()
+                .filter(id -> id != null && !id.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        if (distinctIds.size() > MAX_BATCH_GET_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_GET_IDS + " ids can be fetched per request.");
+        }
+
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+        List<String> projection = resolveProjection(tableDef, fields);
+        TableDefinition readDef = projectTableDefinition(tableDef, projection);
+
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        String selectSql = "SELECT " + selectList(dialect, projection) + " FROM " + dialect.quote(tableDef.getFinalTableName())
+                + " WHERE " + dialect.quote(SYSTEM_UUID_COLUMN_NAME) + " IN (";
+        int chunkSize = dialect.maxInListSize();
+
+        try {
+            JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+            RowLayout layout = dynamicTableAccessor.layoutFor(readDef);
+            List<Object[]> rawRows = new ArrayList<>(distinctIds.size());
+            for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+                List<String> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+                String sql = selectSql + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                rawRows.addAll(dynamicTableAccessor.queryRows(jdbcTemplate, sql, layout, chunk.toArray()));
+            }
+
+            Map<String, Map<String, Object>> rowsById = new HashMap<>();
+            for (Map<String, Object> row : dynamicTableAccessor.resolveReferenceColumns(dbDetails.getUuid(), jdbcTemplate, readDef, layout, rawRows)) {
+                rowsById.put(String.valueOf(row.get(SYSTEM_UUID_COLUMN_NAME)), row);
+            }
+            List<Map<String, Object>> rows = new ArrayList<>(rowsById.size());
+            List<String> missingIds = new ArrayList<>();
+            for (String id : distinctIds) {
+                Map<String, Object> row = rowsById.get(id);
+                if (row != null) {
+                    rows.add(row);
+                } else {
+                    missingIds.add(id);
+                }
+            }
+            return BatchGetResultDto.builder()
+                    .rows(rows)
+                    .missingIds(missingIds)
+                    .build();
+        } catch (Exception e) {
+            throw new RuntimeException("Error fetching rows by id from table '" + logicalTableName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Updates data in a dynamic table based on a filter column and value.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @param updateData A map of column names to new values.
+     * @param filterColumn The column to use for filtering rows to update.
+     * @param filterValue The value to match in the filterColumn.
+     * @return The number of rows affected.
+     */
+    @Transactional
+    public int updateDataInDynamicTable(String logicalTableName, String projectConfigId, Map<String, Object> updateData, String filterColumn, Object filterValue) {
+        JdbcTemplate jdbcTemplate = getJdbcTemplateForProject(projectConfigId);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+
+        Map<Integer, String> referenceErrors = findReferenceErrors(jdbcTemplate, tableDef, List.of(updateData), true);
+        if (!referenceErrors.isEmpty()) {
+            throw new IllegalArgumentException(referenceErrors.get(0));
+        }
+
+        // The filter may match rows through a column the update changes, so affected rows are found first
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        boolean reindex = fullTextIndexService.touchesSearchableColumns(tableDef, updateData.keySet());
+        List<SummaryTable> summaries = summaryTableService.getSummariesAffectedBy(tableDef, updateData.keySet());
+        List<String> affectedIds = reindex || !summaries.isEmpty()
+                ? dynamicTableAccessor.selectSystemRowIds(jdbcTemplate, tableDef.getFinalTableName(), filterColumn, filterValue)
+                : List.of();
+        // Groups the rows leave are recorded from their values before the update
+        SummaryTableService.ChangedGroups changedGroups = summaryTableService.collectChangedGroups(dbDetails, jdbcTemplate, tableDef, summaries, affectedIds);
+
+        int rowsAffected = dynamicTableAccessor.update(jdbcTemplate, tableDef.getFinalTableName(), updateData, filterColumn, filterValue);
+        if (reindex && !affectedIds.isEmpty()) {
+            fullTextIndexService.reindexRows(dbDetails.getUuid(), jdbcTemplate, SqlDialect.fromDbType(dbDetails.getDbType()), tableDef, affectedIds);
+        }
+        summaryTableService.recordChanges(changedGroups, affectedIds);
+        markTableDataChanged(projectConfigId, tableDef);
+        return rowsAffected;
+    }
+
+    /**
+     * Deletes data from a dynamic table based on a filter column and value.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @param filterColumn The column to use for filtering rows to delete.
+     * @param filterValue The value to match in the filterColumn.
+     * @return The number of rows affected.
+     */
+    @Transactional
+    public int deleteDataFromDynamicTable(String logicalTableName, String projectConfigId, String filterColumn, Object filterValue) {
+        JdbcTemplate jdbcTemplate = getJdbcTemplateForProject(projectConfigId);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        List<SummaryTable> summaries = summaryTableService.getSummariesAffectedBy(tableDef, null);
+        List<String> deletedIds = fullTextIndexService.isSearchable(tableDef) || !summaries.isEmpty()
+                ? dynamicTableAccessor.selectSystemRowIds(jdbcTemplate, tableDef.getFinalTableName(), filterColumn, filterValue)
+                : List.of();
+        SummaryTableService.ChangedGroups changedGroups = summaryTableService.collectChangedGroups(dbDetails, jdbcTemplate, tableDef, summaries, deletedIds);
+
+        int rowsAffected = dynamicTableAccessor.delete(jdbcTemplate, tableDef.getFinalTableName(), filterColumn, filterValue);
+        fullTextIndexService.removeRows(dbDetails.getUuid(), tableDef, deletedIds);
+        summaryTableService.recordChanges(changedGroups, List.of());
+        markTableDataChanged(projectConfigId, tableDef);
+        return rowsAffected;
+    }
+
+    /**
+     * Updates every row selected by a filter or an ID list with one set-based UPDATE
+     * (ID lists longer than the dialect's IN-list limit use one statement per chunk, all in one transaction).
+     * The search index and summaries are updated for the affected rows; when more than easy.bulk.max-tracked-rows
+     * rows match, their IDs are not loaded and the index and summaries are flagged for a full rebuild instead.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @param request The new values and either a filter or system_row_ids.
+     * @return The number of rows affected and the number of statements executed.
+     * @throws IllegalArgumentException if the request, a column or a reference value is invalid.
+     */
+    @Transactional
+    public BulkMutationResultDto bulkUpdateDynamicTable(String logicalTableName, String projectConfigId, BulkUpdateRequestDto request) {
+        if (request == null || request.getSet() == null || request.getSet().isEmpty()) {
+            throw new IllegalArgumentException("'set' must contain at least one column to update.");
+        }
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+
+        Map<String, Object> updateData = request.getSet();
+        Set<String> knownColumns = tableDef.getColumns().stream().map(ColumnDefinition::getColumnName).collect(Collectors.toSet());
+        for (String column : updateData.keySet()) {
+            if (!knownColumns.contains(column)) {
+                throw new IllegalArgumentException("Unknown column '" + column + "' for table '" + tableDef.getTableName() + "'.");
+            }
+        }
+        Map<Integer, String> referenceErrors = findReferenceErrors(jdbcTemplate, tableDef, List.of(updateData), true);
+        if (!referenceErrors.isEmpty()) {
+            throw new IllegalArgumentException(referenceErrors.get(0));
+        }
+        List<SqlFragment> conditions = bulkConditions(dialect, tableDef, request.getFilter(), request.getSystemRowIds(), dialect.maxInListSize());
+
+        // Affected rows are found first, as the condition may match through a column the update changes
+        boolean reindex = fullTextIndexService.touchesSearchableColumns(tableDef, updateData.keySet());
+        List<SummaryTable> summaries = summaryTableService.getSummariesAffectedBy(tableDef, updateData.keySet());
+        List<String> affectedIds = new ArrayList<>();
+        boolean tracked = true;
+        if (reindex || !summaries.isEmpty()) {
+            for (SqlFragment condition : conditions) {
+                // One ID beyond the cap tells that it was exceeded
+                affectedIds.addAll(dynamicTableAccessor.selectSystemRowIdsWhere(jdbcTemplate, dialect, tableDef.getFinalTableName(), condition,
+                        maxTrackedBulkRows + 1 - affectedIds.size()));
+                if (affectedIds.size() > maxTrackedBulkRows) {
+                    tracked = false;
+                    affectedIds.clear();
+                    break;
+                }
+            }
+        }
+        SummaryTableService.ChangedGroups changedGroups = summaryTableService.collectChangedGroups(dbDetails, jdbcTemplate, tableDef,
+                tracked ? summaries : List.of(), affectedIds);
+
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dynamicDataSourceManager.getDataSource(dbDetails)));
+        long rowsAffected = transaction.execute(status -> {
+            long total = 0;
+            for (SqlFragment condition : conditions) {
+                total += dynamicTableAccessor.updateWhere(jdbcTemplate, dialect, tableDef.getFinalTableName(), updateData, condition);
+            }
+            return total;
+        });
+        if (rowsAffected > 0) {
+            if (!tracked) {
+                if (reindex) {
+                    fullTextIndexService.invalidate(dbDetails.getUuid(), tableDef);
+                }
+                summaryTableService.sourceDefinitionChanged(tableDef);
+            } else if (reindex && !affectedIds.isEmpty()) {
+                fullTextIndexService.reindexRows(dbDetails.getUuid(), jdbcTemplate, dialect, tableDef, affectedIds);
+            }
+            summaryTableService.recordChanges(changedGroups, affectedIds);
+            markTableDataChanged(projectConfigId, tableDef);
+        }
+        return new BulkMutationResultDto(rowsAffected, conditions.size());
+    }
+
+    /**
+     * Deletes every row selected by a filter or an ID list. Rows are deleted in chunks of at most
+     * easy.bulk.delete-chunk-size: each chunk selects the next matching system_row_ids and deletes them
+     * (re-checking the condition) in its own transaction, which bounds lock duration and undo/WAL volume
+     * on very large deletes. A failure stops the delete; chunks committed before it stay deleted.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @param request Either a filter or system_row_ids.
+     * Runs without a metadata transaction, so the data version increment commits on its own even when a later
+     * chunk fails; the definition is loaded with its columns for that reason.
+     *
+     * @return The number of rows deleted and the number of DELETE statements executed.
+     * @throws IllegalArgumentException if the request is invalid.
+     */
+    public BulkMutationResultDto bulkDeleteFromDynamicTable(String logicalTableName, String projectConfigId, BulkDeleteRequestDto request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request body is required.");
+        }
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        TableDefinition tableDef = tableDefinitionRepository.findWithColumnsByTableNameAndProjectConfigIdRef(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition not found for logical name: " + logicalTableName + " in project: " + projectConfigId));
+        List<SqlFragment> conditions = bulkConditions(dialect, tableDef, request.getFilter(), request.getSystemRowIds(), bulkDeleteChunkSize);
+
+        String finalTableName = tableDef.getFinalTableName();
+        String idColumn = dialect.quote(SYSTEM_UUID_COLUMN_NAME);
+        List<SummaryTable> summaries = summaryTableService.getSummariesAffectedBy(tableDef, null);
+        TransactionTemplate chunkTransaction = new TransactionTemplate(new DataSourceTransactionManager(dynamicDataSourceManager.getDataSource(dbDetails)));
+        long rowsAffected = 0;
+        int statements = 0;
+        try {
+            for (SqlFragment condition : conditions) {
+                // The ID list of a chunk shares the statement's parameter limit with the condition
+                int chunkSize = Math.max(1, Math.min(bulkDeleteChunkSize, dialect.maxInListSize() - condition.getParameters().size()));
+                List<String> chunkIds;
+                do {
+                    chunkIds = dynamicTableAccessor.selectSystemRowIdsWhere(jdbcTemplate, dialect, finalTableName, condition, chunkSize);
+                    if (chunkIds.isEmpty()) {
+                        break;
+                    }
+                    List<Object> parameters = new ArrayList<>(chunkIds);
+                    parameters.addAll(condition.getParameters());
+                    SqlFragment chunk = new SqlFragment(idColumn + " IN (" + String.join(", ", Collections.nCopies(chunkIds.size(), "?")) + ") AND ("
+                            + condition.getSql() + ")", parameters);
+
+                    SummaryTableService.ChangedGroups changedGroups = summaryTableService.collectChangedGroups(dbDetails, jdbcTemplate, tableDef, summaries, chunkIds);
+                    int deleted = chunkTransaction.execute(status -> dynamicTableAccessor.deleteWhere(jdbcTemplate, dialect, finalTableName, chunk));
+                    statements++;
+                    rowsAffected += deleted;
+                    fullTextIndexService.removeRows(dbDetails.getUuid(), tableDef, chunkIds);
+                    summaryTableService.recordChanges(changedGroups, List.of());
+                    if (deleted == 0) {
+                        break; // The selected rows no longer match (concurrent change); avoid selecting them forever
+                    }
+                } while (chunkIds.size() == chunkSize);
+            }
+        } finally {
+            if (rowsAffected > 0) {
+                markTableDataChanged(projectConfigId, tableDef);
+            }
+        }
+        return new BulkMutationResultDto(rowsAffected, statements);
+    }
+
+    /**
+     * Compiles the row selection of a bulk update or delete: a filter (one condition) or
+     * a list of system_row_ids (one IN condition per chunk of at most chunkSize IDs).
+     */
+    private List<SqlFragment> bulkConditions(SqlDialect dialect, TableDefinition tableDef, FilterCriteriaDto filter, List<String> systemRowIds, int chunkSize) {
+        if ((filter == null) == (systemRowIds == null)) {
+            throw new IllegalArgumentException("Provide exactly one of 'filter' or 'systemRowIds'.");
+        }
+        if (filter != null) {
+            return List.of(filterQueryCompiler.compileWhere(dialect, tableDef, null, filter));
+        }
+        if (systemRowIds.isEmpty()) {
+            throw new IllegalArgumentException("'systemRowIds' cannot be empty.");
+        }
+        if (systemRowIds.size() > maxBulkRows) {
+            throw new IllegalArgumentException("At most " + maxBulkRows + " system_row_ids can be given per request.");
+        }
+        if (systemRowIds.contains(null)) {
+            throw new IllegalArgumentException("'systemRowIds' cannot contain null values.");
+        }
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(systemRowIds));
+        int size = Math.min(chunkSize, dialect.maxInListSize());
+        String idColumn = dialect.quote(SYSTEM_UUID_COLUMN_NAME);
+        List<SqlFragment> conditions = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += size) {
+            List<Object> chunk = new ArrayList<>(ids.subList(from, Math.min(from + size, ids.size())));
+            conditions.add(new SqlFragment(idColumn + " IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", chunk));
+        }
+        return conditions;
+    }
+
+    /**
+     * Called after every write to a dynamic table's rows, once this node's search index has been updated,
+     * so that derived state is refreshed: the table's data version (ETag) is incremented in the shared
+     * metadata database, the table's entries are dropped from the reference cache (its rows may be cached
+     * as referenced rows of other tables), and the search index records the version it now reflects.
+     */
+    private void markTableDataChanged(String projectConfigId, TableDefinition tableDef) {
+        String tenantKey = getConnectionDetailsForProject(projectConfigId).getUuid();
+        tableDefinitionRepository.incrementDataVersion(tableDef.getId());
+        referenceValueCache.invalidateTable(tenantKey, tableDef.getFinalTableName());
+        if (fullTextIndexService.isSearchable(tableDef)) {
+            Long dataVersion = tableDefinitionRepository.findDataVersionById(tableDef.getId());
+            if (dataVersion != null) {
+                fullTextIndexService.recordDataVersion(tenantKey, tableDef, dataVersion);
+            }
+        }
+    }
+
+    /**
+     * Builds the ETag for a table's data from metadata only (no tenant database access).
+     * It combines the table's data version with the versions of every table reachable through its
+     * reference columns, since resolved and expanded references change when those tables change.
+     * Versions live in the shared metadata database, so every app node computes the same tag.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @return The quoted ETag value (e.g., "\"3f2a9c1e-12.4\"").
+     * @throws IllegalArgumentException if the table definition is not found.
+     */
+    @Transactional(readOnly = true)
+    public String getDataVersionTag(String logicalTableName, String projectConfigId) {
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+
+        StringBuilder tag = new StringBuilder(tableDef.getId(), 0, 8).append('-').append(tableDef.getDataVersion());
+        Set<String> visited = new LinkedHashSet<>();
+        visited.add(tableDef.getId());
+        List<TableDefinition> frontier = List.of(tableDef);
+        List<String> referencedVersions = new ArrayList<>();
+        while (!frontier.isEmpty()) {
+            Set<String> nextIds = new LinkedHashSet<>();
+            for (TableDefinition current : frontier) {
+                for (ColumnDefinition column : current.getColumns()) {
+                    if (column.isReference() && column.getReferencedTableIdRef() != null && visited.add(column.getReferencedTableIdRef())) {
+                        nextIds.add(column.getReferencedTableIdRef());
+                    }
+                }
+            }
+            frontier = nextIds.isEmpty() ? List.of() : tableDefinitionRepository.findAllById(nextIds);
+            frontier.forEach(t -> referencedVersions.add(t.getId().substring(0, 8) + ":" + t.getDataVersion()));
+        }
+        referencedVersions.stream().sorted().forEach(v -> tag.append('.').append(v));
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * Retrieves all table definitions for a given project.
+     *
+     * @param projectConfigId The ID of the project configuration.
+     * @return A list of TableDefinitionDto objects.
+     */
+    @Transactional(readOnly = true)
+    public List<TableDefinitionDto> getAllTableDefinitionsForProject(String projectConfigId) {
+        List<TableDefinition> tableDefs = tableDefinitionRepository.findByProjectConfigIdRef(projectConfigId);
+        return tableDefs.stream()
+                .map(TableDefinitionDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves a specific TableDefinition along with a single row of data from it
+     * identified by system_row_id.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @param systemRowId The system-generated UUID of the row.
+     * @return An Optional containing a Map with "tableDefinition" (as DTO) and "rowData" (as Map), or empty.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getTableDefinitionAndSingleRow(String logicalTableName, String projectConfigId, String systemRowId) {
+        Optional<TableDefinition> tableDefOpt = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId);
+        if (tableDefOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        TableDefinition tableDef = tableDefOpt.get();
+        Optional<Map<String, Object>> rowDataOpt = getSingleRowBySystemIdFromDynamicTable(logicalTableName, projectConfigId, systemRowId);
+
+        if (rowDataOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("tableDefinition", TableDefinitionDto.fromEntity(tableDef));
+        result.put("rowData", rowDataOpt.get());
+        return Optional.of(result);
+    }
+
+
+    /**
+     * Helper method to resolve reference values in a given row.
+     * It adds new entries to the map (e.g., column_name_display) with the lookup values.
+     *
+     * @param row The raw row data from the dynamic table.
      * @param tableDef The TableDefinition of the current table.
      * @param projectConfigId The UUID of the current project.
+     * @param tenantKey The UUID of the project's database connection (reference cache namespace).
      * @return A new Map with resolved reference values.
      */
-    private Map<String, Object> processReferencesInRow(Map<String, Object> row, TableDefinition tableDef, String projectConfigId) {
+    private Map<String, Object> processReferencesInRow(Map<String, Object> row, TableDefinition tableDef, String projectConfigId, String tenantKey) {
         Map<String, Object> processedRow = new HashMap<>(row);
 
         for (ColumnDefinition colDef : tableDef.getColumns()) {
@@ -519,9 +1659,14 @@ public class TableCreationService {
                             if (targetDisplayColumnDef != null) {
                                 JdbcTemplate refJdbcTemplate = getJdbcTemplateForProject(projectConfigId);
 
-                                Optional<Map<String, Object>> refRowOpt = dynamicTableAccessor.selectById(
+                                // Rows expanded with expand= already carry the referenced row
+                                Object expandedDetails = row.get(referencingColumnName + "_details");
+                                Optional<Map<String, Object>> refRowOpt = expandedDetails instanceof Map
+                                        ? Optional.of((Map<String, Object>) expandedDetails)
+                                        : dynamicTableAccessor.selectReferencedRow(
+                                        tenantKey,
                                         refJdbcTemplate,
-                                        referencedTableDef.getFinalTableName(),
+                                        referencedTableDef,
                                         colDef.getReferencedColumnLogicalName(),
                                         referencedRowValue
                                 );
@@ -548,29 +1693,18 @@ public class TableCreationService {
     // --- Utility Methods ---
 
     private JdbcTemplate getJdbcTemplateForProject(String projectConfigId) {
+        return dynamicDataSourceManager.getJdbcTemplate(getConnectionDetailsForProject(projectConfigId));
+    }
+
+    private DatabaseConnectionDetails getConnectionDetailsForProject(String projectConfigId) {
         ProjectConfig projectConfig = projectConfigService.getProjectConfigById(projectConfigId)
                 .orElseThrow(() -> new IllegalArgumentException("Project configuration not found for ID: " + projectConfigId));
-        DatabaseConnectionDetails dbDetails = databaseConnectivityService.getSavedConnectionByUuid(projectConfig.getDatabaseConnectionIdRef())
+        return databaseConnectivityService.getSavedConnectionByUuid(projectConfig.getDatabaseConnectionIdRef())
                 .orElseThrow(() -> new IllegalStateException("Database connection details not found for project ID: " + projectConfigId));
-        return dynamicDataSourceManager.getJdbcTemplate(dbDetails);
     }
 
     private String mapColumnTypeToSql(String columnType) {
-        return switch (columnType.toLowerCase()) {
-            case "varchar", "string" -> "VARCHAR(255)";
-            case "text" -> "TEXT";
-            case "int", "integer" -> "INT";
-            case "long" -> "BIGINT";
-            case "boolean" -> "BOOLEAN";
-            case "date" -> "DATE";
-            case "datetime" -> "DATETIME";
-            case "decimal", "double" -> "DECIMAL(10, 2)";
-            case "uuid" -> "VARCHAR(36)";
-            case "reference" -> "VARCHAR(36)";
-            case "email" -> "VARCHAR(36)";
-            case "password" -> "VARCHAR(36)";
-            default -> throw new IllegalArgumentException("Unsupported column type: " + columnType);
-        };
+        return ColumnTypes.sqlType(columnType);
     }
 
 
@@ -611,6 +1745,20 @@ public class TableCreationService {
      */
     @Transactional(readOnly = true)
     public TableDataResponseDto getCombinedTableData(String logicalTableName, String projectConfigId) {
+        return getCombinedTableData(logicalTableName, projectConfigId, DataReadOptions.defaults());
+    }
+
+    /**
+     * Retrieves all data rows from a dynamic table along with its column definitions, using the given read options.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project configuration.
+     * @param options Per-request read options (e.g., referenceMode).
+     * @return A TableDataResponseDto containing column definitions and all rows of data.
+     * @throws IllegalArgumentException if the table definition is not found for the given project.
+     */
+    @Transactional(readOnly = true)
+    public TableDataResponseDto getCombinedTableData(String logicalTableName, String projectConfigId, DataReadOptions options) {
         // 1. Get the TableDefinition (which includes ColumnDefinitions)
         TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
                 .orElseThrow(() -> new IllegalArgumentException(
@@ -622,7 +1770,7 @@ public class TableCreationService {
                 .collect(Collectors.toList());
 
         // 3. Get all data from the dynamic table
-        List<Map<String, Object>> rowData = getAllDataFromDynamicTable(logicalTableName, projectConfigId);
+        List<Map<String, Object>> rowData = getAllDataFromDynamicTable(logicalTableName, projectConfigId, options);
 
         // 4. Build the combined response DTO
         return TableDataResponseDto.builder()
@@ -643,6 +1791,29 @@ public class TableCreationService {
     // This method already exists, just ensuring its visibility for context.
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllDataFromDynamicTable(String logicalTableName, String projectConfigId) {
+        return getAllDataFromDynamicTable(logicalTableName, projectConfigId, DataReadOptions.defaults());
+    }
+
+    /**
+     * Fetches all data from a dynamically created table, resolving reference columns either in batches
+     * (one IN lookup per reference column) or with a single LEFT JOIN query.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The ID of the project configuration.
+     * @param options Per-request read options; referenceMode overrides the table's referenceResolution.
+     * @return A list of maps, where each map represents a row.
+     * @throws IllegalArgumentException if the table definition is not found, the reference mode is invalid or database connection fails.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllDataFromDynamicTable(String logicalTableName, String projectConfigId, DataReadOptions options) {
+        return toRowMaps(readAllRows(logicalTableName, projectConfigId, options));
+    }
+
+    /**
+     * Reads every row of a dynamic table: joined or expanded rows as maps, plain batch reads as layout arrays
+     * whose references are resolved when the response is shaped.
+     */
+    private ReadRows readAllRows(String logicalTableName, String projectConfigId, DataReadOptions options) {
         ProjectConfig projectConfig = projectConfigService.getProjectConfigById(projectConfigId)
                 .orElseThrow(() -> new IllegalArgumentException("Project configuration not found with ID: " + projectConfigId));
 
@@ -652,17 +1823,623 @@ public class TableCreationService {
         DatabaseConnectionDetails dbDetails = databaseConnectivityService.getDatabaseConnectionDetails(projectConfig.getDatabaseConnectionIdRef())
                 .orElseThrow(() -> new IllegalArgumentException("Database connection details not found for ID: " + projectConfig.getDatabaseConnectionIdRef()));
 
+        boolean joinResolution = useJoinResolution(tableDefinition, options);
+        List<String> projection = resolveProjection(tableDefinition, options != null ? options.getFields() : null);
+        TableDefinition readDef = projectTableDefinition(tableDefinition, projection);
+        int expandDepth = expandDepth(options);
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
         try {
-            JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
-            // Assuming getFinalTableName() works
-            String sql = "SELECT * FROM " + tableDefinition.getFinalTableName();
-            List<Map<String, Object>> rawRows = jdbcTemplate.queryForList(sql);
+            JdbcTemplate jdbcTemplate = readJdbcTemplate(dbDetails, options);
+            if (joinResolution) {
+                ReferenceJoinPlan plan = referenceJoinQueryPlanner.plan(dialect, readDef, false, projection);
+                List<Map<String, Object>> rows = plan.mapRows(jdbcTemplate.queryForList(plan.getSql()));
+                if (expandDepth > 0) {
+                    referenceExpander.expand(dialect, jdbcTemplate, readDef, rows, expandDepth);
+                }
+                return ReadRows.ofMaps(rows);
+            }
+            if (expandDepth > 0) {
+                // Expansion attaches nested rows, so this path works on mutable row maps
+                List<Map<String, Object>> rawRows = projection != null
+                        ? dynamicTableAccessor.selectAll(jdbcTemplate, tableDefinition.getFinalTableName(), projection)
+                        : jdbcTemplate.queryForList("SELECT * FROM " + tableDefinition.getFinalTableName());
+                referenceExpander.expand(dialect, jdbcTemplate, readDef, rawRows, expandDepth);
+                return ReadRows.ofMaps(dynamicTableAccessor.resolveReferenceColumns(dbDetails.getUuid(), jdbcTemplate, readDef, rawRows));
+            }
 
-            // Resolve references if any
-            return dynamicTableAccessor.resolveReferenceColumns(jdbcTemplate,tableDefinition, rawRows);
+            // Rows stay compact arrays until the response is shaped
+            RowLayout layout = dynamicTableAccessor.layoutFor(readDef);
+            List<Object[]> rows = dynamicTableAccessor.selectAllRows(jdbcTemplate, tableDefinition.getFinalTableName(), layout, projection);
+            return ReadRows.ofArrays(dbDetails.getUuid(), jdbcTemplate, readDef, layout, rows);
 
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error fetching all data from table '" + logicalTableName + "': " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the column definitions together with one keyset page of rows from a dynamic table.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project configuration.
+     * @param orderByColumn The indexed column to page by; defaults to system_row_id.
+     * @param pageSize The requested page size (capped at MAX_PAGE_SIZE).
+     * @param pageToken The continuation token returned by the previous page, or null for the first page.
+     * @param fields The columns to return; null returns all columns.
+     * @return A TableDataResponseDto containing column definitions, the page rows and the next page token.
+     */
+    @Transactional(readOnly = true)
+    public TableDataResponseDto getCombinedTableData(String logicalTableName, String projectConfigId, String orderByColumn, Integer pageSize, String pageToken,
+                                                     List<String> fields) {
+        return getCombinedTableData(logicalTableName, projectConfigId, orderByColumn, pageSize, pageToken,
+                DataReadOptions.builder().fields(fields).build());
+    }
+
+    /**
+     * Retrieves the column definitions together with one keyset page of rows, using the given read options.
+     *
+     * @param options Per-request read options; null reads all columns with the table's reference resolution.
+     * @see #getCombinedTableData(String, String, String, Integer, String, List)
+     */
+    @Transactional(readOnly = true)
+    public TableDataResponseDto getCombinedTableData(String logicalTableName, String projectConfigId, String orderByColumn, Integer pageSize, String pageToken,
+                                                     DataReadOptions options) {
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+
+        List<ColumnDefinitionDto> columnDefsDto = tableDef.getColumns().stream()
+                .map(ColumnDefinitionDto::fromEntity)
+                .collect(Collectors.toList());
+
+        TableDataPageDto page = getDataPageFromDynamicTable(logicalTableName, projectConfigId, orderByColumn, pageSize, pageToken, options);
+
+        return TableDataResponseDto.builder()
+                .columnDefinitions(columnDefsDto)
+                .rowData(page.getRowData())
+                .nextPageToken(page.getNextPageToken())
+                .build();
+    }
+
+    /**
+     * Fetches one page of rows from a dynamic table using keyset (seek) pagination.
+     * Rows are ordered by the given indexed column with system_row_id as tie-breaker, and each page
+     * starts strictly after the last row of the previous one, so deep pages cost the same as the first.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project configuration.
+     * @param orderByColumn The indexed, non-nullable column to page by; defaults to system_row_id.
+     * @param pageSize The requested page size; defaults to DEFAULT_PAGE_SIZE and is capped at MAX_PAGE_SIZE.
+     * @param pageToken The continuation token from the previous page, or null for the first page.
+     * @return A TableDataPageDto with the resolved rows and the token for the next page.
+     * @throws IllegalArgumentException if the table, order column or token is invalid.
+     */
+    @Transactional(readOnly = true)
+    public TableDataPageDto getDataPageFromDynamicTable(String logicalTableName, String projectConfigId, String orderByColumn, Integer pageSize, String pageToken) {
+        return getDataPageFromDynamicTable(logicalTableName, projectConfigId, orderByColumn, pageSize, pageToken, DataReadOptions.defaults());
+    }
+
+    /**
+     * Fetches one keyset page of rows, reading only the requested columns.
+     * The order column is always selected (it is needed for the next page token).
+     *
+     * @param fields The columns to return; null returns all columns.
+     * @see #getDataPageFromDynamicTable(String, String, String, Integer, String)
+     */
+    @Transactional(readOnly = true)
+    public TableDataPageDto getDataPageFromDynamicTable(String logicalTableName, String projectConfigId, String orderByColumn, Integer pageSize, String pageToken,
+                                                        List<String> fields) {
+        return getDataPageFromDynamicTable(logicalTableName, projectConfigId, orderByColumn, pageSize, pageToken,
+                DataReadOptions.builder().fields(fields).build());
+    }
+
+    /**
+     * Fetches one keyset page of rows with the same read options as a full read: the requested columns,
+     * batch or join reference resolution, and nested expansion of the page's references.
+     * Expansion only loads the rows referenced from this page, so its fan-out limit applies per page.
+     *
+     * @param options Per-request read options; null reads all columns with the table's reference resolution.
+     * @throws IllegalArgumentException if the table, order column, token, reference mode or expand depth is invalid,
+     *                                  or expansion would exceed the fan-out limit.
+     * @see #getDataPageFromDynamicTable(String, String, String, Integer, String)
+     */
+    @Transactional(readOnly = true)
+    public TableDataPageDto getDataPageFromDynamicTable(String logicalTableName, String projectConfigId, String orderByColumn, Integer pageSize, String pageToken,
+                                                        DataReadOptions options) {
+        ReadRows page = readPage(logicalTableName, projectConfigId, orderByColumn, pageSize, pageToken, options);
+        return TableDataPageDto.builder()
+                .rowData(toRowMaps(page))
+                .pageSize(page.pageSize)
+                .nextPageToken(page.nextPageToken)
+                .hasMore(page.hasMore)
+                .build();
+    }
+
+    /**
+     * Reads one keyset page: joined or expanded rows as maps, plain batch reads as layout arrays whose
+     * references are resolved when the response is shaped.
+     */
+    private ReadRows readPage(String logicalTableName, String projectConfigId, String orderByColumn, Integer pageSize, String pageToken,
+                              DataReadOptions options) {
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+
+        if (pageSize != null && pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1.");
+        }
+        int effectivePageSize = pageSize == null ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+
+        KeysetPageToken token = pageToken != null && !pageToken.isEmpty() ? KeysetPageToken.decode(pageToken) : null;
+        if (token != null && orderByColumn != null && !token.getOrderColumn().equals(orderByColumn)) {
+            throw new IllegalArgumentException("pageToken was issued for orderBy '" + token.getOrderColumn() + "', not '" + orderByColumn + "'.");
+        }
+        String orderColumn = token != null ? token.getOrderColumn() : (orderByColumn != null ? orderByColumn : SYSTEM_UUID_COLUMN_NAME);
+        ColumnDefinition orderColumnDef = getKeysetOrderColumn(tableDef, orderColumn);
+        boolean joinResolution = useJoinResolution(tableDef, options);
+        int expandDepth = expandDepth(options);
+        List<String> projection = resolveProjection(tableDef, options != null ? options.getFields() : null);
+        if (projection != null && !projection.contains(orderColumn)) {
+            projection.add(orderColumn);
+        }
+        TableDefinition readDef = projectTableDefinition(tableDef, projection);
+
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        ReferenceJoinPlan plan = joinResolution ? referenceJoinQueryPlanner.plan(dialect, readDef, false, projection) : null;
+        // The join plan selects from an aliased base table, so the keyset columns must be qualified
+        String qualifier = plan != null ? ReferenceJoinQueryPlanner.BASE_ALIAS + "." : "";
+        String sortCol = qualifier + dialect.quote(orderColumn);
+        String idCol = qualifier + dialect.quote(SYSTEM_UUID_COLUMN_NAME);
+
+        StringBuilder sql = plan != null
+                ? new StringBuilder(plan.getSql())
+                : new StringBuilder("SELECT ").append(selectList(dialect, projection)).append(" FROM ").append(dialect.quote(tableDef.getFinalTableName()));
+        List<Object> params = new ArrayList<>();
+        if (orderColumnDef == null) {
+            // Paging by system_row_id itself, which is unique
+            if (token != null) {
+                sql.append(" WHERE ").append(idCol).append(" > ?");
+                params.add(token.getLastRowId());
+            }
+            sql.append(" ORDER BY ").append(idCol);
+        } else {
+            if (token != null) {
+                Object lastValue = ColumnTypes.coerce(orderColumnDef.getColumnType(), token.getLastValue());
+                sql.append(" WHERE (").append(sortCol).append(" > ? OR (").append(sortCol).append(" = ? AND ").append(idCol).append(" > ?))");
+                params.add(lastValue);
+                params.add(lastValue);
+                params.add(token.getLastRowId());
+            }
+            sql.append(" ORDER BY ").append(sortCol).append(", ").append(idCol);
+        }
+        // Fetch one extra row to learn whether another page exists
+        String pagedSql = dialect.limit(sql.toString(), effectivePageSize + 1);
+
+        try {
+            JdbcTemplate jdbcTemplate = readJdbcTemplate(dbDetails, options);
+            ReadRows page;
+            if (plan != null) {
+                List<Map<String, Object>> joinedRows = jdbcTemplate.queryForList(pagedSql, params.toArray());
+                boolean hasMore = joinedRows.size() > effectivePageSize;
+                String nextPageToken = null;
+                if (hasMore) {
+                    joinedRows = joinedRows.subList(0, effectivePageSize);
+                    // Read from the joined row, before reference columns are reshaped
+                    Map<String, Object> lastRow = joinedRows.get(joinedRows.size() - 1);
+                    nextPageToken = nextPageToken(orderColumn, lastRow.get(orderColumn), lastRow.get(SYSTEM_UUID_COLUMN_NAME));
+                }
+                List<Map<String, Object>> rows = plan.mapRows(joinedRows);
+                if (expandDepth > 0) {
+                    referenceExpander.expand(dialect, jdbcTemplate, readDef, rows, expandDepth);
+                }
+                page = ReadRows.ofMaps(rows);
+                page.hasMore = hasMore;
+                page.nextPageToken = nextPageToken;
+            } else {
+                RowLayout layout = dynamicTableAccessor.layoutFor(readDef);
+                List<Object[]> rows = dynamicTableAccessor.queryRows(jdbcTemplate, pagedSql, layout, params.toArray());
+                boolean hasMore = rows.size() > effectivePageSize;
+                String nextPageToken = null;
+                if (hasMore) {
+                    rows = rows.subList(0, effectivePageSize);
+                    Object[] lastRow = rows.get(rows.size() - 1);
+                    nextPageToken = nextPageToken(orderColumn, layout.get(lastRow, orderColumn), layout.get(lastRow, SYSTEM_UUID_COLUMN_NAME));
+                }
+                if (expandDepth > 0) {
+                    // Expansion attaches nested rows, so this path works on mutable row maps
+                    List<Map<String, Object>> rawRows = new ArrayList<>(rows.size());
+                    for (Object[] row : rows) {
+                        rawRows.add(layout.toMap(row));
+                    }
+                    referenceExpander.expand(dialect, jdbcTemplate, readDef, rawRows, expandDepth);
+                    page = ReadRows.ofMaps(dynamicTableAccessor.resolveReferenceColumns(dbDetails.getUuid(), jdbcTemplate, readDef, rawRows));
+                } else {
+                    page = ReadRows.ofArrays(dbDetails.getUuid(), jdbcTemplate, readDef, layout, rows);
+                }
+                page.hasMore = hasMore;
+                page.nextPageToken = nextPageToken;
+            }
+            page.pageSize = effectivePageSize;
+            return page;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error fetching page from table '" + logicalTableName + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static String nextPageToken(String orderColumn, Object lastValue, Object lastRowId) {
+        return new KeysetPageToken(orderColumn, lastValue != null ? lastValue.toString() : null, String.valueOf(lastRowId)).encode();
+    }
+
+    /**
+     * Runs a filtered, sorted query against a dynamic table. The filter is validated against the table's
+     * ColumnDefinitions and compiled into a parameterized WHERE clause, so the database does the filtering
+     * (and can use its indexes) and only the requested window of rows is transferred.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project configuration.
+     * @param query The filter, sort, limit and offset; null returns the first page in system_row_id order.
+     * @return A TableDataPageDto with the resolved rows; hasMore tells whether rows exist past the window.
+     * @throws IllegalArgumentException if the table, a field, an operator or a value is invalid.
+     */
+    @Transactional(readOnly = true)
+    public TableDataPageDto queryDynamicTable(String logicalTableName, String projectConfigId, DataQueryRequestDto query) {
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+        DataQueryRequestDto effectiveQuery = query != null ? query : new DataQueryRequestDto();
+
+        if (effectiveQuery.getLimit() != null && effectiveQuery.getLimit() < 1) {
+            throw new IllegalArgumentException("limit must be at least 1.");
+        }
+        if (effectiveQuery.getOffset() != null && effectiveQuery.getOffset() < 0) {
+            throw new IllegalArgumentException("offset cannot be negative.");
+        }
+        int limit = effectiveQuery.getLimit() == null ? DEFAULT_PAGE_SIZE : Math.min(effectiveQuery.getLimit(), MAX_PAGE_SIZE);
+        int offset = effectiveQuery.getOffset() == null ? 0 : effectiveQuery.getOffset();
+
+        List<String> projection = resolveProjection(tableDef, effectiveQuery.getFields());
+        TableDefinition readDef = projectTableDefinition(tableDef, projection);
+
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        SqlFragment where = filterQueryCompiler.compileWhere(dialect, tableDef, null, effectiveQuery.getFilter());
+        String orderBy = filterQueryCompiler.compileOrderBy(dialect, tableDef, null, effectiveQuery.getSort());
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectList(dialect, projection))
+                .append(" FROM ").append(dialect.quote(tableDef.getFinalTableName()));
+        if (!where.isEmpty()) {
+            sql.append(" WHERE ").append(where.getSql());
+        }
+        sql.append(" ORDER BY ").append(orderBy);
+        // Fetch one extra row to learn whether more rows match
+        String windowedSql = dialect.limit(sql.toString(), limit + 1, offset);
+
+        try {
+            JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+            RowLayout layout = dynamicTableAccessor.layoutFor(readDef);
+            List<Object[]> rows = dynamicTableAccessor.queryRows(jdbcTemplate, windowedSql, layout, where.getParameters().toArray());
+            boolean hasMore = rows.size() > limit;
+            if (hasMore) {
+                rows = rows.subList(0, limit);
+            }
+            return TableDataPageDto.builder()
+                    .rowData(dynamicTableAccessor.resolveReferenceColumns(dbDetails.getUuid(), jdbcTemplate, readDef, layout, rows))
+                    .pageSize(limit)
+                    .hasMore(hasMore)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error querying table '" + logicalTableName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Computes count/sum/avg/min/max over a dynamic table, optionally grouped and filtered, in a single
+     * GROUP BY statement. Only the aggregated rows are transferred from the database.
+     * When an up-to-date summary table covers the request it is read instead of the table itself.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project configuration.
+     * @param request The aggregates, group-by columns, filter and group limit.
+     * @return An AggregationResultDto with one row per group (a single row when there is no group-by).
+     * @throws IllegalArgumentException if the table or request is invalid.
+     */
+    @Transactional(readOnly = true)
+    public AggregationResultDto aggregateDynamicTable(String logicalTableName, String projectConfigId, AggregationRequestDto request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Aggregation request body is required.");
+        }
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+
+        if (request.getLimit() != null && request.getLimit() < 1) {
+            throw new IllegalArgumentException("limit must be at least 1.");
+        }
+        int groupLimit = request.getLimit() == null ? DEFAULT_GROUP_LIMIT : Math.min(request.getLimit(), MAX_GROUP_LIMIT);
+
+        Optional<AggregationResultDto> fromSummary = summaryTableService.aggregateFromSummary(dbDetails, tableDef, request, groupLimit);
+        if (fromSummary.isPresent()) {
+            return fromSummary.get();
+        }
+
+        SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+        // Fetch one extra group to learn whether the result was truncated
+        AggregationQueryCompiler.CompiledAggregation compiled = aggregationQueryCompiler.compile(dialect, tableDef, request, groupLimit + 1);
+
+        try {
+            JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(compiled.getStatement().getSql(),
+                    compiled.getStatement().getParameters().toArray());
+            boolean truncated = rows.size() > groupLimit;
+            return AggregationResultDto.builder()
+                    .groupBy(compiled.getGroupBy())
+                    .aggregates(compiled.getAggregateAliases())
+                    .rows(truncated ? rows.subList(0, groupLimit) : rows)
+                    .truncated(truncated)
+                    .build();
+        } catch (Exception e) {
+            throw new RuntimeException("Error aggregating table '" + logicalTableName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves the column definitions and rows of a dynamic table in the columnar form (ColumnarTableDataDto).
+     * Plain batch reads go straight from the layout arrays to positional rows, without a map per row; joined or
+     * expanded rows are converted from their maps.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project configuration.
+     * @param orderByColumn The indexed column to page by; pageSize, pageToken and orderByColumn all null read the whole table.
+     * @param pageSize The requested page size (capped at MAX_PAGE_SIZE).
+     * @param pageToken The continuation token returned by the previous page, or null for the first page.
+     * @param options Per-request read options; null reads all columns with the table's reference resolution.
+     * @return A ColumnarTableDataDto with the column definitions, the column header, the rows and the next page token.
+     * @throws IllegalArgumentException if the table, a read option, the order column or the token is invalid.
+     */
+    @Transactional(readOnly = true)
+    public ColumnarTableDataDto getColumnarTableData(String logicalTableName, String projectConfigId, String orderByColumn, Integer pageSize, String pageToken,
+                                                     DataReadOptions options) {
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+        List<ColumnDefinitionDto> columnDefsDto = tableDef.getColumns().stream()
+                .map(ColumnDefinitionDto::fromEntity)
+                .collect(Collectors.toList());
+
+        boolean paged = pageSize != null || pageToken != null || orderByColumn != null;
+        ReadRows read = paged
+                ? readPage(logicalTableName, projectConfigId, orderByColumn, pageSize, pageToken, options)
+                : readAllRows(logicalTableName, projectConfigId, options);
+        if (read.maps != null) {
+            return ColumnarTableDataDto.fromResponse(TableDataResponseDto.builder()
+                    .columnDefinitions(columnDefsDto)
+                    .rowData(read.maps)
+                    .nextPageToken(read.nextPageToken)
+                    .build());
+        }
+        return ColumnarTableDataDto.builder()
+                .columnDefinitions(columnDefsDto)
+                .columns(DynamicTableAccessor.resolvedColumnNames(read.layout))
+                .rows(dynamicTableAccessor.resolveReferenceColumnsToArrays(read.tenantKey, read.jdbcTemplate, read.readDef, read.layout, read.arrays))
+                .nextPageToken(read.nextPageToken)
+                .build();
+    }
+
+    private List<Map<String, Object>> toRowMaps(ReadRows read) {
+        if (read.maps != null) {
+            return read.maps;
+        }
+        return dynamicTableAccessor.resolveReferenceColumns(read.tenantKey, read.jdbcTemplate, read.readDef, read.layout, read.arrays);
+    }
+
+    /**
+     * The JdbcTemplate for a row read: the primary when the options ask for it, otherwise whatever the transaction
+     * selects (a replica in read-only transactions). Responses validated by an ETag read from the primary, since the
+     * tag names the primary's dataVersion and a lagging replica would let a client cache old rows under it.
+     */
+    private JdbcTemplate readJdbcTemplate(DatabaseConnectionDetails dbDetails, DataReadOptions options) {
+        if (options != null && options.isPrimaryRead()) {
+            return dynamicDataSourceManager.getPrimaryJdbcTemplate(dbDetails);
+        }
+        return dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+    }
+
+    /**
+     * Validates that a column can drive keyset pagination: it must be system_row_id, or an indexed
+     * (primary key, unique, reference or explicitly indexed) column that cannot hold NULLs.
+     *
+     * @return The ColumnDefinition to order by, or null when ordering by system_row_id.
+     */
+    private ColumnDefinition getKeysetOrderColumn(TableDefinition tableDef, String orderColumn) {
+        if (SYSTEM_UUID_COLUMN_NAME.equals(orderColumn)) {
+            return null;
+        }
+        ColumnDefinition columnDef = tableDef.getColumns().stream()
+                .filter(c -> c.getColumnName().equals(orderColumn))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Column '" + orderColumn + "' does not exist in table '" + tableDef.getTableName() + "'."));
+        boolean indexed = columnDef.isPrimaryKey() || columnDef.isUnique() || columnDef.isReference() || columnDef.isCreateIndex();
+        if (!indexed) {
+            throw new IllegalArgumentException("Column '" + orderColumn + "' is not indexed and cannot be used for pagination.");
+        }
+        if (columnDef.isNullable()) {
+            throw new IllegalArgumentException("Column '" + orderColumn + "' is nullable and cannot be used for pagination.");
+        }
+        return columnDef;
+    }
+
+    /**
+     * Full-text search over the text columns (varchar/string/text) of a dynamic table.
+     * Rows are ranked by the table's local inverted index (BM25) and then loaded by system_row_id,
+     * so only the returned hits are read from the tenant database.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project configuration.
+     * @param query Free text; rows containing any of its words match.
+     * @param limit The maximum number of hits; defaults to DEFAULT_SEARCH_LIMIT and is capped at MAX_SEARCH_LIMIT.
+     * @return A SearchResultDto with the ranked rows.
+     * @throws IllegalArgumentException if the table is not found, has no text columns or the query is empty.
+     */
+    @Transactional(readOnly = true)
+    public SearchResultDto searchDynamicTable(String logicalTableName, String projectConfigId, String query, Integer limit) {
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1.");
+        }
+        int effectiveLimit = limit == null ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+
+        FullTextIndex.SearchResult result = fullTextIndexService.search(dbDetails.getUuid(), tableDef, query, effectiveLimit);
+        List<SearchHitDto> hits = new ArrayList<>(result.getHits().size());
+        if (!result.getHits().isEmpty()) {
+            List<String> ids = result.getHits().stream().map(FullTextIndex.Hit::getRowId).collect(Collectors.toList());
+            Map<String, Map<String, Object>> rowsById = new HashMap<>();
+            for (Map<String, Object> row : getRowsBySystemIdsFromDynamicTable(logicalTableName, projectConfigId, ids, null).getRows()) {
+                rowsById.put(String.valueOf(row.get(SYSTEM_UUID_COLUMN_NAME)), row);
+            }
+            for (FullTextIndex.Hit hit : result.getHits()) {
+                Map<String, Object> row = rowsById.get(hit.getRowId());
+                if (row != null) { // Absent if the row was deleted outside this service
+                    hits.add(SearchHitDto.builder().systemRowId(hit.getRowId()).score(hit.getScore()).row(row).build());
+                }
+            }
+        }
+        return SearchResultDto.builder()
+                .query(query)
+                .hits(hits)
+                .totalHits(result.getTotalHits())
+                .indexComplete(result.isComplete())
+                .build();
+    }
+
+    /**
+     * Rebuilds the full-text index of a dynamic table from its current rows.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project configuration.
+     * @return The number of rows indexed.
+     * @throws IllegalArgumentException if the table is not found or has no text columns.
+     */
+    @Transactional(readOnly = true)
+    public int rebuildSearchIndex(String logicalTableName, String projectConfigId) {
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+        // Scan the primary: a lagging replica would leave out recent rows while the index is marked complete
+        JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getPrimaryJdbcTemplate(dbDetails);
+        return fullTextIndexService.rebuild(dbDetails.getUuid(), jdbcTemplate, SqlDialect.fromDbType(dbDetails.getDbType()), tableDef);
+    }
+
+    /**
+     * Prepares an NDJSON stream (one JSON object per line) of every row of a dynamic table. The table definition
+     * and connection details are looked up here, on the caller's thread; writing the stream afterwards (typically
+     * from an async response body) uses tenant connections only, so a long download holds no metadata connection.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project configuration.
+     * @return The stream, to be written with {@link TableRowStream#writeTo}.
+     * @throws IllegalArgumentException if the table definition is not found.
+     */
+    public TableRowStream prepareNdjsonStream(String logicalTableName, String projectConfigId) {
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        TableDefinition tableDef = getTableDefinitionByLogicalNameAndProject(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+        return new TableRowStream(dbDetails, tableDef);
+    }
+
+    /**
+     * Rows read for one response before they are shaped into row maps or columnar arrays. Plain batch reads keep
+     * the compact layout arrays with references still unresolved; joined and expanded reads are already maps.
+     */
+    private static final class ReadRows {
+        private final String tenantKey;
+        private final JdbcTemplate jdbcTemplate;
+        private final TableDefinition readDef;
+        private final RowLayout layout;
+        private final List<Object[]> arrays;
+        private final List<Map<String, Object>> maps;
+        private int pageSize;
+        private boolean hasMore;
+        private String nextPageToken;
+
+        private ReadRows(String tenantKey, JdbcTemplate jdbcTemplate, TableDefinition readDef, RowLayout layout,
+                         List<Object[]> arrays, List<Map<String, Object>> maps) {
+            this.tenantKey = tenantKey;
+            this.jdbcTemplate = jdbcTemplate;
+            this.readDef = readDef;
+            this.layout = layout;
+            this.arrays = arrays;
+            this.maps = maps;
+        }
+
+        private static ReadRows ofArrays(String tenantKey, JdbcTemplate jdbcTemplate, TableDefinition readDef, RowLayout layout, List<Object[]> rows) {
+            return new ReadRows(tenantKey, jdbcTemplate, readDef, layout, rows, null);
+        }
+
+        private static ReadRows ofMaps(List<Map<String, Object>> rows) {
+            return new ReadRows(null, null, null, null, null, rows);
+        }
+    }
+
+    /**
+     * All rows of a dynamic table, written as NDJSON. Rows are read from a replica (or the primary) through a
+     * forward-only cursor with a dialect-specific fetch size and written as they arrive, so heap use stays flat
+     * regardless of table size. Reference columns are resolved per chunk.
+     */
+    public final class TableRowStream {
+        private final DatabaseConnectionDetails dbDetails;
+        private final TableDefinition tableDef;
+
+        private TableRowStream(DatabaseConnectionDetails dbDetails, TableDefinition tableDef) {
+            this.dbDetails = dbDetails;
+            this.tableDef = tableDef;
+        }
+
+        /**
+         * Writes every row to the given output.
+         *
+         * @param outputStream The stream to write to; it is flushed but not closed.
+         * @return The number of rows written.
+         */
+        public long writeTo(OutputStream outputStream) {
+            SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+            String sql = "SELECT * FROM " + dialect.quote(tableDef.getFinalTableName());
+            JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getReadJdbcTemplate(dbDetails);
+
+            NdjsonRowCallbackHandler handler = new NdjsonRowCallbackHandler(outputStream, objectMapper,
+                    chunk -> dynamicTableAccessor.resolveReferenceColumns(dbDetails.getUuid(), jdbcTemplate, tableDef, chunk));
+
+            // The cursor gets its own connection so that reference lookups (through jdbcTemplate)
+            // never share it; a streaming MySQL connection cannot run other statements until it is drained.
+            DataSource dataSource = jdbcTemplate.getDataSource();
+            try (Connection connection = dataSource.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                if (dialect.requiresTransactionForCursor()) {
+                    connection.setAutoCommit(false);
+                }
+                try (PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    ps.setFetchSize(dialect.streamingFetchSize());
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            handler.processRow(rs);
+                        }
+                    }
+                } finally {
+                    if (connection.getAutoCommit() != autoCommit) {
+                        connection.rollback();
+                        connection.setAutoCommit(autoCommit);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Error streaming data from table '" + tableDef.getTableName() + "': " + e.getMessage(), e);
+            }
+            return handler.finish();
+        }
+    }
+}
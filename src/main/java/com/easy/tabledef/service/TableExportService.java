@@ -0,0 +1,450 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.auth.job.TableExportJob;
+import com.easy.auth.job.service.SchedulerService;
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.database.SqlDialect;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.FilterCriteriaDto;
+import com.easy.tabledef.dto.TableExportDto;
+import com.easy.tabledef.dto.TableExportRequestDto;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.model.TableExport;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import com.easy.tabledef.repository.TableExportRepository;
+import com.easy.tabledef.util.DynamicTableAccessor;
+import com.easy.tabledef.util.FilterQueryCompiler;
+import com.easy.tabledef.util.RowLayout;
+import com.easy.tabledef.util.SqlFragment;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.quartz.JobDataMap;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports dynamic tables to gzip-compressed CSV or NDJSON files in the background (see {@link TableExport}).
+ *
+ * An export runs as a TableExportJob on the Quartz scheduler and reads the table in keyset chunks
+ * (system_row_id order, optional filter), so heap use is bounded by the chunk size. Each chunk is written
+ * as its own gzip member (concatenated members form one valid .gz file), the file is synced and the
+ * checkpoint saved. Resuming truncates the file to the last checkpoint and continues after its last row.
+ */
+@Service
+public class TableExportService {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+
+    private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+    private static final String JOB_GROUP = "table-export";
+
+    @Autowired
+    private TableExportRepository tableExportRepository;
+
+    @Autowired
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Autowired
+    private ProjectConfigService projectConfigService;
+
+    @Autowired
+    private DatabaseConnectivityService databaseConnectivityService;
+
+    @Autowired
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Autowired
+    private DynamicTableAccessor dynamicTableAccessor;
+
+    @Autowired
+    private FilterQueryCompiler filterQueryCompiler;
+
+    @Autowired
+    private SchedulerService schedulerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${easy.export.dir:./data/exports}")
+    private String exportDir;
+
+    @Value("${easy.export.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${easy.export.stale-after-ms:600000}")
+    private long staleAfterMs;
+
+    /**
+     * Creates an export of a dynamic table and schedules it to run immediately.
+     *
+     * @param logicalTableName The logical name of the table.
+     * @param projectConfigId The UUID of the project.
+     * @param request The format ("csv" or "ndjson") and optional filter.
+     * @return The new export (status PENDING).
+     * @throws IllegalArgumentException if the table is not found, or the format or filter is invalid.
+     */
+    public TableExportDto createExport(String logicalTableName, String projectConfigId, TableExportRequestDto request) {
+        TableDefinition tableDef = tableDefinitionRepository.findByTableNameAndProjectConfigIdRef(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+        TableExportRequestDto effectiveRequest = request != null ? request : new TableExportRequestDto();
+        String format = normalizeFormat(effectiveRequest.getFormat());
+
+        // Validate the filter now rather than in the background job
+        DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(projectConfigId);
+        filterQueryCompiler.compileWhere(SqlDialect.fromDbType(dbDetails.getDbType()), tableDef, null, effectiveRequest.getFilter());
+
+        TableExport export = new TableExport();
+        export.setProjectConfigIdRef(projectConfigId);
+        export.setTableDefinitionIdRef(tableDef.getId());
+        export.setLogicalTableName(logicalTableName);
+        export.setFormat(format);
+        export.setStatus(STATUS_PENDING);
+        try {
+            export.setFilterJson(effectiveRequest.getFilter() != null ? objectMapper.writeValueAsString(effectiveRequest.getFilter()) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid filter: " + e.getMessage(), e);
+        }
+        export = tableExportRepository.save(export);
+        String extension = "CSV".equals(format) ? ".csv.gz" : ".ndjson.gz";
+        export.setFilePath(Paths.get(exportDir, projectConfigId, export.getId() + extension).toAbsolutePath().toString());
+        export = tableExportRepository.save(export);
+
+        scheduleRun(export.getId());
+        return TableExportDto.fromEntity(export);
+    }
+
+    /**
+     * Re-queues a failed or cancelled export; it continues from its last checkpoint.
+     *
+     * @throws IllegalArgumentException if the export is not found.
+     * @throws IllegalStateException if the export is not FAILED or CANCELLED.
+     */
+    public TableExportDto resumeExport(String projectConfigId, String exportId) {
+        TableExport export = findExport(projectConfigId, exportId);
+        boolean requeued = tableExportRepository.transitionStatus(exportId, STATUS_FAILED, STATUS_PENDING, null) == 1
+                || tableExportRepository.transitionStatus(exportId, STATUS_CANCELLED, STATUS_PENDING, null) == 1;
+        if (!requeued) {
+            throw new IllegalStateException("Export '" + exportId + "' is " + export.getStatus() + " and cannot be resumed.");
+        }
+        scheduleRun(exportId);
+        return TableExportDto.fromEntity(findExport(projectConfigId, exportId));
+    }
+
+    /**
+     * Cancels a pending or running export. A running export stops at its next checkpoint and can be resumed later.
+     *
+     * @throws IllegalArgumentException if the export is not found.
+     * @throws IllegalStateException if the export has already finished.
+     */
+    public TableExportDto cancelExport(String projectConfigId, String exportId) {
+        TableExport export = findExport(projectConfigId, exportId);
+        boolean cancelled = tableExportRepository.transitionStatus(exportId, STATUS_PENDING, STATUS_CANCELLED, null) == 1
+                || tableExportRepository.transitionStatus(exportId, STATUS_RUNNING, STATUS_CANCELLED, null) == 1;
+        if (!cancelled) {
+            throw new IllegalStateException("Export '" + exportId + "' is " + export.getStatus() + " and cannot be cancelled.");
+        }
+        return TableExportDto.fromEntity(findExport(projectConfigId, exportId));
+    }
+
+    /**
+     * Deletes an export and its file.
+     *
+     * @throws IllegalArgumentException if the export is not found.
+     * @throws IllegalStateException if the export is running (cancel it first).
+     */
+    public void deleteExport(String projectConfigId, String exportId) {
+        TableExport export = findExport(projectConfigId, exportId);
+        if (STATUS_RUNNING.equals(export.getStatus())) {
+            throw new IllegalStateException("Export '" + exportId + "' is running; cancel it before deleting.");
+        }
+        tableExportRepository.delete(export);
+        if (export.getFilePath() != null) {
+            try {
+                Files.deleteIfExists(Paths.get(export.getFilePath()));
+            } catch (IOException e) {
+                System.err.println("Could not delete export file " + export.getFilePath() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public TableExportDto getExport(String projectConfigId, String exportId) {
+        return TableExportDto.fromEntity(findExport(projectConfigId, exportId));
+    }
+
+    public List<TableExportDto> getExportsForProject(String projectConfigId) {
+        return tableExportRepository.findByProjectConfigIdRefOrderByCreatedAtDesc(projectConfigId).stream()
+                .map(TableExportDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the file of a completed export, for download.
+     *
+     * @throws IllegalArgumentException if the export is not found.
+     * @throws IllegalStateException if the export has not completed or its file is missing.
+     */
+    public Path getExportFile(String projectConfigId, String exportId) {
+        TableExport export = findExport(projectConfigId, exportId);
+        if (!STATUS_COMPLETED.equals(export.getStatus())) {
+            throw new IllegalStateException("Export '" + exportId + "' is " + export.getStatus() + "; only completed exports can be downloaded.");
+        }
+        Path file = Paths.get(export.getFilePath());
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalStateException("The file of export '" + exportId + "' is no longer available.");
+        }
+        return file;
+    }
+
+    /**
+     * Runs (or resumes) an export. Called by TableExportJob; does nothing unless the export is PENDING.
+     *
+     * @param exportId The ID of the export.
+     */
+    public void runExport(String exportId) {
+        if (tableExportRepository.transitionStatus(exportId, STATUS_PENDING, STATUS_RUNNING, null) != 1) {
+            System.out.println("Export " + exportId + " is not pending; skipping run.");
+            return;
+        }
+        TableExport export = tableExportRepository.findById(exportId)
+                .orElseThrow(() -> new IllegalArgumentException("Export not found: " + exportId));
+        if (export.getStartedAt() == null) {
+            export.setStartedAt(LocalDateTime.now());
+            export = tableExportRepository.save(export);
+        }
+
+        try {
+            TableDefinition tableDef = tableDefinitionRepository.findById(export.getTableDefinitionIdRef())
+                    .orElseThrow(() -> new IllegalArgumentException("The exported table no longer exists."));
+            DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(export.getProjectConfigIdRef());
+            SqlDialect dialect = SqlDialect.fromDbType(dbDetails.getDbType());
+            JdbcTemplate jdbcTemplate = dynamicDataSourceManager.getJdbcTemplate(dbDetails);
+            FilterCriteriaDto filter = export.getFilterJson() != null
+                    ? objectMapper.readValue(export.getFilterJson(), FilterCriteriaDto.class) : null;
+            SqlFragment where = filterQueryCompiler.compileWhere(dialect, tableDef, null, filter);
+
+            if (export.getTotalRows() == null) {
+                String countSql = "SELECT COUNT(*) FROM " + dialect.quote(tableDef.getFinalTableName())
+                        + (where.isEmpty() ? "" : " WHERE " + where.getSql());
+                export.setTotalRows(jdbcTemplate.queryForObject(countSql, Long.class, where.getParameters().toArray()));
+                export = tableExportRepository.save(export);
+            }
+
+            writeChunks(export, tableDef, dbDetails.getUuid(), dialect, jdbcTemplate, where);
+
+            if (tableExportRepository.markCompleted(exportId) == 1) {
+                System.out.println("Export " + exportId + " of table '" + export.getLogicalTableName() + "' completed.");
+            }
+        } catch (Exception e) {
+            System.err.println("Export " + exportId + " failed: " + e.getMessage());
+            tableExportRepository.transitionStatus(exportId, STATUS_RUNNING, STATUS_FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Fails RUNNING exports that stopped checkpointing (e.g., their node was shut down), so they can be resumed.
+     */
+    @Scheduled(fixedDelayString = "${easy.export.stale-check-ms:300000}")
+    public void failStaleExports() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000L);
+        for (TableExport export : tableExportRepository.findByStatusAndUpdatedAtBefore(STATUS_RUNNING, cutoff)) {
+            tableExportRepository.transitionStatus(export.getId(), STATUS_RUNNING, STATUS_FAILED,
+                    "Export was interrupted; resume it to continue from the last checkpoint.");
+        }
+    }
+
+    private void writeChunks(TableExport export, TableDefinition tableDef, String tenantKey, SqlDialect dialect,
+                             JdbcTemplate jdbcTemplate, SqlFragment where) throws IOException {
+        RowLayout layout = dynamicTableAccessor.layoutFor(tableDef);
+        List<String> columns = exportColumns(layout);
+        boolean csv = "CSV".equals(export.getFormat());
+
+        String baseSql = "SELECT * FROM " + dialect.quote(tableDef.getFinalTableName()) + " WHERE "
+                + (where.isEmpty() ? "" : "(" + where.getSql() + ") AND ");
+        String idCol = dialect.quote(SYSTEM_UUID_COLUMN_NAME);
+
+        Path file = Paths.get(export.getFilePath());
+        Files.createDirectories(file.getParent());
+        String lastRowId = export.getLastRowId();
+        long rowsExported = export.getRowsExported();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Anything after the last checkpoint is a partial chunk from an interrupted run
+            channel.truncate(export.getBytesWritten());
+            channel.position(export.getBytesWritten());
+            boolean firstChunk = export.getBytesWritten() == 0;
+
+            while (true) {
+                List<Object> params = new ArrayList<>(where.getParameters());
+                String sql;
+                if (lastRowId != null) {
+                    sql = baseSql + idCol + " > ? ORDER BY " + idCol;
+                    params.add(lastRowId);
+                } else {
+                    sql = baseSql + "1 = 1 ORDER BY " + idCol;
+                }
+                List<Object[]> rows = dynamicTableAccessor.queryRows(jdbcTemplate, dialect.limit(sql, chunkSize), layout, params.toArray());
+                if (rows.isEmpty() && !firstChunk) {
+                    break;
+                }
+                List<Map<String, Object>> resolvedRows = dynamicTableAccessor.resolveReferenceColumns(tenantKey, jdbcTemplate, tableDef, layout, rows);
+
+                try (OutputStream out = new GZIPOutputStream(new ChannelOutputStream(channel), 65536)) {
+                    if (firstChunk && csv) {
+                        writeCsvLine(out, new ArrayList<>(columns));
+                    }
+                    for (Map<String, Object> row : resolvedRows) {
+                        if (csv) {
+                            List<Object> values = new ArrayList<>(columns.size());
+                            columns.forEach(column -> values.add(row.get(column)));
+                            writeCsvLine(out, values);
+                        } else {
+                            out.write(objectMapper.writeValueAsBytes(row));
+                            out.write('\n');
+                        }
+                    }
+                }
+                channel.force(false);
+                firstChunk = false;
+
+                if (!rows.isEmpty()) {
+                    lastRowId = String.valueOf(layout.get(rows.get(rows.size() - 1), SYSTEM_UUID_COLUMN_NAME));
+                    rowsExported += rows.size();
+                }
+                tableExportRepository.saveCheckpoint(export.getId(), lastRowId, rowsExported, channel.position());
+
+                if (rows.size() < chunkSize) {
+                    break;
+                }
+                Optional<String> status = tableExportRepository.findById(export.getId()).map(TableExport::getStatus);
+                if (!status.map(STATUS_RUNNING::equals).orElse(false)) {
+                    throw new IllegalStateException("Export is no longer running (" + status.orElse("deleted") + ").");
+                }
+            }
+        }
+    }
+
+    /**
+     * The output columns in layout order; each reference column becomes <column>_id and <column>_display_name.
+     */
+    private static List<String> exportColumns(RowLayout layout) {
+        List<String> columns = new ArrayList<>();
+        for (int slot = 0; slot < layout.size(); slot++) {
+            String columnName = layout.columnName(slot);
+            if (layout.isReference(slot)) {
+                columns.add(columnName + "_id");
+                columns.add(columnName + "_display_name");
+            } else {
+                columns.add(columnName);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Writes one RFC 4180 CSV record: fields containing a comma, quote or line break are quoted, quotes doubled.
+     */
+    private static void writeCsvLine(OutputStream out, List<Object> values) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                line.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(text);
+            }
+        }
+        line.append("\r\n");
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void scheduleRun(String exportId) {
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put("exportId", exportId);
+        try {
+            schedulerService.scheduleOneTimeJob(TableExportJob.class, "table-export-" + exportId + "-" + System.currentTimeMillis(),
+                    JOB_GROUP, new Date(), jobDataMap);
+        } catch (SchedulerException e) {
+            tableExportRepository.transitionStatus(exportId, STATUS_PENDING, STATUS_FAILED, "Could not schedule export: " + e.getMessage());
+            throw new RuntimeException("Failed to schedule export: " + e.getMessage(), e);
+        }
+    }
+
+    private TableExport findExport(String projectConfigId, String exportId) {
+        return tableExportRepository.findById(exportId)
+                .filter(e -> e.getProjectConfigIdRef().equals(projectConfigId))
+                .orElseThrow(() -> new IllegalArgumentException("Export '" + exportId + "' not found for project '" + projectConfigId + "'."));
+    }
+
+    private DatabaseConnectionDetails getConnectionDetailsForProject(String projectConfigId) {
+        ProjectConfig projectConfig = projectConfigService.getProjectConfigById(projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Project configuration not found for ID: " + projectConfigId));
+        return databaseConnectivityService.getSavedConnectionByUuid(projectConfig.getDatabaseConnectionIdRef())
+                .orElseThrow(() -> new IllegalStateException("Database connection details not found for project ID: " + projectConfigId));
+    }
+
+    private static String normalizeFormat(String format) {
+        if (format == null || format.isBlank() || "csv".equalsIgnoreCase(format)) {
+            return "CSV";
+        }
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return "NDJSON";
+        }
+        throw new IllegalArgumentException("Unsupported export format '" + format + "'. Use csv or ndjson.");
+    }
+
+    /**
+     * Writes to a FileChannel without closing it when the (per-chunk) gzip stream is closed.
+     */
+    private static final class ChannelOutputStream extends FilterOutputStream {
+        private ChannelOutputStream(FileChannel channel) {
+            super(Channels.newOutputStream(channel));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,843 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.auth.job.TableImportJob;
+import com.easy.auth.job.service.SchedulerService;
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.database.SqlDialect;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.BulkInsertResultDto;
+import com.easy.tabledef.dto.BulkRowErrorDto;
+import com.easy.tabledef.dto.ImportRowErrorDto;
+import com.easy.tabledef.dto.TableImportDto;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.model.TableImport;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import com.easy.tabledef.repository.TableImportRepository;
+import com.easy.tabledef.util.ColumnTypes;
+import com.easy.tabledef.util.CsvRecordReader;
+import com.easy.tabledef.util.RowIds;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.quartz.JobDataMap;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports uploaded CSV or NDJSON files into dynamic tables in the background (see {@link TableImport}).
+ *
+ * The upload is stored on local disk and a TableImportJob streams it in chunks of easy.import.chunk-size rows:
+ * CSV headers (or NDJSON keys) are mapped to the table's columns, values are converted to the column types,
+ * and the references of each chunk are validated together. A chunk is then loaded through the fastest path
+ * of the tenant database: COPY FROM STDIN on PostgreSQL, LOAD DATA LOCAL INFILE on MySQL, and batched
+ * inserts elsewhere. If a native load fails or LOAD DATA reports warnings (skipped rows, truncated values),
+ * the chunk is rolled back and inserted again in batches, which isolate and report the failing rows.
+ * Rejected rows are written with their line number to the import's error file.
+ *
+ * Each chunk is committed on its own; a failed or cancelled import keeps the rows loaded before it stopped.
+ */
+@Service
+public class TableImportService {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+
+    public static final String LOAD_COPY = "COPY";
+    public static final String LOAD_DATA = "LOAD_DATA";
+    public static final String LOAD_BATCH = "BATCH";
+
+    private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+    private static final String JOB_GROUP = "table-import";
+    private static final String IGNORED_COLUMN = "";
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private TableImportRepository tableImportRepository;
+
+    @Autowired
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Autowired
+    private ProjectConfigService projectConfigService;
+
+    @Autowired
+    private DatabaseConnectivityService databaseConnectivityService;
+
+    @Autowired
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Autowired
+    private TableCreationService tableCreationService;
+
+    @Autowired
+    private SchedulerService schedulerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${easy.import.dir:./data/imports}")
+    private String importDir;
+
+    @Value("${easy.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${easy.import.max-errors:10000}")
+    private int maxErrors;
+
+    @Value("${easy.import.stale-after-ms:600000}")
+    private long staleAfterMs;
+
+    /**
+     * Stores an uploaded file and schedules its import into a dynamic table.
+     *
+     * @param logicalTableName The logical name of the target table.
+     * @param projectConfigId The UUID of the project.
+     * @param format "csv" (default; the first record is the header) or "ndjson" (one JSON object per line).
+     * @param content The file content, streamed to disk.
+     * @return The new import (status PENDING).
+     * @throws IllegalArgumentException if the table is not found, the format is invalid or the file is empty.
+     */
+    public TableImportDto createImport(String logicalTableName, String projectConfigId, String format, InputStream content) {
+        TableDefinition tableDef = tableDefinitionRepository.findByTableNameAndProjectConfigIdRef(logicalTableName, projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Table definition '" + logicalTableName + "' not found for project '" + projectConfigId + "'."));
+        String normalizedFormat = normalizeFormat(format);
+        getConnectionDetailsForProject(projectConfigId);
+
+        TableImport tableImport = new TableImport();
+        tableImport.setProjectConfigIdRef(projectConfigId);
+        tableImport.setTableDefinitionIdRef(tableDef.getId());
+        tableImport.setLogicalTableName(logicalTableName);
+        tableImport.setFormat(normalizedFormat);
+        tableImport.setStatus(STATUS_PENDING);
+        tableImport = tableImportRepository.save(tableImport);
+
+        String extension = "CSV".equals(normalizedFormat) ? ".csv" : ".ndjson";
+        Path file = Paths.get(importDir, projectConfigId, tableImport.getId() + extension).toAbsolutePath().normalize();
+        long size;
+        try {
+            Files.createDirectories(file.getParent());
+            size = Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            tableImportRepository.delete(tableImport);
+            deleteQuietly(file.toString());
+            throw new RuntimeException("Failed to store the uploaded file: " + e.getMessage(), e);
+        }
+        if (size == 0) {
+            tableImportRepository.delete(tableImport);
+            deleteQuietly(file.toString());
+            throw new IllegalArgumentException("The uploaded file is empty.");
+        }
+        tableImport.setFilePath(file.toString());
+        tableImport.setFileSize(size);
+        tableImport.setErrorFilePath(file.resolveSibling(tableImport.getId() + ".errors.ndjson").toString());
+        tableImport = tableImportRepository.save(tableImport);
+
+        scheduleRun(tableImport.getId());
+        return TableImportDto.fromEntity(tableImport);
+    }
+
+    /**
+     * Cancels a pending or running import. A running import stops after its current chunk; rows already loaded are kept.
+     *
+     * @throws IllegalArgumentException if the import is not found.
+     * @throws IllegalStateException if the import has already finished.
+     */
+    public TableImportDto cancelImport(String projectConfigId, String importId) {
+        TableImport tableImport = findImport(projectConfigId, importId);
+        boolean cancelled = tableImportRepository.transitionStatus(importId, STATUS_PENDING, STATUS_CANCELLED, null) == 1
+                || tableImportRepository.transitionStatus(importId, STATUS_RUNNING, STATUS_CANCELLED, null) == 1;
+        if (!cancelled) {
+            throw new IllegalStateException("Import '" + importId + "' is " + tableImport.getStatus() + " and cannot be cancelled.");
+        }
+        return TableImportDto.fromEntity(findImport(projectConfigId, importId));
+    }
+
+    /**
+     * Deletes an import, its uploaded file and its error file (imported rows are kept).
+     *
+     * @throws IllegalArgumentException if the import is not found.
+     * @throws IllegalStateException if the import is running (cancel it first).
+     */
+    public void deleteImport(String projectConfigId, String importId) {
+        TableImport tableImport = findImport(projectConfigId, importId);
+        if (STATUS_RUNNING.equals(tableImport.getStatus())) {
+            throw new IllegalStateException("Import '" + importId + "' is running; cancel it before deleting.");
+        }
+        tableImportRepository.delete(tableImport);
+        deleteQuietly(tableImport.getFilePath());
+        deleteQuietly(tableImport.getErrorFilePath());
+    }
+
+    public TableImportDto getImport(String projectConfigId, String importId) {
+        return TableImportDto.fromEntity(findImport(projectConfigId, importId));
+    }
+
+    public List<TableImportDto> getImportsForProject(String projectConfigId) {
+        return tableImportRepository.findByProjectConfigIdRefOrderByCreatedAtDesc(projectConfigId).stream()
+                .map(TableImportDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the rejected rows of an import, in file order. At most easy.import.max-errors rows are recorded per import;
+     * rowsFailed counts all of them.
+     *
+     * @param limit The maximum number of errors to return.
+     * @throws IllegalArgumentException if the import is not found.
+     */
+    public List<ImportRowErrorDto> getImportErrors(String projectConfigId, String importId, int limit) {
+        TableImport tableImport = findImport(projectConfigId, importId);
+        List<ImportRowErrorDto> errors = new ArrayList<>();
+        if (tableImport.getErrorFilePath() == null || !Files.isRegularFile(Paths.get(tableImport.getErrorFilePath()))) {
+            return errors;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(tableImport.getErrorFilePath()), StandardCharsets.UTF_8)) {
+            String line;
+            while (errors.size() < limit && (line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    errors.add(objectMapper.readValue(line, ImportRowErrorDto.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the errors of import '" + importId + "': " + e.getMessage(), e);
+        }
+        return errors;
+    }
+
+    /**
+     * Runs an import. Called by TableImportJob; does nothing unless the import is PENDING.
+     * The uploaded file is deleted once the import has finished, whatever its outcome.
+     *
+     * @param importId The ID of the import.
+     */
+    public void runImport(String importId) {
+        if (tableImportRepository.transitionStatus(importId, STATUS_PENDING, STATUS_RUNNING, null) != 1) {
+            System.out.println("Import " + importId + " is not pending; skipping run.");
+            return;
+        }
+        TableImport tableImport = tableImportRepository.findById(importId)
+                .orElseThrow(() -> new IllegalArgumentException("Import not found: " + importId));
+        tableImport.setStartedAt(LocalDateTime.now());
+        tableImport = tableImportRepository.save(tableImport);
+
+        ImportRun run = null;
+        try {
+            TableDefinition tableDef = tableDefinitionRepository.findById(tableImport.getTableDefinitionIdRef())
+                    .orElseThrow(() -> new IllegalArgumentException("The target table no longer exists."));
+            DatabaseConnectionDetails dbDetails = getConnectionDetailsForProject(tableImport.getProjectConfigIdRef());
+            run = new ImportRun(tableImport, tableDef, dbDetails.getUuid(), SqlDialect.fromDbType(dbDetails.getDbType()), dynamicDataSourceManager.getJdbcTemplate(dbDetails));
+
+            try (CountingInputStream input = new CountingInputStream(Files.newInputStream(Paths.get(tableImport.getFilePath())))) {
+                run.input = input;
+                if ("CSV".equals(tableImport.getFormat())) {
+                    readCsv(run);
+                } else {
+                    readNdjson(run);
+                }
+            }
+            run.closeErrors();
+
+            if (tableImportRepository.markCompleted(importId) == 1) {
+                System.out.println("Import " + importId + " into table '" + tableImport.getLogicalTableName() + "' completed: "
+                        + run.rowsImported + " rows imported, " + run.rowsFailed + " rejected (" + run.loadMethod + ").");
+            }
+        } catch (Exception e) {
+            System.err.println("Import " + importId + " failed: " + e.getMessage());
+            if (run != null) {
+                run.closeErrors();
+            }
+            tableImportRepository.transitionStatus(importId, STATUS_RUNNING, STATUS_FAILED, e.getMessage());
+        } finally {
+            deleteQuietly(tableImport.getFilePath());
+        }
+    }
+
+    /**
+     * Fails RUNNING imports that stopped reporting progress (e.g., their node was shut down).
+     */
+    @Scheduled(fixedDelayString = "${easy.import.stale-check-ms:300000}")
+    public void failStaleImports() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000L);
+        for (TableImport tableImport : tableImportRepository.findByStatusAndUpdatedAtBefore(STATUS_RUNNING, cutoff)) {
+            tableImportRepository.transitionStatus(tableImport.getId(), STATUS_RUNNING, STATUS_FAILED,
+                    "Import was interrupted; rows loaded before the interruption were kept.");
+        }
+    }
+
+    private void readCsv(ImportRun run) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(new InputStreamReader(run.input, StandardCharsets.UTF_8));
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty.");
+        }
+        String[] targets = new String[header.size()];
+        Set<String> mapped = new HashSet<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i) != null ? header.get(i).trim() : "";
+            String target = targetColumn(run, name);
+            if (target == null) {
+                throw new IllegalArgumentException("Unknown column '" + name + "' in the CSV header of table '" + run.tableDef.getTableName() + "'.");
+            }
+            if (!IGNORED_COLUMN.equals(target) && !mapped.add(target)) {
+                throw new IllegalArgumentException("Column '" + target + "' is mapped more than once by the CSV header.");
+            }
+            targets[i] = target;
+        }
+
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            if (record.size() == 1 && record.get(0) == null) {
+                continue; // Blank line
+            }
+            run.rowsRead++;
+            long line = csv.getRecordLine();
+            if (record.size() != targets.length) {
+                run.reject(line, "Expected " + targets.length + " fields but found " + record.size() + ".");
+            } else {
+                Map<String, Object> values = new HashMap<>();
+                for (int i = 0; i < targets.length; i++) {
+                    if (!IGNORED_COLUMN.equals(targets[i])) {
+                        values.put(targets[i], record.get(i));
+                    }
+                }
+                addRow(run, chunk, line, values);
+            }
+            if (chunk.size() >= chunkSize || run.rowsRead - run.rowsAtCheckpoint >= chunkSize) {
+                loadChunk(run, chunk);
+            }
+        }
+        loadChunk(run, chunk);
+    }
+
+    private void readNdjson(ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(run.input, StandardCharsets.UTF_8), 65536);
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        Map<String, Optional<String>> targets = new HashMap<>();
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (line == 1 && text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+            run.rowsRead++;
+            Map<String, Object> object = null;
+            try {
+                object = objectMapper.readValue(text, ROW_TYPE);
+            } catch (JsonProcessingException e) {
+                run.reject(line, "Invalid JSON object: " + e.getOriginalMessage());
+            }
+            if (object != null) {
+                Map<String, Object> values = new HashMap<>();
+                String unknownKey = null;
+                for (Map.Entry<String, Object> entry : object.entrySet()) {
+                    Optional<String> target = targets.computeIfAbsent(entry.getKey(), key -> Optional.ofNullable(targetColumn(run, key)));
+                    if (target.isEmpty()) {
+                        unknownKey = entry.getKey();
+                        break;
+                    }
+                    if (!IGNORED_COLUMN.equals(target.get())) {
+                        values.put(target.get(), entry.getValue());
+                    }
+                }
+                if (unknownKey != null) {
+                    run.reject(line, "Unknown column '" + unknownKey + "' for table '" + run.tableDef.getTableName() + "'.");
+                } else {
+                    addRow(run, chunk, line, values);
+                }
+            }
+            if (chunk.size() >= chunkSize || run.rowsRead - run.rowsAtCheckpoint >= chunkSize) {
+                loadChunk(run, chunk);
+            }
+        }
+        loadChunk(run, chunk);
+    }
+
+    /**
+     * Maps a CSV header or NDJSON key to a column of the table. Exported files can be imported again:
+     * "<reference>_id" maps to the reference column, while "<reference>_display_name" and system_row_id
+     * are ignored (imported rows always get new system_row_ids).
+     *
+     * @return The column name, IGNORED_COLUMN, or null if the name matches nothing.
+     */
+    private static String targetColumn(ImportRun run, String name) {
+        if (run.columns.containsKey(name)) {
+            return name;
+        }
+        if (SYSTEM_UUID_COLUMN_NAME.equals(name)) {
+            return IGNORED_COLUMN;
+        }
+        if (name.endsWith("_id") && isReferenceColumn(run, name.substring(0, name.length() - 3))) {
+            return name.substring(0, name.length() - 3);
+        }
+        if (name.endsWith("_display_name") && isReferenceColumn(run, name.substring(0, name.length() - 13))) {
+            return IGNORED_COLUMN;
+        }
+        return null;
+    }
+
+    private static boolean isReferenceColumn(ImportRun run, String name) {
+        ColumnDefinition column = run.columns.get(name);
+        return column != null && column.isReference();
+    }
+
+    /**
+     * Converts the values of a row to the types of their columns and queues it, or rejects it.
+     * Blank values of non-text columns are treated as missing.
+     */
+    private void addRow(ImportRun run, List<PendingRow> chunk, long line, Map<String, Object> values) {
+        Map<String, Object> row = new HashMap<>();
+        for (ColumnDefinition column : run.columns.values()) {
+            String columnName = column.getColumnName();
+            Object raw = values.get(columnName);
+            if (raw instanceof String text && text.isBlank() && !ColumnTypes.isTextual(column.getColumnType())) {
+                raw = null;
+            }
+            if (raw instanceof Map || raw instanceof List) {
+                run.reject(line, "Column '" + columnName + "' cannot hold a nested JSON value.");
+                return;
+            }
+            Object value;
+            try {
+                if (raw == null) {
+                    value = null;
+                } else if (column.isReference()) {
+                    value = raw.toString();
+                } else {
+                    value = ColumnTypes.coerce(column.getColumnType(), raw);
+                }
+            } catch (IllegalArgumentException e) {
+                run.reject(line, "Column '" + columnName + "': " + e.getMessage());
+                return;
+            }
+            if (value == null) {
+                // Missing references are reported by the reference check
+                if (!column.isNullable() && !column.isReference()) {
+                    run.reject(line, "Column '" + columnName + "' cannot be null.");
+                    return;
+                }
+                continue;
+            }
+            row.put(columnName, value);
+        }
+        chunk.add(new PendingRow(line, row));
+    }
+
+    /**
+     * Loads the queued rows, records progress and stops the import if it was cancelled or deleted meanwhile.
+     */
+    private void loadChunk(ImportRun run, List<PendingRow> chunk) {
+        if (!chunk.isEmpty()) {
+            if (LOAD_BATCH.equals(run.loadMethod)) {
+                insertRows(run, chunk);
+            } else {
+                loadRowsNatively(run, chunk);
+            }
+            chunk.clear();
+        }
+        run.flushErrors();
+        run.rowsAtCheckpoint = run.rowsRead;
+        tableImportRepository.saveProgress(run.tableImport.getId(), Math.min(run.input.count, run.tableImport.getFileSize()),
+                run.rowsRead, run.rowsImported, run.rowsFailed, run.loadMethod);
+        Optional<String> status = tableImportRepository.findById(run.tableImport.getId()).map(TableImport::getStatus);
+        if (!status.map(STATUS_RUNNING::equals).orElse(false)) {
+            throw new IllegalStateException("Import is no longer running (" + status.orElse("deleted") + ").");
+        }
+    }
+
+    /**
+     * Inserts rows through TableCreationService's bulk insert (reference checks, JDBC batches with row-by-row
+     * fallback, search index and summary updates) and rejects the rows it reports.
+     */
+    private void insertRows(ImportRun run, List<PendingRow> rows) {
+        BulkInsertResultDto result;
+        try {
+            result = tableCreationService.bulkInsertIntoDynamicTable(run.tableDef.getTableName(), run.tableImport.getProjectConfigIdRef(),
+                    rows.stream().map(PendingRow::row).collect(Collectors.toList()));
+        } catch (TableCreationService.BulkInsertInterruptedException e) {
+            // The database went away part-way: count what was written, then fail the import
+            recordInsertResult(run, rows, e.getPartialResult());
+            throw e;
+        }
+        recordInsertResult(run, rows, result);
+    }
+
+    private static void recordInsertResult(ImportRun run, List<PendingRow> rows, BulkInsertResultDto result) {
+        run.rowsImported += result.getInserted();
+        for (BulkRowErrorDto error : result.getErrors()) {
+            run.reject(rows.get(error.getIndex()).line(), error.getMessage());
+        }
+    }
+
+    /**
+     * Loads rows with COPY / LOAD DATA after checking their references. When the database does not accept the chunk
+     * as it is (the load fails, or LOAD DATA skips or truncates values), nothing of it is kept and its rows are
+     * inserted again through {@link #insertRows}, which reports the failing ones.
+     */
+    private void loadRowsNatively(ImportRun run, List<PendingRow> chunk) {
+        String projectConfigId = run.tableImport.getProjectConfigIdRef();
+        Map<Integer, String> referenceErrors = tableCreationService.findReferenceErrors(projectConfigId, run.tableDef,
+                chunk.stream().map(PendingRow::row).collect(Collectors.toList()));
+        List<PendingRow> rows = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (referenceErrors.containsKey(i)) {
+                run.reject(chunk.get(i).line(), referenceErrors.get(i));
+            } else {
+                chunk.get(i).row().put(SYSTEM_UUID_COLUMN_NAME, RowIds.newRowId(run.tableDef));
+                rows.add(chunk.get(i));
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>();
+        columns.add(SYSTEM_UUID_COLUMN_NAME);
+        for (String columnName : run.columns.keySet()) {
+            if (rows.stream().anyMatch(row -> row.row().containsKey(columnName))) {
+                columns.add(columnName);
+            }
+        }
+
+        boolean loaded;
+        try {
+            loaded = LOAD_COPY.equals(run.loadMethod) ? copyRows(run, columns, rows) == rows.size() : loadDataRows(run, columns, rows);
+        } catch (DataAccessException | UncheckedIOException e) {
+            String message = e instanceof DataAccessException dae ? dae.getMostSpecificCause().getMessage() : e.getMessage();
+            System.err.println("Import " + run.tableImport.getId() + ": bulk load of a chunk failed (" + message + "); inserting its rows in batches.");
+            loaded = false;
+        }
+        if (!loaded) {
+            rows.forEach(row -> row.row().remove(SYSTEM_UUID_COLUMN_NAME));
+            insertRows(run, rows);
+            return;
+        }
+        run.rowsImported += rows.size();
+        tableCreationService.recordRowsLoaded(projectConfigId, run.tableDef, rows.stream().map(PendingRow::row).collect(Collectors.toList()));
+    }
+
+    /**
+     * Streams rows to PostgreSQL with COPY ... FROM STDIN (text format). COPY is atomic: all rows or none.
+     *
+     * @return The number of rows copied.
+     */
+    private long copyRows(ImportRun run, List<String> columns, List<PendingRow> rows) {
+        String sql = "COPY " + run.dialect.quote(run.tableDef.getFinalTableName()) + " ("
+                + columns.stream().map(run.dialect::quote).collect(Collectors.joining(", ")) + ") FROM STDIN";
+        return run.jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            try {
+                StringBuilder line = new StringBuilder();
+                for (PendingRow row : rows) {
+                    line.setLength(0);
+                    appendTextRow(line, columns, row.row());
+                    byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                }
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes rows to a tab-separated file in the connection's import staging directory (the only directory its MySQL
+     * pools allow LOAD DATA LOCAL to read) and loads it with LOAD DATA LOCAL INFILE, in a transaction of its own.
+     *
+     * LOCAL implies IGNORE: instead of failing, MySQL skips duplicate-key rows and truncates or converts values
+     * that do not fit their column, with a warning each. The load is therefore kept only if every row arrived
+     * without a warning; otherwise it is rolled back, so the rows can go through strict inserts that report them.
+     *
+     * @return True if the rows were loaded and committed, false if the load was rolled back.
+     */
+    private boolean loadDataRows(ImportRun run, List<String> columns, List<PendingRow> rows) {
+        Path stagingFile = DynamicDataSourceManager.importStagingDirectory(importDir, run.connectionUuid).resolve(run.tableImport.getId() + ".tsv");
+        try {
+            Files.createDirectories(stagingFile.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(stagingFile, StandardCharsets.UTF_8)) {
+                StringBuilder line = new StringBuilder();
+                for (PendingRow row : rows) {
+                    line.setLength(0);
+                    appendTextRow(line, columns, row.row());
+                    writer.append(line);
+                }
+            }
+            String sql = "LOAD DATA LOCAL INFILE '" + stagingFile.toString().replace("\\", "\\\\").replace("'", "\\'") + "'"
+                    + " INTO TABLE " + run.dialect.quote(run.tableDef.getFinalTableName())
+                    + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' ("
+                    + columns.stream().map(run.dialect::quote).collect(Collectors.joining(", ")) + ")";
+            return run.jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    long loaded = statement.executeLargeUpdate(sql);
+                    long warnings;
+                    try (ResultSet rs = statement.executeQuery("SHOW COUNT(*) WARNINGS")) {
+                        warnings = rs.next() ? rs.getLong(1) : 0;
+                    }
+                    if (loaded != rows.size() || warnings > 0) {
+                        connection.rollback();
+                        System.err.println("Import " + run.tableImport.getId() + ": LOAD DATA loaded " + loaded + " of " + rows.size()
+                                + " rows with " + warnings + " warnings; inserting the chunk in batches instead.");
+                        return false;
+                    }
+                    connection.commit();
+                    return true;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the staging file: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(stagingFile.toString());
+        }
+    }
+
+    /**
+     * Appends one row in the text format shared by PostgreSQL COPY and MySQL LOAD DATA: tab-separated fields,
+     * \N for null, and backslash escapes for backslashes, tabs and line breaks.
+     */
+    private static void appendTextRow(StringBuilder line, List<String> columns, Map<String, Object> row) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            Object value = row.get(columns.get(i));
+            if (value == null) {
+                line.append("\\N");
+            } else if (value instanceof Boolean bool) {
+                line.append(bool ? '1' : '0');
+            } else if (value instanceof BigDecimal decimal) {
+                line.append(decimal.toPlainString());
+            } else {
+                String text = value.toString();
+                for (int k = 0; k < text.length(); k++) {
+                    char c = text.charAt(k);
+                    switch (c) {
+                        case '\\' -> line.append("\\\\");
+                        case '\t' -> line.append("\\t");
+                        case '\n' -> line.append("\\n");
+                        case '\r' -> line.append("\\r");
+                        default -> line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('\n');
+    }
+
+    private void scheduleRun(String importId) {
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put("importId", importId);
+        try {
+            schedulerService.scheduleOneTimeJob(TableImportJob.class, "table-import-" + importId + "-" + System.currentTimeMillis(),
+                    JOB_GROUP, new Date(), jobDataMap);
+        } catch (SchedulerException e) {
+            tableImportRepository.transitionStatus(importId, STATUS_PENDING, STATUS_FAILED, "Could not schedule import: " + e.getMessage());
+            throw new RuntimeException("Failed to schedule import: " + e.getMessage(), e);
+        }
+    }
+
+    private TableImport findImport(String projectConfigId, String importId) {
+        return tableImportRepository.findById(importId)
+                .filter(i -> i.getProjectConfigIdRef().equals(projectConfigId))
+                .orElseThrow(() -> new IllegalArgumentException("Import '" + importId + "' not found for project '" + projectConfigId + "'."));
+    }
+
+    private DatabaseConnectionDetails getConnectionDetailsForProject(String projectConfigId) {
+        ProjectConfig projectConfig = projectConfigService.getProjectConfigById(projectConfigId)
+                .orElseThrow(() -> new IllegalArgumentException("Project configuration not found for ID: " + projectConfigId));
+        return databaseConnectivityService.getSavedConnectionByUuid(projectConfig.getDatabaseConnectionIdRef())
+                .orElseThrow(() -> new IllegalStateException("Database connection details not found for project ID: " + projectConfigId));
+    }
+
+    private static String normalizeFormat(String format) {
+        if (format == null || format.isBlank() || "csv".equalsIgnoreCase(format)) {
+            return "CSV";
+        }
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return "NDJSON";
+        }
+        throw new IllegalArgumentException("Unsupported import format '" + format + "'. Use csv or ndjson.");
+    }
+
+    private static void deleteQuietly(String path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(path));
+        } catch (IOException e) {
+            System.err.println("Could not delete import file " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A row converted to column types, with the line of the file it started on.
+     */
+    private record PendingRow(long line, Map<String, Object> row) {
+    }
+
+    /**
+     * State of one running import.
+     */
+    private final class ImportRun {
+        private final TableImport tableImport;
+        private final TableDefinition tableDef;
+        private final Map<String, ColumnDefinition> columns = new LinkedHashMap<>();
+        private final String connectionUuid;
+        private final SqlDialect dialect;
+        private final JdbcTemplate jdbcTemplate;
+        private final String loadMethod;
+        private CountingInputStream input;
+        private BufferedWriter errorWriter;
+
+        private long rowsRead;
+        private long rowsAtCheckpoint;
+        private long rowsImported;
+        private long rowsFailed;
+
+        private ImportRun(TableImport tableImport, TableDefinition tableDef, String connectionUuid, SqlDialect dialect, JdbcTemplate jdbcTemplate) {
+            this.tableImport = tableImport;
+            this.tableDef = tableDef;
+            this.connectionUuid = connectionUuid;
+            this.dialect = dialect;
+            this.jdbcTemplate = jdbcTemplate;
+            this.loadMethod = switch (dialect) {
+                case POSTGRESQL -> LOAD_COPY;
+                case MYSQL -> LOAD_DATA;
+                default -> LOAD_BATCH;
+            };
+            tableDef.getColumns().forEach(column -> columns.put(column.getColumnName(), column));
+        }
+
+        /**
+         * Counts a rejected row and records it in the error file (up to easy.import.max-errors per import).
+         */
+        private void reject(long line, String message) {
+            rowsFailed++;
+            if (rowsFailed > maxErrors) {
+                return;
+            }
+            try {
+                if (errorWriter == null) {
+                    errorWriter = Files.newBufferedWriter(Paths.get(tableImport.getErrorFilePath()), StandardCharsets.UTF_8);
+                }
+                errorWriter.write(objectMapper.writeValueAsString(new ImportRowErrorDto(line, message)));
+                errorWriter.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write the error file: " + e.getMessage(), e);
+            }
+        }
+
+        private void flushErrors() {
+            if (errorWriter != null) {
+                try {
+                    errorWriter.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not write the error file: " + e.getMessage(), e);
+                }
+            }
+        }
+
+        private void closeErrors() {
+            if (errorWriter != null) {
+                try {
+                    errorWriter.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close the error file of import " + tableImport.getId() + ": " + e.getMessage());
+                }
+                errorWriter = null;
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes read from the uploaded file, for progress reporting.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.easy.tabledef.util;
+
+import com.easy.database.SqlDialect;
+import com.easy.tabledef.dto.AggregateSpecDto;
+import com.easy.tabledef.dto.AggregationRequestDto;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles an aggregation request (count/sum/avg/min/max with optional group-by and filter)
+ * into a single GROUP BY statement against a dynamic table, so only the aggregated rows leave the database.
+ * Date and datetime columns can be grouped by day with "<column>:day".
+ */
+@Component
+public class AggregationQueryCompiler {
+
+    public static final int MAX_GROUP_BY_COLUMNS = 5;
+    public static final int MAX_AGGREGATES = 20;
+
+    private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+    private static final Set<String> NUMERIC_TYPES = Set.of("int", "integer", "long", "decimal", "double");
+    private static final Set<String> FUNCTIONS = Set.of("count", "sum", "avg", "min", "max");
+    private static final Set<String> DATE_TYPES = Set.of("date", "datetime");
+    private static final String DAY_BUCKET = "day";
+
+    @Autowired
+    private FilterQueryCompiler filterQueryCompiler;
+
+    /**
+     * A group-by entry: a column, or a date/datetime column bucketed by day ("created_at:day").
+     */
+    public static class GroupTerm {
+        private final String name;
+        private final String column;
+        private final ColumnDefinition columnDefinition;
+        private final boolean dayBucket;
+
+        GroupTerm(String name, String column, ColumnDefinition columnDefinition, boolean dayBucket) {
+            this.name = name;
+            this.column = column;
+            this.columnDefinition = columnDefinition;
+            this.dayBucket = dayBucket;
+        }
+
+        /**
+         * @return The result column name (the column name, or "<column>_day" for day buckets).
+         */
+        public String getName() {
+            return name;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        /**
+         * @return The source column, or null for system_row_id.
+         */
+        public ColumnDefinition getColumnDefinition() {
+            return columnDefinition;
+        }
+
+        public boolean isDayBucket() {
+            return dayBucket;
+        }
+
+        /**
+         * @return The SQL expression of this term over the source table.
+         */
+        public String expression(SqlDialect dialect) {
+            return dayBucket ? dialect.truncateToDay(dialect.quote(column)) : dialect.quote(column);
+        }
+    }
+
+    /**
+     * A validated aggregate: function (lower case), optional field and result alias.
+     */
+    public static class AggregateTerm {
+        private final String function;
+        private final String field;
+        private final ColumnDefinition columnDefinition;
+        private final String alias;
+
+        AggregateTerm(String function, String field, ColumnDefinition columnDefinition, String alias) {
+            this.function = function;
+            this.field = field;
+            this.columnDefinition = columnDefinition;
+            this.alias = alias;
+        }
+
+        public String getFunction() {
+            return function;
+        }
+
+        /**
+         * @return The aggregated column, or null for count(*).
+         */
+        public String getField() {
+            return field;
+        }
+
+        /**
+         * @return The aggregated column's definition, or null for count(*) and system_row_id.
+         */
+        public ColumnDefinition getColumnDefinition() {
+            return columnDefinition;
+        }
+
+        public String getAlias() {
+            return alias;
+        }
+
+        /**
+         * @return The aggregate call over the source table, e.g. SUM("amount").
+         */
+        public String expression(SqlDialect dialect) {
+            return function.toUpperCase() + "(" + (field == null ? "*" : dialect.quote(field)) + ")";
+        }
+    }
+
+    /**
+     * The compiled statement plus the names of its result columns.
+     */
+    public static class CompiledAggregation {
+        private final SqlFragment statement;
+        private final List<String> groupBy;
+        private final List<String> aggregateAliases;
+
+        CompiledAggregation(SqlFragment statement, List<String> groupBy, List<String> aggregateAliases) {
+            this.statement = statement;
+            this.groupBy = groupBy;
+            this.aggregateAliases = aggregateAliases;
+        }
+
+        public SqlFragment getStatement() {
+            return statement;
+        }
+
+        public List<String> getGroupBy() {
+            return groupBy;
+        }
+
+        public List<String> getAggregateAliases() {
+            return aggregateAliases;
+        }
+    }
+
+    /**
+     * Compiles the request.
+     *
+     * @param dialect The tenant database dialect.
+     * @param tableDef The table to aggregate.
+     * @param request The aggregates, group-by columns and filter.
+     * @param maxGroups The number of groups to fetch (callers pass their limit + 1 to detect truncation).
+     * @return The compiled statement; grouped statements are ordered by the group columns.
+     * @throws IllegalArgumentException if a function, column or alias is invalid, or sum/avg targets a non-numeric column.
+     */
+    public CompiledAggregation compile(SqlDialect dialect, TableDefinition tableDef, AggregationRequestDto request, int maxGroups) {
+        List<GroupTerm> groupTerms = resolveGroupBy(tableDef, request.getGroupBy());
+        List<AggregateTerm> aggregateTerms = resolveAggregates(tableDef, request.getAggregates(), groupTerms);
+
+        List<String> selectTerms = new ArrayList<>();
+        List<String> groupExpressions = new ArrayList<>();
+        for (GroupTerm groupTerm : groupTerms) {
+            String expression = groupTerm.expression(dialect);
+            groupExpressions.add(expression);
+            selectTerms.add(groupTerm.isDayBucket() ? expression + " AS " + dialect.quote(groupTerm.getName()) : expression);
+        }
+        for (AggregateTerm aggregateTerm : aggregateTerms) {
+            selectTerms.add(aggregateTerm.expression(dialect) + " AS " + dialect.quote(aggregateTerm.getAlias()));
+        }
+
+        SqlFragment where = filterQueryCompiler.compileWhere(dialect, tableDef, null, request.getFilter());
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", selectTerms))
+                .append(" FROM ").append(dialect.quote(tableDef.getFinalTableName()));
+        if (!where.isEmpty()) {
+            sql.append(" WHERE ").append(where.getSql());
+        }
+        String statement = sql.toString();
+        if (!groupExpressions.isEmpty()) {
+            String groupColumns = String.join(", ", groupExpressions);
+            statement = dialect.limit(statement + " GROUP BY " + groupColumns + " ORDER BY " + groupColumns, maxGroups);
+        }
+        return new CompiledAggregation(new SqlFragment(statement, new ArrayList<>(where.getParameters())),
+                groupTerms.stream().map(GroupTerm::getName).collect(Collectors.toList()),
+                aggregateTerms.stream().map(AggregateTerm::getAlias).collect(Collectors.toList()));
+    }
+
+    /**
+     * Validates group-by entries: column names, or "<column>:day" for date/datetime columns. Duplicates are dropped.
+     *
+     * @throws IllegalArgumentException if there are too many entries, a column is unknown or a bucket is invalid.
+     */
+    public List<GroupTerm> resolveGroupBy(TableDefinition tableDef, List<String> groupBy) {
+        List<String> entries = groupBy != null ? new ArrayList<>(new LinkedHashSet<>(groupBy)) : new ArrayList<>();
+        if (entries.size() > MAX_GROUP_BY_COLUMNS) {
+            throw new IllegalArgumentException("At most " + MAX_GROUP_BY_COLUMNS + " group-by columns are allowed.");
+        }
+        Map<String, ColumnDefinition> columns = columnsByName(tableDef);
+        List<GroupTerm> terms = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (String entry : entries) {
+            if (entry == null) {
+                throw new IllegalArgumentException("Group-by column cannot be null.");
+            }
+            int separator = entry.indexOf(':');
+            String column = separator < 0 ? entry : entry.substring(0, separator);
+            if (!columns.containsKey(column) && !SYSTEM_UUID_COLUMN_NAME.equals(column)) {
+                throw new IllegalArgumentException("Unknown group-by column '" + column + "'.");
+            }
+            ColumnDefinition columnDef = columns.get(column);
+            GroupTerm term;
+            if (separator < 0) {
+                term = new GroupTerm(column, column, columnDef, false);
+            } else {
+                String bucket = entry.substring(separator + 1);
+                if (!DAY_BUCKET.equalsIgnoreCase(bucket)) {
+                    throw new IllegalArgumentException("Unsupported group-by bucket '" + bucket + "'. Supported: day.");
+                }
+                if (columnDef == null || columnDef.getColumnType() == null || !DATE_TYPES.contains(columnDef.getColumnType().toLowerCase())) {
+                    throw new IllegalArgumentException("Group-by bucket 'day' requires a date or datetime column; '" + column + "' is not.");
+                }
+                term = new GroupTerm(column + "_" + DAY_BUCKET, column, columnDef, true);
+            }
+            if (!names.add(term.getName())) {
+                throw new IllegalArgumentException("Duplicate group-by column '" + term.getName() + "'.");
+            }
+            terms.add(term);
+        }
+        return terms;
+    }
+
+    /**
+     * Validates aggregates and assigns their result aliases.
+     *
+     * @param groupTerms The resolved group-by terms; aliases may not collide with their names.
+     * @throws IllegalArgumentException if a function, column or alias is invalid, or sum/avg targets a non-numeric column.
+     */
+    public List<AggregateTerm> resolveAggregates(TableDefinition tableDef, List<AggregateSpecDto> aggregates, List<GroupTerm> groupTerms) {
+        if (aggregates == null || aggregates.isEmpty()) {
+            throw new IllegalArgumentException("At least one aggregate is required.");
+        }
+        if (aggregates.size() > MAX_AGGREGATES) {
+            throw new IllegalArgumentException("At most " + MAX_AGGREGATES + " aggregates are allowed.");
+        }
+        Map<String, ColumnDefinition> columns = columnsByName(tableDef);
+        Set<String> resultNames = new LinkedHashSet<>();
+        groupTerms.forEach(g -> resultNames.add(g.getName()));
+
+        List<AggregateTerm> terms = new ArrayList<>();
+        for (AggregateSpecDto aggregate : aggregates) {
+            String function = aggregate.getFunction() == null ? "" : aggregate.getFunction().toLowerCase();
+            if (!FUNCTIONS.contains(function)) {
+                throw new IllegalArgumentException("Unsupported aggregate function '" + aggregate.getFunction() + "'. Supported: count, sum, avg, min, max.");
+            }
+            String field = aggregate.getField();
+            ColumnDefinition column = null;
+            if (field == null || field.isEmpty()) {
+                if (!function.equals("count")) {
+                    throw new IllegalArgumentException("Aggregate '" + function + "' requires a field.");
+                }
+                field = null;
+            } else {
+                column = columns.get(field);
+                if (column == null && !SYSTEM_UUID_COLUMN_NAME.equals(field)) {
+                    throw new IllegalArgumentException("Unknown aggregate field '" + field + "'.");
+                }
+                if ((function.equals("sum") || function.equals("avg")) && !isNumeric(column)) {
+                    throw new IllegalArgumentException("Aggregate '" + function + "' requires a numeric column; '" + field + "' is "
+                            + (column != null ? column.getColumnType() : "uuid") + ".");
+                }
+            }
+
+            String alias = aggregate.getAlias() != null && !aggregate.getAlias().isEmpty() ? aggregate.getAlias()
+                    : (field == null ? function : function + "_" + field);
+            if (!resultNames.add(alias)) {
+                throw new IllegalArgumentException("Duplicate result column '" + alias + "'; give the aggregate a distinct alias.");
+            }
+            terms.add(new AggregateTerm(function, field, column, alias));
+        }
+        return terms;
+    }
+
+    private static boolean isNumeric(ColumnDefinition column) {
+        return column != null && !column.isReference() && column.getColumnType() != null
+                && NUMERIC_TYPES.contains(column.getColumnType().toLowerCase());
+    }
+
+    private static Map<String, ColumnDefinition> columnsByName(TableDefinition tableDef) {
+        Map<String, ColumnDefinition> columns = new HashMap<>();
+        tableDef.getColumns().forEach(c -> columns.put(c.getColumnName(), c));
+        return columns;
+    }
+}
@@ -0,0 +1,97 @@
+package com.easy.tabledef.util;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Conversions between request values and the Java types expected by JDBC for a ColumnDefinition.columnType.
+ */
+public final class ColumnTypes {
+
+    private ColumnTypes() {
+    }
+
+    /**
+     * Maps a ColumnDefinition.columnType to the SQL type used for its physical column.
+     *
+     * @throws IllegalArgumentException if the column type is not supported.
+     */
+    public static String sqlType(String columnType) {
+        return switch (columnType.toLowerCase()) {
+            case "varchar", "string" -> "VARCHAR(255)";
+            case "text" -> "TEXT";
+            case "int", "integer" -> "INT";
+            case "long" -> "BIGINT";
+            case "boolean" -> "BOOLEAN";
+            case "date" -> "DATE";
+            case "datetime" -> "DATETIME";
+            case "decimal", "double" -> "DECIMAL(10, 2)";
+            case "uuid" -> "VARCHAR(36)";
+            case "reference" -> "VARCHAR(36)";
+            case "email" -> "VARCHAR(36)";
+            case "password" -> "VARCHAR(36)";
+            default -> throw new IllegalArgumentException("Unsupported column type: " + columnType);
+        };
+    }
+
+    /**
+     * Whether values of a column type are stored as text, so an empty string is a value rather than a missing one.
+     */
+    public static boolean isTextual(String columnType) {
+        return switch (columnType.toLowerCase()) {
+            case "varchar", "string", "text", "uuid", "reference", "email", "password" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Converts a value (typically a String from a request or page token) into the JDBC type
+     * that matches the given column type, so it can be bound as a query parameter.
+     *
+     * @param columnType The ColumnDefinition.columnType (e.g., "int", "datetime").
+     * @param value The raw value.
+     * @return The converted value, or the value unchanged for text-like types.
+     * @throws IllegalArgumentException if the value cannot be converted.
+     */
+    public static Object coerce(String columnType, Object value) {
+        if (value == null || columnType == null) {
+            return value;
+        }
+        String text = value.toString().trim();
+        try {
+            return switch (columnType.toLowerCase()) {
+                case "int", "integer" -> value instanceof Number n ? Integer.valueOf(n.intValue()) : Integer.valueOf(text);
+                case "long" -> value instanceof Number n ? Long.valueOf(n.longValue()) : Long.valueOf(text);
+                case "decimal", "double" -> value instanceof BigDecimal ? value : new BigDecimal(text);
+                case "boolean" -> value instanceof Boolean ? value : parseBoolean(text);
+                case "date" -> value instanceof java.sql.Date ? value : java.sql.Date.valueOf(LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text));
+                case "datetime" -> toTimestamp(value, text);
+                default -> value instanceof String ? value : text;
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Value '" + text + "' is not a valid " + columnType + ".", e);
+        }
+    }
+
+    private static Object toTimestamp(Object value, String text) {
+        if (value instanceof Timestamp) {
+            return value;
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return Timestamp.valueOf(localDateTime);
+        }
+        return text.indexOf('T') > 0 ? Timestamp.valueOf(LocalDateTime.parse(text)) : Timestamp.valueOf(text);
+    }
+
+    private static Boolean parseBoolean(String text) {
+        if ("true".equalsIgnoreCase(text) || "1".equals(text)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(text) || "0".equals(text)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + text);
+    }
+}
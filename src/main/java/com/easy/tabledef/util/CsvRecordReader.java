@@ -0,0 +1,133 @@
+package com.easy.tabledef.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader: returns one record at a time, so a file of any size is read with
+ * a fixed buffer. Quoted fields may contain commas, doubled quotes and line breaks; records end with
+ * CRLF, LF or CR. An empty unquoted field is returned as null, an empty quoted field ("") as "".
+ * A leading byte order mark is skipped.
+ */
+public class CsvRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean started;
+
+    private long line = 1;
+    private long recordLine;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The fields of the record, or null at the end of the input.
+     * @throws IOException if reading fails or a quoted field is not terminated.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c == '"' && !quoted && field.length() == 0) {
+                quoted = true;
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field in the record starting on line " + recordLine + ".");
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue; // c is the character after the closing quote
+            }
+            if (c == ',') {
+                fields.add(quoted || field.length() > 0 ? field.toString() : null);
+                field.setLength(0);
+                quoted = false;
+                c = read();
+                continue;
+            }
+            if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(quoted || field.length() > 0 ? field.toString() : null);
+                return fields;
+            }
+            field.append((char) c);
+            c = read();
+        }
+    }
+
+    /**
+     * The line the last record returned by {@link #readRecord} started on (1-based).
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = reader.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -1,5 +1,7 @@
 package com.easy.tabledef.util;
 
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.database.SqlDialect;
 import com.easy.tabledef.model.ColumnDefinition;
 import com.easy.tabledef.model.TableDefinition;
 import com.easy.tabledef.repository.TableDefinitionRepository;
@@ -9,42 +11,105 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Component
 public class DynamicTableAccessor {
 
+    private static final int REFERENCE_LOOKUP_CHUNK_SIZE = 500;
+    private static final int MAX_CACHED_LAYOUTS = 1024;
+    private static final Pattern IDENTIFIER = Pattern.compile("^[a-zA-Z0-9_]+$");
+    private static final String SYSTEM_ROW_ID_COLUMN = "system_row_id";
+
+    // Compiled row layouts keyed by RowLayout.signature; a changed definition compiles to a new key
+    private final Map<String, RowLayout> rowLayouts = new ConcurrentHashMap<>();
+
     // --- CRUD operations for dynamic tables ---
     @Autowired
     private TableDefinitionRepository tableDefinitionRepository;
+
+    @Autowired
+    private ReferenceValueCache referenceValueCache;
+
+    @Autowired
+    private SqlTemplateCache sqlTemplateCache;
+
+    @Autowired
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    /**
+     * Drops the cached SQL templates of a table; call it whenever the table's definition changes.
+     */
+    public void evictSqlTemplates(String tableName) {
+        sqlTemplateCache.evictTable(tableName);
+    }
+
+    /**
+     * Inserts a row. Null values are left out, so the columns' defaults apply.
+     * The statement is cached per sorted column set and values are bound in that order.
+     */
     public int insert(JdbcTemplate jdbcTemplate, String tableName, Map<String, Object> rowData) {
-        // Basic validation for table name to prevent SQL injection
-        if (!tableName.matches("^[a-zA-Z0-9_]+$")) {
-            throw new IllegalArgumentException("Invalid table name: " + tableName);
+        List<String> columns = new ArrayList<>(rowData.size());
+        for (Map.Entry<String, Object> entry : rowData.entrySet()) {
+            if (entry.getValue() != null) {
+                columns.add(entry.getKey());
+            }
         }
+        Collections.sort(columns);
+        SqlTemplateCache.SqlTemplate template = insertTemplate(tableName, columns);
+        return jdbcTemplate.update(template.getSql(), template.bind(rowData));
+    }
 
-        Map<String, Object> filteredRowData = rowData.entrySet().stream()
-                .filter(entry -> entry.getValue() != null)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        String columns = filteredRowData.keySet().stream()
-                .map(key -> "`" + key + "`") // Quote column names
-                .collect(Collectors.joining(", "));
-        String placeholders = filteredRowData.keySet().stream()
-                .map(key -> "?")
-                .collect(Collectors.joining(", "));
+    /**
+     * Inserts many rows sharing the same columns with one JDBC batch. The statement is built once; MySQL and
+     * PostgreSQL connections are opened with rewriteBatchedStatements / reWriteBatchedInserts, so their drivers
+     * send the batch as multi-row INSERTs.
+     *
+     * @param columns The columns every row provides, in the order of the row values.
+     * @param rows The values of each row.
+     * @return The update count per row (drivers that rewrite batches may report Statement.SUCCESS_NO_INFO).
+     */
+    public int[] insertBatch(JdbcTemplate jdbcTemplate, String tableName, List<String> columns, List<Object[]> rows) {
+        return jdbcTemplate.batchUpdate(insertSql(tableName, columns), rows);
+    }
 
-        String sql = String.format("INSERT INTO `%s` (%s) VALUES (%s)", tableName, columns, placeholders);
-        Object[] values = filteredRowData.values().toArray();
+    /**
+     * @return INSERT INTO `table` (`c1`, ...) VALUES (?, ...) for the given columns.
+     */
+    public String insertSql(String tableName, List<String> columns) {
+        return insertTemplate(tableName, columns).getSql();
+    }
 
-        return jdbcTemplate.update(sql, values);
+    private SqlTemplateCache.SqlTemplate insertTemplate(String tableName, List<String> columns) {
+        return sqlTemplateCache.get("insert", tableName, columns, () -> {
+            if (!isIdentifier(tableName) || !columns.stream().allMatch(DynamicTableAccessor::isIdentifier)) {
+                throw new IllegalArgumentException("Invalid table or column name for insert: " + tableName);
+            }
+            String sql = "INSERT INTO `" + tableName + "` (" + quotedList(columns, "") + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+            return new SqlTemplateCache.SqlTemplate(sql, columns);
+        });
     }
 
     public List<Map<String, Object>> selectAll(JdbcTemplate jdbcTemplate, String tableName) {
+        return selectAll(jdbcTemplate, tableName, null);
+    }
+
+    /**
+     * Selects all rows of a table, reading only the given columns.
+     *
+     * @param jdbcTemplate The JdbcTemplate for the target database.
+     * @param tableName The physical name of the table.
+     * @param columns The columns to select; null or empty selects all columns.
+     * @return The rows.
+     */
+    public List<Map<String, Object>> selectAll(JdbcTemplate jdbcTemplate, String tableName, List<String> columns) {
         if (!tableName.matches("^[a-zA-Z0-9_]+$")) {
             throw new IllegalArgumentException("Invalid table name: " + tableName);
         }
-        String sql = "SELECT * FROM `" + tableName + "`";
+        String sql = "SELECT " + selectList(columns) + " FROM `" + tableName + "`";
         return jdbcTemplate.queryForList(sql);
     }
 
@@ -58,10 +123,27 @@ public class DynamicTableAccessor {
      * @return An Optional containing the row data, or empty if not found.
      */
     public Optional<Map<String, Object>> selectById(JdbcTemplate jdbcTemplate, String tableName, String idColumnName, Object idValue) {
-        if (!tableName.matches("^[a-zA-Z0-9_]+$") || !idColumnName.matches("^[a-zA-Z0-9_]+$")) {
-            throw new IllegalArgumentException("Invalid table or column name for selectById.");
+        return selectById(jdbcTemplate, tableName, idColumnName, idValue, null);
+    }
+
+    /**
+     * Selects a single row by a specified column and its value, reading only the given columns.
+     *
+     * @param columns The columns to select; null or empty selects all columns.
+     * @return An Optional containing the row data, or empty if not found.
+     */
+    public Optional<Map<String, Object>> selectById(JdbcTemplate jdbcTemplate, String tableName, String idColumnName, Object idValue, List<String> columns) {
+        List<String> key = new ArrayList<>(columns != null ? columns.size() + 1 : 1);
+        key.add(idColumnName);
+        if (columns != null) {
+            key.addAll(columns);
         }
-        String sql = String.format("SELECT * FROM `%s` WHERE `%s` = ?", tableName, idColumnName);
+        String sql = sqlTemplateCache.get("selectById", tableName, key, () -> {
+            if (!isIdentifier(tableName) || !isIdentifier(idColumnName)) {
+                throw new IllegalArgumentException("Invalid table or column name for selectById.");
+            }
+            return new SqlTemplateCache.SqlTemplate("SELECT " + selectList(columns) + " FROM `" + tableName + "` WHERE `" + idColumnName + "` = ?", List.of());
+        }).getSql();
         try {
             return Optional.of(jdbcTemplate.queryForMap(sql, idValue));
         } catch (EmptyResultDataAccessException e) {
@@ -71,61 +153,304 @@ public class DynamicTableAccessor {
         }
     }
 
-    public int update(JdbcTemplate jdbcTemplate, String tableName, Map<String, Object> updateData, String filterColumn, Object filterValue) {
-        if (!tableName.matches("^[a-zA-Z0-9_]+$") || !filterColumn.matches("^[a-zA-Z0-9_]+$")) {
-            throw new IllegalArgumentException("Invalid table or filter column name for update.");
+    /**
+     * Builds the SELECT list for an explicit column projection (backtick-quoted), or "*" when none is given.
+     */
+    private String selectList(List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            return "*";
+        }
+        for (String column : columns) {
+            if (!isIdentifier(column)) {
+                throw new IllegalArgumentException("Invalid column name in projection: " + column);
+            }
         }
+        return quotedList(columns, "");
+    }
 
-        String setClause = updateData.keySet().stream()
-                .map(key -> "`" + key + "` = ?") // Quote column names
-                .collect(Collectors.joining(", "));
-        String sql = String.format("UPDATE `%s` SET %s WHERE `%s` = ?", tableName, setClause, filterColumn);
+    /**
+     * Joins backtick-quoted column names, each followed by the given suffix (e.g. " = ?").
+     */
+    private static String quotedList(List<String> columns, String suffix) {
+        StringBuilder sql = new StringBuilder();
+        for (String column : columns) {
+            if (sql.length() > 0) {
+                sql.append(", ");
+            }
+            sql.append('`').append(column).append('`').append(suffix);
+        }
+        return sql.toString();
+    }
 
-        Object[] values = new Object[updateData.size() + 1];
-        int i = 0;
-        for (Object value : updateData.values()) {
-            values[i++] = value;
+    private static boolean isIdentifier(String name) {
+        return name != null && IDENTIFIER.matcher(name).matches();
+    }
+
+    /**
+     * Returns the compiled row layout for a table definition (or a projected copy of one), compiling it on first use.
+     *
+     * @param tableDef The table whose columns make up the layout.
+     * @return The shared, immutable layout.
+     */
+    public RowLayout layoutFor(TableDefinition tableDef) {
+        String signature = RowLayout.signature(tableDef);
+        RowLayout layout = rowLayouts.get(signature);
+        if (layout == null) {
+            if (rowLayouts.size() >= MAX_CACHED_LAYOUTS) {
+                rowLayouts.clear(); // Stale signatures of edited tables; recompiling is cheap
+            }
+            layout = rowLayouts.computeIfAbsent(signature, k -> RowLayout.compile(tableDef));
         }
-        values[i] = filterValue;
+        return layout;
+    }
 
-        return jdbcTemplate.update(sql, values);
+    /**
+     * Runs a query and reads each row into a compact array of the given layout.
+     *
+     * @param jdbcTemplate The JdbcTemplate for the target database.
+     * @param sql The SELECT statement; its result columns are matched to layout slots by name.
+     * @param layout The row layout.
+     * @param params The statement parameters.
+     * @return The rows as arrays indexed by layout slot.
+     */
+    public List<Object[]> queryRows(JdbcTemplate jdbcTemplate, String sql, RowLayout layout, Object... params) {
+        return jdbcTemplate.query(sql, layout.rowMapper(), params);
+    }
+
+    /**
+     * Selects all rows of a table as compact arrays.
+     *
+     * @param columns The columns to select; null or empty selects all columns.
+     * @see #selectAll(JdbcTemplate, String, List)
+     */
+    public List<Object[]> selectAllRows(JdbcTemplate jdbcTemplate, String tableName, RowLayout layout, List<String> columns) {
+        if (!tableName.matches("^[a-zA-Z0-9_]+$")) {
+            throw new IllegalArgumentException("Invalid table name: " + tableName);
+        }
+        return queryRows(jdbcTemplate, "SELECT " + selectList(columns) + " FROM `" + tableName + "`", layout);
+    }
+
+    /**
+     * Updates the rows matching a filter. The statement is cached per sorted set of updated columns
+     * (the filter column is the last key entry) and values are bound in that order.
+     */
+    public int update(JdbcTemplate jdbcTemplate, String tableName, Map<String, Object> updateData, String filterColumn, Object filterValue) {
+        List<String> columns = new ArrayList<>(updateData.keySet());
+        Collections.sort(columns);
+        List<String> key = new ArrayList<>(columns);
+        key.add(filterColumn);
+        SqlTemplateCache.SqlTemplate template = sqlTemplateCache.get("update", tableName, key, () -> {
+            if (!isIdentifier(tableName) || !isIdentifier(filterColumn) || !columns.stream().allMatch(DynamicTableAccessor::isIdentifier)) {
+                throw new IllegalArgumentException("Invalid table or filter column name for update.");
+            }
+            String sql = "UPDATE `" + tableName + "` SET " + quotedList(columns, " = ?") + " WHERE `" + filterColumn + "` = ?";
+            return new SqlTemplateCache.SqlTemplate(sql, columns);
+        });
+        return jdbcTemplate.update(template.getSql(), template.bind(updateData, filterValue));
     }
 
     public int delete(JdbcTemplate jdbcTemplate, String tableName, String filterColumn, Object filterValue) {
-        if (!tableName.matches("^[a-zA-Z0-9_]+$") || !filterColumn.matches("^[a-zA-Z0-9_]+$")) {
-            throw new IllegalArgumentException("Invalid table or filter column name for delete.");
+        return jdbcTemplate.update(filterTemplate("delete", "DELETE FROM `", tableName, filterColumn).getSql(), filterValue);
+    }
+
+    /**
+     * Updates every row matching a condition with one statement.
+     *
+     * @param updateData The new values; columns are written in sorted order.
+     * @param where The condition (without WHERE), e.g. compiled by FilterQueryCompiler.
+     * @return The number of rows affected.
+     */
+    public int updateWhere(JdbcTemplate jdbcTemplate, SqlDialect dialect, String tableName, Map<String, Object> updateData, SqlFragment where) {
+        List<String> columns = new ArrayList<>(updateData.keySet());
+        Collections.sort(columns);
+        List<Object> parameters = new ArrayList<>(columns.size() + where.getParameters().size());
+        StringBuilder sql = new StringBuilder("UPDATE ").append(dialect.quote(tableName)).append(" SET ");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append(dialect.quote(columns.get(i))).append(" = ?");
+            parameters.add(updateData.get(columns.get(i)));
         }
-        String sql = String.format("DELETE FROM `%s` WHERE `%s` = ?", tableName, filterColumn);
-        return jdbcTemplate.update(sql, filterValue);
+        sql.append(" WHERE ").append(where.getSql());
+        parameters.addAll(where.getParameters());
+        return jdbcTemplate.update(sql.toString(), parameters.toArray());
+    }
+
+    /**
+     * Deletes every row matching a condition with one statement.
+     *
+     * @param where The condition (without WHERE).
+     * @return The number of rows affected.
+     */
+    public int deleteWhere(JdbcTemplate jdbcTemplate, SqlDialect dialect, String tableName, SqlFragment where) {
+        String sql = "DELETE FROM " + dialect.quote(tableName) + " WHERE " + where.getSql();
+        return jdbcTemplate.update(sql, where.getParameters().toArray());
+    }
+
+    /**
+     * Selects the system_row_id of the rows matching a condition, in system_row_id order.
+     *
+     * @param where The condition (without WHERE).
+     * @param limit The maximum number of IDs to return; null for all.
+     * @return The matching row IDs.
+     */
+    public List<String> selectSystemRowIdsWhere(JdbcTemplate jdbcTemplate, SqlDialect dialect, String tableName, SqlFragment where, Integer limit) {
+        String sql = "SELECT " + dialect.quote(SYSTEM_ROW_ID_COLUMN) + " FROM " + dialect.quote(tableName)
+                + " WHERE " + where.getSql() + " ORDER BY " + dialect.quote(SYSTEM_ROW_ID_COLUMN);
+        return jdbcTemplate.queryForList(limit != null ? dialect.limit(sql, limit) : sql, String.class, where.getParameters().toArray());
     }
 
     /**
-     * Checks if a row with a specific value exists in a given column of a table.
+     * Selects the system_row_id of every row matching a filter column and value (the rows an update or delete with the same filter affects).
+     *
+     * @param jdbcTemplate The JdbcTemplate for the target database.
+     * @param tableName The physical name of the table.
+     * @param filterColumn The column to filter by.
+     * @param filterValue The value to match.
+     * @return The matching row IDs.
+     */
+    public List<String> selectSystemRowIds(JdbcTemplate jdbcTemplate, String tableName, String filterColumn, Object filterValue) {
+        String sql = filterTemplate("selectRowIds", "SELECT `system_row_id` FROM `", tableName, filterColumn).getSql();
+        return jdbcTemplate.queryForList(sql, String.class, filterValue);
+    }
+
+    /**
+     * Cached "&lt;prefix&gt;table` WHERE `filterColumn` = ?" statement.
+     */
+    private SqlTemplateCache.SqlTemplate filterTemplate(String operation, String prefix, String tableName, String filterColumn) {
+        return sqlTemplateCache.get(operation, tableName, List.of(filterColumn), () -> {
+            if (!isIdentifier(tableName) || !isIdentifier(filterColumn)) {
+                throw new IllegalArgumentException("Invalid table or filter column name for " + operation + ".");
+            }
+            return new SqlTemplateCache.SqlTemplate(prefix + tableName + "` WHERE `" + filterColumn + "` = ?", List.of());
+        });
+    }
+
+    /**
+     * Finds which of the given values occur in a column. Each value is compared by the database itself
+     * (`column` = ?), so the column's collation decides what matches, e.g. case-insensitive and
+     * trailing-space-insensitive comparisons on MySQL. One statement per chunk of values: the rows are found
+     * with an IN list and a single result row flags, per input position, whether any of them equals that
+     * value, so the matched inputs are reported as given even when several inputs match the same row.
      *
      * @param jdbcTemplate The JdbcTemplate for the target database.
      * @param finalTableName The physical name of the table.
      * @param columnName The name of the column to check.
-     * @param value The value to look for.
-     * @return True if a row exists, false otherwise.
+     * @param values The values to look for.
+     * @return The subset of the given values that match a row.
      */
-    public boolean checkRowExists(JdbcTemplate jdbcTemplate, String finalTableName, String columnName, String value) {
+    public Set<String> selectExistingValues(JdbcTemplate jdbcTemplate, String finalTableName, String columnName, Collection<String> values) {
         if (!finalTableName.matches("^[a-zA-Z0-9_]+$") || !columnName.matches("^[a-zA-Z0-9_]+$")) {
             throw new IllegalArgumentException("Invalid table or column name for existence check.");
         }
-        String sql = String.format("SELECT COUNT(*) FROM `%s` WHERE `%s` = ?", finalTableName, columnName);
-        try {
-            Integer count = jdbcTemplate.queryForObject(sql, Integer.class, value);
-            return count != null && count > 0;
-        } catch (Exception e) {
-            System.err.println("Error checking row existence in table " + finalTableName + " for column " + columnName + " with value " + value + ": " + e.getMessage());
-            return false;
+        List<String> valueList = new ArrayList<>(new LinkedHashSet<>(values));
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < valueList.size(); from += REFERENCE_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = valueList.subList(from, Math.min(from + REFERENCE_LOOKUP_CHUNK_SIZE, valueList.size()));
+            List<String> flags = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                flags.add("MAX(CASE WHEN `" + columnName + "` = ? THEN 1 ELSE 0 END)");
+            }
+            String sql = "SELECT " + String.join(", ", flags) + " FROM `" + finalTableName + "` WHERE `" + columnName + "` IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            List<Object> parameters = new ArrayList<>(chunk.size() * 2);
+            parameters.addAll(chunk);
+            parameters.addAll(chunk);
+            jdbcTemplate.query(sql, rs -> {
+                // No matching row yields a single row of NULLs
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (rs.getInt(i + 1) == 1) {
+                        existing.add(chunk.get(i));
+                    }
+                }
+            }, parameters.toArray());
+        }
+        return existing;
+    }
+
+    /**
+     * Upserts many rows sharing the same columns with one JDBC batch of the dialect's native upsert statement.
+     * Existing rows (matched on keyColumn) get every column except the key and system_row_id overwritten.
+     *
+     * @param insertRowAlias Whether the database accepts INSERT row aliases (see DynamicDataSourceManager#supportsInsertRowAlias).
+     * @param columns The columns every row provides, in the order of the row values; must include keyColumn.
+     * @param rows The values of each row.
+     * @return The update count per row (as reported by the driver; MySQL reports 2 for an updated row).
+     */
+    public int[] upsertBatch(JdbcTemplate jdbcTemplate, SqlDialect dialect, boolean insertRowAlias, String tableName, String keyColumn,
+                             List<String> columns, List<Object[]> rows) {
+        return jdbcTemplate.batchUpdate(upsertSql(dialect, insertRowAlias, tableName, keyColumn, columns), rows);
+    }
+
+    /**
+     * @return The cached native upsert statement of the dialect for the given key and columns.
+     * @see SqlDialect#upsert
+     */
+    public String upsertSql(SqlDialect dialect, boolean insertRowAlias, String tableName, String keyColumn, List<String> columns) {
+        List<String> key = new ArrayList<>(columns.size() + 1);
+        key.add(keyColumn);
+        key.addAll(columns);
+        return sqlTemplateCache.get("upsert:" + dialect.name() + (insertRowAlias ? ":alias" : ""), tableName, key, () -> {
+            if (!columns.contains(keyColumn)) {
+                throw new IllegalArgumentException("Upsert columns must include the key column '" + keyColumn + "'.");
+            }
+            List<String> updateColumns = columns.stream()
+                    .filter(c -> !c.equals(keyColumn) && !c.equals(SYSTEM_ROW_ID_COLUMN))
+                    .collect(Collectors.toList());
+            return new SqlTemplateCache.SqlTemplate(dialect.upsert(tableName, keyColumn, columns, updateColumns, insertRowAlias), columns);
+        }).getSql();
+    }
+
+    /**
+     * Looks up the system_row_id of the rows holding the given key values. Keys are compared by the database
+     * (`key` = ?), so the column's collation decides what matches, and results are reported by input position:
+     * one IN (...) query per chunk whose CASE returns the position of the first input each row matches. Inputs
+     * that the collation treats as equal to an earlier one are matched by a further query over the remaining inputs.
+     *
+     * @param keyColumn A unique column of the table.
+     * @param keyValues The key values to look up.
+     * @return The system_row_id of the row matching each key value, in input order; null for keys without a row.
+     */
+    public String[] selectSystemRowIdsByKey(JdbcTemplate jdbcTemplate, SqlDialect dialect, String tableName, String keyColumn,
+                                            List<?> keyValues) {
+        String key = dialect.quote(keyColumn);
+        String[] rowIds = new String[keyValues.size()];
+        // Every key is bound twice, in the CASE and in the IN list
+        int chunkSize = Math.max(1, dialect.maxInListSize() / 2);
+        List<Integer> pending = new ArrayList<>(keyValues.size());
+        for (int i = 0; i < keyValues.size(); i++) {
+            pending.add(i);
+        }
+        while (!pending.isEmpty()) {
+            List<Integer> unmatched = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += chunkSize) {
+                List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+                StringBuilder position = new StringBuilder("CASE");
+                List<Object> parameters = new ArrayList<>(chunk.size() * 2);
+                for (int i = 0; i < chunk.size(); i++) {
+                    position.append(" WHEN ").append(key).append(" = ? THEN ").append(i);
+                    parameters.add(keyValues.get(chunk.get(i)));
+                }
+                chunk.forEach(i -> parameters.add(keyValues.get(i)));
+                String sql = "SELECT " + position + " END, " + dialect.quote(SYSTEM_ROW_ID_COLUMN) + " FROM " + dialect.quote(tableName)
+                        + " WHERE " + key + " IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                jdbcTemplate.query(sql, rs -> {
+                    rowIds[chunk.get(rs.getInt(1))] = rs.getString(2);
+                }, parameters.toArray());
+                chunk.stream().filter(i -> rowIds[i] == null).forEach(unmatched::add);
+            }
+            if (unmatched.size() == pending.size()) {
+                break;
+            }
+            pending = unmatched;
         }
+        return rowIds;
     }
 
     /**
      * Resolves reference columns in a list of raw data rows using the provided JdbcTemplate.
      * It replaces the reference UUID with a display name and adds a separate _id field.
-     * THIS IS THE MISSING METHOD.
+     * Each reference column is resolved once for the whole list: the referenced TableDefinition and its
+     * display column are looked up once, and the distinct IDs are fetched with chunked IN (...) queries.
+     * This variant does not use the reference cache.
      *
      * @param jdbcTemplate The JdbcTemplate connected to the correct dynamic database (passed from service).
      * @param currentTableDef The TableDefinition of the table from which rows were fetched.
@@ -133,6 +458,24 @@ public class DynamicTableAccessor {
      * @return A list of maps with reference columns resolved.
      */
     public List<Map<String, Object>> resolveReferenceColumns(
+            JdbcTemplate jdbcTemplate,
+            TableDefinition currentTableDef,
+            List<Map<String, Object>> rawRows) {
+        return resolveReferenceColumns(null, jdbcTemplate, currentTableDef, rawRows);
+    }
+
+    /**
+     * Resolves reference columns in a list of raw data rows, serving referenced rows from the
+     * {@link ReferenceValueCache} where possible and fetching only the missing IDs.
+     *
+     * @param tenantKey The DatabaseConnectionDetails UUID the rows were read from (cache namespace); null bypasses the cache.
+     * @param jdbcTemplate The JdbcTemplate connected to the correct dynamic database (passed from service).
+     * @param currentTableDef The TableDefinition of the table from which rows were fetched.
+     * @param rawRows A list of maps, where each map is a raw row from the database.
+     * @return A list of maps with reference columns resolved.
+     */
+    public List<Map<String, Object>> resolveReferenceColumns(
+            String tenantKey,
             JdbcTemplate jdbcTemplate, // This parameter is crucial
             TableDefinition currentTableDef,
             List<Map<String, Object>> rawRows) {
@@ -157,7 +500,25 @@ public class DynamicTableAccessor {
             return rawRows; // No reference columns to resolve, return as is
         }
 
-        List<Map<String, Object>> resolvedRows = new ArrayList<>();
+        // Step 1: For each reference column, resolve all distinct IDs found in the rows in one pass.
+        Map<String, Optional<TableDefinition>> referencedTables = new HashMap<>();
+        Map<String, Map<String, String>> displayValuesByColumn = new HashMap<>();
+        Map<String, String> failureMarkerByColumn = new HashMap<>();
+
+        for (ColumnDefinition refCol : referenceColumns) {
+            String refColumnName = refCol.getColumnName();
+            Set<String> distinctIds = new LinkedHashSet<>();
+            for (Map<String, Object> rawRow : rawRows) {
+                Object refId = rawRow.get(refColumnName);
+                if (refId != null && !refId.toString().isEmpty()) {
+                    distinctIds.add(refId.toString());
+                }
+            }
+            resolveDisplayValues(tenantKey, jdbcTemplate, refCol, distinctIds, referencedTables, displayValuesByColumn, failureMarkerByColumn);
+        }
+
+        // Step 2: Rewrite every row from the resolved lookups; the output shape is unchanged.
+        List<Map<String, Object>> resolvedRows = new ArrayList<>(rawRows.size());
 
         for (Map<String, Object> rawRow : rawRows) {
             Map<String, Object> newRow = new HashMap<>(rawRow); // Create a mutable copy of the row
@@ -166,67 +527,317 @@ public class DynamicTableAccessor {
                 String refColumnName = refCol.getColumnName(); // e.g., "manager_ref"
                 Object refId = rawRow.get(refColumnName); // Get the UUID value from the current row
 
-                // Only attempt to resolve if the reference ID is not null or empty
                 if (refId != null && !refId.toString().isEmpty()) {
-                    String referencedTableId = refCol.getReferencedTableIdRef(); // UUID of the referenced TableDefinition
-                    String referencedColumnLogicalName = refCol.getReferencedColumnLogicalName(); // e.g., "system_row_id" in the referenced table
-
-                    // Step 1: Look up the definition of the referenced table using its ID
-                    Optional<TableDefinition> referencedTableOpt = tableDefinitionRepository.findById(referencedTableId);
-
-                    if (referencedTableOpt.isPresent()) {
-                        TableDefinition referencedTableDef = referencedTableOpt.get();
-                        String referencedFinalTableName = referencedTableDef.getFinalTableName(); // Actual database table name
-
-                        // Step 2: Determine the display column from the referenced table's definition
-                        // Prioritize "name", "display_name", then any VARCHAR/TEXT column, fallback to the referenced ID column itself.
-                        String displayColumnToFetch = referencedTableDef.getColumns().stream()
-                                .filter(c -> c.getColumnName().equalsIgnoreCase("name") ||
-                                        c.getColumnName().equalsIgnoreCase("display_name") ||
-                                        c.getColumnType().equalsIgnoreCase("varchar") ||
-                                        c.getColumnType().equalsIgnoreCase("text"))
-                                .map(ColumnDefinition::getColumnName)
-                                .findFirst()
-                                .orElse(referencedColumnLogicalName); // Fallback: use the column that holds the ID
-
-                        // Step 3: Construct and execute the SQL query to get the display value
-                        String querySql = String.format("SELECT %s FROM %s WHERE %s = ?",
-                                displayColumnToFetch, referencedFinalTableName, referencedColumnLogicalName);
-
-                        try {
-                            // QueryForObject expects exactly one result; if not found, EmptyResultDataAccessException is thrown.
-                            String displayValue = jdbcTemplate.queryForObject(querySql, String.class, refId.toString());
-                            newRow.put(refColumnName + "_id", refId); // Add the ID with _id suffix
-                            newRow.put(refColumnName + "_display_name", displayValue); // Add the resolved display name
-                            newRow.remove(refColumnName); // Remove the original column (which contained just the ID)
-                        } catch (EmptyResultDataAccessException e) {
-                            // No matching row found in the referenced table for this ID
-                            newRow.put(refColumnName + "_id", refId);
-                            newRow.put(refColumnName + "_display_name", null); // Or "[Not Found]"
-                            newRow.remove(refColumnName);
-                        } catch (Exception e) {
-                            // General SQL or other exceptions during lookup
-                            System.err.println("Error resolving reference column '" + refColumnName + "' for ID '" + refId + "': " + e.getMessage());
-                            newRow.put(refColumnName + "_id", refId);
-                            newRow.put(refColumnName + "_display_name", "[Error]"); // Indicate an error occurred
-                            newRow.remove(refColumnName);
-                        }
-                    } else {
-                        // The TableDefinition for the referenced table was not found in our metadata
-                        newRow.put(refColumnName + "_id", refId);
-                        newRow.put(refColumnName + "_display_name", "[Ref Table Def Missing]");
-                        newRow.remove(refColumnName);
-                    }
+                    String failureMarker = failureMarkerByColumn.get(refColumnName);
+                    Map<String, String> displayValues = displayValuesByColumn.get(refColumnName);
+                    newRow.put(refColumnName + "_id", refId); // Add the ID with _id suffix
+                    // A missing entry means no matching row in the referenced table (display name stays null)
+                    newRow.put(refColumnName + "_display_name", failureMarker != null ? failureMarker
+                            : displayValues != null ? displayValues.get(refId.toString()) : null);
                 } else {
                     // The original reference ID was null or empty in the row
                     newRow.put(refColumnName + "_id", null);
                     newRow.put(refColumnName + "_display_name", null);
-                    newRow.remove(refColumnName);
                 }
+                newRow.remove(refColumnName); // Remove the original column (which contained just the ID)
             }
             resolvedRows.add(newRow); // Add the potentially modified row to the list
         }
 
         return resolvedRows;
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolves reference columns of rows read as compact arrays, building the output maps directly
+     * (one exactly-sized map per row, no intermediate copies). The output shape matches the map-based variant:
+     * each reference column is replaced by "<column>_id" and "<column>_display_name".
+     *
+     * @param tenantKey The DatabaseConnectionDetails UUID the rows were read from (cache namespace); null bypasses the cache.
+     * @param jdbcTemplate The JdbcTemplate connected to the correct dynamic database.
+     * @param currentTableDef The TableDefinition (or projected copy) the layout was compiled from.
+     * @param layout The layout of the rows.
+     * @param rows The rows as arrays indexed by layout slot.
+     * @return A list of maps with reference columns resolved.
+     */
+    public List<Map<String, Object>> resolveReferenceColumns(
+            String tenantKey,
+            JdbcTemplate jdbcTemplate,
+            TableDefinition currentTableDef,
+            RowLayout layout,
+            List<Object[]> rows) {
+
+        Map<String, Map<String, String>> displayValuesByColumn = new HashMap<>();
+        Map<String, String> failureMarkerByColumn = new HashMap<>();
+        lookupDisplayValues(tenantKey, jdbcTemplate, currentTableDef, layout, rows, displayValuesByColumn, failureMarkerByColumn);
+        int referenceCount = 0;
+        for (int slot = 0; slot < layout.size(); slot++) {
+            if (layout.isReference(slot)) {
+                referenceCount++;
+            }
+        }
+
+        int capacity = RowLayout.mapCapacity(layout.size() + referenceCount);
+        List<Map<String, Object>> resolvedRows = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> resolvedRow = new LinkedHashMap<>(capacity);
+            for (int slot = 0; slot < layout.size(); slot++) {
+                String columnName = layout.columnName(slot);
+                Object value = row[slot];
+                if (!layout.isReference(slot) || jdbcTemplate == null) {
+                    resolvedRow.put(columnName, value);
+                } else if (value != null && !value.toString().isEmpty()) {
+                    resolvedRow.put(columnName + "_id", value);
+                    resolvedRow.put(columnName + "_display_name", displayValue(columnName, value, displayValuesByColumn, failureMarkerByColumn));
+                } else {
+                    resolvedRow.put(columnName + "_id", null);
+                    resolvedRow.put(columnName + "_display_name", null);
+                }
+            }
+            resolvedRows.add(resolvedRow);
+        }
+        return resolvedRows;
+    }
+
+    /**
+     * The column names of rows resolved by {@link #resolveReferenceColumnsToArrays}: the layout's columns in slot
+     * order, with each reference column replaced by "<column>_id" and "<column>_display_name".
+     */
+    public static List<String> resolvedColumnNames(RowLayout layout) {
+        List<String> columns = new ArrayList<>(layout.size() * 2);
+        for (int slot = 0; slot < layout.size(); slot++) {
+            String columnName = layout.columnName(slot);
+            if (layout.isReference(slot)) {
+                columns.add(columnName + "_id");
+                columns.add(columnName + "_display_name");
+            } else {
+                columns.add(columnName);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Resolves reference columns of rows read as compact arrays into positional arrays aligned with
+     * {@link #resolvedColumnNames}, for columnar responses. The lookups are the same as for the map variant,
+     * but no per-row map is built.
+     *
+     * @param tenantKey The DatabaseConnectionDetails UUID the rows were read from (cache namespace); null bypasses the cache.
+     * @param jdbcTemplate The JdbcTemplate connected to the correct dynamic database.
+     * @param currentTableDef The TableDefinition (or projected copy) the layout was compiled from.
+     * @param layout The layout of the rows.
+     * @param rows The rows as arrays indexed by layout slot.
+     * @return One array per row, with the reference ID and display value in place of each reference column.
+     */
+    public List<Object[]> resolveReferenceColumnsToArrays(
+            String tenantKey,
+            JdbcTemplate jdbcTemplate,
+            TableDefinition currentTableDef,
+            RowLayout layout,
+            List<Object[]> rows) {
+
+        Map<String, Map<String, String>> displayValuesByColumn = new HashMap<>();
+        Map<String, String> failureMarkerByColumn = new HashMap<>();
+        lookupDisplayValues(tenantKey, jdbcTemplate, currentTableDef, layout, rows, displayValuesByColumn, failureMarkerByColumn);
+        int width = 0;
+        for (int slot = 0; slot < layout.size(); slot++) {
+            width += layout.isReference(slot) ? 2 : 1;
+        }
+
+        List<Object[]> resolvedRows = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] resolvedRow = new Object[width];
+            int position = 0;
+            for (int slot = 0; slot < layout.size(); slot++) {
+                Object value = row[slot];
+                if (!layout.isReference(slot)) {
+                    resolvedRow[position++] = value;
+                } else if (value != null && !value.toString().isEmpty()) {
+                    resolvedRow[position++] = value;
+                    resolvedRow[position++] = jdbcTemplate != null
+                            ? displayValue(layout.columnName(slot), value, displayValuesByColumn, failureMarkerByColumn) : null;
+                } else {
+                    position += 2;
+                }
+            }
+            resolvedRows.add(resolvedRow);
+        }
+        return resolvedRows;
+    }
+
+    /**
+     * Looks up the display values of every reference column in the layout, one batch per column.
+     */
+    private void lookupDisplayValues(String tenantKey, JdbcTemplate jdbcTemplate, TableDefinition currentTableDef, RowLayout layout,
+                                     List<Object[]> rows, Map<String, Map<String, String>> displayValuesByColumn,
+                                     Map<String, String> failureMarkerByColumn) {
+        if (jdbcTemplate == null) {
+            System.err.println("JdbcTemplate is null in DynamicTableAccessor.resolveReferenceColumns. Reference resolution will fail for some rows.");
+            return;
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, Optional<TableDefinition>> referencedTables = new HashMap<>();
+        for (ColumnDefinition refCol : currentTableDef.getColumns()) {
+            int slot = layout.slotOf(refCol.getColumnName());
+            if (!refCol.isReference() || slot < 0) {
+                continue;
+            }
+            Set<String> distinctIds = new LinkedHashSet<>();
+            for (Object[] row : rows) {
+                Object refId = row[slot];
+                if (refId != null && !refId.toString().isEmpty()) {
+                    distinctIds.add(refId.toString());
+                }
+            }
+            resolveDisplayValues(tenantKey, jdbcTemplate, refCol, distinctIds, referencedTables, displayValuesByColumn, failureMarkerByColumn);
+        }
+    }
+
+    private static String displayValue(String columnName, Object refId, Map<String, Map<String, String>> displayValuesByColumn,
+                                       Map<String, String> failureMarkerByColumn) {
+        String failureMarker = failureMarkerByColumn.get(columnName);
+        if (failureMarker != null) {
+            return failureMarker;
+        }
+        Map<String, String> displayValues = displayValuesByColumn.get(columnName);
+        return displayValues != null ? displayValues.get(refId.toString()) : null;
+    }
+
+    /**
+     * Looks up the display values of one reference column for a set of IDs, recording either the
+     * values or a failure marker ("[Ref Table Def Missing]" / "[Error]") under the column name.
+     */
+    private void resolveDisplayValues(String tenantKey, JdbcTemplate jdbcTemplate, ColumnDefinition refCol, Set<String> distinctIds,
+                                      Map<String, Optional<TableDefinition>> referencedTables,
+                                      Map<String, Map<String, String>> displayValuesByColumn,
+                                      Map<String, String> failureMarkerByColumn) {
+        String refColumnName = refCol.getColumnName();
+        if (distinctIds.isEmpty()) {
+            return;
+        }
+
+        Optional<TableDefinition> referencedTableOpt = referencedTables.computeIfAbsent(
+                refCol.getReferencedTableIdRef(), tableDefinitionRepository::findById);
+        if (referencedTableOpt.isEmpty()) {
+            // The TableDefinition for the referenced table was not found in our metadata
+            failureMarkerByColumn.put(refColumnName, "[Ref Table Def Missing]");
+            return;
+        }
+
+        TableDefinition referencedTableDef = referencedTableOpt.get();
+        String referencedColumnLogicalName = refCol.getReferencedColumnLogicalName();
+        String displayColumnToFetch = getDisplayColumnName(referencedTableDef, referencedColumnLogicalName);
+        try {
+            displayValuesByColumn.put(refColumnName, lookupDisplayValues(tenantKey, jdbcTemplate, referencedTableDef.getFinalTableName(),
+                    referencedTableDef.getDataVersion(), referencedColumnLogicalName, displayColumnToFetch, distinctIds));
+        } catch (Exception e) {
+            // General SQL or other exceptions during lookup
+            System.err.println("Error resolving reference column '" + refColumnName + "': " + e.getMessage());
+            failureMarkerByColumn.put(refColumnName, "[Error]"); // Indicate an error occurred
+        }
+    }
+
+    /**
+     * Determines the column shown in place of a reference to the given table.
+     * Prioritizes "name", "display_name", then any VARCHAR/TEXT column, falling back to the referenced ID column itself.
+     */
+    public static String getDisplayColumnName(TableDefinition referencedTableDef, String referencedColumnLogicalName) {
+        return referencedTableDef.getColumns().stream()
+                .filter(c -> c.getColumnName().equalsIgnoreCase("name") ||
+                        c.getColumnName().equalsIgnoreCase("display_name") ||
+                        c.getColumnType().equalsIgnoreCase("varchar") ||
+                        c.getColumnType().equalsIgnoreCase("text"))
+                .map(ColumnDefinition::getColumnName)
+                .findFirst()
+                .orElse(referencedColumnLogicalName); // Fallback: use the column that holds the ID
+    }
+
+    /**
+     * Fetches a referenced row by its key column, going through the reference cache.
+     * Cache misses are read from the tenant's primary, so a lagging replica never fills the cache.
+     *
+     * @param tenantKey The DatabaseConnectionDetails UUID (cache namespace); null bypasses the cache.
+     * @param jdbcTemplate The JdbcTemplate for the target database.
+     * @param referencedTableDef The TableDefinition of the referenced table.
+     * @param keyColumnName The column in the referenced table that holds the reference value.
+     * @param idValue The reference value.
+     * @return An Optional containing the (read-only) referenced row, or empty if not found.
+     */
+    public Optional<Map<String, Object>> selectReferencedRow(String tenantKey, JdbcTemplate jdbcTemplate, TableDefinition referencedTableDef,
+                                                             String keyColumnName, String idValue) {
+        String finalTableName = referencedTableDef.getFinalTableName();
+        long dataVersion = referencedTableDef.getDataVersion();
+        ReferenceValueCache.CachedReference cached = referenceValueCache.get(tenantKey, finalTableName, keyColumnName, idValue, dataVersion);
+        if (cached != null) {
+            return Optional.of(cached.getRow());
+        }
+        long generation = referenceValueCache.generation(tenantKey, finalTableName);
+        Optional<Map<String, Object>> row = selectById(cacheFillTemplate(tenantKey, jdbcTemplate), finalTableName, keyColumnName, idValue);
+        row.ifPresent(r -> {
+            Object displayValue = r.get(getDisplayColumnName(referencedTableDef, keyColumnName));
+            referenceValueCache.put(tenantKey, finalTableName, keyColumnName, idValue,
+                    displayValue != null ? displayValue.toString() : null, r, generation, dataVersion);
+        });
+        return row;
+    }
+
+    /**
+     * Fetches display values for a set of IDs from a referenced table. Cached IDs are served from the
+     * reference cache; the rest are read from the tenant's primary with chunked IN (...) queries and added to the cache.
+     *
+     * @param dataVersion The TableDefinition.dataVersion of the referenced table, which cached entries must match.
+     * @return A map of ID to display value; IDs with no matching row are absent.
+     */
+    private Map<String, String> lookupDisplayValues(String tenantKey, JdbcTemplate jdbcTemplate, String finalTableName, long dataVersion,
+                                                    String idColumnName, String displayColumnName, Collection<String> ids) {
+        if (!finalTableName.matches("^[a-zA-Z0-9_]+$") || !idColumnName.matches("^[a-zA-Z0-9_]+$") || !displayColumnName.matches("^[a-zA-Z0-9_]+$")) {
+            throw new IllegalArgumentException("Invalid table or column name for reference lookup.");
+        }
+        Map<String, String> displayValues = new HashMap<>();
+        List<String> idList = new ArrayList<>();
+        for (String id : ids) {
+            ReferenceValueCache.CachedReference cached = referenceValueCache.get(tenantKey, finalTableName, idColumnName, id, dataVersion);
+            if (cached != null) {
+                displayValues.put(id, cached.getDisplayValue());
+            } else {
+                idList.add(id);
+            }
+        }
+        if (idList.isEmpty()) {
+            return displayValues;
+        }
+
+        long generation = referenceValueCache.generation(tenantKey, finalTableName);
+        JdbcTemplate fillTemplate = cacheFillTemplate(tenantKey, jdbcTemplate);
+        for (int from = 0; from < idList.size(); from += REFERENCE_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = idList.subList(from, Math.min(from + REFERENCE_LOOKUP_CHUNK_SIZE, idList.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            String querySql = String.format("SELECT * FROM %s WHERE %s IN (%s)", finalTableName, idColumnName, placeholders);
+            for (Map<String, Object> refRow : fillTemplate.queryForList(querySql, chunk.toArray())) {
+                Object id = refRow.get(idColumnName);
+                Object displayValue = refRow.get(displayColumnName);
+                if (id == null) {
+                    continue;
+                }
+                String displayString = displayValue != null ? displayValue.toString() : null;
+                displayValues.put(id.toString(), displayString);
+                referenceValueCache.put(tenantKey, finalTableName, idColumnName, id.toString(), displayString, refRow, generation, dataVersion);
+            }
+        }
+        return displayValues;
+    }
+
+    /**
+     * The JdbcTemplate to read cache misses with: the tenant's primary, since a replica may lag behind
+     * a dataVersion bump and its rows would then be cached as current. Without a tenant key nothing is
+     * cached and the given template is used.
+     */
+    private JdbcTemplate cacheFillTemplate(String tenantKey, JdbcTemplate jdbcTemplate) {
+        if (tenantKey == null) {
+            return jdbcTemplate;
+        }
+        JdbcTemplate primary = dynamicDataSourceManager.findPrimaryJdbcTemplate(tenantKey);
+        return primary != null ? primary : jdbcTemplate;
+    }
+}
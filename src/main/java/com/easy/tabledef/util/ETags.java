@@ -0,0 +1,49 @@
+package com.easy.tabledef.util;
+
+/**
+ * Helpers for conditional GET handling on the data endpoints.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Checks an If-None-Match header against the current ETag.
+     * Handles "*", comma-separated lists and weak (W/) validators.
+     *
+     * @param ifNoneMatch The If-None-Match request header, or null.
+     * @param eTag The current quoted ETag.
+     * @return True if the client's copy is current and a 304 can be returned.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Derives the ETag of another representation of the same data (e.g. the columnar form), so that caches keyed
+     * on the tag never hand one representation to a client that asked for the other.
+     *
+     * @param eTag The quoted ETag of the default representation.
+     * @param representation A short token naming the representation, e.g. "columnar".
+     * @return The quoted ETag with "-representation" appended inside the quotes.
+     */
+    public static String forRepresentation(String eTag, String representation) {
+        if (eTag.length() > 1 && eTag.endsWith("\"")) {
+            return eTag.substring(0, eTag.length() - 1) + "-" + representation + "\"";
+        }
+        return eTag + "-" + representation;
+    }
+}
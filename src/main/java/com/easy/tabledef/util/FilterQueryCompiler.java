@@ -0,0 +1,214 @@
+package com.easy.tabledef.util;
+
+import com.easy.database.SqlDialect;
+import com.easy.tabledef.dto.FilterCriteriaDto;
+import com.easy.tabledef.dto.SortSpecDto;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles filter and sort requests into parameterized SQL for a dynamic table.
+ * Every field is checked against the table's ColumnDefinitions (plus system_row_id) and every value is
+ * converted to the column's JDBC type, so comparisons stay index-friendly and nothing from the request
+ * is concatenated into the SQL except validated, quoted identifiers.
+ */
+@Component
+public class FilterQueryCompiler {
+
+    public static final int MAX_NESTING_DEPTH = 8;
+    public static final int MAX_IN_VALUES = 1000;
+
+    private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+    private static final Set<String> TEXT_TYPES = Set.of("varchar", "string", "text", "email", "uuid", "reference");
+
+    /**
+     * Compiles a filter tree into a WHERE condition (without the WHERE keyword).
+     *
+     * @param dialect The tenant database dialect.
+     * @param tableDef The table being filtered.
+     * @param tableAlias Optional alias to qualify column names with (e.g., "t0"); null for none.
+     * @param filter The filter tree; null yields an empty fragment.
+     * @return The condition and its parameters.
+     * @throws IllegalArgumentException if a field, operator or value is invalid.
+     */
+    public SqlFragment compileWhere(SqlDialect dialect, TableDefinition tableDef, String tableAlias, FilterCriteriaDto filter) {
+        if (filter == null) {
+            return SqlFragment.empty();
+        }
+        List<Object> parameters = new ArrayList<>();
+        String sql = compileNode(dialect, columnTypes(tableDef), tableAlias, filter, parameters, 1);
+        return new SqlFragment(sql, parameters);
+    }
+
+    /**
+     * Compiles a sort specification into an ORDER BY list (without the ORDER BY keywords).
+     * system_row_id is always appended as the final tie-breaker so the order is deterministic.
+     *
+     * @throws IllegalArgumentException if a field or direction is invalid.
+     */
+    public String compileOrderBy(SqlDialect dialect, TableDefinition tableDef, String tableAlias, List<SortSpecDto> sort) {
+        Map<String, String> columnTypes = columnTypes(tableDef);
+        List<String> terms = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        if (sort != null) {
+            for (SortSpecDto spec : sort) {
+                String column = resolveColumn(columnTypes, spec.getField());
+                if (!seen.add(column)) {
+                    continue;
+                }
+                String direction = spec.getDirection() == null ? "asc" : spec.getDirection().toLowerCase();
+                if (!direction.equals("asc") && !direction.equals("desc")) {
+                    throw new IllegalArgumentException("Invalid sort direction '" + spec.getDirection() + "'. Expected 'asc' or 'desc'.");
+                }
+                terms.add(qualify(dialect, tableAlias, column) + " " + direction.toUpperCase());
+            }
+        }
+        if (!seen.contains(SYSTEM_UUID_COLUMN_NAME)) {
+            terms.add(qualify(dialect, tableAlias, SYSTEM_UUID_COLUMN_NAME) + " ASC");
+        }
+        return String.join(", ", terms);
+    }
+
+    /**
+     * Parses a compact sort parameter such as "name,-created_at" ('-' prefix means descending).
+     */
+    public static List<SortSpecDto> parseSortParameter(String sortParameter) {
+        List<SortSpecDto> sort = new ArrayList<>();
+        if (sortParameter == null || sortParameter.isBlank()) {
+            return sort;
+        }
+        for (String term : sortParameter.split(",")) {
+            String trimmed = term.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            boolean descending = trimmed.startsWith("-");
+            sort.add(new SortSpecDto(descending ? trimmed.substring(1) : trimmed, descending ? "desc" : "asc"));
+        }
+        return sort;
+    }
+
+    private String compileNode(SqlDialect dialect, Map<String, String> columnTypes, String tableAlias,
+                               FilterCriteriaDto node, List<Object> parameters, int depth) {
+        if (depth > MAX_NESTING_DEPTH) {
+            throw new IllegalArgumentException("Filter is nested too deeply (maximum depth is " + MAX_NESTING_DEPTH + ").");
+        }
+        boolean hasAnd = node.getAnd() != null;
+        boolean hasOr = node.getOr() != null;
+        boolean hasCondition = node.getField() != null || node.getOp() != null;
+        if ((hasAnd ? 1 : 0) + (hasOr ? 1 : 0) + (hasCondition ? 1 : 0) != 1) {
+            throw new IllegalArgumentException("Each filter must have exactly one of 'and', 'or', or a 'field' condition.");
+        }
+        if (hasAnd || hasOr) {
+            List<FilterCriteriaDto> children = hasAnd ? node.getAnd() : node.getOr();
+            if (children.isEmpty()) {
+                throw new IllegalArgumentException("Filter groups ('and' / 'or') cannot be empty.");
+            }
+            List<String> parts = new ArrayList<>();
+            for (FilterCriteriaDto child : children) {
+                if (child == null) {
+                    throw new IllegalArgumentException("Filter groups cannot contain null entries.");
+                }
+                parts.add(compileNode(dialect, columnTypes, tableAlias, child, parameters, depth + 1));
+            }
+            return parts.size() == 1 ? parts.get(0) : "(" + String.join(hasAnd ? " AND " : " OR ", parts) + ")";
+        }
+        return compileCondition(dialect, columnTypes, tableAlias, node, parameters);
+    }
+
+    private String compileCondition(SqlDialect dialect, Map<String, String> columnTypes, String tableAlias,
+                                    FilterCriteriaDto condition, List<Object> parameters) {
+        String column = resolveColumn(columnTypes, condition.getField());
+        String columnType = columnTypes.get(column);
+        String quoted = qualify(dialect, tableAlias, column);
+        String op = condition.getOp() == null ? "eq" : condition.getOp().toLowerCase().replace('-', '_');
+
+        switch (op) {
+            case "eq" -> {
+                if (condition.getValue() == null) {
+                    throw new IllegalArgumentException("Filter 'eq' on '" + column + "' requires a value (use 'is_null' to match nulls).");
+                }
+                parameters.add(ColumnTypes.coerce(columnType, condition.getValue()));
+                return quoted + " = ?";
+            }
+            case "in" -> {
+                List<Object> values = condition.getValues();
+                if (values == null || values.isEmpty()) {
+                    throw new IllegalArgumentException("Filter 'in' on '" + column + "' requires a non-empty 'values' list.");
+                }
+                if (values.size() > MAX_IN_VALUES) {
+                    throw new IllegalArgumentException("Filter 'in' on '" + column + "' accepts at most " + MAX_IN_VALUES + " values.");
+                }
+                for (Object value : values) {
+                    if (value == null) {
+                        throw new IllegalArgumentException("Filter 'in' on '" + column + "' cannot contain null values.");
+                    }
+                    parameters.add(ColumnTypes.coerce(columnType, value));
+                }
+                return quoted + " IN (" + String.join(", ", Collections.nCopies(values.size(), "?")) + ")";
+            }
+            case "range" -> {
+                if (condition.getFrom() == null && condition.getTo() == null) {
+                    throw new IllegalArgumentException("Filter 'range' on '" + column + "' requires 'from' and/or 'to'.");
+                }
+                List<String> bounds = new ArrayList<>();
+                if (condition.getFrom() != null) {
+                    parameters.add(ColumnTypes.coerce(columnType, condition.getFrom()));
+                    bounds.add(quoted + " >= ?");
+                }
+                if (condition.getTo() != null) {
+                    parameters.add(ColumnTypes.coerce(columnType, condition.getTo()));
+                    bounds.add(quoted + " <= ?");
+                }
+                return bounds.size() == 1 ? bounds.get(0) : "(" + String.join(" AND ", bounds) + ")";
+            }
+            case "like" -> {
+                if (columnType != null && !TEXT_TYPES.contains(columnType.toLowerCase())) {
+                    throw new IllegalArgumentException("Filter 'like' is only supported on text columns; '" + column + "' is " + columnType + ".");
+                }
+                if (condition.getValue() == null) {
+                    throw new IllegalArgumentException("Filter 'like' on '" + column + "' requires a value.");
+                }
+                parameters.add(condition.getValue().toString());
+                return quoted + " LIKE ?";
+            }
+            case "is_null" -> {
+                boolean isNull = condition.getValue() == null || Boolean.parseBoolean(condition.getValue().toString());
+                return quoted + (isNull ? " IS NULL" : " IS NOT NULL");
+            }
+            default -> throw new IllegalArgumentException("Unsupported filter operator '" + condition.getOp() + "'. Supported: eq, in, range, like, is_null.");
+        }
+    }
+
+    /**
+     * Maps each filterable column of a table to its columnType; system_row_id is included as a uuid.
+     */
+    private Map<String, String> columnTypes(TableDefinition tableDef) {
+        Map<String, String> columnTypes = new HashMap<>();
+        columnTypes.put(SYSTEM_UUID_COLUMN_NAME, "uuid");
+        for (ColumnDefinition column : tableDef.getColumns()) {
+            columnTypes.put(column.getColumnName(), column.isReference() ? "reference" : column.getColumnType());
+        }
+        return columnTypes;
+    }
+
+    private String resolveColumn(Map<String, String> columnTypes, String field) {
+        if (field == null || !columnTypes.containsKey(field)) {
+            throw new IllegalArgumentException("Unknown column '" + field + "'.");
+        }
+        return field;
+    }
+
+    private String qualify(SqlDialect dialect, String tableAlias, String column) {
+        return (tableAlias != null ? tableAlias + "." : "") + dialect.quote(column);
+    }
+}
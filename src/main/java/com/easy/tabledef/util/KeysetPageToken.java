@@ -0,0 +1,75 @@
+package com.easy.tabledef.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opaque continuation token for keyset pagination over a dynamic table.
+ * Holds the sort column and the sort value / system_row_id of the last row returned,
+ * so the next page can start strictly after it without an OFFSET scan.
+ */
+public final class KeysetPageToken {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String orderColumn;
+    private final String lastValue;
+    private final String lastRowId;
+
+    public KeysetPageToken(String orderColumn, String lastValue, String lastRowId) {
+        this.orderColumn = orderColumn;
+        this.lastValue = lastValue;
+        this.lastRowId = lastRowId;
+    }
+
+    public String getOrderColumn() {
+        return orderColumn;
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+
+    public String getLastRowId() {
+        return lastRowId;
+    }
+
+    /**
+     * Serializes this token to a URL-safe string.
+     */
+    public String encode() {
+        Map<String, String> payload = new HashMap<>();
+        payload.put("c", orderColumn);
+        payload.put("v", lastValue);
+        payload.put("id", lastRowId);
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(payload);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode page token: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses a token previously produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    @SuppressWarnings("unchecked")
+    public static KeysetPageToken decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            Map<String, String> payload = OBJECT_MAPPER.readValue(json, Map.class);
+            if (payload.get("c") == null || payload.get("id") == null) {
+                throw new IllegalArgumentException("Page token is missing required fields.");
+            }
+            return new KeysetPageToken(payload.get("c"), payload.get("v"), payload.get("id"));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid page token.", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.easy.tabledef.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Writes rows from a streaming ResultSet to an output stream as NDJSON (one JSON object per line).
+ * Rows are buffered in small chunks so reference columns can be resolved per chunk;
+ * memory use is bounded by the chunk size, not by the table size.
+ */
+public class NdjsonRowCallbackHandler implements RowCallbackHandler {
+
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+    private final JsonGenerator generator;
+    private final UnaryOperator<List<Map<String, Object>>> chunkProcessor;
+    private final int chunkSize;
+    private final List<Map<String, Object>> buffer;
+    private long rowCount;
+    private int rowNum;
+
+    /**
+     * @param outputStream The stream to write to (left open).
+     * @param objectMapper The mapper used to serialize each row.
+     * @param chunkProcessor Applied to each chunk before writing (e.g., reference resolution).
+     */
+    public NdjsonRowCallbackHandler(OutputStream outputStream, ObjectMapper objectMapper, UnaryOperator<List<Map<String, Object>>> chunkProcessor) {
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(outputStream);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.chunkProcessor = chunkProcessor;
+        this.chunkSize = DEFAULT_CHUNK_SIZE;
+        this.buffer = new ArrayList<>(chunkSize);
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        buffer.add(rowMapper.mapRow(rs, rowNum++));
+        if (buffer.size() >= chunkSize) {
+            flushChunk();
+        }
+    }
+
+    /**
+     * Writes any buffered rows and flushes the underlying stream. Must be called once the ResultSet is exhausted.
+     *
+     * @return The total number of rows written.
+     */
+    public long finish() {
+        flushChunk();
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rowCount;
+    }
+
+    private void flushChunk() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        try {
+            for (Map<String, Object> row : chunkProcessor.apply(buffer)) {
+                generator.writeObject(row);
+                generator.writeRaw('\n');
+                rowCount++;
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write NDJSON rows: " + e.getMessage(), e);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,205 @@
+package com.easy.tabledef.util;
+
+import com.easy.database.SqlDialect;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Expands reference columns several levels deep (e.g., order -> customer -> region).
+ * The reference graph is walked breadth-first: at each level the IDs needed by all rows are collected and
+ * each referenced table is loaded with one batched IN (...) query (chunked by the dialect's limit), so the
+ * number of queries grows with depth x referenced tables, not with the number of rows.
+ *
+ * Each expanded reference is attached to its row as "<column>_details" (a copy of the referenced row,
+ * itself expanded on the next level). A row that was already expanded earlier in the walk is attached
+ * without being expanded again, which breaks reference cycles.
+ */
+@Component
+public class ReferenceExpander {
+
+    private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+
+    @Autowired
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Value("${easy.expand.max-depth:3}")
+    private int maxDepth;
+
+    @Value("${easy.expand.max-fan-out:1000}")
+    private int maxFanOut;
+
+    /**
+     * Checks a requested expansion depth.
+     *
+     * @throws IllegalArgumentException if the depth is negative or above the configured maximum.
+     */
+    public void validateDepth(int depth) {
+        if (depth < 0 || depth > maxDepth) {
+            throw new IllegalArgumentException("expand must be between 0 and " + maxDepth + ".");
+        }
+    }
+
+    /**
+     * Expands the reference columns of the given rows in place.
+     *
+     * @param dialect The tenant database dialect.
+     * @param jdbcTemplate The JdbcTemplate for the tenant database.
+     * @param tableDef The table the rows belong to.
+     * @param rows Mutable rows; the reference ID is read from "<column>" or, if absent, "<column>_id".
+     * @param depth How many levels to expand (0 does nothing).
+     * @throws IllegalArgumentException if the depth is invalid or a level would load more than the maximum fan-out.
+     */
+    public void expand(SqlDialect dialect, JdbcTemplate jdbcTemplate, TableDefinition tableDef, List<Map<String, Object>> rows, int depth) {
+        validateDepth(depth);
+        if (depth == 0 || rows == null || rows.isEmpty()) {
+            return;
+        }
+
+        Map<String, Optional<TableDefinition>> tableDefinitions = new HashMap<>();
+        Set<String> visited = new HashSet<>();
+        List<Node> frontier = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            frontier.add(new Node(tableDef, row));
+            visited.add(visitKey(tableDef, row));
+        }
+
+        for (int level = 1; level <= depth && !frontier.isEmpty(); level++) {
+            // 1. Collect every reference on this level, grouped by (referenced table, key column)
+            Map<LookupKey, Set<String>> idsByLookup = new LinkedHashMap<>();
+            List<Attachment> attachments = new ArrayList<>();
+            for (Node node : frontier) {
+                for (ColumnDefinition refCol : node.tableDef.getColumns()) {
+                    if (!refCol.isReference() || refCol.getReferencedTableIdRef() == null || refCol.getReferencedColumnLogicalName() == null) {
+                        continue;
+                    }
+                    Object refId = node.row.containsKey(refCol.getColumnName())
+                            ? node.row.get(refCol.getColumnName()) : node.row.get(refCol.getColumnName() + "_id");
+                    if (refId == null || refId.toString().isEmpty()) {
+                        continue;
+                    }
+                    Optional<TableDefinition> referencedTableDef = tableDefinitions.computeIfAbsent(
+                            refCol.getReferencedTableIdRef(), tableDefinitionRepository::findById);
+                    if (referencedTableDef.isEmpty()) {
+                        continue;
+                    }
+                    LookupKey lookupKey = new LookupKey(referencedTableDef.get(), refCol.getReferencedColumnLogicalName());
+                    idsByLookup.computeIfAbsent(lookupKey, k -> new LinkedHashSet<>()).add(refId.toString());
+                    attachments.add(new Attachment(node.row, refCol.getColumnName(), lookupKey, refId.toString()));
+                }
+            }
+
+            int fanOut = idsByLookup.values().stream().mapToInt(Set::size).sum();
+            if (fanOut > maxFanOut) {
+                throw new IllegalArgumentException("Reference expansion level " + level + " would load " + fanOut
+                        + " rows (maximum is " + maxFanOut + "). Reduce expand or the number of rows requested.");
+            }
+
+            // 2. One batched query per referenced table for this level
+            Map<LookupKey, Map<String, Map<String, Object>>> loaded = new HashMap<>();
+            for (Map.Entry<LookupKey, Set<String>> entry : idsByLookup.entrySet()) {
+                loaded.put(entry.getKey(), loadRows(dialect, jdbcTemplate, entry.getKey(), entry.getValue()));
+            }
+
+            // 3. Attach copies (never shared instances) and queue unvisited rows for the next level
+            List<Node> nextFrontier = new ArrayList<>();
+            for (Attachment attachment : attachments) {
+                Map<String, Object> referencedRow = loaded.get(attachment.lookupKey).get(attachment.refId);
+                if (referencedRow == null) {
+                    continue;
+                }
+                Map<String, Object> copy = new LinkedHashMap<>(referencedRow);
+                attachment.row.put(attachment.columnName + "_details", copy);
+                if (visited.add(visitKey(attachment.lookupKey.tableDef, copy))) {
+                    nextFrontier.add(new Node(attachment.lookupKey.tableDef, copy));
+                }
+            }
+            frontier = nextFrontier;
+        }
+    }
+
+    private Map<String, Map<String, Object>> loadRows(SqlDialect dialect, JdbcTemplate jdbcTemplate, LookupKey lookupKey, Set<String> ids) {
+        String keyColumn = lookupKey.keyColumn;
+        String selectSql = "SELECT * FROM " + dialect.quote(lookupKey.tableDef.getFinalTableName())
+                + " WHERE " + dialect.quote(keyColumn) + " IN (";
+        List<String> idList = new ArrayList<>(ids);
+        int chunkSize = dialect.maxInListSize();
+        Map<String, Map<String, Object>> rowsById = new HashMap<>();
+        for (int from = 0; from < idList.size(); from += chunkSize) {
+            List<String> chunk = idList.subList(from, Math.min(from + chunkSize, idList.size()));
+            String sql = selectSql + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            for (Map<String, Object> row : jdbcTemplate.queryForList(sql, chunk.toArray())) {
+                Object id = row.get(keyColumn);
+                if (id != null) {
+                    rowsById.put(id.toString(), row);
+                }
+            }
+        }
+        return rowsById;
+    }
+
+    private static String visitKey(TableDefinition tableDef, Map<String, Object> row) {
+        return tableDef.getId() + ":" + row.get(SYSTEM_UUID_COLUMN_NAME);
+    }
+
+    private static final class Node {
+        private final TableDefinition tableDef;
+        private final Map<String, Object> row;
+
+        private Node(TableDefinition tableDef, Map<String, Object> row) {
+            this.tableDef = tableDef;
+            this.row = row;
+        }
+    }
+
+    private static final class Attachment {
+        private final Map<String, Object> row;
+        private final String columnName;
+        private final LookupKey lookupKey;
+        private final String refId;
+
+        private Attachment(Map<String, Object> row, String columnName, LookupKey lookupKey, String refId) {
+            this.row = row;
+            this.columnName = columnName;
+            this.lookupKey = lookupKey;
+            this.refId = refId;
+        }
+    }
+
+    private static final class LookupKey {
+        private final TableDefinition tableDef;
+        private final String keyColumn;
+
+        private LookupKey(TableDefinition tableDef, String keyColumn) {
+            this.tableDef = tableDef;
+            this.keyColumn = keyColumn;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LookupKey other)) return false;
+            return tableDef.getId().equals(other.tableDef.getId()) && keyColumn.equals(other.keyColumn);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * tableDef.getId().hashCode() + keyColumn.hashCode();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.easy.tabledef.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A single SELECT that LEFT JOINs a dynamic table to the tables its reference columns point at,
+ * plus the mapping from the joined result back to the row shape the API returns.
+ * Built by {@link ReferenceJoinQueryPlanner}.
+ */
+public class ReferenceJoinPlan {
+
+    private final String sql;
+    private final List<JoinedReference> references;
+    private final boolean includeDetails;
+    private final Set<String> helperAliases = new HashSet<>();
+
+    ReferenceJoinPlan(String sql, List<JoinedReference> references, boolean includeDetails) {
+        this.sql = sql;
+        this.references = references;
+        this.includeDetails = includeDetails;
+        for (JoinedReference ref : references) {
+            if (ref.keyAlias != null) {
+                helperAliases.add(ref.keyAlias);
+                helperAliases.add(ref.displayAlias);
+                helperAliases.addAll(ref.detailAliases.keySet());
+            }
+        }
+    }
+
+    /**
+     * The SELECT ... FROM ... LEFT JOIN ... statement, without a WHERE clause.
+     * The base table is aliased as {@link ReferenceJoinQueryPlanner#BASE_ALIAS}.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Map<String, Object>> mapRows(List<Map<String, Object>> joinedRows) {
+        List<Map<String, Object>> rows = new ArrayList<>(joinedRows.size());
+        for (Map<String, Object> joinedRow : joinedRows) {
+            rows.add(mapRow(joinedRow));
+        }
+        return rows;
+    }
+
+    /**
+     * Converts one joined row into the API row shape.
+     * List mode matches DynamicTableAccessor.resolveReferenceColumns (<col>_id / <col>_display_name);
+     * details mode matches single-row reads (<col>_display / <col>_details alongside the original column).
+     *
+     * @param joinedRow A row from {@link #getSql()}; expected to be case-insensitive as returned by queryForList.
+     */
+    public Map<String, Object> mapRow(Map<String, Object> joinedRow) {
+        Map<String, Object> row = new HashMap<>();
+        for (Map.Entry<String, Object> entry : joinedRow.entrySet()) {
+            if (!helperAliases.contains(entry.getKey().toLowerCase())) {
+                row.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (JoinedReference ref : references) {
+            Object refId = joinedRow.get(ref.columnName);
+            if (includeDetails) {
+                if (ref.keyAlias != null && joinedRow.get(ref.keyAlias) != null) {
+                    Map<String, Object> details = new LinkedHashMap<>();
+                    ref.detailAliases.forEach((alias, columnName) -> details.put(columnName, joinedRow.get(alias)));
+                    row.put(ref.columnName + "_display", joinedRow.get(ref.keyAlias));
+                    row.put(ref.columnName + "_details", details);
+                }
+                continue;
+            }
+
+            if (refId == null || refId.toString().isEmpty()) {
+                row.put(ref.columnName + "_id", null);
+                row.put(ref.columnName + "_display_name", null);
+            } else if (ref.keyAlias == null) {
+                row.put(ref.columnName + "_id", refId);
+                row.put(ref.columnName + "_display_name", "[Ref Table Def Missing]");
+            } else {
+                Object displayValue = joinedRow.get(ref.displayAlias);
+                row.put(ref.columnName + "_id", refId);
+                row.put(ref.columnName + "_display_name", displayValue != null ? displayValue.toString() : null);
+            }
+            row.remove(ref.columnName);
+        }
+        return row;
+    }
+
+    /**
+     * One reference column of the base table and the aliases its joined values are selected under.
+     * keyAlias is null when the referenced table definition could not be found (no join is generated).
+     */
+    static final class JoinedReference {
+        private final String columnName;
+        private final String keyAlias;
+        private final String displayAlias;
+        private final Map<String, String> detailAliases;
+
+        JoinedReference(String columnName, String keyAlias, String displayAlias, Map<String, String> detailAliases) {
+            this.columnName = columnName;
+            this.keyAlias = keyAlias;
+            this.displayAlias = displayAlias;
+            this.detailAliases = detailAliases;
+        }
+
+        static JoinedReference unresolved(String columnName) {
+            return new JoinedReference(columnName, null, null, Map.of());
+        }
+    }
+}
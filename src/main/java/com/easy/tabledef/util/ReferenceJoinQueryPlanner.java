@@ -0,0 +1,109 @@
+package com.easy.tabledef.util;
+
+import com.easy.database.SqlDialect;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Plans a single SELECT that resolves all reference columns of a dynamic table with aliased LEFT JOINs,
+ * using the reference metadata on its ColumnDefinitions (referencedTableIdRef / referencedColumnLogicalName).
+ * The database then performs every lookup in one pass instead of the application issuing follow-up queries.
+ */
+@Component
+public class ReferenceJoinQueryPlanner {
+
+    public static final String BASE_ALIAS = "t0";
+
+    private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+
+    @Autowired
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    /**
+     * Builds the join plan for a table.
+     *
+     * @param dialect The tenant database dialect (used for identifier quoting).
+     * @param tableDef The table being read.
+     * @param includeDetails True to also select every column of each referenced row (single-row reads),
+     *                       false to select only the display value (list reads).
+     * @return The plan; callers append their own WHERE clause against {@link #BASE_ALIAS}.
+     */
+    public ReferenceJoinPlan plan(SqlDialect dialect, TableDefinition tableDef, boolean includeDetails) {
+        return plan(dialect, tableDef, includeDetails, null);
+    }
+
+    /**
+     * Builds the join plan for a table, selecting only the given base table columns.
+     *
+     * @param baseColumns The columns of the base table to select; null or empty selects all of them.
+     *                    Only reference columns present in tableDef are joined.
+     */
+    public ReferenceJoinPlan plan(SqlDialect dialect, TableDefinition tableDef, boolean includeDetails, List<String> baseColumns) {
+        StringBuilder select = new StringBuilder("SELECT ");
+        if (baseColumns == null || baseColumns.isEmpty()) {
+            select.append(BASE_ALIAS).append(".*");
+        } else {
+            select.append(baseColumns.stream().map(c -> BASE_ALIAS + "." + dialect.quote(c)).collect(Collectors.joining(", ")));
+        }
+        StringBuilder from = new StringBuilder(" FROM ")
+                .append(dialect.quote(tableDef.getFinalTableName())).append(' ').append(BASE_ALIAS);
+
+        List<ReferenceJoinPlan.JoinedReference> references = new ArrayList<>();
+        Map<String, Optional<TableDefinition>> referencedTables = new HashMap<>();
+        int joinIndex = 0;
+
+        for (ColumnDefinition refCol : tableDef.getColumns()) {
+            if (!refCol.isReference()) {
+                continue;
+            }
+            Optional<TableDefinition> referencedTableOpt = refCol.getReferencedTableIdRef() == null ? Optional.empty()
+                    : referencedTables.computeIfAbsent(refCol.getReferencedTableIdRef(), tableDefinitionRepository::findById);
+            String keyColumn = refCol.getReferencedColumnLogicalName();
+            if (referencedTableOpt.isEmpty() || keyColumn == null) {
+                references.add(ReferenceJoinPlan.JoinedReference.unresolved(refCol.getColumnName()));
+                continue;
+            }
+
+            joinIndex++;
+            TableDefinition referencedTableDef = referencedTableOpt.get();
+            String tableAlias = "r" + joinIndex;
+            String keyAlias = "jr" + joinIndex + "_key";
+            String displayAlias = "jr" + joinIndex + "_display";
+            String displayColumn = DynamicTableAccessor.getDisplayColumnName(referencedTableDef, keyColumn);
+
+            select.append(", ").append(tableAlias).append('.').append(dialect.quote(keyColumn)).append(" AS ").append(keyAlias)
+                    .append(", ").append(tableAlias).append('.').append(dialect.quote(displayColumn)).append(" AS ").append(displayAlias);
+
+            Map<String, String> detailAliases = new LinkedHashMap<>();
+            if (includeDetails) {
+                List<String> detailColumns = new ArrayList<>();
+                detailColumns.add(SYSTEM_UUID_COLUMN_NAME);
+                referencedTableDef.getColumns().forEach(c -> detailColumns.add(c.getColumnName()));
+                for (int i = 0; i < detailColumns.size(); i++) {
+                    String detailAlias = "jr" + joinIndex + "_c" + i;
+                    select.append(", ").append(tableAlias).append('.').append(dialect.quote(detailColumns.get(i))).append(" AS ").append(detailAlias);
+                    detailAliases.put(detailAlias, detailColumns.get(i));
+                }
+            }
+
+            from.append(" LEFT JOIN ").append(dialect.quote(referencedTableDef.getFinalTableName())).append(' ').append(tableAlias)
+                    .append(" ON ").append(tableAlias).append('.').append(dialect.quote(keyColumn))
+                    .append(" = ").append(BASE_ALIAS).append('.').append(dialect.quote(refCol.getColumnName()));
+
+            references.add(new ReferenceJoinPlan.JoinedReference(refCol.getColumnName(), keyAlias, displayAlias, detailAliases));
+        }
+
+        return new ReferenceJoinPlan(select.append(from).toString(), references, includeDetails);
+    }
+}
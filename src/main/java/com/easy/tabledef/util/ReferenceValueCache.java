@@ -0,0 +1,193 @@
+package com.easy.tabledef.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of referenced rows, used when resolving reference columns.
+ * Entries are keyed by (tenant, referenced finalTableName, key column, id), where the tenant is the
+ * DatabaseConnectionDetails UUID, so two projects never share entries even if their physical table names match.
+ *
+ * Invalidation is per table, at two levels. Every write made through this node bumps the table's local
+ * generation; callers read {@link #generation} before querying the database and pass it to {@link #put}, so a
+ * read racing with a local write never caches the old value as current. Each entry also records the referenced
+ * table's TableDefinition.dataVersion when it was read, and lookups pass the current one: writes made through
+ * other nodes bump that shared version, so their changes invalidate this node's entries on the next lookup.
+ * Misses are filled from the tenant's primary, never from a read replica: a replica can still serve rows older
+ * than the current dataVersion, and caching them would pin the stale value under the new version.
+ */
+@Component
+public class ReferenceValueCache {
+
+    private final int maxEntries;
+    private final Map<CacheKey, CachedReference> entries;
+    private final Map<String, AtomicLong> tableGenerations = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ReferenceValueCache(@Value("${easy.reference-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedReference> eldest) {
+                if (size() > ReferenceValueCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Current generation of a table. Read it before querying the database and pass it to {@link #put}.
+     */
+    public long generation(String tenantKey, String finalTableName) {
+        AtomicLong generation = tableGenerations.get(tableKey(tenantKey, finalTableName));
+        return generation != null ? generation.get() : 0L;
+    }
+
+    /**
+     * Looks up a cached referenced row.
+     *
+     * @param dataVersion The current TableDefinition.dataVersion of the referenced table.
+     * @return The cached entry, or null on a miss (absent or invalidated since it was stored).
+     */
+    public CachedReference get(String tenantKey, String finalTableName, String keyColumn, String id, long dataVersion) {
+        if (!isEnabled() || tenantKey == null) {
+            return null;
+        }
+        long currentGeneration = generation(tenantKey, finalTableName);
+        CachedReference cached;
+        synchronized (entries) {
+            cached = entries.get(new CacheKey(tenantKey, finalTableName, keyColumn, id));
+        }
+        if (cached == null || cached.generation != currentGeneration || cached.dataVersion != dataVersion) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached;
+    }
+
+    /**
+     * Stores a referenced row.
+     *
+     * @param generationAtRead The value of {@link #generation} taken before the row was read from the database.
+     * @param dataVersion The TableDefinition.dataVersion of the referenced table, loaded before the row was read.
+     */
+    public void put(String tenantKey, String finalTableName, String keyColumn, String id,
+                    String displayValue, Map<String, Object> row, long generationAtRead, long dataVersion) {
+        if (!isEnabled() || tenantKey == null || id == null) {
+            return;
+        }
+        if (generationAtRead != generation(tenantKey, finalTableName)) {
+            return; // The table changed while the row was being read
+        }
+        CachedReference cached = new CachedReference(displayValue,
+                row != null ? Collections.unmodifiableMap(new LinkedHashMap<>(row)) : null, generationAtRead, dataVersion);
+        synchronized (entries) {
+            entries.put(new CacheKey(tenantKey, finalTableName, keyColumn, id), cached);
+        }
+    }
+
+    /**
+     * Invalidates every cached row of a table. O(1): entries are dropped lazily on their next lookup or by LRU eviction.
+     */
+    public void invalidateTable(String tenantKey, String finalTableName) {
+        if (tenantKey == null || finalTableName == null) {
+            return;
+        }
+        tableGenerations.computeIfAbsent(tableKey(tenantKey, finalTableName), k -> new AtomicLong()).incrementAndGet();
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Counters for monitoring cache effectiveness.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return stats;
+    }
+
+    private static String tableKey(String tenantKey, String finalTableName) {
+        return tenantKey + ":" + finalTableName;
+    }
+
+    /**
+     * A cached referenced row together with the value shown in place of the reference.
+     */
+    public static final class CachedReference {
+        private final String displayValue;
+        private final Map<String, Object> row;
+        private final long generation;
+        private final long dataVersion;
+
+        private CachedReference(String displayValue, Map<String, Object> row, long generation, long dataVersion) {
+            this.displayValue = displayValue;
+            this.row = row;
+            this.generation = generation;
+            this.dataVersion = dataVersion;
+        }
+
+        public String getDisplayValue() {
+            return displayValue;
+        }
+
+        public Map<String, Object> getRow() {
+            return row;
+        }
+    }
+
+    private static final class CacheKey {
+        private final String tenantKey;
+        private final String finalTableName;
+        private final String keyColumn;
+        private final String id;
+
+        private CacheKey(String tenantKey, String finalTableName, String keyColumn, String id) {
+            this.tenantKey = tenantKey;
+            this.finalTableName = finalTableName;
+            this.keyColumn = keyColumn;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CacheKey other)) return false;
+            return tenantKey.equals(other.tenantKey) && finalTableName.equals(other.finalTableName)
+                    && Objects.equals(keyColumn, other.keyColumn) && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenantKey, finalTableName, keyColumn, id);
+        }
+    }
+}
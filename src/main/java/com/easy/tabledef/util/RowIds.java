@@ -0,0 +1,78 @@
+package com.easy.tabledef.util;
+
+import com.easy.tabledef.model.TableDefinition;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation and physical storage of system_row_id values, per TableDefinition.rowIdFormat / rowIdStorage.
+ *
+ * UUID_V7 ids (RFC 9562) start with the Unix time in milliseconds, so new rows are appended at the end of the
+ * primary key index instead of landing on random pages; their canonical strings sort in creation order.
+ * The 12-bit rand_a field is used as a counter, which keeps ids generated by this process strictly increasing
+ * even within one millisecond. The state is a single AtomicLong updated with compare-and-set, and the random
+ * bits come from ThreadLocalRandom: no locks and no shared SecureRandom (row ids are identifiers, not secrets).
+ */
+public final class RowIds {
+
+    public static final String FORMAT_UUID_V4 = "UUID_V4";
+    public static final String FORMAT_UUID_V7 = "UUID_V7";
+
+    public static final String STORAGE_VARCHAR = "VARCHAR";
+    public static final String STORAGE_ASCII_BIN = "ASCII_BIN";
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VARIANT_BITS = 0x8000000000000000L;
+    private static final long RAND_B_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // Last (unix millis << 12 | counter) handed out
+    private static final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+    private RowIds() {
+    }
+
+    /**
+     * Generates a new system_row_id for a row of the table, in the table's format (random UUIDs by default).
+     */
+    public static String newRowId(TableDefinition tableDef) {
+        return FORMAT_UUID_V7.equals(tableDef.getRowIdFormat()) ? timeOrderedUuid().toString() : UUID.randomUUID().toString();
+    }
+
+    /**
+     * Generates a time-ordered (version 7) UUID. When the clock has not advanced (or went back) the counter is
+     * incremented instead; an exhausted counter carries into the timestamp, so ordering is never broken.
+     */
+    public static UUID timeOrderedUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        long next;
+        while (true) {
+            long last = lastTimeAndCounter.get();
+            if (now > last >>> COUNTER_BITS) {
+                // New millisecond: start the counter at a random value in its lower half, leaving room to count up
+                next = now << COUNTER_BITS | random.nextInt(1 << (COUNTER_BITS - 1));
+            } else {
+                next = last + 1;
+            }
+            if (lastTimeAndCounter.compareAndSet(last, next)) {
+                break;
+            }
+        }
+        long timestamp = next >>> COUNTER_BITS;
+        long counter = next & ((1L << COUNTER_BITS) - 1);
+        long mostSignificantBits = timestamp << 16 | 0x7000L | counter;
+        long leastSignificantBits = random.nextLong() & RAND_B_MASK | VARIANT_BITS;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * The SQL type of id columns for a rowIdStorage: VARCHAR(36) by default. ASCII_BIN only changes the character set
+     * and collation of the canonical string (CHAR(36), ascii, ascii_bin): ids still take 36 bytes, but comparisons and
+     * sorts are byte-wise instead of going through the table's collation, and no length prefix is stored.
+     */
+    public static String sqlType(String rowIdStorage) {
+        return STORAGE_ASCII_BIN.equals(rowIdStorage) ? "CHAR(36) CHARACTER SET ascii COLLATE ascii_bin" : "VARCHAR(36)";
+    }
+}
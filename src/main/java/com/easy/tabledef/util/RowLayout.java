@@ -0,0 +1,204 @@
+package com.easy.tabledef.util;
+
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row layout compiled once per table from its ColumnDefinitions: every column gets an ordinal slot and a
+ * typed extractor, so rows can be read into compact Object[] arrays instead of one case-insensitive map per row.
+ * Slot 0 is always system_row_id, followed by the table's columns in ColumnDefinition order.
+ *
+ * Rows stay as arrays through the data access layer and are only turned into maps at the edge
+ * (see {@link #toMap} and DynamicTableAccessor#resolveReferenceColumns(String, org.springframework.jdbc.core.JdbcTemplate, TableDefinition, RowLayout, List)).
+ * Layouts are immutable and shared between requests.
+ */
+public final class RowLayout {
+
+    private static final String SYSTEM_UUID_COLUMN_NAME = "system_row_id";
+
+    private final String[] columnNames;
+    private final String[] columnTypes;
+    private final boolean[] references;
+    private final Extractor[] extractors;
+    private final Map<String, Integer> slotsByName;
+
+    private RowLayout(List<String> names, List<String> types, List<Boolean> referenceFlags) {
+        int size = names.size();
+        this.columnNames = names.toArray(new String[0]);
+        this.columnTypes = types.toArray(new String[0]);
+        this.references = new boolean[size];
+        this.extractors = new Extractor[size];
+        this.slotsByName = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            references[i] = referenceFlags.get(i);
+            extractors[i] = extractorFor(columnTypes[i]);
+            slotsByName.put(columnNames[i].toLowerCase(), i);
+        }
+    }
+
+    /**
+     * Compiles the layout of a table. Pass a projected TableDefinition to get a layout for a column subset.
+     *
+     * @param tableDef The table (or projected copy) whose columns make up the layout.
+     * @return The compiled layout.
+     */
+    public static RowLayout compile(TableDefinition tableDef) {
+        List<String> names = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        List<Boolean> referenceFlags = new ArrayList<>();
+        names.add(SYSTEM_UUID_COLUMN_NAME);
+        types.add("uuid");
+        referenceFlags.add(false);
+        for (ColumnDefinition column : tableDef.getColumns()) {
+            if (SYSTEM_UUID_COLUMN_NAME.equalsIgnoreCase(column.getColumnName())) {
+                continue;
+            }
+            names.add(column.getColumnName());
+            types.add(column.getColumnType());
+            referenceFlags.add(column.isReference());
+        }
+        return new RowLayout(names, types, referenceFlags);
+    }
+
+    /**
+     * A key identifying the layout a table definition compiles to (physical table plus column names and types),
+     * used to share compiled layouts between requests.
+     */
+    public static String signature(TableDefinition tableDef) {
+        StringBuilder signature = new StringBuilder(tableDef.getFinalTableName());
+        for (ColumnDefinition column : tableDef.getColumns()) {
+            signature.append('|').append(column.getColumnName()).append(':').append(column.getColumnType())
+                    .append(column.isReference() ? ":ref" : "");
+        }
+        return signature.toString();
+    }
+
+    public int size() {
+        return columnNames.length;
+    }
+
+    public String columnName(int slot) {
+        return columnNames[slot];
+    }
+
+    public boolean isReference(int slot) {
+        return references[slot];
+    }
+
+    /**
+     * @return The slot of a column (case-insensitive), or -1 if the column is not part of the layout.
+     */
+    public int slotOf(String columnName) {
+        Integer slot = columnName != null ? slotsByName.get(columnName.toLowerCase()) : null;
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * @return The value of a column in a row, or null if the column is not part of the layout.
+     */
+    public Object get(Object[] row, String columnName) {
+        int slot = slotOf(columnName);
+        return slot >= 0 ? row[slot] : null;
+    }
+
+    /**
+     * Converts an array row into a map keyed by column name, for callers that still need the map form.
+     */
+    public Map<String, Object> toMap(Object[] row) {
+        Map<String, Object> map = new LinkedHashMap<>(mapCapacity(columnNames.length));
+        for (int i = 0; i < columnNames.length; i++) {
+            map.put(columnNames[i], row[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Creates a RowMapper reading rows of this layout. Result columns are matched to slots by label once per
+     * ResultSet (so both SELECT * and explicit column lists work); result columns outside the layout are skipped
+     * and layout columns missing from the result stay null.
+     */
+    public RowMapper<Object[]> rowMapper() {
+        return new ArrayRowMapper();
+    }
+
+    static int mapCapacity(int entries) {
+        return (int) (entries / 0.75f) + 1;
+    }
+
+    private static Extractor extractorFor(String columnType) {
+        String type = columnType != null ? columnType.toLowerCase() : "";
+        return switch (type) {
+            case "int", "integer" -> (rs, index) -> {
+                int value = rs.getInt(index);
+                return rs.wasNull() ? null : value;
+            };
+            case "long" -> (rs, index) -> {
+                long value = rs.getLong(index);
+                return rs.wasNull() ? null : value;
+            };
+            case "boolean" -> (rs, index) -> {
+                boolean value = rs.getBoolean(index);
+                return rs.wasNull() ? null : value;
+            };
+            case "decimal", "double" -> ResultSet::getBigDecimal;
+            case "varchar", "string", "text", "uuid", "reference", "email", "password" -> ResultSet::getString;
+            // Dates and anything else keep the driver's native type, as ColumnMapRowMapper does
+            default -> JdbcUtils::getResultSetValue;
+        };
+    }
+
+    @FunctionalInterface
+    private interface Extractor {
+        Object extract(ResultSet rs, int index) throws SQLException;
+    }
+
+    private final class ArrayRowMapper implements RowMapper<Object[]> {
+        private ResultSet boundTo;
+        private int[] resultIndexes; // result column index per bound slot
+        private int[] slots;
+
+        @Override
+        public Object[] mapRow(ResultSet rs, int rowNum) throws SQLException {
+            if (rs != boundTo) {
+                bind(rs.getMetaData());
+                boundTo = rs;
+            }
+            Object[] row = new Object[columnNames.length];
+            for (int i = 0; i < slots.length; i++) {
+                row[slots[i]] = extractors[slots[i]].extract(rs, resultIndexes[i]);
+            }
+            return row;
+        }
+
+        private void bind(ResultSetMetaData metaData) throws SQLException {
+            int columnCount = metaData.getColumnCount();
+            int[] indexes = new int[columnCount];
+            int[] boundSlots = new int[columnCount];
+            int bound = 0;
+            boolean[] taken = new boolean[columnNames.length];
+            for (int index = 1; index <= columnCount; index++) {
+                int slot = slotOf(JdbcUtils.lookupColumnName(metaData, index));
+                if (slot >= 0 && !taken[slot]) {
+                    taken[slot] = true;
+                    indexes[bound] = index;
+                    boundSlots[bound] = slot;
+                    bound++;
+                }
+            }
+            this.resultIndexes = Arrays.copyOf(indexes, bound);
+            this.slots = Arrays.copyOf(boundSlots, bound);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.easy.tabledef.util;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A piece of parameterized SQL together with the values for its ? placeholders, in order.
+ */
+public class SqlFragment {
+
+    private final String sql;
+    private final List<Object> parameters;
+
+    public SqlFragment(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    public static SqlFragment empty() {
+        return new SqlFragment("", List.of());
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    public boolean isEmpty() {
+        return sql.isEmpty();
+    }
+}
@@ -0,0 +1,171 @@
+package com.easy.tabledef.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of the SQL statements DynamicTableAccessor generates for single-row operations.
+ * Entries are keyed by (operation, physical table, column list); callers pass the columns sorted
+ * (or in projection order for SELECT lists), so each distinct column set compiles to one template.
+ *
+ * The statement text does not depend on the tenant, so templates are shared across projects.
+ * Identifiers are validated while a template is built; templates of invalid names are never stored.
+ * {@link #evictTable} drops every template of a table when its definition changes.
+ */
+@Component
+public class SqlTemplateCache {
+
+    private final int maxEntries;
+    private final Map<TemplateKey, SqlTemplate> templates;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public SqlTemplateCache(@Value("${easy.sql-template-cache.max-entries:2000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TemplateKey, SqlTemplate> eldest) {
+                if (size() > SqlTemplateCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the template of an operation on a table, building (and validating) it on a miss.
+     *
+     * @param operation The statement kind, e.g. "insert" or "update".
+     * @param tableName The physical table name.
+     * @param columns The columns the statement binds or selects, in a stable order.
+     * @param builder Builds the template; may throw IllegalArgumentException for invalid identifiers.
+     */
+    public SqlTemplate get(String operation, String tableName, List<String> columns, Supplier<SqlTemplate> builder) {
+        TemplateKey key = new TemplateKey(operation, tableName, columns);
+        SqlTemplate template;
+        synchronized (templates) {
+            template = templates.get(key);
+        }
+        if (template != null) {
+            hits.incrementAndGet();
+            return template;
+        }
+        misses.incrementAndGet();
+        template = builder.get();
+        if (maxEntries > 0) {
+            synchronized (templates) {
+                templates.put(key, template);
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Drops the templates of a table (e.g. after its columns were redefined).
+     */
+    public void evictTable(String tableName) {
+        if (tableName == null) {
+            return;
+        }
+        synchronized (templates) {
+            Iterator<TemplateKey> keys = templates.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().tableName.equals(tableName)) {
+                    keys.remove();
+                }
+            }
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Counters for monitoring cache effectiveness.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        synchronized (templates) {
+            stats.put("size", templates.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return stats;
+    }
+
+    /**
+     * A generated statement and the columns whose values it binds, in parameter order.
+     */
+    public static final class SqlTemplate {
+        private final String sql;
+        private final List<String> parameterColumns;
+
+        public SqlTemplate(String sql, List<String> parameterColumns) {
+            this.sql = sql;
+            this.parameterColumns = List.copyOf(parameterColumns);
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public List<String> getParameterColumns() {
+            return parameterColumns;
+        }
+
+        /**
+         * Binds the values of the parameter columns from a row, followed by any trailing parameters (e.g. the filter value).
+         */
+        public Object[] bind(Map<String, Object> values, Object... trailing) {
+            Object[] args = new Object[parameterColumns.size() + trailing.length];
+            for (int i = 0; i < parameterColumns.size(); i++) {
+                args[i] = values.get(parameterColumns.get(i));
+            }
+            System.arraycopy(trailing, 0, args, parameterColumns.size(), trailing.length);
+            return args;
+        }
+    }
+
+    private static final class TemplateKey {
+        private final String operation;
+        private final String tableName;
+        private final List<String> columns;
+
+        private TemplateKey(String operation, String tableName, List<String> columns) {
+            this.operation = operation;
+            this.tableName = tableName;
+            this.columns = columns != null ? Collections.unmodifiableList(new ArrayList<>(columns)) : List.of();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TemplateKey other)) return false;
+            return operation.equals(other.operation) && tableName.equals(other.tableName) && columns.equals(other.columns);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, tableName, columns);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.easy.auth.dynamicdata.controller;
+
+import com.easy.tabledef.dto.DataReadOptions;
+import com.easy.tabledef.dto.TableDataPageDto;
+import com.easy.tabledef.service.TableCreationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DynamicDataControllerETagTest {
+
+    private static final String PROJECT = "project-1";
+    private static final String TABLE = "Customers";
+    private static final String ETAG = "\"1a2b3c4d-7\"";
+
+    @Mock
+    private TableCreationService tableCreationService;
+
+    @InjectMocks
+    private DynamicDataController controller;
+
+    @Test
+    void listReturnsNotModifiedWithoutReadingRows() {
+        when(tableCreationService.getDataVersionTag(TABLE, PROJECT)).thenReturn(ETAG);
+
+        ResponseEntity<?> response = controller.getAllDynamicData(PROJECT, TABLE, null, null, null, null, null, null, ETAG);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(tableCreationService, never()).getAllDataFromDynamicTable(anyString(), anyString(), any(DataReadOptions.class));
+    }
+
+    @Test
+    void listReturnsRowsAndETagWhenClientCopyIsStale() {
+        when(tableCreationService.getDataVersionTag(TABLE, PROJECT)).thenReturn(ETAG);
+        List<Map<String, Object>> rows = List.of(Map.of("name", "Ada"));
+        when(tableCreationService.getAllDataFromDynamicTable(anyString(), anyString(), any(DataReadOptions.class))).thenReturn(rows);
+
+        ResponseEntity<?> response = controller.getAllDynamicData(PROJECT, TABLE, null, null, null, null, null, null, "\"1a2b3c4d-6\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals(rows, response.getBody());
+    }
+
+    @Test
+    void singleRowReturnsNotModifiedWithoutReadingRow() {
+        when(tableCreationService.getDataVersionTag(TABLE, PROJECT)).thenReturn(ETAG);
+
+        ResponseEntity<?> response = controller.getDynamicDataBySystemId(PROJECT, TABLE, "row-1", null, null, null, "W/" + ETAG);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(tableCreationService, never()).getSingleRowBySystemIdFromDynamicTable(anyString(), anyString(), anyString(), any(DataReadOptions.class));
+    }
+
+    @Test
+    void singleRowCarriesETag() {
+        when(tableCreationService.getDataVersionTag(TABLE, PROJECT)).thenReturn(ETAG);
+        when(tableCreationService.getSingleRowBySystemIdFromDynamicTable(anyString(), anyString(), anyString(), any(DataReadOptions.class)))
+                .thenReturn(Optional.of(Map.of("system_row_id", "row-1")));
+
+        ResponseEntity<?> response = controller.getDynamicDataBySystemId(PROJECT, TABLE, "row-1", null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+    }
+
+    @Test
+    void unknownTableIsNotFound() {
+        when(tableCreationService.getDataVersionTag(TABLE, PROJECT)).thenThrow(new IllegalArgumentException("Table definition 'Customers' not found."));
+
+        ResponseEntity<?> response = controller.getAllDynamicData(PROJECT, TABLE, null, null, null, null, null, null, ETAG);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void pagedReadKeepsExpandAndReferenceMode() {
+        when(tableCreationService.getDataVersionTag(TABLE, PROJECT)).thenReturn(ETAG);
+        TableDataPageDto page = TableDataPageDto.builder().rowData(List.of()).pageSize(10).hasMore(false).build();
+        ArgumentCaptor<DataReadOptions> options = ArgumentCaptor.forClass(DataReadOptions.class);
+        when(tableCreationService.getDataPageFromDynamicTable(eq(TABLE), eq(PROJECT), isNull(), eq(10), isNull(), options.capture())).thenReturn(page);
+
+        ResponseEntity<?> response = controller.getAllDynamicData(PROJECT, TABLE, 10, null, null, "join", null, 2, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        assertEquals("join", options.getValue().getReferenceMode());
+        assertEquals(2, options.getValue().getExpand());
+    }
+
+    @Test
+    void rowsCarryingAnETagAreReadFromThePrimary() {
+        when(tableCreationService.getDataVersionTag(TABLE, PROJECT)).thenReturn(ETAG);
+        ArgumentCaptor<DataReadOptions> options = ArgumentCaptor.forClass(DataReadOptions.class);
+        when(tableCreationService.getAllDataFromDynamicTable(eq(TABLE), eq(PROJECT), options.capture())).thenReturn(List.of(Map.of("name", "Ada")));
+
+        ResponseEntity<?> response = controller.getAllDynamicData(PROJECT, TABLE, null, null, null, null, null, null, null);
+
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertTrue(options.getValue().isPrimaryRead());
+    }
+
+    @Test
+    void expansionFanOutIsBadRequest() {
+        when(tableCreationService.getDataVersionTag(TABLE, PROJECT)).thenReturn(ETAG);
+        when(tableCreationService.getAllDataFromDynamicTable(anyString(), anyString(), any(DataReadOptions.class)))
+                .thenThrow(new IllegalArgumentException("Reference expansion level 1 would load 5000 rows (maximum is 1000)."));
+
+        ResponseEntity<?> response = controller.getAllDynamicData(PROJECT, TABLE, null, null, null, null, null, 1, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
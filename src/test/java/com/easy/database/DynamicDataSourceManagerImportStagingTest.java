@@ -0,0 +1,48 @@
+package com.easy.database;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DynamicDataSourceManagerImportStagingTest {
+
+    @TempDir
+    Path importDir;
+
+    @Test
+    void eachConnectionStagesInItsOwnDirectory() {
+        assertEquals(importDir.resolve("staging").resolve("connection-1"),
+                DynamicDataSourceManager.importStagingDirectory(importDir.toString(), "connection-1"));
+        assertEquals(importDir.resolve("staging").resolve("connection-2"),
+                DynamicDataSourceManager.importStagingDirectory(importDir.toString(), "connection-2"));
+    }
+
+    @Test
+    void connectionIdCannotLeaveTheStagingDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> DynamicDataSourceManager.importStagingDirectory(importDir.toString(), ".."));
+        assertThrows(IllegalArgumentException.class, () -> DynamicDataSourceManager.importStagingDirectory(importDir.toString(), "a/../b"));
+        assertThrows(IllegalArgumentException.class, () -> DynamicDataSourceManager.importStagingDirectory(importDir.toString(), null));
+    }
+
+    @Test
+    void mysqlPoolMayOnlyLoadFromItsConnectionsStagingDirectory() {
+        DynamicDataSourceManager manager = new DynamicDataSourceManager();
+        ReflectionTestUtils.setField(manager, "importDir", importDir.toString());
+        DatabaseConnectionDetails details = new DatabaseConnectionDetails();
+        details.setUuid("connection-1");
+        details.setDbType("mysql");
+        details.setConnectionName("tenant");
+
+        HikariConfig config = ReflectionTestUtils.invokeMethod(manager, "createPoolConfig", details, "localhost", 3306);
+
+        assertEquals(importDir.resolve("staging").resolve("connection-1").toString(),
+                config.getDataSourceProperties().getProperty("allowLoadLocalInfileInPath"));
+    }
+}
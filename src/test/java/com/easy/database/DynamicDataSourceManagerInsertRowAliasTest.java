@@ -0,0 +1,44 @@
+package com.easy.database;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DynamicDataSourceManagerInsertRowAliasTest {
+
+    @Test
+    void rowAliasNeedsMysql8019() {
+        assertTrue(DynamicDataSourceManager.insertRowAliasSupported("MySQL", "8.0.19"));
+        assertTrue(DynamicDataSourceManager.insertRowAliasSupported("MySQL", "8.0.36-0ubuntu0.22.04.1"));
+        assertTrue(DynamicDataSourceManager.insertRowAliasSupported("MySQL", "8.4.0"));
+        assertTrue(DynamicDataSourceManager.insertRowAliasSupported("MySQL", "9.0.1"));
+        assertFalse(DynamicDataSourceManager.insertRowAliasSupported("MySQL", "8.0.18"));
+        assertFalse(DynamicDataSourceManager.insertRowAliasSupported("MySQL", "5.7.44-log"));
+    }
+
+    @Test
+    void mariaDbHasNoRowAlias() {
+        assertFalse(DynamicDataSourceManager.insertRowAliasSupported("MySQL", "5.5.5-10.11.6-MariaDB"));
+        assertFalse(DynamicDataSourceManager.insertRowAliasSupported("MariaDB", "11.2.2"));
+    }
+
+    @Test
+    void unparseableVersionFallsBackToValuesFunction() {
+        assertFalse(DynamicDataSourceManager.insertRowAliasSupported("MySQL", null));
+        assertFalse(DynamicDataSourceManager.insertRowAliasSupported("MySQL", "unknown"));
+    }
+
+    @Test
+    void otherDatabasesAreNotProbed() {
+        DynamicDataSourceManager manager = new DynamicDataSourceManager();
+        DatabaseConnectionDetails details = new DatabaseConnectionDetails();
+        details.setUuid("connection-1");
+        details.setDbType("postgresql");
+
+        assertFalse(manager.supportsInsertRowAlias(details));
+        assertNull(manager.findPrimaryJdbcTemplate("connection-1"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.easy.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlDialectUpsertTest {
+
+    private static final List<String> COLUMNS = List.of("email", "name", "system_row_id");
+    private static final List<String> UPDATE_COLUMNS = List.of("name");
+
+    @Test
+    void mysqlUsesValuesFunctionWithoutRowAlias() {
+        assertEquals("INSERT INTO `users` (`email`, `name`, `system_row_id`) VALUES (?, ?, ?)"
+                        + " ON DUPLICATE KEY UPDATE `name` = VALUES(`name`)",
+                SqlDialect.MYSQL.upsert("users", "email", COLUMNS, UPDATE_COLUMNS, false));
+    }
+
+    @Test
+    void mysqlUsesRowAliasWhenSupported() {
+        assertEquals("INSERT INTO `users` (`email`, `name`, `system_row_id`) VALUES (?, ?, ?) AS new"
+                        + " ON DUPLICATE KEY UPDATE `name` = new.`name`",
+                SqlDialect.MYSQL.upsert("users", "email", COLUMNS, UPDATE_COLUMNS, true));
+    }
+
+    @Test
+    void mysqlWithoutUpdateColumnsKeepsExistingRow() {
+        assertEquals("INSERT INTO `users` (`email`, `system_row_id`) VALUES (?, ?) AS new"
+                        + " ON DUPLICATE KEY UPDATE `email` = `email`",
+                SqlDialect.MYSQL.upsert("users", "email", List.of("email", "system_row_id"), List.of(), true));
+    }
+
+    @Test
+    void postgresqlUsesOnConflict() {
+        assertEquals("INSERT INTO \"users\" (\"email\", \"name\", \"system_row_id\") VALUES (?, ?, ?)"
+                        + " ON CONFLICT (\"email\") DO UPDATE SET \"name\" = EXCLUDED.\"name\"",
+                SqlDialect.POSTGRESQL.upsert("users", "email", COLUMNS, UPDATE_COLUMNS, false));
+        assertEquals("INSERT INTO \"users\" (\"email\", \"system_row_id\") VALUES (?, ?) ON CONFLICT (\"email\") DO NOTHING",
+                SqlDialect.POSTGRESQL.upsert("users", "email", List.of("email", "system_row_id"), List.of(), false));
+    }
+
+    @Test
+    void oracleMergesFromDual() {
+        assertEquals("MERGE INTO \"users\" t USING (SELECT ? AS \"email\", ? AS \"name\", ? AS \"system_row_id\" FROM DUAL) s"
+                        + " ON (t.\"email\" = s.\"email\")"
+                        + " WHEN MATCHED THEN UPDATE SET t.\"name\" = s.\"name\""
+                        + " WHEN NOT MATCHED THEN INSERT (\"email\", \"name\", \"system_row_id\") VALUES (s.\"email\", s.\"name\", s.\"system_row_id\")",
+                SqlDialect.ORACLE.upsert("users", "email", COLUMNS, UPDATE_COLUMNS, false));
+    }
+
+    @Test
+    void h2Merges() {
+        assertEquals("MERGE INTO \"users\" t USING (SELECT ? AS \"email\", ? AS \"name\", ? AS \"system_row_id\") s"
+                        + " ON (t.\"email\" = s.\"email\")"
+                        + " WHEN MATCHED THEN UPDATE SET t.\"name\" = s.\"name\""
+                        + " WHEN NOT MATCHED THEN INSERT (\"email\", \"name\", \"system_row_id\") VALUES (s.\"email\", s.\"name\", s.\"system_row_id\")",
+                SqlDialect.H2.upsert("users", "email", COLUMNS, UPDATE_COLUMNS, false));
+    }
+
+    @Test
+    void sqlServerMergeHoldsKeyRangeLock() {
+        assertEquals("MERGE INTO [users] WITH (HOLDLOCK) AS t USING (SELECT ? AS [email], ? AS [name], ? AS [system_row_id]) s"
+                        + " ON (t.[email] = s.[email])"
+                        + " WHEN MATCHED THEN UPDATE SET t.[name] = s.[name]"
+                        + " WHEN NOT MATCHED THEN INSERT ([email], [name], [system_row_id]) VALUES (s.[email], s.[name], s.[system_row_id]);",
+                SqlDialect.SQLSERVER.upsert("users", "email", COLUMNS, UPDATE_COLUMNS, false));
+    }
+
+    @Test
+    void rowAliasOnlyAffectsMysql() {
+        for (SqlDialect dialect : List.of(SqlDialect.POSTGRESQL, SqlDialect.H2, SqlDialect.ORACLE, SqlDialect.SQLSERVER)) {
+            assertEquals(dialect.upsert("users", "email", COLUMNS, UPDATE_COLUMNS, false),
+                    dialect.upsert("users", "email", COLUMNS, UPDATE_COLUMNS, true), dialect.name());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.easy.tabledef.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class TableDefinitionRepositoryTest {
+
+    @Test
+    void dataVersionIncrementJoinsCallerTransaction() throws NoSuchMethodException {
+        Transactional transactional = TableDefinitionRepository.class.getMethod("incrementDataVersion", String.class)
+                .getAnnotation(Transactional.class);
+
+        assertNotNull(transactional);
+        assertEquals(Propagation.REQUIRED, transactional.propagation());
+    }
+}
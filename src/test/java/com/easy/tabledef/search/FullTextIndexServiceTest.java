@@ -0,0 +1,117 @@
+package com.easy.tabledef.search;
+
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FullTextIndexServiceTest {
+
+    private static final String TENANT = "tenant-1";
+
+    @TempDir
+    Path indexDir;
+
+    private FullTextIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FullTextIndexService();
+        ReflectionTestUtils.setField(service, "indexDir", indexDir.toString());
+        ReflectionTestUtils.setField(service, "journalCompactThreshold", 10000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.closeAll();
+    }
+
+    @Test
+    void newTableIndexIsCompleteWithoutRebuild() {
+        TableDefinition notes = table("notes_1a2b3c4d", "body", "VARCHAR");
+
+        service.initializeEmpty(TENANT, notes);
+
+        FullTextIndex.SearchResult empty = service.search(TENANT, notes, "anything", 10);
+        assertTrue(empty.isComplete());
+        assertEquals(0, empty.getTotalHits());
+
+        service.indexRows(TENANT, notes, List.of(Map.of("system_row_id", "row-1", "body", "quarterly report")));
+        FullTextIndex.SearchResult found = service.search(TENANT, notes, "report", 10);
+        assertTrue(found.isComplete());
+        assertEquals(1, found.getTotalHits());
+    }
+
+    @Test
+    void writeThroughAnotherNodeMakesIndexIncomplete() {
+        TableDefinition notes = table("notes_2b3c4d5e", "body", "VARCHAR");
+        service.initializeEmpty(TENANT, notes);
+
+        service.indexRows(TENANT, notes, List.of(Map.of("system_row_id", "row-1", "body", "quarterly report")));
+        service.recordDataVersion(TENANT, notes, 1);
+        notes.setDataVersion(1);
+        assertTrue(service.search(TENANT, notes, "report", 10).isComplete());
+
+        // Version 2 was written through another node, so this index never saw it
+        service.indexRows(TENANT, notes, List.of(Map.of("system_row_id", "row-3", "body", "annual report")));
+        service.recordDataVersion(TENANT, notes, 3);
+        notes.setDataVersion(3);
+
+        assertFalse(service.search(TENANT, notes, "report", 10).isComplete());
+    }
+
+    @Test
+    void appliedDataVersionSurvivesReopen() {
+        TableDefinition notes = table("notes_3c4d5e6f", "body", "VARCHAR");
+        service.initializeEmpty(TENANT, notes);
+        service.indexRows(TENANT, notes, List.of(Map.of("system_row_id", "row-1", "body", "quarterly report")));
+        service.recordDataVersion(TENANT, notes, 1);
+        service.closeAll();
+
+        notes.setDataVersion(1);
+        assertTrue(service.search(TENANT, notes, "report", 10).isComplete());
+        notes.setDataVersion(2);
+        assertFalse(service.search(TENANT, notes, "report", 10).isComplete());
+    }
+
+    @Test
+    void indexWithoutInitializationIsIncomplete() {
+        TableDefinition notes = table("notes_5e6f7a8b", "body", "TEXT");
+
+        service.indexRows(TENANT, notes, List.of(Map.of("system_row_id", "row-1", "body", "quarterly report")));
+
+        assertFalse(service.search(TENANT, notes, "report", 10).isComplete());
+    }
+
+    @Test
+    void tableWithoutTextColumnsGetsNoIndex() {
+        TableDefinition counters = table("counters_9c0d1e2f", "total", "INT");
+
+        service.initializeEmpty(TENANT, counters);
+
+        assertFalse(Files.exists(indexDir.resolve(TENANT).resolve("counters_9c0d1e2f")));
+    }
+
+    private static TableDefinition table(String finalTableName, String columnName, String columnType) {
+        ColumnDefinition column = new ColumnDefinition();
+        column.setColumnName(columnName);
+        column.setColumnType(columnType);
+        TableDefinition tableDef = new TableDefinition();
+        tableDef.setTableName(finalTableName);
+        tableDef.setFinalTableName(finalTableName);
+        tableDef.setColumns(List.of(column));
+        return tableDef;
+    }
+}
@@ -0,0 +1,320 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.BulkInsertResultDto;
+import com.easy.tabledef.dto.BulkRowErrorDto;
+import com.easy.tabledef.model.TableDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IngestionQueueServiceTest {
+
+    private static final String PROJECT = "project-1";
+    private static final String TABLE = "Readings";
+    private static final String QUEUE = PROJECT + "/" + TABLE;
+
+    @TempDir
+    Path spillDir;
+
+    private final List<IngestionQueueService> services = new ArrayList<>();
+    private TableCreationService tableCreationService;
+
+    @BeforeEach
+    void setUp() {
+        tableCreationService = mock(TableCreationService.class);
+        TableDefinition readings = new TableDefinition();
+        readings.setTableName(TABLE);
+        readings.setFinalTableName("readings_1a2b3c4d");
+        when(tableCreationService.getTableDefinitionByLogicalNameAndProject(TABLE, PROJECT)).thenReturn(Optional.of(readings));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (IngestionQueueService service : services) {
+            Map<String, ScheduledExecutorService> writers = writers(service);
+            writers.values().forEach(ScheduledExecutorService::shutdownNow);
+        }
+    }
+
+    @Test
+    void fullQueueRejectsTheWholeRequest() {
+        IngestionQueueService service = newService(3, null);
+        service.enqueue(TABLE, PROJECT, rows(2));
+
+        assertThrows(IngestionQueueService.QueueFullException.class, () -> service.enqueue(TABLE, PROJECT, rows(2)));
+
+        assertEquals(2, stat(service, "depth"));
+        assertEquals(2L, stat(service, "accepted"));
+        assertEquals(2L, stat(service, "rejected"));
+    }
+
+    @Test
+    void unreachableDatabaseKeepsRowsQueuedAndUnchanged() {
+        IngestionQueueService service = newService(100, null);
+        service.enqueue(TABLE, PROJECT, rows(3));
+        when(tableCreationService.bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), anyList()))
+                .thenAnswer(invocation -> {
+                    // Like the real bulk insert, which assigns IDs before writing
+                    List<Map<String, Object>> rows = invocation.getArgument(2);
+                    rows.forEach(row -> row.put("system_row_id", "assigned"));
+                    throw new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection", new SQLException("Connection refused"));
+                })
+                .thenReturn(success(3));
+
+        flush(service);
+
+        assertEquals(3, stat(service, "depth"));
+        assertEquals(0L, stat(service, "failed"));
+        assertEquals(0L, stat(service, "written"));
+
+        flush(service);
+
+        ArgumentCaptor<List<Map<String, Object>>> written = rowsCaptor();
+        verify(tableCreationService, times(2)).bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), written.capture());
+        assertEquals(rows(3), written.getAllValues().get(1));
+        assertEquals(0, stat(service, "depth"));
+        assertEquals(3L, stat(service, "written"));
+    }
+
+    @Test
+    void interruptedInsertRequeuesOnlyUnwrittenRows() {
+        IngestionQueueService service = newService(100, null);
+        service.enqueue(TABLE, PROJECT, rows(3));
+        BulkInsertResultDto partial = BulkInsertResultDto.builder()
+                .requested(3).inserted(1).failed(0)
+                .systemRowIds(Arrays.asList("id-0", null, null))
+                .errors(List.of())
+                .build();
+        when(tableCreationService.bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), anyList()))
+                .thenThrow(new TableCreationService.BulkInsertInterruptedException("Database unavailable", partial, List.of(1, 2),
+                        new CannotGetJdbcConnectionException("Connection lost")))
+                .thenReturn(success(2));
+
+        flush(service);
+
+        assertEquals(2, stat(service, "depth"));
+        assertEquals(1L, stat(service, "written"));
+
+        flush(service);
+
+        ArgumentCaptor<List<Map<String, Object>>> written = rowsCaptor();
+        verify(tableCreationService, times(2)).bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), written.capture());
+        assertEquals(rows(3).subList(1, 3), written.getAllValues().get(1));
+        assertEquals(3L, stat(service, "written"));
+    }
+
+    @Test
+    void rowsRejectedByTheDatabaseAreDropped() {
+        IngestionQueueService service = newService(100, null);
+        service.enqueue(TABLE, PROJECT, rows(2));
+        when(tableCreationService.bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), anyList())).thenReturn(BulkInsertResultDto.builder()
+                .requested(2).inserted(1).failed(1)
+                .systemRowIds(Arrays.asList("id-0", null))
+                .errors(List.of(new BulkRowErrorDto(1, "Data too long for column 'name'")))
+                .build());
+
+        flush(service);
+
+        assertEquals(0, stat(service, "depth"));
+        assertEquals(1L, stat(service, "written"));
+        assertEquals(1L, stat(service, "failed"));
+        assertEquals("Data too long for column 'name'", stat(service, "lastError"));
+    }
+
+    @Test
+    void journalIsReplayedAfterRestart() throws Exception {
+        IngestionQueueService crashed = newService(100, spillDir);
+        crashed.enqueue(TABLE, PROJECT, rows(3));
+        assertEquals(true, stat(crashed, "durable"));
+
+        when(tableCreationService.bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), anyList())).thenReturn(success(3));
+        IngestionQueueService restarted = newService(100, spillDir);
+        restarted.recoverJournals();
+
+        ArgumentCaptor<List<Map<String, Object>>> written = rowsCaptor();
+        verify(tableCreationService, timeout(5000)).bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), written.capture());
+        assertEquals(rows(3), written.getValue());
+    }
+
+    @Test
+    void checkpointedRowsAreNotReplayed() throws Exception {
+        IngestionQueueService first = newService(100, spillDir);
+        first.enqueue(TABLE, PROJECT, rows(2));
+        when(tableCreationService.bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), anyList())).thenReturn(success(2), success(1));
+        flush(first);
+        assertEquals(List.of("readings_1a2b3c4d.journal.2"), journalSegments()); // The written segment is deleted
+        first.enqueue(TABLE, PROJECT, List.of(Map.of("sensor", "s-9", "value", 9)));
+
+        IngestionQueueService restarted = newService(100, spillDir);
+        restarted.recoverJournals();
+
+        ArgumentCaptor<List<Map<String, Object>>> written = rowsCaptor();
+        verify(tableCreationService, timeout(5000).times(2)).bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), written.capture());
+        assertEquals(List.of(Map.of("sensor", "s-9", "value", 9)), written.getAllValues().get(1));
+    }
+
+    @Test
+    void checkpointDeletesSegmentsBehindItWhileRowsKeepArriving() throws Exception {
+        IngestionQueueService service = newService(100, spillDir);
+        service.enqueue(TABLE, PROJECT, rows(2));
+        // Every write sees a new row arrive, so the queue never drains
+        when(tableCreationService.bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), anyList()))
+                .thenAnswer(invocation -> {
+                    service.enqueue(TABLE, PROJECT, List.of(Map.of("sensor", "s-2", "value", 2)));
+                    return success(2);
+                })
+                .thenAnswer(invocation -> {
+                    service.enqueue(TABLE, PROJECT, List.of(Map.of("sensor", "s-3", "value", 3)));
+                    return success(1);
+                })
+                .thenThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection", new SQLException("Connection refused")))
+                .thenReturn(success(1));
+
+        flush(service);
+
+        assertEquals(1, stat(service, "depth"));
+        assertEquals(3L, stat(service, "written"));
+        // Segment 1 (rows 1-3) is behind the checkpoint; segment 2 still holds row 4
+        assertEquals(List.of("readings_1a2b3c4d.journal.2", "readings_1a2b3c4d.journal.3"), journalSegments());
+        assertEquals("3", Files.readString(spillDir.resolve(PROJECT).resolve("readings_1a2b3c4d.checkpoint")));
+
+        IngestionQueueService restarted = newService(100, spillDir);
+        restarted.recoverJournals();
+
+        ArgumentCaptor<List<Map<String, Object>>> written = rowsCaptor();
+        verify(tableCreationService, timeout(5000).times(4)).bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), written.capture());
+        assertEquals(List.of(Map.of("sensor", "s-3", "value", 3)), written.getAllValues().get(3));
+    }
+
+    @Test
+    void unsegmentedJournalIsReplayed() throws Exception {
+        Path directory = Files.createDirectories(spillDir.resolve(PROJECT));
+        Files.writeString(directory.resolve("readings_1a2b3c4d.table"), TABLE);
+        Files.writeString(directory.resolve("readings_1a2b3c4d.checkpoint"), "1");
+        Files.writeString(directory.resolve("readings_1a2b3c4d.journal"), "1\t{\"sensor\":\"s-0\",\"value\":0}\n2\t{\"sensor\":\"s-1\",\"value\":1}\n");
+        when(tableCreationService.bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), anyList())).thenReturn(success(1));
+
+        IngestionQueueService service = newService(100, spillDir);
+        service.recoverJournals();
+
+        ArgumentCaptor<List<Map<String, Object>>> written = rowsCaptor();
+        verify(tableCreationService, timeout(5000)).bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), written.capture());
+        assertEquals(rows(2).subList(1, 2), written.getValue());
+    }
+
+    @Test
+    void withoutSpillDirectoryNothingIsJournaled() throws Exception {
+        IngestionQueueService service = newService(100, null);
+        service.enqueue(TABLE, PROJECT, rows(1));
+
+        assertFalse((Boolean) stat(service, "durable"));
+        try (var files = Files.list(spillDir)) {
+            assertEquals(0, files.count());
+        }
+        verify(tableCreationService, never()).bulkInsertIntoDynamicTable(eq(TABLE), eq(PROJECT), anyList());
+    }
+
+    private IngestionQueueService newService(int capacity, Path journalDir) {
+        ProjectConfigService projectConfigService = mock(ProjectConfigService.class);
+        DatabaseConnectivityService databaseConnectivityService = mock(DatabaseConnectivityService.class);
+        ProjectConfig projectConfig = new ProjectConfig();
+        projectConfig.setDatabaseConnectionIdRef("connection-1");
+        DatabaseConnectionDetails details = new DatabaseConnectionDetails();
+        details.setUuid("connection-1");
+        when(projectConfigService.getProjectConfigById(PROJECT)).thenReturn(Optional.of(projectConfig));
+        when(databaseConnectivityService.getSavedConnectionByUuid("connection-1")).thenReturn(Optional.of(details));
+
+        IngestionQueueService service = new IngestionQueueService();
+        ReflectionTestUtils.setField(service, "tableCreationService", tableCreationService);
+        ReflectionTestUtils.setField(service, "projectConfigService", projectConfigService);
+        ReflectionTestUtils.setField(service, "databaseConnectivityService", databaseConnectivityService);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(service, "flushSize", 1000);
+        // Flushes are triggered by the tests; the periodic flush never runs during a test
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(service, "spillDir", journalDir != null ? journalDir.toString() : "");
+        services.add(service);
+        return service;
+    }
+
+    private List<String> journalSegments() throws Exception {
+        try (var files = Files.list(spillDir.resolve(PROJECT))) {
+            return files.map(f -> f.getFileName().toString()).filter(name -> name.contains(".journal")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void flush(IngestionQueueService service) {
+        Map<String, ?> queues = (Map<String, ?>) ReflectionTestUtils.getField(service, "queues");
+        ReflectionTestUtils.invokeMethod(service, "flush", queues.get(QUEUE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ScheduledExecutorService> writers(IngestionQueueService service) {
+        return (Map<String, ScheduledExecutorService>) ReflectionTestUtils.getField(service, "writers");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object stat(IngestionQueueService service, String name) {
+        return ((Map<String, Object>) service.getStats().get(QUEUE)).get(name);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentCaptor<List<Map<String, Object>>> rowsCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+    }
+
+    private static List<Map<String, Object>> rows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Mutable, like the maps Jackson hands to the controller
+            Map<String, Object> row = new HashMap<>();
+            row.put("sensor", "s-" + i);
+            row.put("value", i);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static BulkInsertResultDto success(int count) {
+        return BulkInsertResultDto.builder()
+                .requested(count).inserted(count).failed(0)
+                .systemRowIds(new ArrayList<>(List.of()))
+                .errors(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,291 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.auth.job.service.SchedulerService;
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.database.SqlDialect;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.AggregateSpecDto;
+import com.easy.tabledef.dto.AggregationRequestDto;
+import com.easy.tabledef.dto.FilterCriteriaDto;
+import com.easy.tabledef.dto.SummaryTableRequestDto;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.SummaryTable;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.repository.SummaryTableRepository;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import com.easy.tabledef.util.AggregationQueryCompiler;
+import com.easy.tabledef.util.FilterQueryCompiler;
+import com.easy.tabledef.util.SqlFragment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Incremental summary refreshes against an in-memory tenant database: after each write the summary
+ * table must hold exactly what the live aggregation of the source table returns.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SummaryTableServiceTest {
+
+    private static final String PROJECT = "project-1";
+    private static final String TABLE_ID = "bbbbbbbb-0000-0000-0000-000000000002";
+    private static final String SUMMARY_ID = "cccccccc-0000-0000-0000-000000000003";
+    private static final String SALES_TABLE = "sales_5a6b7c8d";
+
+    @Mock
+    private SummaryTableRepository summaryTableRepository;
+
+    @Mock
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Mock
+    private ProjectConfigService projectConfigService;
+
+    @Mock
+    private DatabaseConnectivityService databaseConnectivityService;
+
+    @Mock
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Mock
+    private SchedulerService schedulerService;
+
+    @Spy
+    private AggregationQueryCompiler aggregationQueryCompiler = new AggregationQueryCompiler();
+
+    @Spy
+    private FilterQueryCompiler filterQueryCompiler = new FilterQueryCompiler();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private SummaryTableService summaryTableService;
+
+    private JdbcTemplate jdbcTemplate;
+    private DatabaseConnectionDetails details;
+    private TableDefinition sales;
+    private SummaryTable summary;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:summaries;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE " + SALES_TABLE + " (system_row_id VARCHAR(36) PRIMARY KEY, region VARCHAR(255), "
+                + "status VARCHAR(255), amount DECIMAL(10, 2), quantity INT)");
+        insert("s1", "north", "paid", "10.00", 1);
+        insert("s2", "north", "paid", "15.50", 3);
+        insert("s3", "south", "paid", "7.25", 2);
+        insert("s4", "south", "open", "99.00", 9);
+        insert("s5", null, "paid", "4.00", 5);
+
+        ReflectionTestUtils.setField(aggregationQueryCompiler, "filterQueryCompiler", filterQueryCompiler);
+        ReflectionTestUtils.setField(summaryTableService, "defaultRefreshCron", "0 */5 * * * ?");
+
+        ProjectConfig projectConfig = new ProjectConfig();
+        projectConfig.setDatabaseConnectionIdRef("connection-1");
+        details = new DatabaseConnectionDetails();
+        details.setUuid("connection-1");
+        details.setDbType("h2");
+        sales = sales();
+        when(projectConfigService.getProjectConfigById(PROJECT)).thenReturn(Optional.of(projectConfig));
+        when(databaseConnectivityService.getSavedConnectionByUuid("connection-1")).thenReturn(Optional.of(details));
+        when(dynamicDataSourceManager.getJdbcTemplate(details)).thenReturn(jdbcTemplate);
+        when(dynamicDataSourceManager.getDataSource(details)).thenReturn(dataSource);
+        when(tableDefinitionRepository.findByTableNameAndProjectConfigIdRef("Sales", PROJECT)).thenReturn(Optional.of(sales));
+        when(tableDefinitionRepository.findById(TABLE_ID)).thenReturn(Optional.of(sales));
+
+        // The repository's update queries are applied to the entity the mocks hand out
+        when(summaryTableRepository.save(any(SummaryTable.class))).thenAnswer(invocation -> {
+            summary = invocation.getArgument(0);
+            summary.setId(SUMMARY_ID);
+            return summary;
+        });
+        when(summaryTableRepository.findById(SUMMARY_ID)).thenAnswer(invocation -> Optional.ofNullable(summary));
+        when(summaryTableRepository.findByNameAndProjectConfigIdRef("paid_by_region", PROJECT)).thenAnswer(invocation -> Optional.ofNullable(summary));
+        when(summaryTableRepository.findBySourceTableDefinitionIdRef(TABLE_ID)).thenAnswer(invocation -> List.of(summary));
+        doAnswer(invocation -> {
+            summary.setFullRefreshRequired(false);
+            return 1;
+        }).when(summaryTableRepository).clearFullRefreshRequired(SUMMARY_ID);
+        doAnswer(invocation -> {
+            summary.setStatus("READY");
+            summary.setLastRefreshedAt(LocalDateTime.now());
+            summary.setLastRefreshGroups(invocation.getArgument(1));
+            return 1;
+        }).when(summaryTableRepository).markRefreshed(eq(SUMMARY_ID), any());
+
+        summaryTableService.createSummaryTable(PROJECT, SummaryTableRequestDto.builder()
+                .name("paid_by_region")
+                .sourceTable("Sales")
+                .aggregates(spec().getAggregates())
+                .groupBy(spec().getGroupBy())
+                .filter(spec().getFilter())
+                .build());
+        summaryTableService.refresh(SUMMARY_ID, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void initialBuildMatchesLiveAggregation() {
+        assertEquals("READY", summary.getStatus());
+        assertEquals(liveAggregation(), summaryRows());
+    }
+
+    @Test
+    void incrementalRefreshAfterInsertMatchesLiveAggregation() {
+        write(List.of(), () -> {
+            insert("s6", "north", "paid", "1.10", 4);
+            insert("s7", "east", "paid", "20.00", 7);
+            insert("s8", "west", "open", "3.00", 1);
+        }, List.of("s6", "s7", "s8"));
+
+        summaryTableService.refresh(SUMMARY_ID, false);
+
+        assertEquals(3, summary.getLastRefreshGroups().intValue());
+        assertEquals(liveAggregation(), summaryRows());
+    }
+
+    @Test
+    void incrementalRefreshAfterUpdateMatchesLiveAggregation() {
+        // s2 moves from north to the null group, s4 starts matching the filter, s3 stops matching it
+        write(List.of("s2", "s3", "s4"), () -> {
+            jdbcTemplate.update("UPDATE " + SALES_TABLE + " SET region = NULL, amount = 16.00 WHERE system_row_id = 's2'");
+            jdbcTemplate.update("UPDATE " + SALES_TABLE + " SET status = 'open' WHERE system_row_id = 's3'");
+            jdbcTemplate.update("UPDATE " + SALES_TABLE + " SET status = 'paid' WHERE system_row_id = 's4'");
+        }, List.of("s2", "s3", "s4"));
+
+        summaryTableService.refresh(SUMMARY_ID, false);
+
+        assertEquals(liveAggregation(), summaryRows());
+    }
+
+    @Test
+    void incrementalRefreshAfterDeleteMatchesLiveAggregation() {
+        // The south group loses its only paid row and must disappear from the summary
+        write(List.of("s1", "s3"), () -> jdbcTemplate.update("DELETE FROM " + SALES_TABLE + " WHERE system_row_id IN ('s1', 's3')"), List.of());
+
+        summaryTableService.refresh(SUMMARY_ID, false);
+
+        List<Map<String, Object>> rows = summaryRows();
+        assertFalse(rows.stream().anyMatch(row -> "south".equals(row.get("region"))));
+        assertEquals(liveAggregation(), rows);
+    }
+
+    @Test
+    void refreshWithoutChangesRecomputesNothing() {
+        summaryTableService.refresh(SUMMARY_ID, false);
+
+        assertEquals(0, summary.getLastRefreshGroups().intValue());
+        verify(summaryTableRepository, never()).markFailed(anyString(), anyString());
+        verify(summaryTableRepository, never()).requireFullRefresh(TABLE_ID);
+    }
+
+    /**
+     * Runs a write the way TableCreationService does: groups of the affected rows before it, their current groups after it.
+     */
+    private void write(List<String> affectedIds, Runnable statement, List<String> rowIdsAfter) {
+        SummaryTableService.ChangedGroups changedGroups = summaryTableService.collectChangedGroups(details, jdbcTemplate, sales,
+                summaryTableService.getSummariesAffectedBy(sales, null), affectedIds);
+        statement.run();
+        summaryTableService.recordChanges(changedGroups, rowIdsAfter);
+    }
+
+    private List<Map<String, Object>> liveAggregation() {
+        SqlFragment statement = aggregationQueryCompiler.compile(SqlDialect.H2, sales, spec(), 1000).getStatement();
+        return normalize(jdbcTemplate.queryForList(statement.getSql(), statement.getParameters().toArray()));
+    }
+
+    private List<Map<String, Object>> summaryRows() {
+        return normalize(summaryTableService.getSummaryData(PROJECT, "paid_by_region", null).getRows());
+    }
+
+    // Summary and live queries return different numeric types and scales (e.g., BIGINT vs. BIGDECIMAL sums)
+    private static List<Map<String, Object>> normalize(List<Map<String, Object>> rows) {
+        List<Map<String, Object>> normalized = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> values = new TreeMap<>();
+            row.forEach((column, value) -> values.put(column.toLowerCase(), value instanceof Number
+                    ? new BigDecimal(value.toString()).setScale(2, RoundingMode.HALF_UP)
+                    : value));
+            normalized.add(values);
+        }
+        return normalized;
+    }
+
+    private void insert(String id, String region, String status, String amount, int quantity) {
+        jdbcTemplate.update("INSERT INTO " + SALES_TABLE + " VALUES (?, ?, ?, ?, ?)", id, region, status, new BigDecimal(amount), quantity);
+    }
+
+    private static AggregationRequestDto spec() {
+        return AggregationRequestDto.builder()
+                .aggregates(List.of(
+                        AggregateSpecDto.builder().function("count").alias("orders").build(),
+                        AggregateSpecDto.builder().function("sum").field("amount").alias("revenue").build(),
+                        AggregateSpecDto.builder().function("avg").field("amount").alias("average_amount").build(),
+                        AggregateSpecDto.builder().function("min").field("quantity").alias("smallest").build(),
+                        AggregateSpecDto.builder().function("max").field("quantity").alias("largest").build()))
+                .groupBy(List.of("region"))
+                .filter(FilterCriteriaDto.builder().field("status").op("eq").value("paid").build())
+                .build();
+    }
+
+    private static TableDefinition sales() {
+        TableDefinition tableDef = new TableDefinition();
+        tableDef.setId(TABLE_ID);
+        tableDef.setTableName("Sales");
+        tableDef.setFinalTableName(SALES_TABLE);
+        tableDef.setProjectConfigIdRef(PROJECT);
+        tableDef.setColumns(List.of(
+                column("region", "VARCHAR"),
+                column("status", "VARCHAR"),
+                column("amount", "DECIMAL"),
+                column("quantity", "INT")));
+        return tableDef;
+    }
+
+    private static ColumnDefinition column(String name, String type) {
+        ColumnDefinition column = new ColumnDefinition();
+        column.setColumnName(name);
+        column.setColumnType(type);
+        return column;
+    }
+}
@@ -0,0 +1,179 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.database.SqlDialect;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.BulkDeleteRequestDto;
+import com.easy.tabledef.dto.BulkMutationResultDto;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import com.easy.tabledef.search.FullTextIndexService;
+import com.easy.tabledef.util.DynamicTableAccessor;
+import com.easy.tabledef.util.ReferenceValueCache;
+import com.easy.tabledef.util.SqlFragment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chunked bulk deletes against an in-memory table, with deleteChunkSize 2.
+ */
+@ExtendWith(MockitoExtension.class)
+class TableCreationServiceBulkDeleteTest {
+
+    private static final String PROJECT = "project-1";
+    private static final String TABLE_ID = "aaaaaaaa-0000-0000-0000-000000000001";
+
+    @Mock
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Mock
+    private ProjectConfigService projectConfigService;
+
+    @Mock
+    private DatabaseConnectivityService databaseConnectivityService;
+
+    @Mock
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Mock
+    private ReferenceValueCache referenceValueCache;
+
+    @Mock
+    private FullTextIndexService fullTextIndexService;
+
+    @Mock
+    private SummaryTableService summaryTableService;
+
+    @Spy
+    private DynamicTableAccessor dynamicTableAccessor = new DynamicTableAccessor();
+
+    @InjectMocks
+    private TableCreationService tableCreationService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:bulkdelete;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items_1a2b3c4d (system_row_id VARCHAR(36) PRIMARY KEY, name VARCHAR(255))");
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update("INSERT INTO items_1a2b3c4d VALUES (?, ?)", "row-" + i, "item " + i);
+        }
+
+        ProjectConfig projectConfig = new ProjectConfig();
+        projectConfig.setDatabaseConnectionIdRef("connection-1");
+        DatabaseConnectionDetails details = new DatabaseConnectionDetails();
+        details.setUuid("connection-1");
+        details.setDbType("h2");
+        when(projectConfigService.getProjectConfigById(PROJECT)).thenReturn(Optional.of(projectConfig));
+        when(databaseConnectivityService.getSavedConnectionByUuid("connection-1")).thenReturn(Optional.of(details));
+        when(dynamicDataSourceManager.getJdbcTemplate(details)).thenReturn(jdbcTemplate);
+        when(dynamicDataSourceManager.getDataSource(details)).thenReturn(dataSource);
+        when(tableDefinitionRepository.findWithColumnsByTableNameAndProjectConfigIdRef("Items", PROJECT)).thenReturn(Optional.of(items()));
+
+        ReflectionTestUtils.setField(tableCreationService, "bulkDeleteChunkSize", 2);
+        ReflectionTestUtils.setField(tableCreationService, "maxBulkRows", 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE items_1a2b3c4d");
+    }
+
+    @Test
+    void deletesInChunksAndBumpsVersionOnce() {
+        BulkDeleteRequestDto request = BulkDeleteRequestDto.builder()
+                .systemRowIds(List.of("row-1", "row-2", "row-3", "row-4", "missing"))
+                .build();
+
+        BulkMutationResultDto result = tableCreationService.bulkDeleteFromDynamicTable("Items", PROJECT, request);
+
+        assertEquals(4, result.getRowsAffected());
+        assertEquals(List.of("row-5"), remainingIds());
+        // One DELETE per chunk of IDs that still matched rows; the chunk holding only "missing" selects nothing
+        verify(dynamicTableAccessor, times(2)).deleteWhere(eq(jdbcTemplate), eq(SqlDialect.H2), eq("items_1a2b3c4d"), any(SqlFragment.class));
+        assertEquals(2, result.getStatements());
+        verify(tableDefinitionRepository, times(1)).incrementDataVersion(TABLE_ID);
+        verify(fullTextIndexService).removeRows(eq("connection-1"), any(TableDefinition.class), eq(List.of("row-1", "row-2")));
+    }
+
+    @Test
+    void failedChunkKeepsEarlierChunksAndStillBumpsVersion() {
+        doCallRealMethod()
+                .doThrow(new DataAccessResourceFailureException("Connection lost"))
+                .when(dynamicTableAccessor).deleteWhere(any(JdbcTemplate.class), any(SqlDialect.class), anyString(), any(SqlFragment.class));
+        BulkDeleteRequestDto request = BulkDeleteRequestDto.builder()
+                .systemRowIds(List.of("row-1", "row-2", "row-3", "row-4"))
+                .build();
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> tableCreationService.bulkDeleteFromDynamicTable("Items", PROJECT, request));
+
+        assertEquals(List.of("row-3", "row-4", "row-5"), remainingIds());
+        verify(tableDefinitionRepository, times(1)).incrementDataVersion(TABLE_ID);
+    }
+
+    @Test
+    void nothingDeletedLeavesVersionAlone() {
+        BulkDeleteRequestDto request = BulkDeleteRequestDto.builder().systemRowIds(List.of("missing")).build();
+
+        BulkMutationResultDto result = tableCreationService.bulkDeleteFromDynamicTable("Items", PROJECT, request);
+
+        assertEquals(0, result.getRowsAffected());
+        verify(tableDefinitionRepository, never()).incrementDataVersion(anyString());
+    }
+
+    @Test
+    void runsWithoutMetadataTransaction() throws NoSuchMethodException {
+        // Otherwise the version increment of committed chunks would roll back with a failing later chunk
+        assertNull(TableCreationService.class.getMethod("bulkDeleteFromDynamicTable", String.class, String.class, BulkDeleteRequestDto.class)
+                .getAnnotation(Transactional.class));
+    }
+
+    private List<String> remainingIds() {
+        return jdbcTemplate.queryForList("SELECT system_row_id FROM items_1a2b3c4d ORDER BY system_row_id", String.class);
+    }
+
+    private static TableDefinition items() {
+        ColumnDefinition name = new ColumnDefinition();
+        name.setColumnName("name");
+        name.setColumnType("VARCHAR");
+        TableDefinition items = new TableDefinition();
+        items.setId(TABLE_ID);
+        items.setTableName("Items");
+        items.setFinalTableName("items_1a2b3c4d");
+        items.setColumns(List.of(name));
+        return items;
+    }
+}
@@ -0,0 +1,165 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.BulkMutationResultDto;
+import com.easy.tabledef.dto.BulkUpdateRequestDto;
+import com.easy.tabledef.dto.FilterCriteriaDto;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.SummaryTable;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import com.easy.tabledef.search.FullTextIndexService;
+import com.easy.tabledef.util.DynamicTableAccessor;
+import com.easy.tabledef.util.FilterQueryCompiler;
+import com.easy.tabledef.util.ReferenceValueCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Filter-based bulk updates against an in-memory table, with easy.bulk.max-tracked-rows 2.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TableCreationServiceBulkUpdateTest {
+
+    private static final String PROJECT = "project-1";
+    private static final String TABLE_ID = "aaaaaaaa-0000-0000-0000-000000000005";
+
+    @Mock
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Mock
+    private ProjectConfigService projectConfigService;
+
+    @Mock
+    private DatabaseConnectivityService databaseConnectivityService;
+
+    @Mock
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Mock
+    private ReferenceValueCache referenceValueCache;
+
+    @Mock
+    private FullTextIndexService fullTextIndexService;
+
+    @Mock
+    private SummaryTableService summaryTableService;
+
+    @Spy
+    private DynamicTableAccessor dynamicTableAccessor = new DynamicTableAccessor();
+
+    @Spy
+    private FilterQueryCompiler filterQueryCompiler = new FilterQueryCompiler();
+
+    @InjectMocks
+    private TableCreationService tableCreationService;
+
+    private JdbcTemplate jdbcTemplate;
+    private TableDefinition items;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:bulkupdate;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items_5e6f7a8b (system_row_id VARCHAR(36) PRIMARY KEY, name VARCHAR(255), status VARCHAR(255))");
+        for (int i = 1; i <= 4; i++) {
+            jdbcTemplate.update("INSERT INTO items_5e6f7a8b VALUES (?, ?, ?)", "row-" + i, "item " + i, i <= 3 ? "open" : "closed");
+        }
+
+        ProjectConfig projectConfig = new ProjectConfig();
+        projectConfig.setDatabaseConnectionIdRef("connection-1");
+        DatabaseConnectionDetails details = new DatabaseConnectionDetails();
+        details.setUuid("connection-1");
+        details.setDbType("h2");
+        items = items();
+        when(projectConfigService.getProjectConfigById(PROJECT)).thenReturn(Optional.of(projectConfig));
+        when(databaseConnectivityService.getSavedConnectionByUuid("connection-1")).thenReturn(Optional.of(details));
+        when(dynamicDataSourceManager.getJdbcTemplate(details)).thenReturn(jdbcTemplate);
+        when(dynamicDataSourceManager.getDataSource(details)).thenReturn(dataSource);
+        when(tableDefinitionRepository.findByTableNameAndProjectConfigIdRef("Items", PROJECT)).thenReturn(Optional.of(items));
+        when(fullTextIndexService.touchesSearchableColumns(eq(items), any())).thenReturn(true);
+        when(summaryTableService.getSummariesAffectedBy(eq(items), any())).thenReturn(List.of(new SummaryTable()));
+
+        ReflectionTestUtils.setField(tableCreationService, "maxTrackedBulkRows", 2);
+        ReflectionTestUtils.setField(tableCreationService, "maxBulkRows", 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE items_5e6f7a8b");
+    }
+
+    @Test
+    void updateWithinTheCapTracksEachRow() {
+        BulkMutationResultDto result = tableCreationService.bulkUpdateDynamicTable("Items", PROJECT, update("closed"));
+
+        assertEquals(1, result.getRowsAffected());
+        verify(fullTextIndexService).reindexRows(eq("connection-1"), eq(jdbcTemplate), any(), eq(items), eq(List.of("row-4")));
+        verify(summaryTableService, never()).sourceDefinitionChanged(any());
+    }
+
+    @Test
+    void updateBeyondTheCapFlagsIndexAndSummariesForRebuild() {
+        BulkMutationResultDto result = tableCreationService.bulkUpdateDynamicTable("Items", PROJECT, update("open"));
+
+        assertEquals(3, result.getRowsAffected());
+        assertEquals(List.of("renamed", "renamed", "renamed"),
+                jdbcTemplate.queryForList("SELECT name FROM items_5e6f7a8b WHERE status = 'open'", String.class));
+        verify(fullTextIndexService).invalidate("connection-1", items);
+        verify(summaryTableService).sourceDefinitionChanged(items);
+        verify(fullTextIndexService, never()).reindexRows(anyString(), any(), any(), any(), anyList());
+        verify(summaryTableService).collectChangedGroups(any(), eq(jdbcTemplate), eq(items), eq(List.of()), eq(List.of()));
+    }
+
+    private static BulkUpdateRequestDto update(String status) {
+        return BulkUpdateRequestDto.builder()
+                .set(Map.of("name", "renamed"))
+                .filter(FilterCriteriaDto.builder().field("status").op("eq").value(status).build())
+                .build();
+    }
+
+    private static TableDefinition items() {
+        TableDefinition items = new TableDefinition();
+        items.setId(TABLE_ID);
+        items.setTableName("Items");
+        items.setFinalTableName("items_5e6f7a8b");
+        items.setColumns(List.of(column("name"), column("status")));
+        return items;
+    }
+
+    private static ColumnDefinition column(String name) {
+        ColumnDefinition column = new ColumnDefinition();
+        column.setColumnName(name);
+        column.setColumnType("VARCHAR");
+        return column;
+    }
+}
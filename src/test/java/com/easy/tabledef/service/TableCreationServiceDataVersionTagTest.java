@@ -0,0 +1,74 @@
+package com.easy.tabledef.service;
+
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TableCreationServiceDataVersionTagTest {
+
+    private static final String PROJECT = "project-1";
+
+    @Mock
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @InjectMocks
+    private TableCreationService tableCreationService;
+
+    @Test
+    void tagIsTableIdPrefixAndVersion() {
+        TableDefinition orders = table("aaaaaaaa-0000-0000-0000-000000000001", 3);
+        when(tableDefinitionRepository.findByTableNameAndProjectConfigIdRef("Orders", PROJECT)).thenReturn(Optional.of(orders));
+
+        assertEquals("\"aaaaaaaa-3\"", tableCreationService.getDataVersionTag("Orders", PROJECT));
+    }
+
+    @Test
+    void tagChangesWhenReferencedTableChanges() {
+        TableDefinition customers = table("bbbbbbbb-0000-0000-0000-000000000002", 5);
+        TableDefinition orders = table("aaaaaaaa-0000-0000-0000-000000000001", 3);
+        ColumnDefinition customer = new ColumnDefinition();
+        customer.setColumnName("customer");
+        customer.setReference(true);
+        customer.setReferencedTableIdRef(customers.getId());
+        orders.setColumns(List.of(customer));
+        when(tableDefinitionRepository.findByTableNameAndProjectConfigIdRef("Orders", PROJECT)).thenReturn(Optional.of(orders));
+        when(tableDefinitionRepository.findAllById(anyIterable())).thenReturn(List.of(customers));
+
+        String before = tableCreationService.getDataVersionTag("Orders", PROJECT);
+        customers.setDataVersion(6);
+        String after = tableCreationService.getDataVersionTag("Orders", PROJECT);
+
+        assertEquals("\"aaaaaaaa-3.bbbbbbbb:5\"", before);
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void unknownTableIsRejected() {
+        when(tableDefinitionRepository.findByTableNameAndProjectConfigIdRef("Missing", PROJECT)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> tableCreationService.getDataVersionTag("Missing", PROJECT));
+    }
+
+    private static TableDefinition table(String id, long dataVersion) {
+        TableDefinition tableDef = new TableDefinition();
+        tableDef.setId(id);
+        tableDef.setDataVersion(dataVersion);
+        tableDef.setColumns(List.of());
+        return tableDef;
+    }
+}
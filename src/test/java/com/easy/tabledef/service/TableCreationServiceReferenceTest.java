@@ -0,0 +1,182 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import com.easy.tabledef.util.DynamicTableAccessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reference validation against a real (in-memory) referenced table. The referenced column is
+ * case-insensitive, like a column with MySQL's default collation.
+ */
+@ExtendWith(MockitoExtension.class)
+class TableCreationServiceReferenceTest {
+
+    private static final String PROJECT = "project-1";
+    private static final String CUSTOMERS_ID = "bbbbbbbb-0000-0000-0000-000000000002";
+    private static final String CODE_COLUMN_ID = "cccccccc-0000-0000-0000-000000000003";
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Mock
+    private ProjectConfigService projectConfigService;
+
+    @Mock
+    private DatabaseConnectivityService databaseConnectivityService;
+
+    @Mock
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Spy
+    private DynamicTableAccessor dynamicTableAccessor = new DynamicTableAccessor();
+
+    @InjectMocks
+    private TableCreationService tableCreationService;
+
+    @BeforeAll
+    static void createReferencedTable() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:references;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE customers_1a2b3c4d (system_row_id VARCHAR(36) PRIMARY KEY, code VARCHAR_IGNORECASE(20))");
+        jdbcTemplate.update("INSERT INTO customers_1a2b3c4d VALUES ('r1', 'ACME-1'), ('r2', 'GLOBEX-7')");
+    }
+
+    @AfterAll
+    static void dropReferencedTable() {
+        jdbcTemplate.execute("DROP TABLE customers_1a2b3c4d");
+    }
+
+    @Test
+    void existingValuesAreMatchedWithTheColumnsComparison() {
+        useDatabase();
+
+        Map<Integer, String> errors = tableCreationService.findReferenceErrors(PROJECT, orders(false),
+                List.of(row("ACME-1"), row("acme-1"), row("Globex-7")));
+
+        assertTrue(errors.isEmpty(), errors.toString());
+    }
+
+    @Test
+    void missingValuesAreReportedPerRow() {
+        useDatabase();
+
+        Map<Integer, String> errors = tableCreationService.findReferenceErrors(PROJECT, orders(false),
+                List.of(row("ACME-1"), row("INITECH-3"), row("GLOBEX-7"), row("UMBRELLA-9")));
+
+        assertEquals(Set.of(1, 3), errors.keySet());
+        assertTrue(errors.get(1).startsWith("Invalid reference: Value 'INITECH-3'"), errors.get(1));
+    }
+
+    @Test
+    void nullAndNonStringValuesAreRejected() {
+        useDatabase();
+        Map<String, Object> nonString = new HashMap<>();
+        nonString.put("customer", 42);
+
+        Map<Integer, String> errors = tableCreationService.findReferenceErrors(PROJECT, orders(false), List.of(row(null), nonString));
+
+        assertTrue(errors.get(0).startsWith("Non-nullable reference column 'customer'"), errors.get(0));
+        assertTrue(errors.get(1).startsWith("Value for reference column 'customer' must be a String"), errors.get(1));
+    }
+
+    @Test
+    void nullableReferenceAcceptsNull() {
+        useDatabase();
+
+        assertTrue(tableCreationService.findReferenceErrors(PROJECT, orders(true), List.of(row(null))).isEmpty());
+    }
+
+    @Test
+    void lookupFailureIsADatabaseErrorNotAnInvalidReference() {
+        useDatabase();
+        doThrow(new UncategorizedSQLException("reference check", "SELECT ...", new SQLException("Illegal mix of collations")))
+                .when(dynamicTableAccessor).selectExistingValues(any(JdbcTemplate.class), anyString(), anyString(), anyCollection());
+
+        assertThrows(UncategorizedSQLException.class,
+                () -> tableCreationService.findReferenceErrors(PROJECT, orders(false), List.of(row("ACME-1"))));
+    }
+
+    private void useDatabase() {
+        ProjectConfig projectConfig = new ProjectConfig();
+        projectConfig.setDatabaseConnectionIdRef("connection-1");
+        DatabaseConnectionDetails details = new DatabaseConnectionDetails();
+        details.setUuid("connection-1");
+        when(projectConfigService.getProjectConfigById(PROJECT)).thenReturn(Optional.of(projectConfig));
+        when(databaseConnectivityService.getSavedConnectionByUuid("connection-1")).thenReturn(Optional.of(details));
+        when(dynamicDataSourceManager.getJdbcTemplate(details)).thenReturn(jdbcTemplate);
+        // Not looked up when no row holds a String reference value
+        lenient().when(tableDefinitionRepository.findById(CUSTOMERS_ID)).thenReturn(Optional.of(customers()));
+    }
+
+    private static TableDefinition customers() {
+        ColumnDefinition code = new ColumnDefinition();
+        code.setId(CODE_COLUMN_ID);
+        code.setColumnName("code");
+        code.setColumnType("VARCHAR");
+        TableDefinition customers = new TableDefinition();
+        customers.setId(CUSTOMERS_ID);
+        customers.setTableName("Customers");
+        customers.setFinalTableName("customers_1a2b3c4d");
+        customers.setColumns(List.of(code));
+        return customers;
+    }
+
+    private static TableDefinition orders(boolean nullableCustomer) {
+        ColumnDefinition customer = new ColumnDefinition();
+        customer.setColumnName("customer");
+        customer.setColumnType("REFERENCE");
+        customer.setReference(true);
+        customer.setNullable(nullableCustomer);
+        customer.setReferencedTableIdRef(CUSTOMERS_ID);
+        customer.setReferencedColumnIdRef(CODE_COLUMN_ID);
+        customer.setReferencedTableLogicalName("Customers");
+        customer.setReferencedColumnLogicalName("code");
+        TableDefinition orders = new TableDefinition();
+        orders.setTableName("Orders");
+        orders.setFinalTableName("orders_5e6f7a8b");
+        orders.setColumns(List.of(customer));
+        return orders;
+    }
+
+    private static Map<String, Object> row(String customer) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("customer", customer);
+        return row;
+    }
+}
@@ -0,0 +1,263 @@
+package com.easy.tabledef.service;
+
+import com.easy.application.dbtest.data.DatabaseConnectionDetails;
+import com.easy.application.dbtest.service.DatabaseConnectivityService;
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.projectconfig.model.ProjectConfig;
+import com.easy.projectconfig.service.ProjectConfigService;
+import com.easy.tabledef.dto.BulkInsertResultDto;
+import com.easy.tabledef.dto.BulkRowErrorDto;
+import com.easy.tabledef.dto.ImportRowErrorDto;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.model.TableImport;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import com.easy.tabledef.repository.TableImportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Imports of small CSV / NDJSON files into an H2 project (batched inserts), with chunkSize 2 and a mocked bulk insert.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TableImportServiceTest {
+
+    private static final String PROJECT = "project-1";
+    private static final String IMPORT_ID = "import-1";
+    private static final String TABLE_ID = "aaaaaaaa-0000-0000-0000-000000000001";
+
+    @Mock
+    private TableImportRepository tableImportRepository;
+
+    @Mock
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Mock
+    private ProjectConfigService projectConfigService;
+
+    @Mock
+    private DatabaseConnectivityService databaseConnectivityService;
+
+    @Mock
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Mock
+    private TableCreationService tableCreationService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private TableImportService tableImportService;
+
+    @TempDir
+    Path tempDir;
+
+    private TableImport tableImport;
+
+    @BeforeEach
+    void setUp() {
+        tableImport = new TableImport();
+        tableImport.setId(IMPORT_ID);
+        tableImport.setProjectConfigIdRef(PROJECT);
+        tableImport.setTableDefinitionIdRef(TABLE_ID);
+        tableImport.setLogicalTableName("People");
+        tableImport.setStatus(TableImportService.STATUS_RUNNING);
+        tableImport.setErrorFilePath(tempDir.resolve(IMPORT_ID + ".errors.ndjson").toString());
+
+        ProjectConfig projectConfig = new ProjectConfig();
+        projectConfig.setDatabaseConnectionIdRef("connection-1");
+        DatabaseConnectionDetails details = new DatabaseConnectionDetails();
+        details.setUuid("connection-1");
+        details.setDbType("h2");
+        when(tableImportRepository.transitionStatus(IMPORT_ID, TableImportService.STATUS_PENDING, TableImportService.STATUS_RUNNING, null)).thenReturn(1);
+        when(tableImportRepository.findById(IMPORT_ID)).thenReturn(Optional.of(tableImport));
+        when(tableImportRepository.save(any(TableImport.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tableDefinitionRepository.findById(TABLE_ID)).thenReturn(Optional.of(people()));
+        when(projectConfigService.getProjectConfigById(PROJECT)).thenReturn(Optional.of(projectConfig));
+        when(databaseConnectivityService.getSavedConnectionByUuid("connection-1")).thenReturn(Optional.of(details));
+        when(dynamicDataSourceManager.getJdbcTemplate(details)).thenReturn(new JdbcTemplate());
+        when(tableImportRepository.markCompleted(IMPORT_ID)).thenReturn(1);
+
+        ReflectionTestUtils.setField(tableImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(tableImportService, "maxErrors", 100);
+    }
+
+    @Test
+    void rejectsInvalidRowsWithTheirLines() throws IOException {
+        List<List<Map<String, Object>>> batches = rejectNamesStartingWithBad();
+        writeFile("people.csv", "name,age\n"
+                + "Ada,36\n"
+                + "Alan,abc\n"
+                + ",40\n"
+                + "Grace\n"
+                + "\"Bad\nname\",7\n"
+                + "Linus,\n");
+
+        tableImportService.runImport(IMPORT_ID);
+
+        verify(tableImportRepository).markCompleted(IMPORT_ID);
+        verify(tableImportRepository, never()).transitionStatus(eq(IMPORT_ID), eq(TableImportService.STATUS_RUNNING), eq(TableImportService.STATUS_FAILED), any());
+        assertEquals(List.of(
+                new ImportRowErrorDto(3, "Column 'age': Value 'abc' is not a valid INT."),
+                new ImportRowErrorDto(4, "Column 'name' cannot be null."),
+                new ImportRowErrorDto(5, "Expected 2 fields but found 1."),
+                new ImportRowErrorDto(6, "Duplicate value 'Bad\nname' for column 'name'.")
+        ), tableImportService.getImportErrors(PROJECT, IMPORT_ID, 100));
+
+        // Rows are converted to their column types; an empty non-text value is missing
+        assertEquals(List.of(Map.of("name", "Ada", "age", 36)), batches.get(0));
+        assertEquals(List.of(Map.of("name", "Bad\nname", "age", 7), Map.of("name", "Linus")), batches.get(1));
+        verify(tableImportRepository).saveProgress(eq(IMPORT_ID), anyLong(), eq(6L), eq(2L), eq(4L), eq(TableImportService.LOAD_BATCH));
+        assertFalse(Files.exists(Path.of(tableImport.getFilePath())), "The uploaded file is deleted after the import");
+    }
+
+    @Test
+    void rejectsInvalidNdjsonLines() throws IOException {
+        List<List<Map<String, Object>>> batches = rejectNamesStartingWithBad();
+        tableImport.setFormat("NDJSON");
+        writeFile("people.ndjson", "{\"name\": \"Ada\", \"age\": 36}\n"
+                + "{\"name\": \"Alan\"\n"
+                + "\n"
+                + "{\"name\": \"Grace\", \"email\": \"grace@example.com\"}\n"
+                + "{\"name\": {\"first\": \"Linus\"}}\n"
+                + "{\"name\": \"Edsger\", \"age\": \"70\", \"system_row_id\": \"ignored\"}\n");
+
+        tableImportService.runImport(IMPORT_ID);
+
+        verify(tableImportRepository).markCompleted(IMPORT_ID);
+        List<ImportRowErrorDto> errors = tableImportService.getImportErrors(PROJECT, IMPORT_ID, 100);
+        assertEquals(3, errors.size());
+        assertEquals(2, errors.get(0).getLine());
+        assertTrue(errors.get(0).getMessage().startsWith("Invalid JSON object: "), errors.get(0).getMessage());
+        assertEquals(new ImportRowErrorDto(4, "Unknown column 'email' for table 'People'."), errors.get(1));
+        assertEquals(new ImportRowErrorDto(5, "Column 'name' cannot hold a nested JSON value."), errors.get(2));
+        List<Map<String, Object>> inserted = new ArrayList<>();
+        batches.forEach(inserted::addAll);
+        assertEquals(List.of(Map.of("name", "Ada", "age", 36), Map.of("name", "Edsger", "age", 70)), inserted);
+    }
+
+    @Test
+    void interruptedInsertRecordsItsRejectionsAndFailsTheImport() throws IOException {
+        BulkInsertResultDto partial = BulkInsertResultDto.builder()
+                .requested(2)
+                .inserted(0)
+                .failed(1)
+                .systemRowIds(new ArrayList<>(Arrays.asList(null, null)))
+                .errors(List.of(new BulkRowErrorDto(0, "Duplicate value 'Ada' for column 'name'.")))
+                .build();
+        when(tableCreationService.bulkInsertIntoDynamicTable(eq("People"), eq(PROJECT), anyList()))
+                .thenThrow(new TableCreationService.BulkInsertInterruptedException("Database unavailable", partial, List.of(1),
+                        new DataAccessResourceFailureException("Connection refused")));
+        writeFile("people.csv", "name,age\nAda,36\nAlan,41\nGrace,\n");
+
+        tableImportService.runImport(IMPORT_ID);
+
+        verify(tableImportRepository, never()).markCompleted(anyString());
+        verify(tableImportRepository).transitionStatus(IMPORT_ID, TableImportService.STATUS_RUNNING, TableImportService.STATUS_FAILED, "Database unavailable");
+        verify(tableCreationService, times(1)).bulkInsertIntoDynamicTable(anyString(), anyString(), anyList());
+        assertEquals(List.of(new ImportRowErrorDto(2, "Duplicate value 'Ada' for column 'name'.")),
+                tableImportService.getImportErrors(PROJECT, IMPORT_ID, 100));
+    }
+
+    @Test
+    void skipsImportThatIsNotPending() {
+        when(tableImportRepository.transitionStatus(IMPORT_ID, TableImportService.STATUS_PENDING, TableImportService.STATUS_RUNNING, null)).thenReturn(0);
+
+        tableImportService.runImport(IMPORT_ID);
+
+        verify(tableImportRepository, never()).save(any(TableImport.class));
+        verify(tableCreationService, never()).bulkInsertIntoDynamicTable(anyString(), anyString(), anyList());
+        verify(tableImportRepository, never()).transitionStatus(eq(IMPORT_ID), eq(TableImportService.STATUS_RUNNING), anyString(), isNull());
+    }
+
+    /**
+     * Makes the bulk insert reject rows whose name starts with "Bad" and insert the others.
+     *
+     * @return The rows of each bulk insert call, in call order.
+     */
+    private List<List<Map<String, Object>>> rejectNamesStartingWithBad() {
+        List<List<Map<String, Object>>> batches = new ArrayList<>();
+        when(tableCreationService.bulkInsertIntoDynamicTable(eq("People"), eq(PROJECT), anyList())).thenAnswer(invocation -> {
+            List<Map<String, Object>> rows = invocation.getArgument(2);
+            batches.add(new ArrayList<>(rows));
+            List<BulkRowErrorDto> errors = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                Object name = rows.get(i).get("name");
+                if (name != null && name.toString().startsWith("Bad")) {
+                    errors.add(new BulkRowErrorDto(i, "Duplicate value '" + name + "' for column 'name'."));
+                }
+            }
+            return BulkInsertResultDto.builder()
+                    .requested(rows.size())
+                    .inserted(rows.size() - errors.size())
+                    .failed(errors.size())
+                    .errors(errors)
+                    .build();
+        });
+        return batches;
+    }
+
+    private void writeFile(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        tableImport.setFilePath(file.toString());
+        tableImport.setFileSize(Files.size(file));
+        if (tableImport.getFormat() == null) {
+            tableImport.setFormat("CSV");
+        }
+    }
+
+    private static TableDefinition people() {
+        ColumnDefinition name = new ColumnDefinition();
+        name.setColumnName("name");
+        name.setColumnType("VARCHAR");
+        ColumnDefinition age = new ColumnDefinition();
+        age.setColumnName("age");
+        age.setColumnType("INT");
+        age.setNullable(true);
+        TableDefinition people = new TableDefinition();
+        people.setId(TABLE_ID);
+        people.setTableName("People");
+        people.setFinalTableName("people_1a2b3c4d");
+        people.setColumns(List.of(name, age));
+        return people;
+    }
+}
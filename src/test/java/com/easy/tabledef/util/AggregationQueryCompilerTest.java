@@ -0,0 +1,109 @@
+package com.easy.tabledef.util;
+
+import com.easy.database.SqlDialect;
+import com.easy.tabledef.dto.AggregateSpecDto;
+import com.easy.tabledef.dto.AggregationRequestDto;
+import com.easy.tabledef.dto.FilterCriteriaDto;
+import com.easy.tabledef.model.TableDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AggregationQueryCompilerTest {
+
+    private final AggregationQueryCompiler compiler = new AggregationQueryCompiler();
+    private final TableDefinition orders = FilterQueryCompilerTest.orders();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(compiler, "filterQueryCompiler", new FilterQueryCompiler());
+    }
+
+    @Test
+    void compilesGroupedAggregationWithFilter() {
+        AggregationRequestDto request = AggregationRequestDto.builder()
+                .groupBy(List.of("status", "created_on:day", "status"))
+                .aggregates(List.of(new AggregateSpecDto("count", null, null), new AggregateSpecDto("sum", "amount", "total")))
+                .filter(FilterCriteriaDto.builder().field("quantity").op("range").from("3").build())
+                .build();
+
+        AggregationQueryCompiler.CompiledAggregation compiled = compiler.compile(SqlDialect.H2, orders, request, 101);
+
+        assertEquals("SELECT \"status\", CAST(\"created_on\" AS DATE) AS \"created_on_day\", COUNT(*) AS \"count\", SUM(\"amount\") AS \"total\""
+                        + " FROM \"orders_1a2b3c4d\" WHERE \"quantity\" >= ?"
+                        + " GROUP BY \"status\", CAST(\"created_on\" AS DATE) ORDER BY \"status\", CAST(\"created_on\" AS DATE) LIMIT 101",
+                compiled.getStatement().getSql());
+        assertEquals(List.of(3), compiled.getStatement().getParameters());
+        assertEquals(List.of("status", "created_on_day"), compiled.getGroupBy());
+        assertEquals(List.of("count", "total"), compiled.getAggregateAliases());
+    }
+
+    @Test
+    void ungroupedAggregationHasNoLimit() {
+        AggregationRequestDto request = AggregationRequestDto.builder()
+                .aggregates(List.of(new AggregateSpecDto("AVG", "quantity", null), new AggregateSpecDto("max", "created_on", null)))
+                .build();
+
+        AggregationQueryCompiler.CompiledAggregation compiled = compiler.compile(SqlDialect.MYSQL, orders, request, 101);
+
+        assertEquals("SELECT AVG(`quantity`) AS `avg_quantity`, MAX(`created_on`) AS `max_created_on` FROM `orders_1a2b3c4d`",
+                compiled.getStatement().getSql());
+        assertEquals(List.of(), compiled.getStatement().getParameters());
+    }
+
+    @Test
+    void sqlServerDayBucketAndLimit() {
+        AggregationRequestDto request = AggregationRequestDto.builder()
+                .groupBy(List.of("created_on:DAY"))
+                .aggregates(List.of(new AggregateSpecDto("count", "", "n")))
+                .build();
+
+        assertEquals("SELECT CAST([created_on] AS DATE) AS [created_on_day], COUNT(*) AS [n] FROM [orders_1a2b3c4d]"
+                        + " GROUP BY CAST([created_on] AS DATE) ORDER BY CAST([created_on] AS DATE) OFFSET 0 ROWS FETCH NEXT 10 ROWS ONLY",
+                compiler.compile(SqlDialect.SQLSERVER, orders, request, 10).getStatement().getSql());
+    }
+
+    @Test
+    void rejectsInvalidAggregates() {
+        assertInvalid(List.of(), null);
+        assertInvalid(List.of(new AggregateSpecDto("median", "amount", null)), null);
+        assertInvalid(List.of(new AggregateSpecDto("sum", null, null)), null);
+        assertInvalid(List.of(new AggregateSpecDto("sum", "status", null)), null);
+        assertInvalid(List.of(new AggregateSpecDto("avg", "customer", null)), null);
+        assertInvalid(List.of(new AggregateSpecDto("min", "nope", null)), null);
+        assertInvalid(List.of(new AggregateSpecDto("count", null, "total\" FROM secrets --")), null);
+        assertInvalid(List.of(new AggregateSpecDto("count", null, null), new AggregateSpecDto("count", "amount", "count")), null);
+        assertInvalid(List.of(new AggregateSpecDto("count", null, "status")), List.of("status"));
+    }
+
+    @Test
+    void rejectsInvalidGroupBy() {
+        List<AggregateSpecDto> count = List.of(new AggregateSpecDto("count", null, null));
+        assertInvalid(count, List.of("nope"));
+        assertInvalid(count, List.of("status:day"));
+        assertInvalid(count, List.of("created_on:week"));
+        assertInvalid(count, List.of("status", "amount", "quantity", "created_on", "customer", "system_row_id"));
+    }
+
+    @Test
+    void limitsNumberOfAggregates() {
+        List<AggregateSpecDto> aggregates = new ArrayList<>();
+        for (int i = 0; i <= AggregationQueryCompiler.MAX_AGGREGATES; i++) {
+            aggregates.add(new AggregateSpecDto("count", null, "c" + i));
+        }
+        assertInvalid(aggregates, null);
+        assertEquals(AggregationQueryCompiler.MAX_AGGREGATES,
+                compiler.resolveAggregates(orders, aggregates.subList(0, AggregationQueryCompiler.MAX_AGGREGATES), List.of()).size());
+    }
+
+    private void assertInvalid(List<AggregateSpecDto> aggregates, List<String> groupBy) {
+        AggregationRequestDto request = AggregationRequestDto.builder().aggregates(aggregates).groupBy(groupBy).build();
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(SqlDialect.H2, orders, request, 101));
+    }
+}
@@ -0,0 +1,78 @@
+package com.easy.tabledef.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnTypesTest {
+
+    @Test
+    void coercesNumbers() {
+        assertEquals(42, ColumnTypes.coerce("int", " 42 "));
+        assertEquals(42, ColumnTypes.coerce("integer", 42L));
+        assertEquals(9_000_000_000L, ColumnTypes.coerce("long", "9000000000"));
+        assertEquals(new BigDecimal("12.50"), ColumnTypes.coerce("decimal", "12.50"));
+        assertEquals(new BigDecimal("0.1"), ColumnTypes.coerce("double", "0.1"));
+    }
+
+    @Test
+    void coercesBooleans() {
+        assertEquals(Boolean.TRUE, ColumnTypes.coerce("boolean", "TRUE"));
+        assertEquals(Boolean.TRUE, ColumnTypes.coerce("boolean", "1"));
+        assertEquals(Boolean.FALSE, ColumnTypes.coerce("boolean", "false"));
+        assertEquals(Boolean.FALSE, ColumnTypes.coerce("boolean", "0"));
+        assertEquals(Boolean.TRUE, ColumnTypes.coerce("boolean", true));
+    }
+
+    @Test
+    void coercesDatesAndDateTimes() {
+        assertEquals(Date.valueOf("2024-03-01"), ColumnTypes.coerce("date", "2024-03-01"));
+        assertEquals(Date.valueOf("2024-03-01"), ColumnTypes.coerce("date", "2024-03-01T10:15:00"));
+        assertEquals(Timestamp.valueOf("2024-03-01 10:15:30"), ColumnTypes.coerce("datetime", "2024-03-01 10:15:30"));
+        assertEquals(Timestamp.valueOf("2024-03-01 10:15:30"), ColumnTypes.coerce("datetime", "2024-03-01T10:15:30"));
+        assertEquals(Timestamp.valueOf("2024-03-01 10:15:30"), ColumnTypes.coerce("datetime", LocalDateTime.of(2024, 3, 1, 10, 15, 30)));
+    }
+
+    @Test
+    void leavesTextAndNullsUnchanged() {
+        String value = " keep spaces ";
+        assertSame(value, ColumnTypes.coerce("varchar", value));
+        assertEquals("17", ColumnTypes.coerce("text", 17));
+        assertNull(ColumnTypes.coerce("int", null));
+    }
+
+    @Test
+    void rejectsInvalidValuesWithTheColumnType() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ColumnTypes.coerce("int", "12x"));
+        assertEquals("Value '12x' is not a valid int.", e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnTypes.coerce("boolean", "yes"));
+        assertThrows(IllegalArgumentException.class, () -> ColumnTypes.coerce("date", "01/03/2024"));
+        assertThrows(IllegalArgumentException.class, () -> ColumnTypes.coerce("datetime", "2024-03-01"));
+        assertThrows(IllegalArgumentException.class, () -> ColumnTypes.coerce("decimal", ""));
+    }
+
+    @Test
+    void textualTypes() {
+        assertTrue(ColumnTypes.isTextual("VARCHAR"));
+        assertTrue(ColumnTypes.isTextual("reference"));
+        assertFalse(ColumnTypes.isTextual("int"));
+        assertFalse(ColumnTypes.isTextual("datetime"));
+    }
+
+    @Test
+    void rejectsUnsupportedSqlType() {
+        assertEquals("DECIMAL(10, 2)", ColumnTypes.sqlType("double"));
+        assertThrows(IllegalArgumentException.class, () -> ColumnTypes.sqlType("blob"));
+    }
+}
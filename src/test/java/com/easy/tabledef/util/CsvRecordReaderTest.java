@@ -0,0 +1,111 @@
+package com.easy.tabledef.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsSimpleRecords() throws IOException {
+        List<List<String>> records = readAll("name,age\nAda,36\nAlan,41\n");
+
+        assertEquals(List.of(List.of("name", "age"), List.of("Ada", "36"), List.of("Alan", "41")), records);
+    }
+
+    @Test
+    void readsLastRecordWithoutTrailingNewline() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("1", "2")), readAll("a,b\n1,2"));
+    }
+
+    @Test
+    void acceptsCrLfAndCrLineEndings() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("1", "2"), List.of("3", "4")), readAll("a,b\r\n1,2\r3,4\r\n"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = readAll("id,note\n1,\"one, two\"\n2,\"say \"\"hi\"\"\"\n3,\"first\nsecond\"\n");
+
+        assertEquals(List.of("1", "one, two"), records.get(1));
+        assertEquals(List.of("2", "say \"hi\""), records.get(2));
+        assertEquals(List.of("3", "first\nsecond"), records.get(3));
+    }
+
+    @Test
+    void distinguishesEmptyUnquotedFromEmptyQuoted() throws IOException {
+        List<String> record = readAll("a,\"\",,\n").get(0);
+
+        assertEquals(4, record.size());
+        assertEquals("a", record.get(0));
+        assertEquals("", record.get(1));
+        assertNull(record.get(2));
+        assertNull(record.get(3));
+    }
+
+    @Test
+    void blankLineIsOneNullField() throws IOException {
+        List<List<String>> records = readAll("a\n\nb\n");
+
+        assertEquals(Arrays.asList((String) null), records.get(1));
+    }
+
+    @Test
+    void skipsByteOrderMark() throws IOException {
+        assertEquals(List.of("name", "age"), readAll("\uFEFFname,age\n").get(0));
+    }
+
+    @Test
+    void reportsTheLineEachRecordStartsOn() throws IOException {
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader("h\n\"multi\nline\"\nnext\r\nlast"))) {
+            reader.readRecord();
+            assertEquals(1, reader.getRecordLine());
+            reader.readRecord();
+            assertEquals(2, reader.getRecordLine());
+            reader.readRecord();
+            assertEquals(4, reader.getRecordLine());
+            reader.readRecord();
+            assertEquals(5, reader.getRecordLine());
+            assertNull(reader.readRecord());
+        }
+    }
+
+    @Test
+    void unterminatedQuoteFails() {
+        IOException e = assertThrows(IOException.class, () -> readAll("a,b\n1,\"open\n2,3\n"));
+
+        assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+    }
+
+    @Test
+    void readsFieldsLongerThanTheBuffer() throws IOException {
+        String longValue = "x".repeat(200_000);
+        String quotedLongValue = "y,\"".repeat(50_000);
+
+        List<List<String>> records = readAll(longValue + ",\"" + quotedLongValue.replace("\"", "\"\"") + "\"\nend,1\n");
+
+        assertEquals(longValue, records.get(0).get(0));
+        assertEquals(quotedLongValue, records.get(0).get(1));
+        assertEquals(List.of("end", "1"), records.get(1));
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,138 @@
+package com.easy.tabledef.util;
+
+import com.easy.database.DynamicDataSourceManager;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import com.easy.tabledef.repository.TableDefinitionRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DynamicTableAccessorReferenceCacheTest {
+
+    private static final String TENANT = "tenant-1";
+    private static final String CUSTOMERS_ID = "dddddddd-0000-0000-0000-000000000004";
+    private static final String CUSTOMERS_TABLE = "customers_9f8e7d6c";
+
+    private static JdbcTemplate primary;
+    private static JdbcTemplate replica;
+
+    @Mock
+    private DynamicDataSourceManager dynamicDataSourceManager;
+
+    @Mock
+    private TableDefinitionRepository tableDefinitionRepository;
+
+    @Spy
+    private ReferenceValueCache referenceValueCache = new ReferenceValueCache(100);
+
+    @InjectMocks
+    private DynamicTableAccessor dynamicTableAccessor;
+
+    @BeforeAll
+    static void createDatabases() {
+        primary = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:ref_primary;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        replica = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:ref_replica;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        for (JdbcTemplate db : List.of(primary, replica)) {
+            db.execute("CREATE TABLE " + CUSTOMERS_TABLE + " (system_row_id VARCHAR(36) PRIMARY KEY, name VARCHAR(50))");
+        }
+        // The replica has not applied the rename yet
+        primary.update("INSERT INTO " + CUSTOMERS_TABLE + " VALUES ('r1', 'Acme Corp')");
+        replica.update("INSERT INTO " + CUSTOMERS_TABLE + " VALUES ('r1', 'Acme')");
+    }
+
+    @AfterAll
+    static void dropDatabases() {
+        primary.execute("DROP TABLE " + CUSTOMERS_TABLE);
+        replica.execute("DROP TABLE " + CUSTOMERS_TABLE);
+    }
+
+    @Test
+    void referencedRowMissIsFilledFromThePrimary() {
+        when(dynamicDataSourceManager.findPrimaryJdbcTemplate(TENANT)).thenReturn(primary);
+
+        Optional<Map<String, Object>> row = dynamicTableAccessor.selectReferencedRow(TENANT, replica, customers(), "system_row_id", "r1");
+
+        assertEquals("Acme Corp", row.orElseThrow().get("name"));
+        assertEquals("Acme Corp", referenceValueCache.get(TENANT, CUSTOMERS_TABLE, "system_row_id", "r1", 0L).getDisplayValue());
+    }
+
+    @Test
+    void displayValueMissesAreFilledFromThePrimary() {
+        when(dynamicDataSourceManager.findPrimaryJdbcTemplate(TENANT)).thenReturn(primary);
+        when(tableDefinitionRepository.findById(CUSTOMERS_ID)).thenReturn(Optional.of(customers()));
+        Map<String, Object> order = new HashMap<>();
+        order.put("customer", "r1");
+
+        List<Map<String, Object>> resolved = dynamicTableAccessor.resolveReferenceColumns(TENANT, replica, orders(), List.of(order));
+
+        assertEquals("Acme Corp", resolved.get(0).get("customer_display_name"));
+    }
+
+    @Test
+    void arrayRowsAreResolvedInColumnHeaderOrder() {
+        when(dynamicDataSourceManager.findPrimaryJdbcTemplate(TENANT)).thenReturn(primary);
+        when(tableDefinitionRepository.findById(CUSTOMERS_ID)).thenReturn(Optional.of(customers()));
+        RowLayout layout = RowLayout.compile(orders());
+
+        List<Object[]> resolved = dynamicTableAccessor.resolveReferenceColumnsToArrays(TENANT, replica, orders(), layout,
+                List.<Object[]>of(new Object[]{"o1", "r1"}, new Object[]{"o2", null}));
+
+        assertEquals(List.of("system_row_id", "customer_id", "customer_display_name"), DynamicTableAccessor.resolvedColumnNames(layout));
+        assertArrayEquals(new Object[]{"o1", "r1", "Acme Corp"}, resolved.get(0));
+        assertArrayEquals(new Object[]{"o2", null, null}, resolved.get(1));
+    }
+
+    @Test
+    void uncachedReadsUseTheGivenTemplate() {
+        Optional<Map<String, Object>> row = dynamicTableAccessor.selectReferencedRow(null, replica, customers(), "system_row_id", "r1");
+
+        assertEquals("Acme", row.orElseThrow().get("name"));
+        verifyNoInteractions(dynamicDataSourceManager);
+    }
+
+    private static TableDefinition customers() {
+        ColumnDefinition name = new ColumnDefinition();
+        name.setColumnName("name");
+        name.setColumnType("VARCHAR");
+        TableDefinition customers = new TableDefinition();
+        customers.setId(CUSTOMERS_ID);
+        customers.setTableName("Customers");
+        customers.setFinalTableName(CUSTOMERS_TABLE);
+        customers.setColumns(List.of(name));
+        return customers;
+    }
+
+    private static TableDefinition orders() {
+        ColumnDefinition customer = new ColumnDefinition();
+        customer.setColumnName("customer");
+        customer.setColumnType("REFERENCE");
+        customer.setReference(true);
+        customer.setReferencedTableIdRef(CUSTOMERS_ID);
+        customer.setReferencedTableLogicalName("Customers");
+        customer.setReferencedColumnLogicalName("system_row_id");
+        TableDefinition orders = new TableDefinition();
+        orders.setTableName("Orders");
+        orders.setFinalTableName("orders_1f2e3d4c");
+        orders.setColumns(List.of(customer));
+        return orders;
+    }
+}
@@ -0,0 +1,47 @@
+package com.easy.tabledef.util;
+
+import com.easy.database.SqlDialect;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DynamicTableAccessorUpsertTest {
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void createTable() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:upsert_keys;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        // Case-insensitive like a default MySQL collation: the stored key differs from how it is looked up
+        jdbcTemplate.execute("CREATE TABLE customers_7e8f9a0b (system_row_id VARCHAR(36) PRIMARY KEY, code VARCHAR_IGNORECASE(20) UNIQUE)");
+        jdbcTemplate.update("INSERT INTO customers_7e8f9a0b VALUES ('r1', 'ACME-1'), ('r2', 'GLOBEX-7')");
+    }
+
+    @AfterAll
+    static void dropTable() {
+        jdbcTemplate.execute("DROP TABLE customers_7e8f9a0b");
+    }
+
+    @Test
+    void keysAreMatchedByPositionWithTheColumnsComparison() {
+        String[] rowIds = new DynamicTableAccessor().selectSystemRowIdsByKey(jdbcTemplate, SqlDialect.H2, "customers_7e8f9a0b", "code",
+                List.of("acme-1", "INITECH-3", "Globex-7"));
+
+        assertArrayEquals(new String[]{"r1", null, "r2"}, rowIds);
+    }
+
+    @Test
+    void keysEqualUnderTheCollationAllGetTheRow() {
+        String[] rowIds = new DynamicTableAccessor().selectSystemRowIdsByKey(jdbcTemplate, SqlDialect.H2, "customers_7e8f9a0b", "code",
+                List.of("ACME-1", "acme-1", "Acme-1"));
+
+        assertEquals(List.of("r1", "r1", "r1"), List.of(rowIds));
+    }
+}
@@ -0,0 +1,53 @@
+package com.easy.tabledef.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagsTest {
+
+    private static final String ETAG = "\"1a2b3c4d-7\"";
+
+    @Test
+    void matchesExactTag() {
+        assertTrue(ETags.matches("\"1a2b3c4d-7\"", ETAG));
+    }
+
+    @Test
+    void doesNotMatchOtherVersion() {
+        assertFalse(ETags.matches("\"1a2b3c4d-6\"", ETAG));
+    }
+
+    @Test
+    void matchesWeakValidator() {
+        assertTrue(ETags.matches("W/\"1a2b3c4d-7\"", ETAG));
+    }
+
+    @Test
+    void matchesAnyTagInList() {
+        assertTrue(ETags.matches("\"other-1\", W/\"1a2b3c4d-7\" ,\"other-2\"", ETAG));
+        assertFalse(ETags.matches("\"other-1\", \"other-2\"", ETAG));
+    }
+
+    @Test
+    void wildcardMatches() {
+        assertTrue(ETags.matches("*", ETAG));
+    }
+
+    @Test
+    void missingHeaderNeverMatches() {
+        assertFalse(ETags.matches(null, ETAG));
+        assertFalse(ETags.matches("  ", ETAG));
+        assertFalse(ETags.matches("*", null));
+    }
+
+    @Test
+    void representationTagDiffersFromDataTag() {
+        String columnar = ETags.forRepresentation(ETAG, "columnar");
+
+        assertTrue(columnar.equals("\"1a2b3c4d-7-columnar\""), columnar);
+        assertFalse(ETags.matches(ETAG, columnar));
+        assertFalse(ETags.matches(columnar, ETAG));
+    }
+}
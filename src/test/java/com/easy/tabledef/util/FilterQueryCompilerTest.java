@@ -0,0 +1,208 @@
+package com.easy.tabledef.util;
+
+import com.easy.database.SqlDialect;
+import com.easy.tabledef.dto.FilterCriteriaDto;
+import com.easy.tabledef.dto.SortSpecDto;
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilterQueryCompilerTest {
+
+    private final FilterQueryCompiler compiler = new FilterQueryCompiler();
+    private final TableDefinition orders = orders();
+
+    @Test
+    void nullFilterCompilesToEmptyFragment() {
+        SqlFragment where = compiler.compileWhere(SqlDialect.POSTGRESQL, orders, null, null);
+
+        assertTrue(where.isEmpty());
+        assertEquals(List.of(), where.getParameters());
+    }
+
+    @Test
+    void eqBindsValueConvertedToColumnType() {
+        SqlFragment where = compiler.compileWhere(SqlDialect.POSTGRESQL, orders, null, condition("quantity", "eq", "5"));
+
+        assertEquals("\"quantity\" = ?", where.getSql());
+        assertEquals(List.of(5), where.getParameters());
+    }
+
+    @Test
+    void parametersFollowPlaceholderOrderAcrossGroups() {
+        FilterCriteriaDto filter = FilterCriteriaDto.builder()
+                .and(List.of(
+                        FilterCriteriaDto.builder().field("status").op("in").values(List.of("OPEN", "PENDING")).build(),
+                        FilterCriteriaDto.builder().or(List.of(
+                                FilterCriteriaDto.builder().field("amount").op("range").from("10").to(20).build(),
+                                condition("status", "like", "CLOSED%")
+                        )).build()))
+                .build();
+
+        SqlFragment where = compiler.compileWhere(SqlDialect.POSTGRESQL, orders, null, filter);
+
+        assertEquals("(\"status\" IN (?, ?) AND ((\"amount\" >= ? AND \"amount\" <= ?) OR \"status\" LIKE ?))", where.getSql());
+        assertEquals(List.of("OPEN", "PENDING", new BigDecimal("10"), new BigDecimal("20"), "CLOSED%"), where.getParameters());
+    }
+
+    @Test
+    void qualifiesColumnsWithAliasAndDialectQuotes() {
+        SqlFragment where = compiler.compileWhere(SqlDialect.MYSQL, orders, "t0", condition("status", "eq", "OPEN"));
+
+        assertEquals("t0.`status` = ?", where.getSql());
+    }
+
+    @Test
+    void isNullTakesNoParameter() {
+        assertEquals("\"customer\" IS NULL", compiler.compileWhere(SqlDialect.H2, orders, null, condition("customer", "is_null", null)).getSql());
+        SqlFragment notNull = compiler.compileWhere(SqlDialect.H2, orders, null, condition("customer", "is-null", false));
+
+        assertEquals("\"customer\" IS NOT NULL", notNull.getSql());
+        assertEquals(List.of(), notNull.getParameters());
+    }
+
+    @Test
+    void systemRowIdAndReferencesCompareAsText() {
+        SqlFragment where = compiler.compileWhere(SqlDialect.H2, orders, null, FilterCriteriaDto.builder()
+                .and(List.of(condition("system_row_id", "eq", "row-1"), condition("customer", "like", "abc%")))
+                .build());
+
+        assertEquals("(\"system_row_id\" = ? AND \"customer\" LIKE ?)", where.getSql());
+        assertEquals(List.of("row-1", "abc%"), where.getParameters());
+    }
+
+    @Test
+    void rejectsUnknownField() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> compiler.compileWhere(SqlDialect.H2, orders, null, condition("status\" OR 1=1 --", "eq", "x")));
+
+        assertEquals("Unknown column 'status\" OR 1=1 --'.", e.getMessage());
+    }
+
+    @Test
+    void rejectsUnknownOperator() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> compiler.compileWhere(SqlDialect.H2, orders, null, condition("status", "regexp", "x")));
+
+        assertTrue(e.getMessage().startsWith("Unsupported filter operator 'regexp'."), e.getMessage());
+    }
+
+    @Test
+    void rejectsValuesThatDoNotMatchTheColumnType() {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null, condition("quantity", "eq", "five")));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null,
+                FilterCriteriaDto.builder().field("created_on").op("range").from("yesterday").build()));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null, condition("amount", "like", "1%")));
+    }
+
+    @Test
+    void rejectsMissingValues() {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null, condition("status", "eq", null)));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null,
+                FilterCriteriaDto.builder().field("amount").op("range").build()));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null,
+                FilterCriteriaDto.builder().field("status").op("in").values(List.of()).build()));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null,
+                FilterCriteriaDto.builder().field("status").op("in").values(Collections.singletonList(null)).build()));
+    }
+
+    @Test
+    void nodeMustBeExactlyOneOfGroupOrCondition() {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null, new FilterCriteriaDto()));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null,
+                FilterCriteriaDto.builder().field("status").value("x").and(List.of(condition("status", "eq", "y"))).build()));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null,
+                FilterCriteriaDto.builder().or(List.of()).build()));
+    }
+
+    @Test
+    void limitsNestingDepth() {
+        SqlFragment deepest = compiler.compileWhere(SqlDialect.H2, orders, null, nested(FilterQueryCompiler.MAX_NESTING_DEPTH - 1));
+        assertEquals("\"status\" = ?", deepest.getSql());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> compiler.compileWhere(SqlDialect.H2, orders, null, nested(FilterQueryCompiler.MAX_NESTING_DEPTH)));
+        assertTrue(e.getMessage().contains("nested too deeply"), e.getMessage());
+    }
+
+    @Test
+    void limitsInListSize() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < FilterQueryCompiler.MAX_IN_VALUES; i++) {
+            values.add(i);
+        }
+        SqlFragment where = compiler.compileWhere(SqlDialect.H2, orders, null,
+                FilterCriteriaDto.builder().field("quantity").op("in").values(values).build());
+        assertEquals(FilterQueryCompiler.MAX_IN_VALUES, where.getParameters().size());
+
+        values.add(FilterQueryCompiler.MAX_IN_VALUES);
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileWhere(SqlDialect.H2, orders, null,
+                FilterCriteriaDto.builder().field("quantity").op("in").values(values).build()));
+    }
+
+    @Test
+    void orderByAppendsRowIdTieBreaker() {
+        List<SortSpecDto> sort = FilterQueryCompiler.parseSortParameter("-amount, status,,-amount");
+
+        assertEquals("\"amount\" DESC, \"status\" ASC, \"system_row_id\" ASC", compiler.compileOrderBy(SqlDialect.H2, orders, null, sort));
+        assertEquals("t0.\"system_row_id\" DESC", compiler.compileOrderBy(SqlDialect.H2, orders, "t0", List.of(new SortSpecDto("system_row_id", "desc"))));
+        assertEquals("\"system_row_id\" ASC", compiler.compileOrderBy(SqlDialect.H2, orders, null, null));
+    }
+
+    @Test
+    void orderByRejectsUnknownFieldOrDirection() {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileOrderBy(SqlDialect.H2, orders, null, List.of(new SortSpecDto("nope", "asc"))));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileOrderBy(SqlDialect.H2, orders, null, List.of(new SortSpecDto("amount", "up"))));
+    }
+
+    private static FilterCriteriaDto condition(String field, String op, Object value) {
+        return FilterCriteriaDto.builder().field(field).op(op).value(value).build();
+    }
+
+    /**
+     * A condition wrapped in the given number of single-child 'and' groups.
+     */
+    private static FilterCriteriaDto nested(int levels) {
+        FilterCriteriaDto node = condition("status", "eq", "OPEN");
+        for (int i = 0; i < levels; i++) {
+            node = FilterCriteriaDto.builder().and(List.of(node)).build();
+        }
+        return node;
+    }
+
+    static TableDefinition orders() {
+        TableDefinition orders = new TableDefinition();
+        orders.setTableName("Orders");
+        orders.setFinalTableName("orders_1a2b3c4d");
+        orders.setColumns(List.of(
+                column("status", "VARCHAR"),
+                column("amount", "DECIMAL"),
+                column("quantity", "INT"),
+                column("created_on", "DATE"),
+                reference("customer")));
+        return orders;
+    }
+
+    private static ColumnDefinition column(String name, String type) {
+        ColumnDefinition column = new ColumnDefinition();
+        column.setColumnName(name);
+        column.setColumnType(type);
+        column.setNullable(true);
+        return column;
+    }
+
+    private static ColumnDefinition reference(String name) {
+        ColumnDefinition column = column(name, "UUID");
+        column.setReference(true);
+        return column;
+    }
+}
@@ -0,0 +1,47 @@
+package com.easy.tabledef.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetPageTokenTest {
+
+    @Test
+    void roundTrips() {
+        KeysetPageToken token = KeysetPageToken.decode(new KeysetPageToken("created_on", "2024-03-01 10:15:00.0", "row-9").encode());
+
+        assertEquals("created_on", token.getOrderColumn());
+        assertEquals("2024-03-01 10:15:00.0", token.getLastValue());
+        assertEquals("row-9", token.getLastRowId());
+    }
+
+    @Test
+    void keepsNullSortValue() {
+        assertNull(KeysetPageToken.decode(new KeysetPageToken("name", null, "row-1").encode()).getLastValue());
+    }
+
+    @Test
+    void encodingIsUrlSafe() {
+        String encoded = new KeysetPageToken("name", "??>>~~ä", "row-1").encode();
+
+        assertFalse(encoded.contains("+") || encoded.contains("/") || encoded.contains("="), encoded);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageToken.decode("not a token!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageToken.decode(encodeJson("[1, 2]")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageToken.decode(encodeJson("{\"c\": \"name\", \"v\": \"x\"}")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageToken.decode(encodeJson("{\"v\": \"x\", \"id\": \"row-1\"}")));
+    }
+
+    private static String encodeJson(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,70 @@
+package com.easy.tabledef.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReferenceValueCacheTest {
+
+    private static final String TENANT = "connection-1";
+    private static final String TABLE = "customers_1a2b3c4d";
+
+    private final ReferenceValueCache cache = new ReferenceValueCache(100);
+
+    @Test
+    void servesEntryStoredUnderTheCurrentVersion() {
+        cache.put(TENANT, TABLE, "system_row_id", "id-1", "Ada", Map.of("name", "Ada"), cache.generation(TENANT, TABLE), 7);
+
+        ReferenceValueCache.CachedReference cached = cache.get(TENANT, TABLE, "system_row_id", "id-1", 7);
+
+        assertNotNull(cached);
+        assertEquals("Ada", cached.getDisplayValue());
+        assertEquals(Map.of("name", "Ada"), cached.getRow());
+    }
+
+    @Test
+    void entryIsStaleOnceTheDataVersionMoves() {
+        // Another node wrote to the referenced table: only the shared dataVersion tells this node
+        cache.put(TENANT, TABLE, "system_row_id", "id-1", "Ada", null, cache.generation(TENANT, TABLE), 7);
+
+        assertNull(cache.get(TENANT, TABLE, "system_row_id", "id-1", 8));
+    }
+
+    @Test
+    void localInvalidationDropsEntries() {
+        cache.put(TENANT, TABLE, "system_row_id", "id-1", "Ada", null, cache.generation(TENANT, TABLE), 7);
+
+        cache.invalidateTable(TENANT, TABLE);
+
+        assertNull(cache.get(TENANT, TABLE, "system_row_id", "id-1", 7));
+    }
+
+    @Test
+    void readRacingWithLocalWriteIsNotCached() {
+        long generationAtRead = cache.generation(TENANT, TABLE);
+        cache.invalidateTable(TENANT, TABLE);
+
+        cache.put(TENANT, TABLE, "system_row_id", "id-1", "Old name", null, generationAtRead, 7);
+
+        assertNull(cache.get(TENANT, TABLE, "system_row_id", "id-1", 7));
+    }
+
+    @Test
+    void tenantsDoNotShareEntries() {
+        cache.put(TENANT, TABLE, "system_row_id", "id-1", "Ada", null, cache.generation(TENANT, TABLE), 7);
+
+        assertNull(cache.get("connection-2", TABLE, "system_row_id", "id-1", 7));
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        ReferenceValueCache disabled = new ReferenceValueCache(0);
+        disabled.put(TENANT, TABLE, "system_row_id", "id-1", "Ada", null, 0, 7);
+
+        assertNull(disabled.get(TENANT, TABLE, "system_row_id", "id-1", 7));
+    }
+}
@@ -0,0 +1,104 @@
+package com.easy.tabledef.util;
+
+import com.easy.tabledef.model.TableDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowIdsTest {
+
+    @Test
+    void timeOrderedUuidHasVersion7AndRfcVariant() {
+        for (int i = 0; i < 1000; i++) {
+            UUID id = RowIds.timeOrderedUuid();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+        }
+    }
+
+    @Test
+    void timeOrderedUuidStartsWithCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = RowIds.timeOrderedUuid();
+        long after = System.currentTimeMillis();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        // An exhausted counter carries into the timestamp, which can run ahead of the clock after a burst of ids
+        assertTrue(timestamp >= before && timestamp <= after + 1000, "timestamp " + timestamp + " not near [" + before + ", " + after + "]");
+    }
+
+    @Test
+    void timeOrderedUuidsAreStrictlyIncreasing() {
+        UUID previous = RowIds.timeOrderedUuid();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = RowIds.timeOrderedUuid();
+            // Signed comparison is safe while the timestamp fits in 47 bits
+            assertTrue(next.getMostSignificantBits() > previous.getMostSignificantBits(), previous + " >= " + next);
+            assertTrue(next.toString().compareTo(previous.toString()) > 0, previous + " >= " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void timeOrderedUuidsAreUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<List<UUID>>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(RowIds.timeOrderedUuid());
+                    }
+                    return ids;
+                });
+            }
+            Set<Long> mostSignificantBits = new HashSet<>();
+            for (Future<List<UUID>> result : executor.invokeAll(tasks)) {
+                List<UUID> ids = result.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(ids.get(i).getMostSignificantBits() > ids.get(i - 1).getMostSignificantBits());
+                }
+                ids.forEach(id -> mostSignificantBits.add(id.getMostSignificantBits()));
+            }
+            // The timestamp and counter alone are unique within the process
+            assertEquals(threads * perThread, mostSignificantBits.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void newRowIdFollowsTheTableFormat() {
+        TableDefinition v7 = new TableDefinition();
+        v7.setRowIdFormat(RowIds.FORMAT_UUID_V7);
+        TableDefinition v4 = new TableDefinition();
+        v4.setRowIdFormat(RowIds.FORMAT_UUID_V4);
+        TableDefinition unset = new TableDefinition();
+
+        assertEquals(7, UUID.fromString(RowIds.newRowId(v7)).version());
+        assertEquals(4, UUID.fromString(RowIds.newRowId(v4)).version());
+        assertEquals(4, UUID.fromString(RowIds.newRowId(unset)).version());
+        assertEquals(36, RowIds.newRowId(v7).length());
+    }
+
+    @Test
+    void sqlTypeOfStorage() {
+        assertEquals("VARCHAR(36)", RowIds.sqlType(null));
+        assertEquals("VARCHAR(36)", RowIds.sqlType(RowIds.STORAGE_VARCHAR));
+        assertEquals("CHAR(36) CHARACTER SET ascii COLLATE ascii_bin", RowIds.sqlType(RowIds.STORAGE_ASCII_BIN));
+    }
+}
@@ -0,0 +1,138 @@
+package com.easy.tabledef.util;
+
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the map and RowLayout array read paths by bytes allocated per row and by throughput.
+ * Opt-in, since timings and allocation figures depend on the machine and are only meaningful when read:
+ * mvn test -Dtest=RowLayoutBenchmarkTest -Deasy.benchmarks=true
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "easy.benchmarks", matches = "true")
+class RowLayoutBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static JdbcTemplate jdbcTemplate;
+    private static RowLayout layout;
+
+    @BeforeAll
+    static void createTable() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:rowlayout_bench;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items (system_row_id VARCHAR(36) PRIMARY KEY, name VARCHAR(255), "
+                + "quantity INT, price DECIMAL(12,2), active BOOLEAN, owner VARCHAR(36))");
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{UUID.randomUUID().toString(), "item-" + i, i % 7 == 0 ? null : i,
+                    BigDecimal.valueOf(i, 2), i % 2 == 0, UUID.randomUUID().toString()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items VALUES (?, ?, ?, ?, ?, ?)", batch);
+
+        TableDefinition tableDef = new TableDefinition();
+        tableDef.setFinalTableName("items");
+        tableDef.setColumns(List.of(
+                column("name", "VARCHAR", false),
+                column("quantity", "INT", false),
+                column("price", "DECIMAL", false),
+                column("active", "BOOLEAN", false),
+                column("owner", "REFERENCE", true)));
+        layout = RowLayout.compile(tableDef);
+    }
+
+    @AfterAll
+    static void dropTable() {
+        jdbcTemplate.execute("DROP TABLE items");
+    }
+
+    @Test
+    void arrayReadsAllocateLessPerRowThanMapReads() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Thread allocation accounting is not supported by this JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            readAsMaps();
+            readAsArrays();
+        }
+        Measurement maps = measure(threads, RowLayoutBenchmarkTest::readAsMaps);
+        Measurement arrays = measure(threads, RowLayoutBenchmarkTest::readAsArrays);
+
+        System.out.printf("RowLayout read benchmark (%d rows x %d rounds): map rows %.0f B/row, %.0f rows/s; array rows %.0f B/row, %.0f rows/s%n",
+                ROWS, MEASURED_ROUNDS, maps.bytesPerRow, maps.rowsPerSecond, arrays.bytesPerRow, arrays.rowsPerSecond);
+        assertTrue(arrays.bytesPerRow < maps.bytesPerRow,
+                "array rows allocated " + arrays.bytesPerRow + " B/row, map rows " + maps.bytesPerRow + " B/row");
+    }
+
+    // The pre-RowLayout path: one LinkedCaseInsensitiveMap per row from queryForList, copied into the output map
+    private static List<Map<String, Object>> readAsMaps() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT * FROM items ORDER BY system_row_id");
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            result.add(new HashMap<>(row));
+        }
+        return result;
+    }
+
+    private static List<Map<String, Object>> readAsArrays() {
+        List<Object[]> rows = jdbcTemplate.query("SELECT * FROM items ORDER BY system_row_id", layout.rowMapper());
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(layout.toMap(row));
+        }
+        return result;
+    }
+
+    private static Measurement measure(com.sun.management.ThreadMXBean threads, Supplier<List<Map<String, Object>>> read) {
+        long threadId = Thread.currentThread().getId();
+        long rows = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            rows += read.get().size();
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Measurement((double) allocated / rows, rows * 1_000_000_000.0 / elapsed);
+    }
+
+    private static ColumnDefinition column(String name, String type, boolean reference) {
+        ColumnDefinition column = new ColumnDefinition();
+        column.setColumnName(name);
+        column.setColumnType(type);
+        column.setReference(reference);
+        return column;
+    }
+
+    private static final class Measurement {
+        private final double bytesPerRow;
+        private final double rowsPerSecond;
+
+        private Measurement(double bytesPerRow, double rowsPerSecond) {
+            this.bytesPerRow = bytesPerRow;
+            this.rowsPerSecond = rowsPerSecond;
+        }
+    }
+}
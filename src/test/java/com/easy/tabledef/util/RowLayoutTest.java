@@ -0,0 +1,125 @@
+package com.easy.tabledef.util;
+
+import com.easy.tabledef.model.ColumnDefinition;
+import com.easy.tabledef.model.TableDefinition;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that array rows read through a compiled RowLayout match the map rows the accessor used to build.
+ * The cost of both read paths is measured separately by the opt-in RowLayoutBenchmarkTest.
+ */
+class RowLayoutTest {
+
+    private static final int ROWS = 2_000;
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TableDefinition tableDef;
+
+    @BeforeAll
+    static void createTable() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:rowlayout;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items (system_row_id VARCHAR(36) PRIMARY KEY, name VARCHAR(255), "
+                + "quantity INT, price DECIMAL(12,2), active BOOLEAN, owner VARCHAR(36))");
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{UUID.randomUUID().toString(), "item-" + i, i % 7 == 0 ? null : i,
+                    BigDecimal.valueOf(i, 2), i % 2 == 0, UUID.randomUUID().toString()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items VALUES (?, ?, ?, ?, ?, ?)", batch);
+
+        tableDef = new TableDefinition();
+        tableDef.setFinalTableName("items");
+        tableDef.setColumns(List.of(
+                column("name", "VARCHAR", false),
+                column("quantity", "INT", false),
+                column("price", "DECIMAL", false),
+                column("active", "BOOLEAN", false),
+                column("owner", "REFERENCE", true)));
+    }
+
+    @AfterAll
+    static void dropTable() {
+        jdbcTemplate.execute("DROP TABLE items");
+    }
+
+    @Test
+    void arrayRowsMatchMapRows() {
+        RowLayout layout = RowLayout.compile(tableDef);
+        List<Map<String, Object>> mapRows = readAsMaps();
+        List<Map<String, Object>> arrayRows = readAsArrays(layout);
+
+        assertEquals(ROWS, arrayRows.size());
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, Object> expected = mapRows.get(i);
+            Map<String, Object> actual = arrayRows.get(i);
+            assertEquals(expected.size(), actual.size());
+            for (Map.Entry<String, Object> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), actual.get(entry.getKey()), "column " + entry.getKey() + " of row " + i);
+            }
+        }
+    }
+
+    @Test
+    void slotsFollowColumnOrderAfterSystemRowId() {
+        RowLayout layout = RowLayout.compile(tableDef);
+
+        assertEquals(6, layout.size());
+        assertEquals("system_row_id", layout.columnName(0));
+        assertEquals(2, layout.slotOf("QUANTITY"));
+        assertEquals(-1, layout.slotOf("missing"));
+        assertTrue(layout.isReference(layout.slotOf("owner")));
+    }
+
+    @Test
+    void projectedQueryLeavesMissingColumnsNull() {
+        RowLayout layout = RowLayout.compile(tableDef);
+
+        List<Object[]> rows = jdbcTemplate.query("SELECT name, system_row_id FROM items ORDER BY name LIMIT 1", layout.rowMapper());
+
+        assertEquals("item-0", layout.get(rows.get(0), "name"));
+        assertNull(layout.get(rows.get(0), "quantity"));
+    }
+
+    // The pre-RowLayout path: one LinkedCaseInsensitiveMap per row from queryForList, copied into the output map
+    private static List<Map<String, Object>> readAsMaps() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT * FROM items ORDER BY system_row_id");
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            result.add(new HashMap<>(row));
+        }
+        return result;
+    }
+
+    private static List<Map<String, Object>> readAsArrays(RowLayout layout) {
+        List<Object[]> rows = jdbcTemplate.query("SELECT * FROM items ORDER BY system_row_id", layout.rowMapper());
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(layout.toMap(row));
+        }
+        return result;
+    }
+
+    private static ColumnDefinition column(String name, String type, boolean reference) {
+        ColumnDefinition column = new ColumnDefinition();
+        column.setColumnName(name);
+        column.setColumnType(type);
+        column.setReference(reference);
+        return column;
+    }
+}